@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.benchmark.file.manifest;
+
+import org.apache.flink.table.store.data.BinaryRow;
+import org.apache.flink.table.store.data.BinaryRowWriter;
+import org.apache.flink.table.store.file.io.DataFileMeta;
+import org.apache.flink.table.store.file.manifest.FileKind;
+import org.apache.flink.table.store.file.manifest.ManifestEntry;
+import org.apache.flink.table.store.file.manifest.ManifestEntryMerger;
+import org.apache.flink.table.store.file.stats.BinaryTableStats;
+import org.apache.flink.table.store.file.stats.FieldStatsArraySerializer;
+import org.apache.flink.table.store.file.utils.FileUtils;
+import org.apache.flink.table.store.format.FieldStats;
+import org.apache.flink.table.store.types.IntType;
+import org.apache.flink.table.store.types.RowType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmark for merging {@link ManifestEntry}s of many manifest files during scan planning,
+ * comparing collect-then-merge against the sharded {@link ManifestEntryMerger}.
+ */
+@SuppressWarnings("MethodMayBeStatic")
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(3)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class ManifestEntryMergeBenchmark {
+
+    @Param({"100", "1000"})
+    private int numManifests;
+
+    @Param({"1000"})
+    private int entriesPerManifest;
+
+    @Param({"100"})
+    private int numPartitions;
+
+    @Param({"16"})
+    private int numBuckets;
+
+    private List<List<ManifestEntry>> manifests;
+
+    public static void main(String[] args) throws Exception {
+        Options opt =
+                new OptionsBuilder()
+                        .verbosity(VerboseMode.NORMAL)
+                        .include(".*" + ManifestEntryMergeBenchmark.class.getCanonicalName() + ".*")
+                        .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup
+    public void setUp() {
+        BinaryTableStats stats =
+                new FieldStatsArraySerializer(RowType.of(new IntType()))
+                        .toBinary(new FieldStats[] {new FieldStats(0, 100, 0L)});
+        List<BinaryRow> partitions = new ArrayList<>();
+        for (int i = 0; i < numPartitions; i++) {
+            BinaryRow partition = new BinaryRow(1);
+            BinaryRowWriter writer = new BinaryRowWriter(partition);
+            writer.writeInt(0, i);
+            writer.complete();
+            partitions.add(partition);
+        }
+
+        // like a table under continuous compaction, about one third of the added files are
+        // deleted again by later manifest files
+        Random random = new Random(42);
+        List<ManifestEntry> alive = new ArrayList<>();
+        manifests = new ArrayList<>();
+        for (int i = 0; i < numManifests; i++) {
+            List<ManifestEntry> manifest = new ArrayList<>();
+            for (int j = 0; j < entriesPerManifest; j++) {
+                if (!alive.isEmpty() && random.nextInt(3) == 0) {
+                    ManifestEntry entry = alive.remove(random.nextInt(alive.size()));
+                    manifest.add(
+                            new ManifestEntry(
+                                    FileKind.DELETE,
+                                    entry.partition(),
+                                    entry.bucket(),
+                                    entry.totalBuckets(),
+                                    entry.file()));
+                } else {
+                    DataFileMeta file =
+                            DataFileMeta.forAppend(
+                                    "data-" + UUID.randomUUID() + ".orc",
+                                    1024,
+                                    100,
+                                    stats,
+                                    0,
+                                    100,
+                                    0);
+                    ManifestEntry entry =
+                            new ManifestEntry(
+                                    FileKind.ADD,
+                                    partitions.get(random.nextInt(numPartitions)),
+                                    random.nextInt(numBuckets),
+                                    numBuckets,
+                                    file);
+                    alive.add(entry);
+                    manifest.add(entry);
+                }
+            }
+            manifests.add(manifest);
+        }
+    }
+
+    @Benchmark
+    public int collectThenMerge() throws Exception {
+        List<ManifestEntry> entries =
+                FileUtils.COMMON_IO_FORK_JOIN_POOL
+                        .submit(
+                                () ->
+                                        manifests
+                                                .parallelStream()
+                                                .flatMap(List::stream)
+                                                .collect(Collectors.toList()))
+                        .get();
+        LinkedHashMap<ManifestEntry.Identifier, ManifestEntry> merged = new LinkedHashMap<>();
+        ManifestEntry.mergeEntries(entries, merged);
+        return merged.size();
+    }
+
+    @Benchmark
+    public int shardedMerge() {
+        ManifestEntryMerger merger = new ManifestEntryMerger(FileUtils.COMMON_IO_FORK_JOIN_POOL);
+        merger.merge(manifests, m -> m);
+        int count = 0;
+        for (ManifestEntry ignored : merger.result()) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -293,7 +293,8 @@ public class MergeTreeBenchmark {
                                     dropDelete,
                                     compactReaderFactory,
                                     comparator,
-                                    DeduplicateMergeFunction.factory().create())));
+                                    DeduplicateMergeFunction.factory().create(),
+                                    options.sortEngine())));
             writer.close();
             return new CompactResult(extractFilesFromSections(sections), writer.result());
         }
@@ -18,6 +18,7 @@
 
 package org.apache.flink.table.store.benchmark.file.mergetree;
 
+import org.apache.flink.table.store.CoreOptions.SortEngine;
 import org.apache.flink.table.store.data.GenericRow;
 import org.apache.flink.table.store.file.KeyValue;
 import org.apache.flink.table.store.file.mergetree.MergeTreeReaders;
@@ -31,6 +32,7 @@ import org.apache.flink.table.store.types.RowKind;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.runner.Runner;
@@ -45,6 +47,9 @@ import java.util.Set;
 /** Benchmark for merge tree reader. */
 public class MergeTreeReaderBenchmark extends MergeTreeBenchmark {
 
+    @Param({"MIN_HEAP", "LOSER_TREE"})
+    private SortEngine sortEngine;
+
     public static void main(String[] args) throws Exception {
         Options opt =
                 new OptionsBuilder()
@@ -100,7 +105,8 @@ public class MergeTreeReaderBenchmark extends MergeTreeBenchmark {
                         true,
                         readerFactory,
                         comparator,
-                        DeduplicateMergeFunction.factory().create())) {
+                        DeduplicateMergeFunction.factory().create(),
+                        sortEngine)) {
             long sum = 0;
             try (RecordReaderIterator<KeyValue> iterator = new RecordReaderIterator<>(reader)) {
                 while (iterator.hasNext()) {
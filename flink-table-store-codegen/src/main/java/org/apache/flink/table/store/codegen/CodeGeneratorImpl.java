@@ -53,6 +53,13 @@ public class CodeGeneratorImpl implements CodeGenerator {
                 getAscendingSortSpec(fieldTypes.size()));
     }
 
+    @Override
+    public GeneratedClass<RecordMerger> generateRecordMerger(
+            List<DataType> fieldTypes, List<String> mergeFunctions, String name) {
+        return RecordMergerCodeGenerator.gen(
+                name, RowType.builder().fields(fieldTypes).build(), mergeFunctions);
+    }
+
     private SortSpec getAscendingSortSpec(int numFields) {
         SortSpec.SortSpecBuilder builder = SortSpec.builder();
         for (int i = 0; i < numFields; i++) {
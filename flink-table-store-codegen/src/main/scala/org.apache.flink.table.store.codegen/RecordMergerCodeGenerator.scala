@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.table.store.codegen
+
+import org.apache.flink.table.store.codegen.GenerateUtils._
+import org.apache.flink.table.store.data.BinaryRow
+import org.apache.flink.table.store.types.{DataType, RowType}
+import org.apache.flink.table.store.types.DataTypeChecks.{getPrecision, getScale}
+import org.apache.flink.table.store.types.DataTypeRoot._
+import org.apache.flink.table.store.utils.{DecimalUtils, StringUtils}
+
+import scala.collection.JavaConverters._
+
+/**
+ * A code generator for generating [[RecordMerger]]. Each field is accumulated in a member variable
+ * of its internal type, and written into a reused [[BinaryRow]] when the result is requested.
+ */
+object RecordMergerCodeGenerator {
+
+  /** Same as the delimiter of the interpreted listagg aggregate function. */
+  val LISTAGG_DELIMITER = ","
+
+  /**
+   * Generates a [[RecordMerger]] that can be passed to a Java compiler.
+   *
+   * @param name
+   *   Class name of the function. Does not need to be unique but has to be a valid Java class
+   *   identifier.
+   * @param inputType
+   *   input type.
+   * @param mergeFunctions
+   *   merge function of each field.
+   * @return
+   *   A GeneratedRecordMerger
+   */
+  def gen(
+      name: String,
+      inputType: RowType,
+      mergeFunctions: java.util.List[String]): GeneratedClass[RecordMerger] = {
+    val fieldTypes = inputType.getFieldTypes.asScala
+    if (fieldTypes.size != mergeFunctions.size()) {
+      throw new CodeGenException(
+        s"Expect ${fieldTypes.size} merge functions, but got ${mergeFunctions.size()}.")
+    }
+
+    val className = newName(name)
+    val baseClass = classOf[RecordMerger]
+
+    val ctx = new CodeGeneratorContext()
+    val inputTerm = DEFAULT_INPUT1_TERM
+    val outTerm = DEFAULT_OUT_RECORD_TERM
+    val outWriterTerm = DEFAULT_OUT_RECORD_WRITER_TERM
+    generateRecordStatement(inputType, classOf[BinaryRow], outTerm, Some(outWriterTerm), ctx)
+
+    val resetCode = new StringBuilder
+    val mergeCode = new StringBuilder
+    val resultCode = new StringBuilder
+    for (i <- fieldTypes.indices) {
+      val t = fieldTypes(i)
+      val Seq(accTerm, accNullTerm) = newNames("acc", "accIsNull")
+      ctx.addReusableMember(s"private ${primitiveTypeTermForType(t)} $accTerm;")
+      ctx.addReusableMember(s"private boolean $accNullTerm = true;")
+
+      resetCode.append(s"$accNullTerm = true;\n")
+      mergeCode.append(
+        generateMerge(ctx, mergeFunctions.get(i), t, inputTerm, i, accTerm, accNullTerm))
+      resultCode.append(s"""
+                           |if ($accNullTerm) {
+                           |  ${binaryWriterWriteNull(i, outWriterTerm, t)};
+                           |} else {
+                           |  ${binaryWriterWriteField(ctx, i, accTerm, outWriterTerm, t)};
+                           |}
+                           |""".stripMargin)
+    }
+
+    val code =
+      s"""
+      public class $className implements ${baseClass.getCanonicalName} {
+
+        private final Object[] references;
+        ${ctx.reuseMemberCode()}
+
+        public $className(Object[] references) throws Exception {
+          this.references = references;
+          ${ctx.reuseInitCode()}
+        }
+
+        @Override
+        public void reset() {
+          $resetCode
+        }
+
+        @Override
+        public void merge($ROW_DATA $inputTerm) {
+          ${ctx.reuseLocalVariableCode()}
+          $mergeCode
+        }
+
+        @Override
+        public ${classOf[BinaryRow].getCanonicalName} result() {
+          $outWriterTerm.reset();
+          $resultCode
+          $outWriterTerm.complete();
+          return $outTerm;
+        }
+
+      }
+      """.stripMargin
+
+    new GeneratedClass(className, code, ctx.references.toArray)
+  }
+
+  /** Generates code merging the field at `index` of the input row into the accumulator. */
+  private def generateMerge(
+      ctx: CodeGeneratorContext,
+      mergeFunction: String,
+      t: DataType,
+      inputTerm: String,
+      index: Int,
+      accTerm: String,
+      accNullTerm: String): String = {
+    val fieldTerm = newName("field")
+    val readCode =
+      s"${primitiveTypeTermForType(t)} $fieldTerm = ${rowFieldReadAccess(index, inputTerm, t)};"
+
+    // merges a non-null input field into a non-null accumulator
+    def mergeNonNull(mergedTerm: String): String =
+      s"""
+         |if (!$inputTerm.isNullAt($index)) {
+         |  $readCode
+         |  if ($accNullTerm) {
+         |    $accTerm = $fieldTerm;
+         |    $accNullTerm = false;
+         |  } else {
+         |    $accTerm = $mergedTerm;
+         |  }
+         |}
+         |""".stripMargin
+
+    mergeFunction match {
+      case "last_value" =>
+        s"""
+           |$accNullTerm = $inputTerm.isNullAt($index);
+           |if (!$accNullTerm) {
+           |  $accTerm = ${rowFieldReadAccess(index, inputTerm, t)};
+           |}
+           |""".stripMargin
+      case "last_non_null_value" =>
+        mergeNonNull(fieldTerm)
+      case "sum" =>
+        mergeNonNull(generateSum(t, accTerm, fieldTerm))
+      case "max" =>
+        mergeNonNull(s"${generateCompare(t, accTerm, fieldTerm)} < 0 ? $fieldTerm : $accTerm")
+      case "min" =>
+        mergeNonNull(s"${generateCompare(t, accTerm, fieldTerm)} > 0 ? $fieldTerm : $accTerm")
+      case "listagg" if t.getTypeRoot == VARCHAR =>
+        val delimiterTerm = newName("delimiter")
+        ctx.addReusableMember(
+          s"private final $BINARY_STRING $delimiterTerm = " +
+            s"""$BINARY_STRING.fromString("$LISTAGG_DELIMITER");""")
+        mergeNonNull(s"${className[StringUtils]}.concat($accTerm, $delimiterTerm, $fieldTerm)")
+      case "bool_and" if t.getTypeRoot == BOOLEAN =>
+        mergeNonNull(s"$accTerm && $fieldTerm")
+      case "bool_or" if t.getTypeRoot == BOOLEAN =>
+        mergeNonNull(s"$accTerm || $fieldTerm")
+      case _ =>
+        throw new CodeGenException(s"Unsupported merge function $mergeFunction for type $t.")
+    }
+  }
+
+  private def generateSum(t: DataType, leftTerm: String, rightTerm: String): String =
+    t.getTypeRoot match {
+      // ordered by type root definition
+      case DECIMAL =>
+        s"${className[DecimalUtils]}.add($leftTerm, $rightTerm, ${getPrecision(t)}, ${getScale(t)})"
+      case TINYINT =>
+        s"(byte) ($leftTerm + $rightTerm)"
+      case SMALLINT =>
+        s"(short) ($leftTerm + $rightTerm)"
+      case INTEGER | BIGINT | FLOAT | DOUBLE =>
+        s"$leftTerm + $rightTerm"
+      case _ =>
+        throw new CodeGenException(s"Unsupported type $t for sum.")
+    }
+
+  /** Compares like the interpreted max and min aggregate functions. */
+  private def generateCompare(t: DataType, leftTerm: String, rightTerm: String): String =
+    t.getTypeRoot match {
+      // ordered by type root definition
+      case DECIMAL | TIMESTAMP_WITHOUT_TIME_ZONE | TIMESTAMP_WITH_LOCAL_TIME_ZONE =>
+        s"$leftTerm.compareTo($rightTerm)"
+      case TINYINT | SMALLINT | INTEGER | BIGINT | FLOAT | DOUBLE | DATE =>
+        s"${boxedTypeTermForType(t)}.compare($leftTerm, $rightTerm)"
+      case _ =>
+        throw new CodeGenException(s"Unsupported type $t for max and min.")
+    }
+}
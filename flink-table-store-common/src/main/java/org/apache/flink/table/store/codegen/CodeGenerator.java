@@ -48,4 +48,15 @@ public interface CodeGenerator {
      */
     GeneratedClass<RecordComparator> generateRecordComparator(
             List<DataType> fieldTypes, String name);
+
+    /**
+     * Generate a {@link RecordMerger}.
+     *
+     * @param fieldTypes The row field types.
+     * @param mergeFunctions The merge function of each field, one of {@code last_value}, {@code
+     *     last_non_null_value}, {@code sum}, {@code max}, {@code min}, {@code listagg}, {@code
+     *     bool_and} and {@code bool_or}.
+     */
+    GeneratedClass<RecordMerger> generateRecordMerger(
+            List<DataType> fieldTypes, List<String> mergeFunctions, String name);
 }
@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.codegen;
+
+import org.apache.flink.table.store.data.BinaryRow;
+import org.apache.flink.table.store.data.InternalRow;
+
+/**
+ * Merges the fields of rows with the same key, each field by its own merge function. For
+ * performance, subclasses are usually implemented through CodeGenerator, so that fields are merged
+ * in their internal types without boxing.
+ */
+public interface RecordMerger {
+
+    /** Forgets the fields merged for the previous key. */
+    void reset();
+
+    /** Merges the fields of {@code row} into the fields merged so far. */
+    void merge(InternalRow row);
+
+    /** Writes the merged fields into a {@link BinaryRow} which is reused between calls. */
+    BinaryRow result();
+}
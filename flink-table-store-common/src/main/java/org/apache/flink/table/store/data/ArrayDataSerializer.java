@@ -80,7 +80,8 @@ public class ArrayDataSerializer extends TypeSerializer<InternalArray> {
         } else if (from instanceof BinaryArray) {
             return ((BinaryArray) from).copy();
         } else {
-            return toBinaryArray(from);
+            // the converted array is reused by this serializer
+            return toBinaryArray(from).copy();
         }
     }
 
@@ -100,7 +100,8 @@ public class MapDataSerializer extends TypeSerializer<InternalMap> {
         if (from instanceof BinaryMap) {
             return ((BinaryMap) from).copy();
         } else {
-            return toBinaryMap(from);
+            // the converted map is reused by this serializer
+            return toBinaryMap(from).copy();
         }
     }
 
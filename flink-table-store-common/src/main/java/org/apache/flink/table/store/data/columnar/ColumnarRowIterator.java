@@ -24,35 +24,72 @@ import org.apache.flink.table.store.file.utils.RecyclableIterator;
 
 import javax.annotation.Nullable;
 
+import static org.apache.flink.util.Preconditions.checkState;
+
 /**
  * A {@link RecordReader.RecordIterator} that returns {@link InternalRow}s. The next row is set by
  * {@link ColumnarRow#setRowId}.
  */
-public class ColumnarRowIterator extends RecyclableIterator<InternalRow> {
+public class ColumnarRowIterator extends RecyclableIterator<InternalRow>
+        implements VectorizedRecordIterator {
 
+    private final VectorizedColumnBatch batch;
     private final ColumnarRow rowData;
 
+    @Nullable private boolean[] selection;
+    private boolean skipUnselected;
     private int num;
     private int pos;
 
-    public ColumnarRowIterator(ColumnarRow rowData, @Nullable Runnable recycler) {
+    public ColumnarRowIterator(VectorizedColumnBatch batch, @Nullable Runnable recycler) {
         super(recycler);
-        this.rowData = rowData;
+        this.batch = batch;
+        this.rowData = new ColumnarRow(batch);
     }
 
     public void set(int num) {
+        set(num, null, false);
+    }
+
+    /** Resets to the first {@code num} rows of the batch, of which only selected rows are read. */
+    public void set(int num, @Nullable boolean[] selection) {
+        set(num, selection, true);
+    }
+
+    /**
+     * Resets to the first {@code num} rows of the batch. Unselected rows are skipped if {@code
+     * skipUnselected} is true, otherwise the selection is only exposed by {@link #selection()}.
+     */
+    public void set(int num, @Nullable boolean[] selection, boolean skipUnselected) {
         this.num = num;
+        this.selection = selection;
+        this.skipUnselected = skipUnselected;
         this.pos = 0;
     }
 
     @Nullable
     @Override
     public InternalRow next() {
-        if (pos < num) {
-            rowData.setRowId(pos++);
-            return rowData;
-        } else {
-            return null;
+        while (pos < num) {
+            int rowId = pos++;
+            if (!skipUnselected || selection == null || selection[rowId]) {
+                rowData.setRowId(rowId);
+                return rowData;
+            }
         }
+        return null;
+    }
+
+    @Override
+    public VectorizedColumnBatch batch() {
+        checkState(pos == 0, "The batch can not be taken after rows have been returned.");
+        pos = num;
+        return batch;
+    }
+
+    @Nullable
+    @Override
+    public boolean[] selection() {
+        return selection;
     }
 }
@@ -43,6 +43,8 @@ public class VectorizedColumnBatch implements Serializable {
      */
     public static final int DEFAULT_SIZE = 2048;
 
+    private static final ColumnVector NULL_VECTOR = i -> true;
+
     private int numRows;
     public final org.apache.flink.table.store.data.columnar.ColumnVector[] columns;
 
@@ -131,4 +133,18 @@ public class VectorizedColumnBatch implements Serializable {
     public InternalMap getMap(int rowId, int colId) {
         return ((MapColumnVector) columns[colId]).getMap(rowId);
     }
+
+    /**
+     * Returns a batch of the same rows with the given columns of this batch. A negative index
+     * stands for a column of nulls.
+     */
+    public VectorizedColumnBatch project(int[] mapping) {
+        ColumnVector[] vectors = new ColumnVector[mapping.length];
+        for (int i = 0; i < mapping.length; i++) {
+            vectors[i] = mapping[i] < 0 ? NULL_VECTOR : columns[mapping[i]];
+        }
+        VectorizedColumnBatch projected = new VectorizedColumnBatch(vectors);
+        projected.setNumRows(numRows);
+        return projected;
+    }
 }
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.data.columnar;
+
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.utils.RecordReader;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link RecordReader.RecordIterator} over the rows of a {@link VectorizedColumnBatch}. Readers
+ * which can process columns may take the whole batch by {@link #batch()} instead of iterating the
+ * rows one by one.
+ */
+public interface VectorizedRecordIterator extends RecordReader.RecordIterator<InternalRow> {
+
+    /**
+     * Returns the batch of all rows of this iterator, after which {@link #next()} returns null. It
+     * must be called before {@link #next()}. The batch is valid until {@link #releaseBatch()}.
+     */
+    VectorizedColumnBatch batch();
+
+    /**
+     * Returns whether each row of {@link #batch()} matches a filter, or null if no filter is
+     * evaluated. Rows which are not selected do not match the filter. Formats only expose the
+     * selection of their filter and still return all rows, as their filtering is best-effort,
+     * while readers applying the selection skip unselected rows in {@link #next()}.
+     */
+    @Nullable
+    boolean[] selection();
+}
@@ -0,0 +1,553 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.predicate;
+
+import org.apache.flink.table.store.data.BinaryString;
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.data.columnar.BooleanColumnVector;
+import org.apache.flink.table.store.data.columnar.ByteColumnVector;
+import org.apache.flink.table.store.data.columnar.BytesColumnVector;
+import org.apache.flink.table.store.data.columnar.ColumnVector;
+import org.apache.flink.table.store.data.columnar.ColumnarRow;
+import org.apache.flink.table.store.data.columnar.DoubleColumnVector;
+import org.apache.flink.table.store.data.columnar.FloatColumnVector;
+import org.apache.flink.table.store.data.columnar.IntColumnVector;
+import org.apache.flink.table.store.data.columnar.LongColumnVector;
+import org.apache.flink.table.store.data.columnar.ShortColumnVector;
+import org.apache.flink.table.store.data.columnar.VectorizedColumnBatch;
+import org.apache.flink.table.store.types.DataType;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Evaluates a {@link Predicate} on a whole {@link VectorizedColumnBatch} at a time. Comparisons on
+ * columns of boolean, numeric, date, time and string types are compiled into typed loops over the
+ * column vectors, other leaves are evaluated row by row like {@link PredicateFilter}.
+ *
+ * <p>The filter keeps scratch arrays between batches, so it must not be shared between threads.
+ */
+public class VectorizedPredicateFilter {
+
+    /** Comparison result of a null row, the results of non-null rows are -1, 0 and 1. */
+    private static final int NULL_ROW = 2;
+
+    private final Evaluator evaluator;
+
+    public VectorizedPredicateFilter(Predicate predicate) {
+        this.evaluator = predicate.visit(new Compiler());
+    }
+
+    /**
+     * Evaluates the predicate on all rows of the batch, sets {@code selection[i]} to whether row
+     * {@code i} is selected and returns the number of selected rows.
+     */
+    public int filter(VectorizedColumnBatch batch, boolean[] selection) {
+        int numRows = batch.getNumRows();
+        evaluator.evaluate(batch, numRows, selection);
+        int count = 0;
+        for (int i = 0; i < numRows; i++) {
+            count += selection[i] ? 1 : 0;
+        }
+        return count;
+    }
+
+    private static boolean[] ensureCapacity(boolean[] array, int size) {
+        return array.length < size ? new boolean[size] : array;
+    }
+
+    private static int[] ensureCapacity(int[] array, int size) {
+        return array.length < size ? new int[size] : array;
+    }
+
+    /** Evaluator of a predicate on the first rows of a batch. */
+    private interface Evaluator {
+
+        void evaluate(VectorizedColumnBatch batch, int numRows, boolean[] result);
+    }
+
+    /** Compiles a {@link Predicate} into {@link Evaluator}s. */
+    private static class Compiler implements PredicateVisitor<Evaluator> {
+
+        @Override
+        public Evaluator visit(LeafPredicate predicate) {
+            LeafFunction function = predicate.function();
+            int index = predicate.index();
+            if (function instanceof IsNull) {
+                return (batch, numRows, result) -> {
+                    ColumnVector vector = batch.columns[index];
+                    for (int i = 0; i < numRows; i++) {
+                        result[i] = vector.isNullAt(i);
+                    }
+                };
+            } else if (function instanceof IsNotNull) {
+                return (batch, numRows, result) -> {
+                    ColumnVector vector = batch.columns[index];
+                    for (int i = 0; i < numRows; i++) {
+                        result[i] = !vector.isNullAt(i);
+                    }
+                };
+            }
+
+            Evaluator rowByRow = new RowEvaluator(predicate);
+            Class<? extends ColumnVector> vectorClass = vectorClass(predicate.type());
+            if (vectorClass == null || !literalsOfDataClass(predicate)) {
+                return rowByRow;
+            }
+
+            if (function instanceof StartsWith && vectorClass == BytesColumnVector.class) {
+                Object literal = predicate.literals().get(0);
+                return literal == null
+                        ? (batch, numRows, result) -> Arrays.fill(result, 0, numRows, false)
+                        : new StartsWithEvaluator(
+                                index, ((BinaryString) literal).toBytes(), rowByRow);
+            }
+
+            CompareOp op = CompareOp.of(function);
+            if (op == null) {
+                return rowByRow;
+            }
+
+            List<Comparison> comparisons = new ArrayList<>();
+            for (Object literal : predicate.literals()) {
+                if (literal == null) {
+                    if (op == CompareOp.IN) {
+                        // null literals never match
+                        continue;
+                    }
+                    // all other functions are false for null literals
+                    return (batch, numRows, result) -> Arrays.fill(result, 0, numRows, false);
+                }
+                comparisons.add(comparison(predicate.type(), literal));
+            }
+            return new CompareEvaluator(
+                    index, vectorClass, op, comparisons.toArray(new Comparison[0]), rowByRow);
+        }
+
+        @Override
+        public Evaluator visit(CompoundPredicate predicate) {
+            List<Evaluator> children = new ArrayList<>();
+            for (Predicate child : predicate.children()) {
+                children.add(child.visit(this));
+            }
+            return new CompoundEvaluator(
+                    predicate.function() instanceof And, children.toArray(new Evaluator[0]));
+        }
+    }
+
+    private static boolean literalsOfDataClass(LeafPredicate predicate) {
+        Class<?> dataClass = InternalRow.getDataClass(predicate.type());
+        for (Object literal : predicate.literals()) {
+            if (literal != null && !dataClass.isInstance(literal)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Nullable
+    private static Class<? extends ColumnVector> vectorClass(DataType type) {
+        switch (type.getTypeRoot()) {
+            case BOOLEAN:
+                return BooleanColumnVector.class;
+            case TINYINT:
+                return ByteColumnVector.class;
+            case SMALLINT:
+                return ShortColumnVector.class;
+            case INTEGER:
+            case DATE:
+            case TIME_WITHOUT_TIME_ZONE:
+                return IntColumnVector.class;
+            case BIGINT:
+                return LongColumnVector.class;
+            case FLOAT:
+                return FloatColumnVector.class;
+            case DOUBLE:
+                return DoubleColumnVector.class;
+            case CHAR:
+            case VARCHAR:
+                return BytesColumnVector.class;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Creates a typed {@link Comparison} against the literal, the type must have a {@link
+     * #vectorClass}.
+     */
+    private static Comparison comparison(DataType type, Object literal) {
+        switch (type.getTypeRoot()) {
+            case BOOLEAN:
+                boolean booleanLiteral = (Boolean) literal;
+                return (v, numRows, cmp) -> {
+                    BooleanColumnVector vector = (BooleanColumnVector) v;
+                    for (int i = 0; i < numRows; i++) {
+                        cmp[i] =
+                                vector.isNullAt(i)
+                                        ? NULL_ROW
+                                        : Boolean.compare(vector.getBoolean(i), booleanLiteral);
+                    }
+                };
+            case TINYINT:
+                byte byteLiteral = (Byte) literal;
+                return (v, numRows, cmp) -> {
+                    ByteColumnVector vector = (ByteColumnVector) v;
+                    for (int i = 0; i < numRows; i++) {
+                        cmp[i] =
+                                vector.isNullAt(i)
+                                        ? NULL_ROW
+                                        : Integer.compare(vector.getByte(i), byteLiteral);
+                    }
+                };
+            case SMALLINT:
+                short shortLiteral = (Short) literal;
+                return (v, numRows, cmp) -> {
+                    ShortColumnVector vector = (ShortColumnVector) v;
+                    for (int i = 0; i < numRows; i++) {
+                        cmp[i] =
+                                vector.isNullAt(i)
+                                        ? NULL_ROW
+                                        : Integer.compare(vector.getShort(i), shortLiteral);
+                    }
+                };
+            case INTEGER:
+            case DATE:
+            case TIME_WITHOUT_TIME_ZONE:
+                int intLiteral = (Integer) literal;
+                return (v, numRows, cmp) -> {
+                    IntColumnVector vector = (IntColumnVector) v;
+                    for (int i = 0; i < numRows; i++) {
+                        cmp[i] =
+                                vector.isNullAt(i)
+                                        ? NULL_ROW
+                                        : Integer.compare(vector.getInt(i), intLiteral);
+                    }
+                };
+            case BIGINT:
+                long longLiteral = (Long) literal;
+                return (v, numRows, cmp) -> {
+                    LongColumnVector vector = (LongColumnVector) v;
+                    for (int i = 0; i < numRows; i++) {
+                        cmp[i] =
+                                vector.isNullAt(i)
+                                        ? NULL_ROW
+                                        : Long.compare(vector.getLong(i), longLiteral);
+                    }
+                };
+            case FLOAT:
+                float floatLiteral = (Float) literal;
+                return (v, numRows, cmp) -> {
+                    FloatColumnVector vector = (FloatColumnVector) v;
+                    for (int i = 0; i < numRows; i++) {
+                        cmp[i] =
+                                vector.isNullAt(i)
+                                        ? NULL_ROW
+                                        : Float.compare(vector.getFloat(i), floatLiteral);
+                    }
+                };
+            case DOUBLE:
+                double doubleLiteral = (Double) literal;
+                return (v, numRows, cmp) -> {
+                    DoubleColumnVector vector = (DoubleColumnVector) v;
+                    for (int i = 0; i < numRows; i++) {
+                        cmp[i] =
+                                vector.isNullAt(i)
+                                        ? NULL_ROW
+                                        : Double.compare(vector.getDouble(i), doubleLiteral);
+                    }
+                };
+            case CHAR:
+            case VARCHAR:
+                byte[] bytesLiteral = ((BinaryString) literal).toBytes();
+                return (v, numRows, cmp) -> {
+                    BytesColumnVector vector = (BytesColumnVector) v;
+                    for (int i = 0; i < numRows; i++) {
+                        cmp[i] =
+                                vector.isNullAt(i)
+                                        ? NULL_ROW
+                                        : Integer.signum(
+                                                compareBytes(vector.getBytes(i), bytesLiteral));
+                    }
+                };
+            default:
+                throw new UnsupportedOperationException("Unsupported type: " + type);
+        }
+    }
+
+    /** Compares bytes unsigned and lexicographically, like {@link BinaryString#compareTo}. */
+    private static int compareBytes(BytesColumnVector.Bytes bytes, byte[] literal) {
+        int len = Math.min(bytes.len, literal.length);
+        for (int i = 0; i < len; i++) {
+            int res = (bytes.data[bytes.offset + i] & 0xFF) - (literal[i] & 0xFF);
+            if (res != 0) {
+                return res;
+            }
+        }
+        return bytes.len - literal.length;
+    }
+
+    /** Typed comparison of the rows of a vector against a literal. */
+    private interface Comparison {
+
+        /**
+         * Sets {@code cmp[i]} to -1, 0 or 1 as row {@code i} is less than, equal to or greater than
+         * the literal, or to {@link #NULL_ROW} if the row is null.
+         */
+        void compare(ColumnVector vector, int numRows, int[] cmp);
+    }
+
+    /** Comparison functions which can be evaluated with {@link Comparison}s. */
+    private enum CompareOp {
+        EQUAL,
+        NOT_EQUAL,
+        LESS_THAN,
+        LESS_OR_EQUAL,
+        GREATER_THAN,
+        GREATER_OR_EQUAL,
+        IN,
+        NOT_IN;
+
+        @Nullable
+        private static CompareOp of(LeafFunction function) {
+            if (function instanceof Equal) {
+                return EQUAL;
+            } else if (function instanceof NotEqual) {
+                return NOT_EQUAL;
+            } else if (function instanceof LessThan) {
+                return LESS_THAN;
+            } else if (function instanceof LessOrEqual) {
+                return LESS_OR_EQUAL;
+            } else if (function instanceof GreaterThan) {
+                return GREATER_THAN;
+            } else if (function instanceof GreaterOrEqual) {
+                return GREATER_OR_EQUAL;
+            } else if (function instanceof In) {
+                return IN;
+            } else if (function instanceof NotIn) {
+                return NOT_IN;
+            } else {
+                return null;
+            }
+        }
+    }
+
+    /** {@link Evaluator} of a {@link CompareOp} with typed loops. */
+    private static class CompareEvaluator implements Evaluator {
+
+        private final int index;
+        private final Class<? extends ColumnVector> vectorClass;
+        private final CompareOp op;
+        private final Comparison[] comparisons;
+        private final Evaluator rowByRow;
+
+        private int[] cmp = new int[0];
+
+        private CompareEvaluator(
+                int index,
+                Class<? extends ColumnVector> vectorClass,
+                CompareOp op,
+                Comparison[] comparisons,
+                Evaluator rowByRow) {
+            this.index = index;
+            this.vectorClass = vectorClass;
+            this.op = op;
+            this.comparisons = comparisons;
+            this.rowByRow = rowByRow;
+        }
+
+        @Override
+        public void evaluate(VectorizedColumnBatch batch, int numRows, boolean[] result) {
+            ColumnVector vector = batch.columns[index];
+            if (!vectorClass.isInstance(vector)) {
+                // for example the null vector of a column added by schema evolution
+                rowByRow.evaluate(batch, numRows, result);
+                return;
+            }
+
+            cmp = ensureCapacity(cmp, numRows);
+            switch (op) {
+                case IN:
+                    Arrays.fill(result, 0, numRows, false);
+                    for (Comparison comparison : comparisons) {
+                        comparison.compare(vector, numRows, cmp);
+                        for (int i = 0; i < numRows; i++) {
+                            result[i] |= cmp[i] == 0;
+                        }
+                    }
+                    return;
+                case NOT_IN:
+                    for (int i = 0; i < numRows; i++) {
+                        result[i] = !vector.isNullAt(i);
+                    }
+                    for (Comparison comparison : comparisons) {
+                        comparison.compare(vector, numRows, cmp);
+                        for (int i = 0; i < numRows; i++) {
+                            result[i] &= cmp[i] == -1 || cmp[i] == 1;
+                        }
+                    }
+                    return;
+                default:
+                    break;
+            }
+
+            comparisons[0].compare(vector, numRows, cmp);
+            switch (op) {
+                case EQUAL:
+                    for (int i = 0; i < numRows; i++) {
+                        result[i] = cmp[i] == 0;
+                    }
+                    break;
+                case NOT_EQUAL:
+                    for (int i = 0; i < numRows; i++) {
+                        result[i] = cmp[i] == -1 || cmp[i] == 1;
+                    }
+                    break;
+                case LESS_THAN:
+                    for (int i = 0; i < numRows; i++) {
+                        result[i] = cmp[i] == -1;
+                    }
+                    break;
+                case LESS_OR_EQUAL:
+                    for (int i = 0; i < numRows; i++) {
+                        result[i] = cmp[i] == -1 || cmp[i] == 0;
+                    }
+                    break;
+                case GREATER_THAN:
+                    for (int i = 0; i < numRows; i++) {
+                        result[i] = cmp[i] == 1;
+                    }
+                    break;
+                case GREATER_OR_EQUAL:
+                    for (int i = 0; i < numRows; i++) {
+                        result[i] = cmp[i] == 0 || cmp[i] == 1;
+                    }
+                    break;
+                default:
+                    throw new UnsupportedOperationException("Unsupported compare op: " + op);
+            }
+        }
+    }
+
+    /** {@link Evaluator} of {@link StartsWith} on string vectors. */
+    private static class StartsWithEvaluator implements Evaluator {
+
+        private final int index;
+        private final byte[] prefix;
+        private final Evaluator rowByRow;
+
+        private StartsWithEvaluator(int index, byte[] prefix, Evaluator rowByRow) {
+            this.index = index;
+            this.prefix = prefix;
+            this.rowByRow = rowByRow;
+        }
+
+        @Override
+        public void evaluate(VectorizedColumnBatch batch, int numRows, boolean[] result) {
+            ColumnVector vector = batch.columns[index];
+            if (!(vector instanceof BytesColumnVector)) {
+                rowByRow.evaluate(batch, numRows, result);
+                return;
+            }
+
+            BytesColumnVector bytesVector = (BytesColumnVector) vector;
+            for (int i = 0; i < numRows; i++) {
+                result[i] = !bytesVector.isNullAt(i) && startsWith(bytesVector.getBytes(i));
+            }
+        }
+
+        private boolean startsWith(BytesColumnVector.Bytes bytes) {
+            if (bytes.len < prefix.length) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length; i++) {
+                if (bytes.data[bytes.offset + i] != prefix[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /** {@link Evaluator} of a leaf which has no typed loops, it tests the rows one by one. */
+    private static class RowEvaluator implements Evaluator {
+
+        private final LeafPredicate predicate;
+        private final InternalRow.FieldGetter fieldGetter;
+        private final ColumnarRow row;
+
+        private RowEvaluator(LeafPredicate predicate) {
+            this.predicate = predicate;
+            this.fieldGetter = InternalRow.createFieldGetter(predicate.type(), predicate.index());
+            this.row = new ColumnarRow();
+        }
+
+        @Override
+        public void evaluate(VectorizedColumnBatch batch, int numRows, boolean[] result) {
+            LeafFunction function = predicate.function();
+            DataType type = predicate.type();
+            List<Object> literals = predicate.literals();
+            row.setVectorizedColumnBatch(batch);
+            for (int i = 0; i < numRows; i++) {
+                row.setRowId(i);
+                result[i] = function.test(type, fieldGetter.getFieldOrNull(row), literals);
+            }
+        }
+    }
+
+    /** {@link Evaluator} of {@link And} and {@link Or}, combining the results of its children. */
+    private static class CompoundEvaluator implements Evaluator {
+
+        private final boolean and;
+        private final Evaluator[] children;
+
+        private boolean[] childResult = new boolean[0];
+
+        private CompoundEvaluator(boolean and, Evaluator[] children) {
+            this.and = and;
+            this.children = children;
+        }
+
+        @Override
+        public void evaluate(VectorizedColumnBatch batch, int numRows, boolean[] result) {
+            if (children.length == 0) {
+                Arrays.fill(result, 0, numRows, and);
+                return;
+            }
+
+            children[0].evaluate(batch, numRows, result);
+            childResult = ensureCapacity(childResult, numRows);
+            for (int c = 1; c < children.length; c++) {
+                children[c].evaluate(batch, numRows, childResult);
+                if (and) {
+                    for (int i = 0; i < numRows; i++) {
+                        result[i] &= childResult[i];
+                    }
+                } else {
+                    for (int i = 0; i < numRows; i++) {
+                        result[i] |= childResult[i];
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.utils;
+
+import org.apache.flink.table.store.format.FormatReadMetrics;
+import org.apache.flink.util.concurrent.ExecutorThreadFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs fetches of a reader in background, one after another in the order they are submitted, so
+ * that the fetches may use a reader which is not thread safe. The caller decides how many fetches
+ * are pending to bound the memory of the fetched data.
+ *
+ * <p>The fetches of all prefetchers run in one shared pool of daemon threads, bounded by the number
+ * of processors, so opening many readers does not create a thread for each of them. The fetches of
+ * one prefetcher are chained and never run concurrently. The prefetcher must be closed together
+ * with its reader.
+ *
+ * <p>This class is not thread safe, the submitting and consuming must happen in one thread.
+ */
+public class SequentialPrefetcher<T> {
+
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    private final FormatReadMetrics metrics;
+    private final ArrayDeque<CompletableFuture<T>> pending;
+
+    private CompletableFuture<?> last;
+
+    private volatile boolean closed;
+
+    public SequentialPrefetcher(FormatReadMetrics metrics) {
+        this.metrics = metrics;
+        this.pending = new ArrayDeque<>();
+        this.last = CompletableFuture.completedFuture(null);
+    }
+
+    /** Submits a fetch, it runs after all the fetches submitted before finished. */
+    public void submit(Fetch<T> fetch) {
+        CompletableFuture<T> future =
+                last.handleAsync(
+                        (ignored, throwable) -> {
+                            if (throwable != null) {
+                                // the reader may be broken after a failed fetch
+                                throw new CompletionException(throwable);
+                            }
+                            if (closed) {
+                                return null;
+                            }
+                            try {
+                                return fetch.fetch();
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        },
+                        EXECUTOR);
+        pending.add(future);
+        last = future;
+    }
+
+    /** Number of submitted fetches whose results are not taken. */
+    public int numPending() {
+        return pending.size();
+    }
+
+    /** Waits for and takes the result of the earliest submitted fetch. */
+    public T take() throws IOException {
+        CompletableFuture<T> future = pending.remove();
+        long start = System.nanoTime();
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            throw new IOException(cause);
+        } finally {
+            metrics.recordStall(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Discards the pending fetches and waits for the running one to finish, so the reader can be
+     * closed safely.
+     */
+    public void close() {
+        closed = true;
+        pending.clear();
+        last.handle((ignored, throwable) -> null).join();
+    }
+
+    private static ExecutorService createExecutor() {
+        int numThreads = Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(
+                        numThreads,
+                        numThreads,
+                        60,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(),
+                        new ExecutorThreadFactory("format-prefetch"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /** A fetch of a reader. */
+    @FunctionalInterface
+    public interface Fetch<T> {
+        T fetch() throws IOException;
+    }
+}
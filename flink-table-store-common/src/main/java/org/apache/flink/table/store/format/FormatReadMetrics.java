@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.format;
+
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cumulative metrics of the readers created by {@link FormatReaderFactory}s, see {@link
+ * FormatReaderFactory#withMetrics}. Stall time is the time the reading thread waits for data from
+ * the file, it equals to the fetch time if the data is not prefetched in background.
+ */
+public class FormatReadMetrics implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final AtomicLong fetchCount = new AtomicLong();
+    private final AtomicLong fetchedBytes = new AtomicLong();
+    private final AtomicLong fetchNanos = new AtomicLong();
+    private final AtomicLong stallNanos = new AtomicLong();
+    private final AtomicLong decodeNanos = new AtomicLong();
+
+    public void recordFetch(long nanos, long bytes) {
+        fetchCount.incrementAndGet();
+        fetchNanos.addAndGet(nanos);
+        fetchedBytes.addAndGet(bytes);
+    }
+
+    public void recordStall(long nanos) {
+        stallNanos.addAndGet(nanos);
+    }
+
+    public void recordDecode(long nanos) {
+        decodeNanos.addAndGet(nanos);
+    }
+
+    /** Number of fetches from the files, like row groups of parquet or batches of orc. */
+    public long fetchCount() {
+        return fetchCount.get();
+    }
+
+    /** Total size of the fetched data, 0 if the format does not know the size. */
+    public long fetchedBytes() {
+        return fetchedBytes.get();
+    }
+
+    /** Total duration of fetching in milliseconds, in background if prefetching is enabled. */
+    public long fetchMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(fetchNanos.get());
+    }
+
+    /** Total duration the reading threads waited for fetched data in milliseconds. */
+    public long stallMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(stallNanos.get());
+    }
+
+    /** Total duration the reading threads decoded fetched data in milliseconds. */
+    public long decodeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(decodeNanos.get());
+    }
+
+    /** Registers these metrics as gauges of the given group. */
+    public void register(MetricGroup group) {
+        group.gauge("fetchCount", (Gauge<Long>) this::fetchCount);
+        group.gauge("fetchedBytes", (Gauge<Long>) this::fetchedBytes);
+        group.gauge("fetchMillis", (Gauge<Long>) this::fetchMillis);
+        group.gauge("stallMillis", (Gauge<Long>) this::stallMillis);
+        group.gauge("decodeMillis", (Gauge<Long>) this::decodeMillis);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "{fetchCount = %d, fetchedBytes = %d, fetchMillis = %d, stallMillis = %d, "
+                        + "decodeMillis = %d}",
+                fetchCount(), fetchedBytes(), fetchMillis(), stallMillis(), decodeMillis());
+    }
+}
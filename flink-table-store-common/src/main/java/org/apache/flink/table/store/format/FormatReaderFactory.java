@@ -29,4 +29,12 @@ import java.io.Serializable;
 public interface FormatReaderFactory extends Serializable {
 
     RecordReader<InternalRow> createReader(Path file) throws IOException;
+
+    /**
+     * Records the metrics of the readers created by this factory into {@code metrics}, so that the
+     * readers of many factories are reported together. Formats without metrics ignore it.
+     */
+    default FormatReaderFactory withMetrics(FormatReadMetrics metrics) {
+        return this;
+    }
 }
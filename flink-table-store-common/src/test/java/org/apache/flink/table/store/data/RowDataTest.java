@@ -17,6 +17,8 @@
 
 package org.apache.flink.table.store.data;
 
+import org.apache.flink.table.store.data.columnar.ColumnarArray;
+import org.apache.flink.table.store.data.columnar.heap.HeapLongVector;
 import org.apache.flink.table.store.types.DataTypes;
 import org.apache.flink.table.store.types.IntType;
 import org.apache.flink.table.store.types.RowKind;
@@ -135,6 +137,19 @@ public class RowDataTest {
         testGetters(row);
     }
 
+    @Test
+    public void testCopyColumnarArray() {
+        HeapLongVector vector = new HeapLongVector(4);
+        for (int i = 0; i < 4; i++) {
+            vector.setLong(i, i);
+        }
+        ArrayDataSerializer serializer = new ArrayDataSerializer(DataTypes.BIGINT());
+        InternalArray copy1 = serializer.copy(new ColumnarArray(vector, 0, 2));
+        InternalArray copy2 = serializer.copy(new ColumnarArray(vector, 2, 2));
+        assertThat(copy1.toLongArray()).containsExactly(0, 1);
+        assertThat(copy2.toLongArray()).containsExactly(2, 3);
+    }
+
     @Test
     public void testJoinedRow() {
         GenericRow row1 = new GenericRow(5);
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.utils;
+
+import org.apache.flink.table.store.format.FormatReadMetrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests for {@link SequentialPrefetcher}. */
+public class SequentialPrefetcherTest {
+
+    @Test
+    public void testFetchInOrder() throws Exception {
+        SequentialPrefetcher<Integer> prefetcher =
+                new SequentialPrefetcher<>(new FormatReadMetrics());
+        AtomicInteger counter = new AtomicInteger();
+        for (int i = 0; i < 100; i++) {
+            prefetcher.submit(counter::getAndIncrement);
+        }
+        assertThat(prefetcher.numPending()).isEqualTo(100);
+        for (int i = 0; i < 100; i++) {
+            assertThat(prefetcher.take()).isEqualTo(i);
+        }
+        assertThat(prefetcher.numPending()).isEqualTo(0);
+        prefetcher.close();
+    }
+
+    @Test
+    public void testFailure() {
+        SequentialPrefetcher<Integer> prefetcher =
+                new SequentialPrefetcher<>(new FormatReadMetrics());
+        AtomicInteger counter = new AtomicInteger();
+        prefetcher.submit(
+                () -> {
+                    throw new IOException("Expected");
+                });
+        prefetcher.submit(counter::incrementAndGet);
+
+        assertThatThrownBy(prefetcher::take).isInstanceOf(IOException.class).hasMessage("Expected");
+        // fetches after a failed one are not run
+        assertThatThrownBy(prefetcher::take).isInstanceOf(IOException.class);
+        assertThat(counter.get()).isEqualTo(0);
+        prefetcher.close();
+    }
+
+    @Test
+    public void testCloseWaitsRunningFetch() throws Exception {
+        SequentialPrefetcher<Integer> prefetcher =
+                new SequentialPrefetcher<>(new FormatReadMetrics());
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger finished = new AtomicInteger();
+        prefetcher.submit(
+                () -> {
+                    started.countDown();
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        throw new IOException(e);
+                    }
+                    return finished.incrementAndGet();
+                });
+        prefetcher.submit(finished::incrementAndGet);
+
+        started.await();
+        prefetcher.close();
+        // the running fetch finished and the pending one is discarded
+        assertThat(finished.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testPrefetchersShareThreads() throws Exception {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        AtomicBoolean concurrent = new AtomicBoolean(false);
+        List<SequentialPrefetcher<Integer>> prefetchers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            SequentialPrefetcher<Integer> prefetcher =
+                    new SequentialPrefetcher<>(new FormatReadMetrics());
+            AtomicInteger running = new AtomicInteger();
+            for (int j = 0; j < 10; j++) {
+                int value = j;
+                prefetcher.submit(
+                        () -> {
+                            threads.add(Thread.currentThread());
+                            if (running.incrementAndGet() > 1) {
+                                concurrent.set(true);
+                            }
+                            running.decrementAndGet();
+                            return value;
+                        });
+            }
+            prefetchers.add(prefetcher);
+        }
+
+        for (SequentialPrefetcher<Integer> prefetcher : prefetchers) {
+            for (int j = 0; j < 10; j++) {
+                assertThat(prefetcher.take()).isEqualTo(j);
+            }
+            prefetcher.close();
+        }
+        // the fetches of a prefetcher never run concurrently
+        assertThat(concurrent.get()).isFalse();
+        assertThat(threads.size()).isLessThanOrEqualTo(Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -19,9 +19,11 @@
 
 package org.apache.flink.table.store.connector.sink;
 
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.table.store.file.manifest.ManifestCommittable;
 
 import java.io.IOException;
+import java.io.Serializable;
 import java.util.List;
 
 /**
@@ -43,4 +45,11 @@ public interface Committer extends AutoCloseable {
     /** Commits the given {@link ManifestCommittable}. */
     void commit(List<ManifestCommittable> globalCommittables)
             throws IOException, InterruptedException;
+
+    /** Factory to create {@link Committer}. */
+    @FunctionalInterface
+    interface Factory extends Serializable {
+
+        Committer create(String commitUser, MetricGroup metricGroup);
+    }
 }
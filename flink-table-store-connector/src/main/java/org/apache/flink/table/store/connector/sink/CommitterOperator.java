@@ -25,7 +25,6 @@ import org.apache.flink.streaming.api.operators.ChainingStrategy;
 import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.table.store.file.manifest.ManifestCommittable;
-import org.apache.flink.util.function.SerializableFunction;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -65,7 +64,7 @@ public class CommitterOperator extends AbstractStreamOperator<Committable>
     /** Group the committable by the checkpoint id. */
     protected final NavigableMap<Long, ManifestCommittable> committablesPerCheckpoint;
 
-    private final SerializableFunction<String, Committer> committerFactory;
+    private final Committer.Factory committerFactory;
 
     private final CommittableStateManager committableStateManager;
 
@@ -80,7 +79,7 @@ public class CommitterOperator extends AbstractStreamOperator<Committable>
     public CommitterOperator(
             boolean streamingCheckpointEnabled,
             String initialCommitUser,
-            SerializableFunction<String, Committer> committerFactory,
+            Committer.Factory committerFactory,
             CommittableStateManager committableStateManager) {
         this.streamingCheckpointEnabled = streamingCheckpointEnabled;
         this.initialCommitUser = initialCommitUser;
@@ -101,7 +100,7 @@ public class CommitterOperator extends AbstractStreamOperator<Committable>
                 StateUtils.getSingleValueFromState(
                         context, "commit_user_state", String.class, initialCommitUser);
         // parallelism of commit operator is always 1, so commitUser will never be null
-        committer = committerFactory.apply(commitUser);
+        committer = committerFactory.create(commitUser, getMetricGroup());
 
         committableStateManager.initializeState(context, committer);
     }
@@ -22,7 +22,6 @@ import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.store.file.operation.Lock;
 import org.apache.flink.table.store.table.FileStoreTable;
-import org.apache.flink.util.function.SerializableFunction;
 
 /** {@link FlinkSink} for dedicated compact jobs. */
 public class CompactorSink extends FlinkSink {
@@ -43,9 +42,13 @@ public class CompactorSink extends FlinkSink {
     }
 
     @Override
-    protected SerializableFunction<String, Committer> createCommitterFactory(
+    protected Committer.Factory createCommitterFactory(
             boolean streamingCheckpointEnabled) {
-        return user -> new StoreCommitter(table.newCommit(user).withLock(lockFactory.create()));
+        return (user, metricGroup) ->
+                new StoreCommitter(
+                        table.newCommit(user)
+                                .withLock(lockFactory.create())
+                                .withMetricGroup(metricGroup));
     }
 
     @Override
@@ -24,7 +24,6 @@ import org.apache.flink.table.store.file.manifest.ManifestCommittableSerializer;
 import org.apache.flink.table.store.file.operation.Lock;
 import org.apache.flink.table.store.table.FileStoreTable;
 import org.apache.flink.table.store.table.sink.LogSinkFunction;
-import org.apache.flink.util.function.SerializableFunction;
 
 import javax.annotation.Nullable;
 
@@ -57,18 +56,19 @@ public class FileStoreSink extends FlinkSink {
     }
 
     @Override
-    protected SerializableFunction<String, Committer> createCommitterFactory(
+    protected Committer.Factory createCommitterFactory(
             boolean streamingCheckpointEnabled) {
         // If checkpoint is enabled for streaming job, we have to
         // commit new files list even if they're empty.
         // Otherwise we can't tell if the commit is successful after
         // a restart.
-        return user ->
+        return (user, metricGroup) ->
                 new StoreCommitter(
                         table.newCommit(user)
                                 .withOverwritePartition(overwritePartition)
                                 .withCreateEmptyCommit(streamingCheckpointEnabled)
-                                .withLock(lockFactory.create()));
+                                .withLock(lockFactory.create())
+                                .withMetricGroup(metricGroup));
     }
 
     @Override
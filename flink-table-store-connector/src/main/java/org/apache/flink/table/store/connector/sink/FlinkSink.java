@@ -35,7 +35,6 @@ import org.apache.flink.table.store.CoreOptions;
 import org.apache.flink.table.store.connector.utils.StreamExecutionEnvironmentUtils;
 import org.apache.flink.table.store.table.FileStoreTable;
 import org.apache.flink.util.Preconditions;
-import org.apache.flink.util.function.SerializableFunction;
 
 import java.io.Serializable;
 import java.util.UUID;
@@ -61,18 +60,19 @@ public abstract class FlinkSink implements Serializable {
                 && !table.options().writeOnly()) {
             long fullCompactionThresholdMs =
                     table.options().changelogProducerFullCompactionTriggerInterval().toMillis();
-            return (table, context, ioManager) ->
+            return (table, context, ioManager, metricGroup) ->
                     new FullChangelogStoreSinkWrite(
                             table,
                             context,
                             initialCommitUser,
                             ioManager,
+                            metricGroup,
                             isOverwrite,
                             fullCompactionThresholdMs);
         } else {
-            return (table, context, ioManager) ->
+            return (table, context, ioManager, metricGroup) ->
                     new StoreSinkWriteImpl(
-                            table, context, initialCommitUser, ioManager, isOverwrite);
+                            table, context, initialCommitUser, ioManager, metricGroup, isOverwrite);
         }
     }
 
@@ -135,7 +135,7 @@ public abstract class FlinkSink implements Serializable {
     protected abstract OneInputStreamOperator<RowData, Committable> createWriteOperator(
             StoreSinkWrite.Provider writeProvider, boolean isStreaming);
 
-    protected abstract SerializableFunction<String, Committer> createCommitterFactory(
+    protected abstract Committer.Factory createCommitterFactory(
             boolean streamingCheckpointEnabled);
 
     protected abstract CommittableStateManager createCommittableStateManager();
@@ -26,6 +26,7 @@ import org.apache.flink.api.common.typeutils.base.LongSerializer;
 import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.api.java.tuple.Tuple3;
 import org.apache.flink.api.java.typeutils.runtime.TupleSerializer;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.runtime.io.disk.iomanager.IOManager;
 import org.apache.flink.runtime.state.StateInitializationContext;
 import org.apache.flink.runtime.state.StateSnapshotContext;
@@ -76,10 +77,11 @@ public class FullChangelogStoreSinkWrite extends StoreSinkWriteImpl {
             StateInitializationContext context,
             String initialCommitUser,
             IOManager ioManager,
+            MetricGroup metricGroup,
             boolean isOverwrite,
             long fullCompactionThresholdMs)
             throws Exception {
-        super(table, context, initialCommitUser, ioManager, isOverwrite);
+        super(table, context, initialCommitUser, ioManager, metricGroup, isOverwrite);
 
         this.fullCompactionThresholdMs = fullCompactionThresholdMs;
 
@@ -69,7 +69,10 @@ public class StoreCompactOperator extends PrepareCommitOperator {
         super.initializeState(context);
         write =
                 storeSinkWriteProvider.provide(
-                        table, context, getContainingTask().getEnvironment().getIOManager());
+                        table,
+                        context,
+                        getContainingTask().getEnvironment().getIOManager(),
+                        getMetricGroup());
     }
 
     @Override
@@ -18,6 +18,7 @@
 
 package org.apache.flink.table.store.connector.sink;
 
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.runtime.io.disk.iomanager.IOManager;
 import org.apache.flink.runtime.state.StateInitializationContext;
 import org.apache.flink.runtime.state.StateSnapshotContext;
@@ -52,7 +53,10 @@ interface StoreSinkWrite {
     interface Provider extends Serializable {
 
         StoreSinkWrite provide(
-                FileStoreTable table, StateInitializationContext context, IOManager ioManager)
+                FileStoreTable table,
+                StateInitializationContext context,
+                IOManager ioManager,
+                MetricGroup metricGroup)
                 throws Exception;
     }
 }
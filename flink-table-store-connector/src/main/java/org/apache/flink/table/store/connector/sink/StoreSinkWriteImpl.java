@@ -18,6 +18,7 @@
 
 package org.apache.flink.table.store.connector.sink;
 
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.runtime.io.disk.iomanager.IOManager;
 import org.apache.flink.runtime.state.StateInitializationContext;
 import org.apache.flink.runtime.state.StateSnapshotContext;
@@ -51,6 +52,7 @@ public class StoreSinkWriteImpl implements StoreSinkWrite {
             StateInitializationContext context,
             String initialCommitUser,
             IOManager ioManager,
+            MetricGroup metricGroup,
             boolean isOverwrite)
             throws Exception {
         this.table = table;
@@ -75,6 +77,7 @@ public class StoreSinkWriteImpl implements StoreSinkWrite {
                     table.newWrite(commitUser)
                             .withIOManager(
                                     new IOManagerImpl(ioManager.getSpillingDirectoriesPaths()))
+                            .withMetricGroup(metricGroup)
                             .withOverwrite(isOverwrite);
         }
     }
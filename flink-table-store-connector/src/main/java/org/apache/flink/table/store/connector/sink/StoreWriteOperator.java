@@ -89,7 +89,10 @@ public class StoreWriteOperator extends PrepareCommitOperator {
         super.initializeState(context);
         write =
                 storeSinkWriteProvider.provide(
-                        table, context, getContainingTask().getEnvironment().getIOManager());
+                        table,
+                        context,
+                        getContainingTask().getEnvironment().getIOManager(),
+                        getMetricGroup());
         if (logSinkFunction != null) {
             StreamingFunctionUtils.restoreFunctionState(context, logSinkFunction);
         }
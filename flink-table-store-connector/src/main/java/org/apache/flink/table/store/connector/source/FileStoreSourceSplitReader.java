@@ -29,6 +29,9 @@ import org.apache.flink.connector.file.src.util.Pool;
 import org.apache.flink.connector.file.src.util.RecordAndPosition;
 import org.apache.flink.table.store.connector.FlinkRowData;
 import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.data.columnar.ColumnarRow;
+import org.apache.flink.table.store.data.columnar.VectorizedColumnBatch;
+import org.apache.flink.table.store.data.columnar.VectorizedRecordIterator;
 import org.apache.flink.table.store.file.utils.RecordReader;
 import org.apache.flink.table.store.table.source.TableRead;
 
@@ -74,17 +77,21 @@ public class FileStoreSourceSplitReader
         FileStoreRecordIterator iterator = pool();
 
         RecordReader.RecordIterator<InternalRow> nextBatch;
+        // the first batch after seeking is partially consumed, so it can only be read row by row
+        boolean takeColumns;
         if (currentFirstBatch != null) {
             nextBatch = currentFirstBatch;
             currentFirstBatch = null;
+            takeColumns = false;
         } else {
             nextBatch = currentReader.readBatch();
+            takeColumns = true;
         }
         if (nextBatch == null) {
             pool.recycler().recycle(iterator);
             return finishSplit();
         }
-        return FileRecords.forRecords(currentSplitId, iterator.replace(nextBatch));
+        return FileRecords.forRecords(currentSplitId, iterator.replace(nextBatch, takeColumns));
     }
 
     private FileStoreRecordIterator pool() throws IOException {
@@ -167,6 +174,11 @@ public class FileStoreSourceSplitReader
         return finishRecords;
     }
 
+    /**
+     * Returns the rows of a batch. The columns of a {@link VectorizedRecordIterator} are taken as a
+     * whole and their rows are returned through one reused {@link ColumnarRow}, instead of calling
+     * through the record iterators of the file readers for each row.
+     */
     private class FileStoreRecordIterator
             implements BulkFormat.RecordIterator<org.apache.flink.table.data.RowData> {
 
@@ -175,9 +187,26 @@ public class FileStoreSourceSplitReader
         private final MutableRecordAndPosition<org.apache.flink.table.data.RowData>
                 recordAndPosition = new MutableRecordAndPosition<>();
 
-        public FileStoreRecordIterator replace(RecordReader.RecordIterator<InternalRow> iterator) {
+        private final ColumnarRow columnarRow = new ColumnarRow();
+        private final FlinkRowData columnarRowData = new FlinkRowData(columnarRow);
+        @Nullable private VectorizedColumnBatch batch;
+        @Nullable private boolean[] selection;
+        private int nextRowId;
+
+        public FileStoreRecordIterator replace(
+                RecordReader.RecordIterator<InternalRow> iterator, boolean takeColumns) {
             this.iterator = iterator;
             this.recordAndPosition.set(null, RecordAndPosition.NO_OFFSET, currentNumRead);
+            if (takeColumns && iterator instanceof VectorizedRecordIterator) {
+                VectorizedRecordIterator vectorized = (VectorizedRecordIterator) iterator;
+                batch = vectorized.batch();
+                selection = vectorized.selection();
+                columnarRow.setVectorizedColumnBatch(batch);
+                nextRowId = 0;
+            } else {
+                batch = null;
+                selection = null;
+            }
             return this;
         }
 
@@ -187,6 +216,22 @@ public class FileStoreSourceSplitReader
             if (limit != null && currentNumRead >= limit) {
                 return null;
             }
+
+            if (batch != null) {
+                // rows which are not selected are filtered out by the file readers
+                int numRows = batch.getNumRows();
+                while (nextRowId < numRows && selection != null && !selection[nextRowId]) {
+                    nextRowId++;
+                }
+                if (nextRowId >= numRows) {
+                    return null;
+                }
+                columnarRow.setRowId(nextRowId++);
+                recordAndPosition.setNext(columnarRowData);
+                currentNumRead++;
+                return recordAndPosition;
+            }
+
             InternalRow row;
             try {
                 row = iterator.next();
@@ -204,6 +249,8 @@ public class FileStoreSourceSplitReader
 
         @Override
         public void releaseBatch() {
+            this.batch = null;
+            this.selection = null;
             this.iterator.releaseBatch();
             pool.recycler().recycle(this);
         }
@@ -57,7 +57,7 @@ public abstract class FlinkSource
 
     @Override
     public SourceReader<RowData, FileStoreSourceSplit> createReader(SourceReaderContext context) {
-        TableRead read = table.newRead();
+        TableRead read = table.newRead().withMetricGroup(context.metricGroup());
         if (projectedFields != null) {
             read.withProjection(projectedFields);
         }
@@ -196,7 +196,7 @@ public class CommitterOperatorTest extends CommitterOperatorTestBase {
                 new CommitterOperator(
                         true,
                         initialCommitUser,
-                        user -> new StoreCommitter(table.newCommit(user)),
+                        (user, metricGroup) -> new StoreCommitter(table.newCommit(user)),
                         new RestoreAndFailCommittableStateManager(
                                 ManifestCommittableSerializer::new));
         return createTestHarness(operator);
@@ -208,7 +208,7 @@ public class CommitterOperatorTest extends CommitterOperatorTestBase {
                 new CommitterOperator(
                         true,
                         initialCommitUser,
-                        user -> new StoreCommitter(table.newCommit(user)),
+                        (user, metricGroup) -> new StoreCommitter(table.newCommit(user)),
                         new NoopCommittableStateManager());
         return createTestHarness(operator);
     }
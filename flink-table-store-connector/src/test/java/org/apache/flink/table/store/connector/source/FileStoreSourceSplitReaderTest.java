@@ -22,15 +22,26 @@ import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
 import org.apache.flink.connector.base.source.reader.splitreader.SplitsAddition;
 import org.apache.flink.connector.base.source.reader.splitreader.SplitsChange;
+import org.apache.flink.configuration.Configuration;
 import org.apache.flink.connector.file.src.util.RecordAndPosition;
 import org.apache.flink.core.fs.Path;
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.store.CoreOptions;
 import org.apache.flink.table.store.data.GenericRow;
 import org.apache.flink.table.store.file.KeyValue;
+import org.apache.flink.table.store.file.WriteMode;
 import org.apache.flink.table.store.file.io.DataFileMeta;
+import org.apache.flink.table.store.file.predicate.Predicate;
+import org.apache.flink.table.store.file.predicate.PredicateBuilder;
 import org.apache.flink.table.store.file.schema.SchemaManager;
+import org.apache.flink.table.store.file.schema.TableSchema;
 import org.apache.flink.table.store.file.schema.UpdateSchema;
 import org.apache.flink.table.store.file.utils.RecordWriter;
+import org.apache.flink.table.store.table.FileStoreTable;
+import org.apache.flink.table.store.table.FileStoreTableFactory;
+import org.apache.flink.table.store.table.sink.TableCommit;
+import org.apache.flink.table.store.table.sink.TableWrite;
+import org.apache.flink.table.store.table.source.Split;
 import org.apache.flink.table.types.logical.BigIntType;
 import org.apache.flink.table.types.logical.IntType;
 import org.apache.flink.table.types.logical.RowType;
@@ -342,6 +353,59 @@ public class FileStoreSourceSplitReaderTest {
         reader.close();
     }
 
+    @Test
+    public void testVectorizedFilter() throws Exception {
+        Path path = new Path(tempDir.toUri().toString(), "append");
+        Configuration conf = new Configuration();
+        conf.set(CoreOptions.WRITE_MODE, WriteMode.APPEND_ONLY);
+        conf.set(CoreOptions.FILE_FORMAT, "orc");
+        conf.set(CoreOptions.SCAN_VECTORIZED_FILTER_ENABLED, true);
+        TableSchema schema =
+                new SchemaManager(path)
+                        .commitNewVersion(
+                                new UpdateSchema(
+                                        toDataType(
+                                                new RowType(
+                                                        Arrays.asList(
+                                                                new RowType.RowField(
+                                                                        "k", new BigIntType()),
+                                                                new RowType.RowField(
+                                                                        "v",
+                                                                        new BigIntType())))),
+                                        Collections.emptyList(),
+                                        Collections.emptyList(),
+                                        conf.toMap(),
+                                        null));
+        FileStoreTable table = FileStoreTableFactory.create(path, schema);
+
+        TableWrite write = table.newWrite("user");
+        TableCommit commit = table.newCommit("user");
+        for (long k = 1; k <= 6; k++) {
+            write.write(GenericRow.of(k, k * 10));
+        }
+        commit.commit(0, write.prepareCommit(true, 0));
+        write.close();
+
+        PredicateBuilder builder = new PredicateBuilder(table.schema().logicalRowType());
+        Predicate predicate =
+                PredicateBuilder.and(builder.notEqual(0, 2L), builder.notEqual(0, 5L));
+        FileStoreSourceSplitReader reader =
+                new FileStoreSourceSplitReader(table.newRead().withFilter(predicate), null);
+
+        List<Split> splits = table.newScan().plan().splits();
+        assertThat(splits).hasSize(1);
+        assignSplit(reader, new FileStoreSourceSplit("id1", splits.get(0)));
+
+        // rows which are not selected by the vectorized filter are not returned
+        RecordsWithSplitIds<RecordAndPosition<RowData>> records = reader.fetch();
+        assertRecords(records, null, "id1", 0, Arrays.asList(1L, 3L, 4L, 6L));
+
+        records = reader.fetch();
+        assertRecords(records, "id1", "id1", 0, null);
+
+        reader.close();
+    }
+
     @Test
     public void testLimit() throws Exception {
         TestChangelogDataReadWrite rw = new TestChangelogDataReadWrite(tempDir.toString(), service);
@@ -26,6 +26,7 @@ import org.apache.flink.table.store.data.BinaryRow;
 import org.apache.flink.table.store.data.GenericRow;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.KeyValue;
+import org.apache.flink.table.store.file.io.BloomFilterCache;
 import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.memory.HeapMemorySegmentPool;
 import org.apache.flink.table.store.file.memory.MemoryOwner;
@@ -136,7 +137,11 @@ public class TestChangelogDataReadWrite {
                         DeduplicateMergeFunction.factory(),
                         ignore -> avro,
                         pathFactory,
-                        EXTRACTOR);
+                        EXTRACTOR,
+                        CoreOptions.SORT_ENGINE.defaultValue(),
+                        BloomFilterCache.getOrCreate(
+                                CoreOptions.FILE_BLOOM_FILTER_CACHE_SIZE.defaultValue().getBytes()),
+                        null);
         return new KeyValueTableRead(read) {
             @Override
             public TableRead withFilter(Predicate predicate) {
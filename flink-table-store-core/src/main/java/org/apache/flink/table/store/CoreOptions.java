@@ -97,12 +97,50 @@ public class CoreOptions implements Serializable {
                     .defaultValue("orc")
                     .withDescription("Specify the message format of data files.");
 
+    public static final ConfigOption<Boolean> FILE_BLOOM_FILTER_ENABLED =
+            ConfigOptions.key("file.bloom-filter.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to write a bloom filter of primary keys next to each data file "
+                                    + "of a table with primary key. Reads with equality filters on all "
+                                    + "primary key fields skip the files which cannot contain the key.");
+
+    public static final ConfigOption<Double> FILE_BLOOM_FILTER_FPP =
+            ConfigOptions.key("file.bloom-filter.fpp")
+                    .doubleType()
+                    .defaultValue(0.01)
+                    .withDescription(
+                            "The false positive rate of the bloom filters of data files. A lower "
+                                    + "rate skips more files but needs larger bloom filters.");
+
+    public static final ConfigOption<MemorySize> FILE_BLOOM_FILTER_CACHE_SIZE =
+            ConfigOptions.key("file.bloom-filter.cache-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.ofMebiBytes(64))
+                    .withDescription(
+                            "The maximum memory of the bloom filters of data files cached by reads "
+                                    + "and lookups in one JVM. Tables configured with the same value "
+                                    + "share one cache.");
+
     public static final ConfigOption<String> MANIFEST_FORMAT =
             ConfigOptions.key("manifest.format")
                     .stringType()
                     .defaultValue("avro")
                     .withDescription("Specify the message format of manifest files.");
 
+    public static final ConfigOption<Integer> MANIFEST_ENTRY_VERSION =
+            ConfigOptions.key("manifest.entry-version")
+                    .intType()
+                    .defaultValue(2)
+                    .withDescription(
+                            "The layout version of newly written manifest entries. Version 2 stores the "
+                                    + "data file meta of an entry as a nested row. Version 3 stores its file name and "
+                                    + "level as separate columns and the rest of the data file meta as serialized "
+                                    + "bytes, so that scans filter entries by partition, bucket and level before "
+                                    + "decoding their data file metas. Manifests of both versions can be read, but "
+                                    + "older versions of table store can not read version 3.");
+
     public static final ConfigOption<MemorySize> MANIFEST_TARGET_FILE_SIZE =
             ConfigOptions.key("manifest.target-file-size")
                     .memoryType()
@@ -117,6 +155,19 @@ public class CoreOptions implements Serializable {
                             "To avoid frequent manifest merges, this parameter specifies the minimum number "
                                     + "of ManifestFileMeta to merge.");
 
+    public static final ConfigOption<Long> MANIFEST_CACHE_MAX_ENTRIES =
+            ConfigOptions.key("manifest.cache-max-entries")
+                    .longType()
+                    .defaultValue(0L)
+                    .withDescription(
+                            "The maximum number of deserialized ManifestEntry and ManifestFileMeta objects "
+                                    + "kept in the manifest cache shared by all tables in one JVM. "
+                                    + "Tables configured with the same value share one cache, so the memory "
+                                    + "of the caches is bounded by the sum of the distinct values. "
+                                    + "Manifest files are immutable, so cached entries save the repeated "
+                                    + "reading and decoding of manifests during scan planning. "
+                                    + "A value of 0 disables the cache.");
+
     public static final ConfigOption<String> PARTITION_DEFAULT_NAME =
             key("partition.default-name")
                     .stringType()
@@ -156,6 +207,13 @@ public class CoreOptions implements Serializable {
                     .defaultValue(MergeEngine.DEDUPLICATE)
                     .withDescription("Specify the merge engine for table with primary key.");
 
+    public static final ConfigOption<SortEngine> SORT_ENGINE =
+            ConfigOptions.key("sort-engine")
+                    .enumType(SortEngine.class)
+                    .defaultValue(SortEngine.MIN_HEAP)
+                    .withDescription(
+                            "Specify the sort engine used to merge sorted runs for table with primary key.");
+
     public static final ConfigOption<Boolean> PARTIAL_UPDATE_IGNORE_DELETE =
             ConfigOptions.key("partial-update.ignore-delete")
                     .booleanType()
@@ -206,6 +264,15 @@ public class CoreOptions implements Serializable {
                     .withDescription(
                             "Whether the write buffer can be spillable. Enabled by default when using object storage.");
 
+    public static final ConfigOption<Boolean> WRITE_BUFFER_ASYNC_FLUSH =
+            ConfigOptions.key("write-buffer-async-flush")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to split the write buffer into two halves and flush a full half in the background "
+                                    + "while records are written into the other half. Only takes effect when the "
+                                    + "write buffer is not spillable.");
+
     public static final ConfigOption<Integer> LOCAL_SORT_MAX_NUM_FILE_HANDLES =
             ConfigOptions.key("local-sort.max-num-file-handles")
                     .intType()
@@ -256,6 +323,16 @@ public class CoreOptions implements Serializable {
                     .defaultValue(false)
                     .withDescription("Whether to force a compaction before commit.");
 
+    public static final ConfigOption<Boolean> COMMIT_GROUP_COMMITTABLES =
+            ConfigOptions.key("commit.group-committables")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to commit the committables of several checkpoints, for example when they "
+                                    + "complete close together or are restored from state, as a group. "
+                                    + "A group creates at most one append snapshot and one compact snapshot "
+                                    + "instead of snapshots for every checkpoint.");
+
     public static final ConfigOption<Integer> COMPACTION_MAX_SIZE_AMPLIFICATION_PERCENT =
             ConfigOptions.key("compaction.max-size-amplification-percent")
                     .intType()
@@ -301,6 +378,73 @@ public class CoreOptions implements Serializable {
                                     + "This value avoids merging too much sorted runs at the same time during compaction, "
                                     + "which may lead to OutOfMemoryError.");
 
+    public static final ConfigOption<CompactionStyle> COMPACTION_STYLE =
+            ConfigOptions.key("compaction.style")
+                    .enumType(CompactionStyle.class)
+                    .defaultValue(CompactionStyle.UNIVERSAL)
+                    .withDescription("Specify the compaction style for table with primary key.");
+
+    public static final ConfigOption<MemorySize> COMPACTION_LEVELED_BASE_LEVEL_SIZE =
+            ConfigOptions.key("compaction.leveled.base-level-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("256 mb"))
+                    .withDescription(
+                            "The target size of level 1 for leveled compaction. Level 0 files are "
+                                    + "compacted into level 1 when their number reaches "
+                                    + "'num-sorted-run.compaction-trigger', and writes are stopped when "
+                                    + "their number exceeds 'num-sorted-run.stop-trigger'.");
+
+    public static final ConfigOption<Integer> COMPACTION_LEVELED_LEVEL_SIZE_MULTIPLIER =
+            ConfigOptions.key("compaction.leveled.level-size-multiplier")
+                    .intType()
+                    .defaultValue(10)
+                    .withDescription(
+                            "The ratio between the target sizes of two adjacent levels for leveled "
+                                    + "compaction. The highest level has no target size.");
+
+    public static final ConfigOption<Boolean> COMPACTION_UPGRADE_SMALL_FILES =
+            ConfigOptions.key("compaction.upgrade-small-files")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether files smaller than the target file size are upgraded to the output "
+                                    + "level without rewriting them, like larger files, when they do not "
+                                    + "overlap other files of a compaction and no delete records need to be "
+                                    + "dropped. This reduces the bytes rewritten by compactions, for example "
+                                    + "for time-ordered keys, at the cost of more small files.");
+
+    public static final ConfigOption<Integer> COMPACTION_THREADS =
+            ConfigOptions.key("compaction.threads")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription(
+                            "The number of threads to compact the buckets of a writer in parallel. "
+                                    + "Buckets with more sorted runs are compacted first.");
+
+    public static final ConfigOption<MemorySize> COMPACTION_IO_RATE_LIMIT =
+            ConfigOptions.key("compaction.io-rate-limit")
+                    .memoryType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The maximum bytes per second read and written by the compactions of all writers "
+                                    + "of a table in the same JVM. Limiting it protects foreground writes and "
+                                    + "checkpoints from large compactions sharing the same disks and network. "
+                                    + "Running writers pick up a new value set by ALTER TABLE at the next commit. "
+                                    + "If writers of the table use different values, for example from dynamic "
+                                    + "table options, the value of the newest schema applies and the first "
+                                    + "value among writers of the same schema wins, conflicting values are "
+                                    + "ignored with a warning. "
+                                    + "Unlimited if not set.");
+
+    public static final ConfigOption<Boolean> COMPACTION_SHARED_THREADS =
+            ConfigOptions.key("compaction.shared-threads")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether the compaction threads are shared by all writers in the same JVM "
+                                    + "with the same 'compaction.threads', for example all subtasks in a TaskManager. "
+                                    + "The shared threads are shut down when the last of these writers is closed.");
+
     public static final ConfigOption<ChangelogProducer> CHANGELOG_PRODUCER =
             ConfigOptions.key("changelog-producer")
                     .enumType(ChangelogProducer.class)
@@ -352,6 +496,16 @@ public class CoreOptions implements Serializable {
                     .withDescription(
                             "Optional snapshot id used in case of \"from-snapshot\" scan mode");
 
+    public static final ConfigOption<Boolean> SCAN_VECTORIZED_FILTER_ENABLED =
+            ConfigOptions.key("scan.vectorized-filter.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to filter the rows of append-only tables by the filter of the "
+                                    + "read. The filter is evaluated on whole column batches of "
+                                    + "columnar file formats. Otherwise the filter only skips files "
+                                    + "and the remaining rows are filtered by the engine.");
+
     public static final ConfigOption<Duration> LOG_RETENTION =
             ConfigOptions.key("log.retention")
                     .durationType()
@@ -438,10 +592,30 @@ public class CoreOptions implements Serializable {
         return FileFormat.fromTableOptions(options, FILE_FORMAT);
     }
 
+    public boolean scanVectorizedFilterEnabled() {
+        return options.get(SCAN_VECTORIZED_FILTER_ENABLED);
+    }
+
+    public boolean fileBloomFilterEnabled() {
+        return options.get(FILE_BLOOM_FILTER_ENABLED);
+    }
+
+    public double fileBloomFilterFpp() {
+        return options.get(FILE_BLOOM_FILTER_FPP);
+    }
+
+    public MemorySize fileBloomFilterCacheSize() {
+        return options.get(FILE_BLOOM_FILTER_CACHE_SIZE);
+    }
+
     public FileFormat manifestFormat() {
         return FileFormat.fromTableOptions(options, MANIFEST_FORMAT);
     }
 
+    public int manifestEntryVersion() {
+        return options.get(MANIFEST_ENTRY_VERSION);
+    }
+
     public MemorySize manifestTargetSize() {
         return options.get(MANIFEST_TARGET_FILE_SIZE);
     }
@@ -462,6 +636,10 @@ public class CoreOptions implements Serializable {
         return options.get(SNAPSHOT_TIME_RETAINED);
     }
 
+    public long manifestCacheMaxEntries() {
+        return options.get(MANIFEST_CACHE_MAX_ENTRIES);
+    }
+
     public int manifestMergeMinCount() {
         return options.get(MANIFEST_MERGE_MIN_COUNT);
     }
@@ -470,6 +648,10 @@ public class CoreOptions implements Serializable {
         return options.get(MERGE_ENGINE);
     }
 
+    public SortEngine sortEngine() {
+        return options.get(SORT_ENGINE);
+    }
+
     public long splitTargetSize() {
         return options.get(SOURCE_SPLIT_TARGET_SIZE).getBytes();
     }
@@ -486,6 +668,10 @@ public class CoreOptions implements Serializable {
         return options.getOptional(WRITE_BUFFER_SPILLABLE).orElse(usingObjectStore);
     }
 
+    public boolean writeBufferAsyncFlush() {
+        return options.get(WRITE_BUFFER_ASYNC_FLUSH);
+    }
+
     public Duration continuousDiscoveryInterval() {
         return options.get(CONTINUOUS_DISCOVERY_INTERVAL);
     }
@@ -530,6 +716,10 @@ public class CoreOptions implements Serializable {
         return options.get(COMMIT_FORCE_COMPACT);
     }
 
+    public boolean commitGroupCommittables() {
+        return options.get(COMMIT_GROUP_COMMITTABLES);
+    }
+
     public int maxSizeAmplificationPercent() {
         return options.get(COMPACTION_MAX_SIZE_AMPLIFICATION_PERCENT);
     }
@@ -546,6 +736,35 @@ public class CoreOptions implements Serializable {
         return options.get(COMPACTION_MAX_FILE_NUM);
     }
 
+    public CompactionStyle compactionStyle() {
+        return options.get(COMPACTION_STYLE);
+    }
+
+    public long leveledBaseLevelSize() {
+        return options.get(COMPACTION_LEVELED_BASE_LEVEL_SIZE).getBytes();
+    }
+
+    public int leveledLevelSizeMultiplier() {
+        return options.get(COMPACTION_LEVELED_LEVEL_SIZE_MULTIPLIER);
+    }
+
+    public int compactionThreads() {
+        return options.get(COMPACTION_THREADS);
+    }
+
+    public boolean compactionSharedThreads() {
+        return options.get(COMPACTION_SHARED_THREADS);
+    }
+
+    public boolean compactionUpgradeSmallFiles() {
+        return options.get(COMPACTION_UPGRADE_SMALL_FILES);
+    }
+
+    public long compactionIoRateLimit() {
+        MemorySize limit = options.get(COMPACTION_IO_RATE_LIMIT);
+        return limit == null ? 0 : limit.getBytes();
+    }
+
     public int maxSortedRunNum() {
         return options.get(COMPACTION_MAX_SORTED_RUN_NUM);
     }
@@ -626,6 +845,64 @@ public class CoreOptions implements Serializable {
         }
     }
 
+    /** Specifies the sort engine for table with primary key. */
+    public enum SortEngine implements DescribedEnum {
+        MIN_HEAP("min-heap", "Use min-heap for multiway sorting."),
+
+        LOSER_TREE(
+                "loser-tree",
+                "Use loser-tree for multiway sorting. Compared with min-heap, loser-tree needs "
+                        + "fewer comparisons per record.");
+
+        private final String value;
+        private final String description;
+
+        SortEngine(String value, String description) {
+            this.value = value;
+            this.description = description;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+
+        @Override
+        public InlineElement getDescription() {
+            return text(description);
+        }
+    }
+
+    /** Specifies the compaction style for table with primary key. */
+    public enum CompactionStyle implements DescribedEnum {
+        UNIVERSAL(
+                "universal",
+                "Merge whole sorted runs by their sizes, which has lower write amplification."),
+
+        LEVELED(
+                "leveled",
+                "Merge files of a level into the overlapping files of the next level, where each "
+                        + "level has a target size. It has lower read and space amplification.");
+
+        private final String value;
+        private final String description;
+
+        CompactionStyle(String value, String description) {
+            this.value = value;
+            this.description = description;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+
+        @Override
+        public InlineElement getDescription() {
+            return text(description);
+        }
+    }
+
     /** Specifies the startup mode for log consumer. */
     public enum StartupMode implements DescribedEnum {
         DEFAULT(
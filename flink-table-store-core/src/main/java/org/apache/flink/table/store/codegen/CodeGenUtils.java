@@ -39,10 +39,14 @@ public class CodeGenUtils {
                 .newInstance(CodeGenUtils.class.getClassLoader());
     }
 
+    public static GeneratedClass<NormalizedKeyComputer> generateNormalizedKeyComputer(
+            List<DataType> fieldTypes, String name) {
+        return CodeGenLoader.getCodeGenerator().generateNormalizedKeyComputer(fieldTypes, name);
+    }
+
     public static NormalizedKeyComputer newNormalizedKeyComputer(
             List<DataType> fieldTypes, String name) {
-        return CodeGenLoader.getCodeGenerator()
-                .generateNormalizedKeyComputer(fieldTypes, name)
+        return generateNormalizedKeyComputer(fieldTypes, name)
                 .newInstance(CodeGenUtils.class.getClassLoader());
     }
 
@@ -55,4 +59,10 @@ public class CodeGenUtils {
         return generateRecordComparator(fieldTypes, name)
                 .newInstance(CodeGenUtils.class.getClassLoader());
     }
+
+    public static GeneratedClass<RecordMerger> generateRecordMerger(
+            List<DataType> fieldTypes, List<String> mergeFunctions, String name) {
+        return CodeGenLoader.getCodeGenerator()
+                .generateRecordMerger(fieldTypes, mergeFunctions, name);
+    }
 }
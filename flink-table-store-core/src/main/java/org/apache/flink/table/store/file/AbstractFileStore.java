@@ -21,6 +21,7 @@ package org.apache.flink.table.store.file;
 import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.table.store.CoreOptions;
 import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.manifest.ManifestCache;
 import org.apache.flink.table.store.file.manifest.ManifestFile;
 import org.apache.flink.table.store.file.manifest.ManifestList;
 import org.apache.flink.table.store.file.operation.FileStoreCommitImpl;
@@ -30,6 +31,8 @@ import org.apache.flink.table.store.file.utils.FileStorePathFactory;
 import org.apache.flink.table.store.file.utils.SnapshotManager;
 import org.apache.flink.table.store.types.RowType;
 
+import javax.annotation.Nullable;
+
 import java.util.Comparator;
 
 /**
@@ -74,14 +77,30 @@ public abstract class AbstractFileStore<T> implements FileStore<T> {
                 schemaManager,
                 schemaId,
                 partitionType,
+                manifestIndexKeyType(),
                 options.manifestFormat(),
                 pathFactory(),
-                options.manifestTargetSize().getBytes());
+                options.manifestTargetSize().getBytes(),
+                ManifestCache.getOrCreate(options.manifestCacheMaxEntries()),
+                options.manifestEntryVersion());
+    }
+
+    /**
+     * Key type of data files, whose ranges are recorded in the index of manifest files. Returns
+     * null if keys are not indexed.
+     */
+    @Nullable
+    protected RowType manifestIndexKeyType() {
+        return null;
     }
 
     @VisibleForTesting
     public ManifestList.Factory manifestListFactory() {
-        return new ManifestList.Factory(partitionType, options.manifestFormat(), pathFactory());
+        return new ManifestList.Factory(
+                partitionType,
+                options.manifestFormat(),
+                pathFactory(),
+                ManifestCache.getOrCreate(options.manifestCacheMaxEntries()));
     }
 
     @Override
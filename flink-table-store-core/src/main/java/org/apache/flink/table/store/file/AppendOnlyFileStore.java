@@ -20,6 +20,7 @@ package org.apache.flink.table.store.file;
 
 import org.apache.flink.table.store.CoreOptions;
 import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.manifest.ManifestCache;
 import org.apache.flink.table.store.file.operation.AppendOnlyFileStoreRead;
 import org.apache.flink.table.store.file.operation.AppendOnlyFileStoreScan;
 import org.apache.flink.table.store.file.operation.AppendOnlyFileStoreWrite;
@@ -55,13 +56,20 @@ public class AppendOnlyFileStore extends AbstractFileStore<InternalRow> {
     @Override
     public AppendOnlyFileStoreRead newRead() {
         return new AppendOnlyFileStoreRead(
-                schemaManager, schemaId, rowType, FileFormatDiscover.of(options), pathFactory());
+                schemaManager,
+                schemaId,
+                rowType,
+                FileFormatDiscover.of(options),
+                pathFactory(),
+                options.scanVectorizedFilterEnabled(),
+                ManifestCache.getOrCreate(options.manifestCacheMaxEntries()));
     }
 
     @Override
     public AppendOnlyFileStoreWrite newWrite(String commitUser) {
         return new AppendOnlyFileStoreWrite(
                 newRead(),
+                schemaManager,
                 schemaId,
                 commitUser,
                 rowType,
@@ -186,7 +186,6 @@ public class KeyValue {
         return projection;
     }
 
-    @VisibleForTesting
     public KeyValue copy(RowDataSerializer keySerializer, RowDataSerializer valueSerializer) {
         return new KeyValue()
                 .replace(
@@ -20,7 +20,11 @@ package org.apache.flink.table.store.file;
 
 import org.apache.flink.table.store.CoreOptions;
 import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.io.BloomFilterCache;
+import org.apache.flink.table.store.file.io.KeyValueFileReaderFactory;
+import org.apache.flink.table.store.file.manifest.ManifestCache;
 import org.apache.flink.table.store.file.mergetree.compact.MergeFunctionFactory;
+import org.apache.flink.table.store.file.operation.KeyValueFileStoreLookup;
 import org.apache.flink.table.store.file.operation.KeyValueFileStoreRead;
 import org.apache.flink.table.store.file.operation.KeyValueFileStoreScan;
 import org.apache.flink.table.store.file.operation.KeyValueFileStoreWrite;
@@ -80,7 +84,33 @@ public class KeyValueFileStore extends AbstractFileStore<KeyValue> {
                 mfFactory,
                 FileFormatDiscover.of(options),
                 pathFactory(),
-                keyValueFieldsExtractor);
+                keyValueFieldsExtractor,
+                options.sortEngine(),
+                BloomFilterCache.getOrCreate(options.fileBloomFilterCacheSize().getBytes()),
+                ManifestCache.getOrCreate(options.manifestCacheMaxEntries()));
+    }
+
+    public KeyValueFileStoreLookup newLookup() {
+        return new KeyValueFileStoreLookup(
+                snapshotManager(),
+                this::newScan,
+                KeyValueFileReaderFactory.builder(
+                        schemaManager,
+                        schemaId,
+                        keyType,
+                        valueType,
+                        FileFormatDiscover.of(options),
+                        pathFactory(),
+                        keyValueFieldsExtractor),
+                pathFactory(),
+                newKeyComparator(),
+                mfFactory,
+                options.mergeEngine() == CoreOptions.MergeEngine.DEDUPLICATE
+                        && !options.sequenceField().isPresent(),
+                options.numLevels(),
+                keyType,
+                valueType,
+                BloomFilterCache.getOrCreate(options.fileBloomFilterCacheSize().getBytes()));
     }
 
     @Override
@@ -115,6 +145,11 @@ public class KeyValueFileStore extends AbstractFileStore<KeyValue> {
                 checkNumOfBuckets);
     }
 
+    @Override
+    protected RowType manifestIndexKeyType() {
+        return keyType;
+    }
+
     @Override
     public Comparator<InternalRow> newKeyComparator() {
         return keyComparatorSupplier.get();
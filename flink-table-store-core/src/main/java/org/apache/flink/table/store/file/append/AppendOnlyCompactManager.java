@@ -79,15 +79,10 @@ public class AppendOnlyCompactManager extends CompactFutureManager {
                 taskFuture == null,
                 "A compaction task is still running while the user "
                         + "forces a new compaction. This is unexpected.");
-        taskFuture =
-                executor.submit(
-                        new AppendOnlyCompactManager.IterativeCompactTask(
-                                toCompact,
-                                targetFileSize,
-                                minFileNum,
-                                maxFileNum,
-                                rewriter,
-                                pathFactory));
+        submitTask(
+                executor,
+                new AppendOnlyCompactManager.IterativeCompactTask(
+                        toCompact, targetFileSize, minFileNum, maxFileNum, rewriter, pathFactory));
     }
 
     private void triggerCompactionWithBestEffort() {
@@ -95,10 +90,7 @@ public class AppendOnlyCompactManager extends CompactFutureManager {
             return;
         }
         pickCompactBefore()
-                .ifPresent(
-                        (inputs) ->
-                                taskFuture =
-                                        executor.submit(new AutoCompactTask(inputs, rewriter)));
+                .ifPresent((inputs) -> submitTask(executor, new AutoCompactTask(inputs, rewriter)));
     }
 
     @Override
@@ -22,11 +22,13 @@ package org.apache.flink.table.store.file.append;
 import org.apache.flink.api.common.accumulators.LongCounter;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.compact.CompactManager;
+import org.apache.flink.table.store.file.compact.CompactResult;
 import org.apache.flink.table.store.file.io.CompactIncrement;
 import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.io.DataFilePathFactory;
 import org.apache.flink.table.store.file.io.NewFilesIncrement;
 import org.apache.flink.table.store.file.io.RowDataRollingFileWriter;
+import org.apache.flink.table.store.file.utils.FileUtils;
 import org.apache.flink.table.store.file.utils.RecordWriter;
 import org.apache.flink.table.store.format.FileFormat;
 import org.apache.flink.table.store.types.RowKind;
@@ -36,7 +38,9 @@ import org.apache.flink.util.Preconditions;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
 
 import static org.apache.flink.table.store.file.io.DataFileMeta.getMaxSequenceNumber;
 
@@ -137,8 +141,9 @@ public class AppendOnlyWriter implements RecordWriter<InternalRow> {
 
     @Override
     public void close() throws Exception {
-        // cancel compaction so that it does not block job cancelling
-        compactManager.cancelCompaction();
+        // cancel compaction so that it does not block job cancelling, a cancelled compaction
+        // which still finishes deletes its own files
+        compactManager.cancelCompaction(this::deleteCancelledCompactionFiles);
         sync();
 
         if (writer != null) {
@@ -147,6 +152,16 @@ public class AppendOnlyWriter implements RecordWriter<InternalRow> {
         }
     }
 
+    private void deleteCancelledCompactionFiles(CompactResult result) {
+        Set<String> beforeFiles =
+                result.before().stream().map(DataFileMeta::fileName).collect(Collectors.toSet());
+        for (DataFileMeta file : result.after()) {
+            if (!beforeFiles.contains(file.fileName())) {
+                FileUtils.deleteOrWarn(pathFactory.toPath(file.fileName()));
+            }
+        }
+    }
+
     private RowDataRollingFileWriter createRollingRowWriter() {
         return new RowDataRollingFileWriter(
                 schemaId, fileFormat, targetFileSize, writeSchema, pathFactory, seqNumCounter);
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.compact;
+
+import org.apache.flink.util.Preconditions;
+import org.apache.flink.util.concurrent.ExecutorThreadFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A thread pool to run {@link CompactTask}s of many buckets in parallel. Queued tasks with higher
+ * {@link CompactTask#priority()} are run first, tasks with the same priority are run in submission
+ * order.
+ */
+public class CompactExecutor extends ThreadPoolExecutor {
+
+    /** Shared executors by their number of threads, guarded by the class lock. */
+    private static final Map<Integer, CompactExecutor> SHARED_EXECUTORS = new HashMap<>();
+
+    private final AtomicLong sequence;
+
+    /** Number of writers holding this shared executor, guarded by the class lock. */
+    private int refCount;
+
+    public CompactExecutor(int numThreads, String threadName) {
+        super(
+                numThreads,
+                numThreads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(),
+                new ExecutorThreadFactory(threadName));
+        this.sequence = new AtomicLong(0);
+    }
+
+    /**
+     * Acquires the executor shared by all writers in this JVM with the same {@code numThreads}. It
+     * is created by the first caller and must be released by {@link #releaseShared} once the caller
+     * is closed.
+     */
+    public static synchronized CompactExecutor acquireShared(int numThreads) {
+        CompactExecutor executor =
+                SHARED_EXECUTORS.computeIfAbsent(
+                        numThreads, n -> new CompactExecutor(n, "shared-compaction-" + n));
+        executor.refCount++;
+        return executor;
+    }
+
+    /**
+     * Releases an executor acquired by {@link #acquireShared}. The executor is shut down when its
+     * last holder releases it, so that its threads do not outlive the writers.
+     */
+    public static synchronized void releaseShared(CompactExecutor executor) {
+        Preconditions.checkState(
+                executor.refCount > 0, "Compact executor %s is not acquired.", executor);
+        if (--executor.refCount == 0) {
+            SHARED_EXECUTORS.remove(executor.getMaximumPoolSize());
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+        int priority = callable instanceof CompactTask ? ((CompactTask) callable).priority() : 0;
+        return new PrioritizedTask<>(callable, priority, sequence.getAndIncrement());
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+        return new PrioritizedTask<>(runnable, value, sequence.getAndIncrement());
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        super.execute(command instanceof PrioritizedTask ? command : newTaskFor(command, null));
+    }
+
+    /** Number of tasks waiting for a thread. */
+    public int queueLength() {
+        return getQueue().size();
+    }
+
+    /** Approximate number of tasks being run. */
+    public int runningTasks() {
+        return getActiveCount();
+    }
+
+    /** Approximate number of finished tasks. */
+    public long completedTasks() {
+        return getCompletedTaskCount();
+    }
+
+    @Override
+    public String toString() {
+        return "CompactExecutor{"
+                + "threads="
+                + getMaximumPoolSize()
+                + ", queueLength="
+                + queueLength()
+                + ", runningTasks="
+                + runningTasks()
+                + ", completedTasks="
+                + completedTasks()
+                + '}';
+    }
+
+    private static class PrioritizedTask<T> extends FutureTask<T>
+            implements Comparable<PrioritizedTask<?>> {
+
+        private final int priority;
+        private final long sequence;
+
+        private PrioritizedTask(Callable<T> callable, int priority, long sequence) {
+            super(callable);
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        private PrioritizedTask(Runnable runnable, T value, long sequence) {
+            super(runnable, value);
+            this.priority = 0;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(PrioritizedTask<?> o) {
+            int result = Integer.compare(o.priority, priority);
+            return result != 0 ? result : Long.compare(sequence, o.sequence);
+        }
+    }
+}
@@ -24,7 +24,9 @@ import org.slf4j.LoggerFactory;
 import java.util.Optional;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 /** Base implementation of {@link CompactManager} which runs compaction in a separate thread. */
 public abstract class CompactFutureManager implements CompactManager {
@@ -32,13 +34,19 @@ public abstract class CompactFutureManager implements CompactManager {
     private static final Logger LOG = LoggerFactory.getLogger(CompactFutureManager.class);
 
     protected Future<CompactResult> taskFuture;
+    private CompactTask task;
+
+    protected void submitTask(ExecutorService executor, CompactTask task) {
+        this.task = task;
+        this.taskFuture = executor.submit(task);
+    }
 
     @Override
-    public void cancelCompaction() {
-        // TODO this method may leave behind orphan files if compaction is actually finished
-        //  but some CPU work still needs to be done
-        if (taskFuture != null && !taskFuture.isCancelled()) {
-            taskFuture.cancel(true);
+    public void cancelCompaction(Consumer<CompactResult> cancelledResultHandler) {
+        // a finished task cannot be cancelled, its result is still returned by
+        // innerGetCompactionResult
+        if (taskFuture != null && taskFuture.cancel(true)) {
+            task.whenFinishedAfterCancel(cancelledResultHandler);
         }
     }
 
@@ -52,9 +60,11 @@ public abstract class CompactFutureManager implements CompactManager {
                 } catch (CancellationException e) {
                     LOG.info("Compaction future is cancelled", e);
                     taskFuture = null;
+                    task = null;
                     return Optional.empty();
                 }
                 taskFuture = null;
+                task = null;
                 return Optional.of(result);
             }
         }
@@ -22,6 +22,7 @@ import org.apache.flink.table.store.file.io.DataFileMeta;
 
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 /** Manager to submit compaction task. */
 public interface CompactManager {
@@ -43,6 +44,10 @@ public interface CompactManager {
     Optional<CompactResult> getCompactionResult(boolean blocking)
             throws ExecutionException, InterruptedException;
 
-    /** Cancel currently running compaction task. */
-    void cancelCompaction();
+    /**
+     * Cancel currently running compaction task. A running compaction may still finish after being
+     * cancelled, {@code cancelledResultHandler} is then called with its result in the compaction
+     * thread, so that the caller can delete its files without waiting for it.
+     */
+    void cancelCompaction(Consumer<CompactResult> cancelledResultHandler);
 }
@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.compact;
+
+import org.apache.flink.table.store.file.io.FileWriter;
+import org.apache.flink.util.Preconditions;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket limiting the bytes read and written by compactions, so that large catch-up
+ * compactions do not starve foreground writes and checkpoints of disk and network bandwidth. A
+ * limiter is shared by all writers of a table in the same JVM, see {@link #acquireShared}, and its
+ * rate follows the newest schema of the table, see {@link #updateRate}.
+ *
+ * <p>Callers may take more bytes than currently available, they are blocked until the debt is paid
+ * off. At most one second of unused bytes is kept for bursts.
+ */
+public class CompactRateLimiter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CompactRateLimiter.class);
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /** Shared limiters by table path, guarded by the class lock. */
+    private static final Map<String, CompactRateLimiter> SHARED_LIMITERS = new HashMap<>();
+
+    private final AtomicLong throttledNanos;
+
+    /** Number of writers holding this shared limiter, guarded by the class lock. */
+    private int refCount;
+
+    private volatile long bytesPerSecond;
+
+    /** Id of the schema the rate comes from, guarded by this. */
+    private long schemaId;
+
+    // guarded by this
+    private double availableBytes;
+    private long lastRefillNanos;
+
+    /** @param bytesPerSecond the rate, zero or negative means unlimited */
+    public CompactRateLimiter(long bytesPerSecond) {
+        this(-1, bytesPerSecond);
+    }
+
+    private CompactRateLimiter(long schemaId, long bytesPerSecond) {
+        this.throttledNanos = new AtomicLong(0);
+        this.bytesPerSecond = bytesPerSecond;
+        this.schemaId = schemaId;
+        this.availableBytes = 0;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Acquires the limiter shared by all writers of the table at {@code tablePath} in this JVM and
+     * updates its rate by {@link #updateRate}. It must be released by {@link #releaseShared} once
+     * the caller is closed.
+     */
+    public static synchronized CompactRateLimiter acquireShared(
+            String tablePath, long schemaId, long bytesPerSecond) {
+        CompactRateLimiter limiter = SHARED_LIMITERS.get(tablePath);
+        if (limiter == null) {
+            limiter = new CompactRateLimiter(schemaId, bytesPerSecond);
+            SHARED_LIMITERS.put(tablePath, limiter);
+        } else {
+            limiter.updateRate(schemaId, bytesPerSecond);
+        }
+        limiter.refCount++;
+        return limiter;
+    }
+
+    /** Releases a limiter acquired by {@link #acquireShared}. */
+    public static synchronized void releaseShared(String tablePath, CompactRateLimiter limiter) {
+        Preconditions.checkState(
+                limiter.refCount > 0, "Compact rate limiter %s is not acquired.", limiter);
+        if (--limiter.refCount == 0) {
+            SHARED_LIMITERS.remove(tablePath);
+        }
+    }
+
+    /**
+     * Updates the rate with the one of schema {@code schemaId}, the rate of the newest schema
+     * applies to all writers of the table. A different rate of the same or an older schema, for
+     * example from dynamic table options of a writer, is ignored with a warning.
+     */
+    public synchronized void updateRate(long schemaId, long bytesPerSecond) {
+        if (bytesPerSecond == this.bytesPerSecond) {
+            this.schemaId = Math.max(this.schemaId, schemaId);
+        } else if (schemaId > this.schemaId) {
+            LOG.info(
+                    "Changing compaction io rate limit from {} to {} bytes per second of schema {}.",
+                    this.bytesPerSecond,
+                    bytesPerSecond,
+                    schemaId);
+            setRate(bytesPerSecond);
+            this.schemaId = schemaId;
+        } else {
+            LOG.warn(
+                    "Ignoring compaction io rate limit {} of schema {} conflicting with the rate {} "
+                            + "of schema {} shared by the writers of the table.",
+                    bytesPerSecond,
+                    schemaId,
+                    this.bytesPerSecond,
+                    this.schemaId);
+        }
+    }
+
+    /** Changes the rate, zero or negative means unlimited. Running compactions use it at once. */
+    public synchronized void setRate(long bytesPerSecond) {
+        refill(System.nanoTime());
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    public long rate() {
+        return bytesPerSecond;
+    }
+
+    /** Total time compactions were blocked by this limiter. */
+    public long throttledMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(throttledNanos.get());
+    }
+
+    /** Takes {@code bytes} from the bucket, blocks until they are available. */
+    public void acquire(long bytes) throws InterruptedException {
+        if (bytes <= 0 || bytesPerSecond <= 0) {
+            return;
+        }
+
+        long waitNanos;
+        synchronized (this) {
+            long rate = bytesPerSecond;
+            if (rate <= 0) {
+                return;
+            }
+            refill(System.nanoTime());
+            availableBytes -= bytes;
+            waitNanos =
+                    availableBytes >= 0 ? 0 : (long) (-availableBytes * NANOS_PER_SECOND / rate);
+        }
+
+        if (waitNanos > 0) {
+            long start = System.nanoTime();
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } finally {
+                throttledNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void refill(long now) {
+        long rate = bytesPerSecond;
+        if (rate > 0) {
+            availableBytes =
+                    Math.min(
+                            rate,
+                            availableBytes
+                                    + (double) (now - lastRefillNanos) * rate / NANOS_PER_SECOND);
+        } else {
+            availableBytes = 0;
+        }
+        lastRefillNanos = now;
+    }
+
+    /**
+     * Creates a {@link Throttle} for one compaction reading {@code inputBytes} bytes with {@code
+     * inputRecords} records and writing to {@code writers}.
+     */
+    public Throttle throttle(long inputBytes, long inputRecords, FileWriter<?, ?>... writers) {
+        return new Throttle(inputBytes, inputRecords, writers);
+    }
+
+    @Override
+    public String toString() {
+        return "CompactRateLimiter{"
+                + "bytesPerSecond="
+                + bytesPerSecond
+                + ", throttledMillis="
+                + throttledMillis()
+                + '}';
+    }
+
+    /**
+     * Throttles one compaction. The bytes read are estimated from the number of processed records,
+     * the bytes written are taken from the lengths of the writers.
+     */
+    public class Throttle {
+
+        private static final int CHECK_RECORD_CNT = 1000;
+
+        private final long inputBytes;
+        private final double bytesPerRecord;
+        private final FileWriter<?, ?>[] writers;
+
+        private long recordCount;
+        private long readBytes;
+        private long writtenBytes;
+
+        private Throttle(long inputBytes, long inputRecords, FileWriter<?, ?>[] writers) {
+            this.inputBytes = inputBytes;
+            this.bytesPerRecord = inputRecords > 0 ? (double) inputBytes / inputRecords : 0;
+            this.writers = writers;
+            this.recordCount = 0;
+            this.readBytes = 0;
+            this.writtenBytes = 0;
+        }
+
+        /** Called after each processed record. */
+        public void advance() throws IOException, InterruptedException {
+            recordCount++;
+            // query writers' length per 1000 records, like rolling file writers
+            if (recordCount % CHECK_RECORD_CNT == 0) {
+                acquireUpTo(Math.min(inputBytes, (long) (recordCount * bytesPerRecord)));
+            }
+        }
+
+        /**
+         * Called after the writers are closed. Takes all not yet taken input bytes, for example
+         * from records merged away.
+         */
+        public void finish() throws IOException, InterruptedException {
+            acquireUpTo(inputBytes);
+        }
+
+        private void acquireUpTo(long read) throws IOException, InterruptedException {
+            long written = 0;
+            for (FileWriter<?, ?> writer : writers) {
+                written += writer.length();
+            }
+            long bytes = Math.max(0, read - readBytes) + Math.max(0, written - writtenBytes);
+            readBytes = Math.max(readBytes, read);
+            writtenBytes = Math.max(writtenBytes, written);
+            acquire(bytes);
+        }
+    }
+}
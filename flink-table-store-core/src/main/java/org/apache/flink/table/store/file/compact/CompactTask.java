@@ -25,6 +25,10 @@ import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 /** Compact task. */
 public abstract class CompactTask implements Callable<CompactResult> {
@@ -33,14 +37,43 @@ public abstract class CompactTask implements Callable<CompactResult> {
 
     private final List<DataFileMeta> inputs;
 
+    private int priority;
+
+    // claimed either by running the task or by cancelling it before it runs
+    private final AtomicBoolean claimed;
+    private final CompletableFuture<CompactResult> finished;
+
     public CompactTask(List<DataFileMeta> inputs) {
         this.inputs = inputs;
+        this.priority = 0;
+        this.claimed = new AtomicBoolean(false);
+        this.finished = new CompletableFuture<>();
+    }
+
+    /** Queued tasks with higher priority are run first by a {@link CompactExecutor}. */
+    public int priority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
     }
 
     @Override
     public CompactResult call() throws Exception {
+        if (!claimed.compareAndSet(false, true)) {
+            throw new CancellationException("Compaction is cancelled before running.");
+        }
+
         long startMillis = System.currentTimeMillis();
-        CompactResult result = doCompact(inputs);
+        CompactResult result;
+        try {
+            result = doCompact(inputs);
+        } catch (Throwable t) {
+            finished.completeExceptionally(t);
+            throw t;
+        }
+        finished.complete(result);
 
         if (LOG.isDebugEnabled()) {
             logMetric(startMillis, result.before(), result.after());
@@ -49,6 +82,26 @@ public abstract class CompactTask implements Callable<CompactResult> {
         return result;
     }
 
+    /**
+     * Registers a callback after the future of this task is cancelled. A running compaction may
+     * still finish after being cancelled, {@code callback} is then called with its result in the
+     * compaction thread so that the written files can be deleted. It is not called if the task
+     * never runs or fails.
+     */
+    public void whenFinishedAfterCancel(Consumer<CompactResult> callback) {
+        if (claimed.compareAndSet(false, true)) {
+            return;
+        }
+        finished.thenAccept(
+                result -> {
+                    try {
+                        callback.accept(result);
+                    } catch (Throwable t) {
+                        LOG.warn("Failed to clean up the result of a cancelled compaction.", t);
+                    }
+                });
+    }
+
     protected String logMetric(
             long startMillis, List<DataFileMeta> compactBefore, List<DataFileMeta> compactAfter) {
         return String.format(
@@ -24,6 +24,7 @@ import org.apache.flink.util.Preconditions;
 
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 /** A {@link CompactManager} which never compacts. */
 public class NoopCompactManager implements CompactManager {
@@ -55,5 +56,5 @@ public class NoopCompactManager implements CompactManager {
     }
 
     @Override
-    public void cancelCompaction() {}
+    public void cancelCompaction(Consumer<CompactResult> cancelledResultHandler) {}
 }
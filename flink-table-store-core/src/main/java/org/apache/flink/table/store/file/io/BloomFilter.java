@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.io;
+
+import org.apache.flink.core.fs.FSDataInputStream;
+import org.apache.flink.core.fs.FSDataOutputStream;
+import org.apache.flink.core.fs.FileSystem;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.table.store.data.BinaryRow;
+import org.apache.flink.table.store.types.RowKind;
+import org.apache.flink.table.store.utils.MurmurHashUtils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A bloom filter of 32-bit hash codes, for example {@link #hash(BinaryRow)} of the keys in a data
+ * file. The positions of a hash code are computed by double hashing.
+ */
+public class BloomFilter {
+
+    private static final int VERSION = 1;
+
+    private final int numHashFunctions;
+    private final long[] words;
+    private final long numBits;
+
+    private BloomFilter(int numHashFunctions, long[] words) {
+        this.numHashFunctions = numHashFunctions;
+        this.words = words;
+        this.numBits = (long) words.length * Long.SIZE;
+    }
+
+    /** Creates an empty filter for {@code expectedEntries} with false positive rate {@code fpp}. */
+    public static BloomFilter create(long expectedEntries, double fpp) {
+        long n = Math.max(1, expectedEntries);
+        long bits = (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int numWords = (int) Math.max(1, Math.min(Integer.MAX_VALUE, (bits + 63) / 64));
+        int numHashFunctions =
+                Math.max(1, (int) Math.round((double) numWords * Long.SIZE / n * Math.log(2)));
+        return new BloomFilter(numHashFunctions, new long[numWords]);
+    }
+
+    public long sizeInBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    public void add(int hash) {
+        int hash2 = hash2(hash);
+        for (int i = 0; i < numHashFunctions; i++) {
+            long bit = position(hash, hash2, i);
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    public boolean mightContain(int hash) {
+        int hash2 = hash2(hash);
+        for (int i = 0; i < numHashFunctions; i++) {
+            long bit = position(hash, hash2, i);
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Hash code of a key, independent of its row kind. */
+    public static int hash(BinaryRow key) {
+        if (key.getRowKind() != RowKind.INSERT) {
+            key = key.copy();
+            key.setRowKind(RowKind.INSERT);
+        }
+        return key.hashCode();
+    }
+
+    private static int hash2(int hash) {
+        return MurmurHashUtils.fmix(hash ^ 0x5bd1e995);
+    }
+
+    private long position(int hash1, int hash2, int i) {
+        long combined = (hash1 & 0xFFFFFFFFL) + (long) i * (hash2 & 0xFFFFFFFFL);
+        return combined % numBits;
+    }
+
+    public void write(Path path) throws IOException {
+        try (FSDataOutputStream out =
+                        path.getFileSystem().create(path, FileSystem.WriteMode.NO_OVERWRITE);
+                DataOutputStream view = new DataOutputStream(out)) {
+            view.writeInt(VERSION);
+            view.writeInt(numHashFunctions);
+            view.writeInt(words.length);
+            for (long word : words) {
+                view.writeLong(word);
+            }
+        }
+    }
+
+    public static BloomFilter read(Path path) throws IOException {
+        try (FSDataInputStream in = path.getFileSystem().open(path);
+                DataInputStream view = new DataInputStream(in)) {
+            int version = view.readInt();
+            if (version != VERSION) {
+                throw new IOException(
+                        "Unsupported bloom filter version " + version + " of file " + path);
+            }
+            int numHashFunctions = view.readInt();
+            long[] words = new long[view.readInt()];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = view.readLong();
+            }
+            return new BloomFilter(numHashFunctions, words);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BloomFilter that = (BloomFilter) o;
+        return numHashFunctions == that.numHashFunctions && Arrays.equals(words, that.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * numHashFunctions + Arrays.hashCode(words);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.io;
+
+import org.apache.flink.core.fs.Path;
+
+import org.apache.flink.shaded.guava30.com.google.common.cache.Cache;
+import org.apache.flink.shaded.guava30.com.google.common.cache.CacheBuilder;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import static org.apache.flink.table.store.file.io.DataFilePathFactory.BLOOM_FILTER_FILE_SUFFIX;
+
+/**
+ * A cache of the {@link BloomFilter}s of data files, shared by all reads and lookups in one JVM.
+ * Data files never change, so cached bloom filters never go stale.
+ *
+ * <p>The cache is bounded by the total size of the cached bloom filters. There is one cache per
+ * configured bound in a JVM: tables configured with the same bound share a cache.
+ */
+public class BloomFilterCache {
+
+    private static final Map<Long, BloomFilterCache> INSTANCES = new ConcurrentHashMap<>();
+
+    private final Cache<String, BloomFilter> cache;
+
+    private BloomFilterCache(long maxBytes) {
+        this.cache =
+                CacheBuilder.newBuilder()
+                        .maximumWeight(maxBytes)
+                        .<String, BloomFilter>weigher(
+                                (file, filter) ->
+                                        (int) Math.min(Integer.MAX_VALUE, filter.sizeInBytes()))
+                        .build();
+    }
+
+    /** Returns the JVM-wide cache bounded by {@code maxBytes}. */
+    public static BloomFilterCache getOrCreate(long maxBytes) {
+        return INSTANCES.computeIfAbsent(Math.max(0, maxBytes), BloomFilterCache::new);
+    }
+
+    /**
+     * Returns false if the bloom filter of {@code file} does not contain {@code keyHash}, true if
+     * it may contain it or if the file has no bloom filter.
+     */
+    public boolean mightContain(
+            DataFilePathFactory pathFactory, DataFileMeta file, int keyHash) throws IOException {
+        String bloomFilterFile = bloomFilterFile(file);
+        return bloomFilterFile == null
+                || bloomFilter(pathFactory.toPath(bloomFilterFile)).mightContain(keyHash);
+    }
+
+    private BloomFilter bloomFilter(Path path) throws IOException {
+        try {
+            return cache.get(path.toString(), () -> BloomFilter.read(path));
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+
+    @Nullable
+    private static String bloomFilterFile(DataFileMeta file) {
+        for (String extraFile : file.extraFiles()) {
+            if (extraFile.endsWith(BLOOM_FILTER_FILE_SUFFIX)) {
+                return extraFile;
+            }
+        }
+        return null;
+    }
+}
@@ -196,6 +196,11 @@ public class DataFileMeta {
      *         <li>Stores changelog files for {@link CoreOptions.ChangelogProducer#INPUT}. Changelog
      *             files are moved to {@link NewFilesIncrement} since Table Store 0.3.
      *       </ul>
+     *   <li>Table Store 0.4
+     *       <ul>
+     *         <li>Stores {@link BloomFilter} files of keys, see {@link
+     *             CoreOptions#FILE_BLOOM_FILTER_ENABLED}.
+     *       </ul>
      * </ul>
      */
     public List<String> extraFiles() {
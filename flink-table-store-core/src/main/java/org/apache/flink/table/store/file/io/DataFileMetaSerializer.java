@@ -34,6 +34,9 @@ public class DataFileMetaSerializer extends ObjectSerializer<DataFileMeta> {
 
     private static final long serialVersionUID = 1L;
 
+    /** Position of the level in rows of this serializer. */
+    public static final int LEVEL_INDEX = 10;
+
     public DataFileMetaSerializer() {
         super(DataFileMeta.schema());
     }
@@ -68,7 +71,7 @@ public class DataFileMetaSerializer extends ObjectSerializer<DataFileMeta> {
                 row.getLong(7),
                 row.getLong(8),
                 row.getLong(9),
-                row.getInt(10),
+                row.getInt(LEVEL_INDEX),
                 fromStringArrayData(row.getArray(11)));
     }
 }
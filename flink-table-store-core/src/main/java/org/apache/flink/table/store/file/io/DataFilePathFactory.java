@@ -34,6 +34,8 @@ public class DataFilePathFactory {
 
     public static final String CHANGELOG_FILE_PREFIX = "changelog-";
 
+    public static final String BLOOM_FILTER_FILE_SUFFIX = ".bloom";
+
     private final Path bucketDir;
     private final String uuid;
 
@@ -61,6 +63,11 @@ public class DataFilePathFactory {
         return new Path(bucketDir, name);
     }
 
+    /** Name of the {@link BloomFilter} file of keys written next to a data file. */
+    public static String bloomFilterFileName(String dataFileName) {
+        return dataFileName + BLOOM_FILTER_FILE_SUFFIX;
+    }
+
     public Path toPath(String fileName) {
         return new Path(bucketDir + "/" + fileName);
     }
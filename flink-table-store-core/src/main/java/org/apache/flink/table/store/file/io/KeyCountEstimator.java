@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.io;
+
+/**
+ * Estimates how many keys a data file of the target size holds, from the average size of the
+ * records in the files written before. Used to size the {@link BloomFilter} of a data file before
+ * its keys are written.
+ */
+public class KeyCountEstimator {
+
+    private final long targetFileSize;
+
+    private volatile double bytesPerKey = -1;
+
+    public KeyCountEstimator(long targetFileSize) {
+        this.targetFileSize = targetFileSize;
+    }
+
+    /** Returns the estimated number of keys of a data file, or -1 if nothing is written yet. */
+    public long estimate() {
+        double bytes = bytesPerKey;
+        return bytes > 0 ? Math.max(1, (long) Math.ceil(targetFileSize / bytes)) : -1;
+    }
+
+    /** Updates the estimation with a written data file. */
+    public void update(long fileSize, long keyCount) {
+        if (fileSize > 0 && keyCount > 0) {
+            bytesPerKey = (double) fileSize / keyCount;
+        }
+    }
+}
@@ -38,6 +38,7 @@ import javax.annotation.Nullable;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.function.Function;
 
 /**
@@ -66,6 +67,14 @@ public class KeyValueDataFileWriter
     private long minSeqNumber = Long.MAX_VALUE;
     private long maxSeqNumber = Long.MIN_VALUE;
 
+    private final double bloomFilterFpp;
+    @Nullable private final KeyCountEstimator keyCountEstimator;
+    // sized from the estimated key count if there is one, otherwise key hashes are kept and the
+    // filter is built when closing
+    @Nullable private BloomFilter bloomFilter;
+    @Nullable private int[] keyHashes;
+    @Nullable private Path bloomFilterPath = null;
+
     public KeyValueDataFileWriter(
             BulkWriter.Factory<InternalRow> factory,
             Path path,
@@ -75,6 +84,36 @@ public class KeyValueDataFileWriter
             @Nullable FileStatsExtractor fileStatsExtractor,
             long schemaId,
             int level) {
+        this(
+                factory,
+                path,
+                converter,
+                keyType,
+                valueType,
+                fileStatsExtractor,
+                schemaId,
+                level,
+                0,
+                null);
+    }
+
+    /**
+     * @param bloomFilterFpp false positive rate of the {@link BloomFilter} of keys written next to
+     *     the data file, no bloom filter is written if it is not positive
+     * @param keyCountEstimator estimates the number of keys to size the {@link BloomFilter} before
+     *     writing, so that key hashes need not be kept until the file is closed
+     */
+    public KeyValueDataFileWriter(
+            BulkWriter.Factory<InternalRow> factory,
+            Path path,
+            Function<KeyValue, InternalRow> converter,
+            RowType keyType,
+            RowType valueType,
+            @Nullable FileStatsExtractor fileStatsExtractor,
+            long schemaId,
+            int level,
+            double bloomFilterFpp,
+            @Nullable KeyCountEstimator keyCountEstimator) {
         super(factory, path, converter, KeyValue.schema(keyType, valueType), fileStatsExtractor);
 
         this.keyType = keyType;
@@ -85,6 +124,17 @@ public class KeyValueDataFileWriter
         this.keyStatsConverter = new FieldStatsArraySerializer(keyType);
         this.valueStatsConverter = new FieldStatsArraySerializer(valueType);
         this.keySerializer = new RowDataSerializer(keyType);
+
+        this.bloomFilterFpp = bloomFilterFpp;
+        this.keyCountEstimator = keyCountEstimator;
+        if (bloomFilterFpp > 0) {
+            long expectedKeys = keyCountEstimator == null ? -1 : keyCountEstimator.estimate();
+            if (expectedKeys > 0) {
+                this.bloomFilter = BloomFilter.create(expectedKeys, bloomFilterFpp);
+            } else {
+                this.keyHashes = new int[1024];
+            }
+        }
     }
 
     @Override
@@ -97,6 +147,12 @@ public class KeyValueDataFileWriter
         updateMinSeqNumber(kv);
         updateMaxSeqNumber(kv);
 
+        if (bloomFilter != null) {
+            bloomFilter.add(BloomFilter.hash(keySerializer.toBinaryRow(kv.key())));
+        } else if (keyHashes != null) {
+            addKeyHash(kv);
+        }
+
         if (LOG.isDebugEnabled()) {
             LOG.debug("Write key value " + kv.toString(keyType, valueType));
         }
@@ -120,6 +176,59 @@ public class KeyValueDataFileWriter
         maxSeqNumber = Math.max(maxSeqNumber, kv.sequenceNumber());
     }
 
+    private void addKeyHash(KeyValue kv) {
+        // the record has been counted by super.write
+        int index = (int) recordCount() - 1;
+        if (index == keyHashes.length) {
+            keyHashes = Arrays.copyOf(keyHashes, keyHashes.length * 2);
+        }
+        keyHashes[index] = BloomFilter.hash(keySerializer.toBinaryRow(kv.key()));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        super.close();
+        if (keyHashes != null && recordCount() > 0) {
+            int numKeys = (int) recordCount();
+            bloomFilter = BloomFilter.create(numKeys, bloomFilterFpp);
+            for (int i = 0; i < numKeys; i++) {
+                bloomFilter.add(keyHashes[i]);
+            }
+            keyHashes = null;
+        }
+
+        if (bloomFilter != null && recordCount() > 0) {
+            bloomFilterPath =
+                    new Path(
+                            path.getParent(),
+                            DataFilePathFactory.bloomFilterFileName(path.getName()));
+            try {
+                bloomFilter.write(bloomFilterPath);
+            } catch (IOException e) {
+                LOG.warn(
+                        "Exception occurs when writing bloom filter "
+                                + bloomFilterPath
+                                + ". Cleaning up.",
+                        e);
+                abort();
+                throw e;
+            }
+        }
+        bloomFilter = null;
+    }
+
+    @Override
+    public void abort() {
+        super.abort();
+        if (bloomFilterPath != null) {
+            FileUtils.deleteOrWarn(bloomFilterPath);
+        }
+    }
+
     @Override
     @Nullable
     public DataFileMeta result() throws IOException {
@@ -137,9 +246,14 @@ public class KeyValueDataFileWriter
                 Arrays.copyOfRange(rowStats, numKeyFields + 2, rowStats.length);
         BinaryTableStats valueStats = valueStatsConverter.toBinary(valFieldStats);
 
+        long fileSize = FileUtils.getFileSize(path);
+        if (keyCountEstimator != null) {
+            keyCountEstimator.update(fileSize, recordCount());
+        }
+
         return new DataFileMeta(
                 path.getName(),
-                FileUtils.getFileSize(path),
+                fileSize,
                 recordCount(),
                 minKey,
                 keySerializer.toBinaryRow(maxKey).copy(),
@@ -148,6 +262,9 @@ public class KeyValueDataFileWriter
                 minSeqNumber,
                 maxSeqNumber,
                 schemaId,
-                level);
+                level,
+                bloomFilterPath == null
+                        ? Collections.emptyList()
+                        : Collections.singletonList(bloomFilterPath.getName()));
     }
 }
@@ -29,6 +29,7 @@ import org.apache.flink.table.store.file.utils.FileStorePathFactory;
 import org.apache.flink.table.store.file.utils.RecordReader;
 import org.apache.flink.table.store.format.FileFormatDiscover;
 import org.apache.flink.table.store.format.FormatKey;
+import org.apache.flink.table.store.format.FormatReadMetrics;
 import org.apache.flink.table.store.types.RowType;
 import org.apache.flink.table.store.utils.Projection;
 
@@ -124,6 +125,8 @@ public class KeyValueFileReaderFactory {
         private RowType projectedKeyType;
         private RowType projectedValueType;
 
+        @Nullable private FormatReadMetrics metrics;
+
         private Builder(
                 SchemaManager schemaManager,
                 long schemaId,
@@ -158,6 +161,12 @@ public class KeyValueFileReaderFactory {
             return this;
         }
 
+        /** Records the metrics of the readers of the built factories into {@code metrics}. */
+        public Builder withMetrics(FormatReadMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
         public KeyValueFileReaderFactory build(BinaryRow partition, int bucket) {
             return build(partition, bucket, true, Collections.emptyList());
         }
@@ -176,7 +185,12 @@ public class KeyValueFileReaderFactory {
                     projectedKeyType,
                     projectedValueType,
                     BulkFormatMapping.newBuilder(
-                            formatDiscover, extractor, keyProjection, valueProjection, filters),
+                                    formatDiscover,
+                                    extractor,
+                                    keyProjection,
+                                    valueProjection,
+                                    filters)
+                            .withMetrics(metrics),
                     pathFactory.createDataFilePathFactory(partition, bucket));
         }
 
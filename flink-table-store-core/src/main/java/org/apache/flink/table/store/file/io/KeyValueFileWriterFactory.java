@@ -43,6 +43,8 @@ public class KeyValueFileWriterFactory {
     @Nullable private final FileStatsExtractor fileStatsExtractor;
     private final DataFilePathFactory pathFactory;
     private final long suggestedFileSize;
+    private final double bloomFilterFpp;
+    private final KeyCountEstimator keyCountEstimator;
 
     private KeyValueFileWriterFactory(
             long schemaId,
@@ -51,7 +53,8 @@ public class KeyValueFileWriterFactory {
             BulkWriter.Factory<InternalRow> writerFactory,
             @Nullable FileStatsExtractor fileStatsExtractor,
             DataFilePathFactory pathFactory,
-            long suggestedFileSize) {
+            long suggestedFileSize,
+            double bloomFilterFpp) {
         this.schemaId = schemaId;
         this.keyType = keyType;
         this.valueType = valueType;
@@ -59,6 +62,8 @@ public class KeyValueFileWriterFactory {
         this.fileStatsExtractor = fileStatsExtractor;
         this.pathFactory = pathFactory;
         this.suggestedFileSize = suggestedFileSize;
+        this.bloomFilterFpp = bloomFilterFpp;
+        this.keyCountEstimator = new KeyCountEstimator(suggestedFileSize);
     }
 
     public RowType keyType() {
@@ -76,16 +81,19 @@ public class KeyValueFileWriterFactory {
 
     public RollingFileWriter<KeyValue, DataFileMeta> createRollingMergeTreeFileWriter(int level) {
         return new RollingFileWriter<>(
-                () -> createDataFileWriter(pathFactory.newPath(), level), suggestedFileSize);
+                () -> createDataFileWriter(pathFactory.newPath(), level, bloomFilterFpp),
+                suggestedFileSize);
     }
 
     public RollingFileWriter<KeyValue, DataFileMeta> createRollingChangelogFileWriter(int level) {
+        // changelog files are not looked up by keys
         return new RollingFileWriter<>(
-                () -> createDataFileWriter(pathFactory.newChangelogPath(), level),
+                () -> createDataFileWriter(pathFactory.newChangelogPath(), level, 0),
                 suggestedFileSize);
     }
 
-    private KeyValueDataFileWriter createDataFileWriter(Path path, int level) {
+    private KeyValueDataFileWriter createDataFileWriter(
+            Path path, int level, double bloomFilterFpp) {
         KeyValueSerializer kvSerializer = new KeyValueSerializer(keyType, valueType);
         return new KeyValueDataFileWriter(
                 writerFactory,
@@ -95,13 +103,23 @@ public class KeyValueFileWriterFactory {
                 valueType,
                 fileStatsExtractor,
                 schemaId,
-                level);
+                level,
+                bloomFilterFpp,
+                keyCountEstimator);
     }
 
     public void deleteFile(String filename) {
         FileUtils.deleteOrWarn(pathFactory.toPath(filename));
     }
 
+    /** Deletes a data file together with its extra files. */
+    public void deleteFile(DataFileMeta file) {
+        deleteFile(file.fileName());
+        for (String extraFile : file.extraFiles()) {
+            deleteFile(extraFile);
+        }
+    }
+
     public static Builder builder(
             long schemaId,
             RowType keyType,
@@ -123,6 +141,8 @@ public class KeyValueFileWriterFactory {
         private final FileStorePathFactory pathFactory;
         private final long suggestedFileSize;
 
+        private double bloomFilterFpp = 0;
+
         private Builder(
                 long schemaId,
                 RowType keyType,
@@ -138,6 +158,15 @@ public class KeyValueFileWriterFactory {
             this.suggestedFileSize = suggestedFileSize;
         }
 
+        /**
+         * Writes a {@link BloomFilter} of keys with false positive rate {@code fpp} next to each
+         * data file.
+         */
+        public Builder withBloomFilter(double fpp) {
+            this.bloomFilterFpp = fpp;
+            return this;
+        }
+
         public KeyValueFileWriterFactory build(BinaryRow partition, int bucket) {
             RowType recordType = KeyValue.schema(keyType, valueType);
             return new KeyValueFileWriterFactory(
@@ -147,7 +176,8 @@ public class KeyValueFileWriterFactory {
                     fileFormat.createWriterFactory(recordType),
                     fileFormat.createStatsExtractor(recordType).orElse(null),
                     pathFactory.createDataFilePathFactory(partition, bucket),
-                    suggestedFileSize);
+                    suggestedFileSize,
+                    bloomFilterFpp);
         }
     }
 }
@@ -20,6 +20,11 @@ package org.apache.flink.table.store.file.io;
 
 import org.apache.flink.core.fs.Path;
 import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.data.columnar.ColumnarRowIterator;
+import org.apache.flink.table.store.data.columnar.VectorizedColumnBatch;
+import org.apache.flink.table.store.data.columnar.VectorizedRecordIterator;
+import org.apache.flink.table.store.file.predicate.Predicate;
+import org.apache.flink.table.store.file.predicate.VectorizedPredicateFilter;
 import org.apache.flink.table.store.file.utils.FileUtils;
 import org.apache.flink.table.store.file.utils.RecordReader;
 import org.apache.flink.table.store.format.FormatReaderFactory;
@@ -28,24 +33,84 @@ import javax.annotation.Nullable;
 
 import java.io.IOException;
 
-/** Reads {@link InternalRow} from data files. */
+/**
+ * Reads {@link InternalRow} from data files. Batches of columnar formats are returned as {@link
+ * VectorizedRecordIterator}s, whose rows are selected by the filter if there is one. Rows of other
+ * formats are not filtered.
+ */
 public class RowDataFileRecordReader implements RecordReader<InternalRow> {
 
     private final RecordReader<InternalRow> reader;
     @Nullable private final int[] indexMapping;
+    @Nullable private final VectorizedPredicateFilter filter;
+    private final boolean formatFiltered;
 
     public RowDataFileRecordReader(
             Path path, FormatReaderFactory readerFactory, @Nullable int[] indexMapping)
             throws IOException {
+        this(path, readerFactory, indexMapping, null, false);
+    }
+
+    /**
+     * Creates a reader whose columnar batches are filtered by the given filter, the field indexes
+     * of the filter are the ones of the rows after index mapping.
+     *
+     * @param formatFiltered whether the filters given to the format contain the given filter, in
+     *     which case the selection computed by the format is used instead of evaluating the filter
+     *     again
+     */
+    public RowDataFileRecordReader(
+            Path path,
+            FormatReaderFactory readerFactory,
+            @Nullable int[] indexMapping,
+            @Nullable Predicate filter,
+            boolean formatFiltered)
+            throws IOException {
         this.reader = FileUtils.createFormatReader(readerFactory, path);
         this.indexMapping = indexMapping;
+        this.filter = filter == null ? null : new VectorizedPredicateFilter(filter);
+        this.formatFiltered = formatFiltered;
     }
 
     @Nullable
     @Override
     public RecordReader.RecordIterator<InternalRow> readBatch() throws IOException {
         RecordIterator<InternalRow> iterator = reader.readBatch();
-        return iterator == null ? null : new RowDataFileRecordIterator(iterator, indexMapping);
+        if (iterator == null) {
+            return null;
+        } else if (iterator instanceof VectorizedRecordIterator && filter != null) {
+            return filter((VectorizedRecordIterator) iterator);
+        } else if (iterator instanceof VectorizedRecordIterator) {
+            return new VectorizedRowDataFileRecordIterator(
+                    (VectorizedRecordIterator) iterator, indexMapping);
+        } else {
+            return new RowDataFileRecordIterator(iterator, indexMapping);
+        }
+    }
+
+    private ColumnarRowIterator filter(VectorizedRecordIterator iterator) {
+        boolean[] selected = iterator.selection();
+        VectorizedColumnBatch batch = iterator.batch();
+        if (indexMapping != null) {
+            batch = batch.project(indexMapping);
+        }
+
+        int numRows = batch.getNumRows();
+        ColumnarRowIterator result = new ColumnarRowIterator(batch, iterator::releaseBatch);
+        if (selected != null && formatFiltered) {
+            result.set(numRows, selected);
+            return result;
+        }
+
+        boolean[] selection = new boolean[numRows];
+        filter.filter(batch, selection);
+        if (selected != null) {
+            for (int i = 0; i < numRows; i++) {
+                selection[i] &= selected[i];
+            }
+        }
+        result.set(numRows, selection);
+        return result;
     }
 
     @Override
@@ -75,4 +140,32 @@ public class RowDataFileRecordReader implements RecordReader<InternalRow> {
             iterator.releaseBatch();
         }
     }
+
+    private static class VectorizedRowDataFileRecordIterator extends RowDataFileRecordIterator
+            implements VectorizedRecordIterator {
+
+        private final VectorizedRecordIterator iterator;
+        @Nullable private final int[] indexMapping;
+
+        private VectorizedRowDataFileRecordIterator(
+                VectorizedRecordIterator iterator, @Nullable int[] indexMapping) {
+            super(iterator, indexMapping);
+            this.iterator = iterator;
+            this.indexMapping = indexMapping;
+        }
+
+        @Override
+        public VectorizedColumnBatch batch() {
+            VectorizedColumnBatch batch = iterator.batch();
+            return indexMapping == null ? batch : batch.project(indexMapping);
+        }
+
+        @Nullable
+        @Override
+        public boolean[] selection() {
+            // rows are not filtered without a read filter, even if the format has evaluated its
+            // filter
+            return null;
+        }
+    }
 }
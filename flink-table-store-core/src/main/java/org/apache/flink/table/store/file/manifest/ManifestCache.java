@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.manifest;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
+
+import org.apache.flink.shaded.guava30.com.google.common.cache.Cache;
+import org.apache.flink.shaded.guava30.com.google.common.cache.CacheBuilder;
+import org.apache.flink.shaded.guava30.com.google.common.cache.CacheStats;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A cache of deserialized {@link ManifestFile}s and {@link ManifestList}s, shared by all readers in
+ * one JVM. Manifests are immutable once written, so cached contents never go stale; entries are
+ * only invalidated when the file is deleted.
+ *
+ * <p>The cache is bounded by the total number of cached objects ({@link ManifestEntry}s and {@link
+ * ManifestFileMeta}s). There is one cache per configured bound in a JVM: tables configured with the
+ * same bound share a cache, tables configured with different bounds use different caches.
+ */
+public class ManifestCache {
+
+    private static final Map<Long, ManifestCache> INSTANCES = new ConcurrentHashMap<>();
+
+    private final Cache<Path, List<?>> cache;
+    private final AtomicBoolean metricsRegistered;
+
+    @VisibleForTesting
+    ManifestCache(long maxEntries) {
+        this.metricsRegistered = new AtomicBoolean(false);
+        this.cache =
+                CacheBuilder.newBuilder()
+                        .maximumWeight(maxEntries)
+                        .<Path, List<?>>weigher((path, objects) -> Math.max(1, objects.size()))
+                        .recordStats()
+                        .build();
+    }
+
+    /**
+     * Returns the JVM-wide cache bounded by {@code maxEntries}, or null if {@code maxEntries} is not
+     * positive, which means caching is disabled.
+     */
+    @Nullable
+    public static ManifestCache getOrCreate(long maxEntries) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        return INSTANCES.computeIfAbsent(maxEntries, ManifestCache::new);
+    }
+
+    /**
+     * Returns the cached objects of {@code path}, reading them with {@code reader} on a miss.
+     * Concurrent misses on the same path only read the file once. The returned list is
+     * unmodifiable.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> read(Path path, Reader<T> reader) throws IOException {
+        try {
+            return (List<T>) cache.get(path, () -> Collections.unmodifiableList(reader.read(path)));
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    public void invalidate(Path path) {
+        cache.invalidate(path);
+    }
+
+    public long hitCount() {
+        return stats().hitCount();
+    }
+
+    public long missCount() {
+        return stats().missCount();
+    }
+
+    public long evictionCount() {
+        return stats().evictionCount();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Registers the hit, miss and eviction counts and the size of this cache to the group. The
+     * cache is shared, so only the first call registers them.
+     */
+    public void registerMetrics(MetricGroup group) {
+        if (!metricsRegistered.compareAndSet(false, true)) {
+            return;
+        }
+        group.gauge("hitCount", (Gauge<Long>) this::hitCount);
+        group.gauge("missCount", (Gauge<Long>) this::missCount);
+        group.gauge("evictionCount", (Gauge<Long>) this::evictionCount);
+        group.gauge("size", (Gauge<Long>) this::size);
+    }
+
+    private CacheStats stats() {
+        return cache.stats();
+    }
+
+    /** Reads all objects from a manifest file or a manifest list. */
+    @FunctionalInterface
+    public interface Reader<T> {
+        List<T> read(Path path) throws IOException;
+    }
+}
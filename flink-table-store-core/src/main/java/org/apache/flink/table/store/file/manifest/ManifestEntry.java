@@ -35,6 +35,7 @@ import java.util.Map;
 import java.util.Objects;
 
 import static org.apache.flink.table.store.file.utils.SerializationUtils.newBytesType;
+import static org.apache.flink.table.store.file.utils.SerializationUtils.newStringType;
 
 /** Entry of a manifest file, representing an addition / deletion of a data file. */
 public class ManifestEntry {
@@ -79,16 +80,31 @@ public class ManifestEntry {
         return new Identifier(partition, bucket, file.level(), file.fileName());
     }
 
+    /** The columns of all manifest entry versions, with which manifest files are read. */
     public static RowType schema() {
         List<DataField> fields = new ArrayList<>();
         fields.add(new DataField(0, "_KIND", new TinyIntType(false)));
         fields.add(new DataField(1, "_PARTITION", newBytesType(false)));
         fields.add(new DataField(2, "_BUCKET", new IntType(false)));
         fields.add(new DataField(3, "_TOTAL_BUCKETS", new IntType(false)));
+        // only written by version 2, version 3 stores the data file meta in the following columns
         fields.add(new DataField(4, "_FILE", DataFileMeta.schema()));
+        // columns to filter entries on before their data file metas are decoded, see
+        // ManifestFile#read(String, EntryFilter)
+        fields.add(new DataField(5, "_FILE_NAME", newStringType(true)));
+        fields.add(new DataField(6, "_LEVEL", new IntType(true)));
+        // the serialized data file meta including its key range and statistics
+        fields.add(new DataField(7, "_FILE_META", newBytesType(true)));
         return new RowType(fields);
     }
 
+    /** The columns written by manifest entry version {@code version}. */
+    public static RowType schema(int version) {
+        RowType schema = schema();
+        // version 2 is written without the columns added by version 3
+        return version == 2 ? new RowType(schema.getFields().subList(0, 5)) : schema;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (!(o instanceof ManifestEntry)) {
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.manifest;
+
+import org.apache.flink.util.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Merges {@link ManifestEntry}s of many manifest files in parallel, with the same result as {@link
+ * ManifestEntry#mergeEntries}.
+ *
+ * <p>Entries of one data file always share the same partition and bucket, so the entries are
+ * sharded by partition and bucket and each shard is merged independently. Manifest files are
+ * consumed in batches: a batch is read in parallel and then merged into all shards in parallel, in
+ * the order of the manifest files. Only the merged entries and one batch of unmerged entries are
+ * held in memory at any time.
+ */
+public class ManifestEntryMerger {
+
+    private final ForkJoinPool pool;
+    private final List<LinkedHashMap<ManifestEntry.Identifier, ManifestEntry>> shards;
+
+    public ManifestEntryMerger(ForkJoinPool pool) {
+        this(pool, pool.getParallelism());
+    }
+
+    public ManifestEntryMerger(ForkJoinPool pool, int numShards) {
+        Preconditions.checkArgument(numShards > 0, "Number of shards must be positive.");
+        this.pool = pool;
+        this.shards = new ArrayList<>(numShards);
+        for (int i = 0; i < numShards; i++) {
+            shards.add(new LinkedHashMap<>());
+        }
+    }
+
+    /**
+     * Adds already merged entries, for example the files of a previous plan. Must be called before
+     * any manifest file is merged.
+     */
+    public void addMerged(Collection<ManifestEntry> entries) {
+        for (ManifestEntry entry : entries) {
+            shards.get(shard(entry)).put(entry.identifier(), entry);
+        }
+    }
+
+    /**
+     * Reads and merges the entries of {@code manifests} in the given order.
+     *
+     * @param reader reads the entries of a manifest file which should be merged, it is called
+     *     concurrently and must be thread-safe
+     */
+    public <M> void merge(List<M> manifests, Function<M, List<ManifestEntry>> reader) {
+        int batchSize = shards.size();
+        for (int start = 0; start < manifests.size(); start += batchSize) {
+            List<M> batch = manifests.subList(start, Math.min(start + batchSize, manifests.size()));
+            List<List<List<ManifestEntry>>> sharded =
+                    execute(
+                            () ->
+                                    batch.parallelStream()
+                                            .map(m -> shard(reader.apply(m)))
+                                            .collect(Collectors.toList()));
+            execute(
+                    () -> {
+                        IntStream.range(0, shards.size())
+                                .parallel()
+                                .forEach(
+                                        i -> {
+                                            for (List<List<ManifestEntry>> entries : sharded) {
+                                                ManifestEntry.mergeEntries(
+                                                        entries.get(i), shards.get(i));
+                                            }
+                                        });
+                        return null;
+                    });
+        }
+    }
+
+    /**
+     * Returns the merged entries. Entries of the same partition and bucket keep their relative
+     * order.
+     */
+    public Iterable<ManifestEntry> result() {
+        return () -> shards.stream().flatMap(shard -> shard.values().stream()).iterator();
+    }
+
+    private List<List<ManifestEntry>> shard(List<ManifestEntry> entries) {
+        List<List<ManifestEntry>> sharded = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            sharded.add(new ArrayList<>());
+        }
+        for (ManifestEntry entry : entries) {
+            sharded.get(shard(entry)).add(entry);
+        }
+        return sharded;
+    }
+
+    private int shard(ManifestEntry entry) {
+        return Math.floorMod(31 * entry.partition().hashCode() + entry.bucket(), shards.size());
+    }
+
+    private <T> T execute(Callable<T> task) {
+        try {
+            return pool.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while merging ManifestEntry list", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to merge ManifestEntry list concurrently", e);
+        }
+    }
+}
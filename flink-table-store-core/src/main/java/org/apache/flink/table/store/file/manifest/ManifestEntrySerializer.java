@@ -18,58 +18,146 @@
 
 package org.apache.flink.table.store.file.manifest;
 
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.table.store.CoreOptions;
+import org.apache.flink.table.store.data.BinaryString;
 import org.apache.flink.table.store.data.GenericRow;
 import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.io.DataFileMetaSerializer;
+import org.apache.flink.table.store.file.utils.OffsetRow;
 import org.apache.flink.table.store.file.utils.VersionedObjectSerializer;
+import org.apache.flink.util.Preconditions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 import static org.apache.flink.table.store.file.utils.SerializationUtils.deserializeBinaryRow;
 import static org.apache.flink.table.store.file.utils.SerializationUtils.serializeBinaryRow;
 
-/** Serializer for {@link ManifestEntry}. */
+/**
+ * Serializer for {@link ManifestEntry}.
+ *
+ * <p>Entries are written with the version given by {@link CoreOptions#MANIFEST_ENTRY_VERSION}, and
+ * entries of both versions are read. Version 2 stores the data file meta as a nested row. Version 3
+ * stores the data file meta as serialized bytes, next to its file name and level, so that entries
+ * can be filtered by {@link #test} without decoding the key range and statistics of their data
+ * files.
+ */
 public class ManifestEntrySerializer extends VersionedObjectSerializer<ManifestEntry> {
 
     private static final long serialVersionUID = 1L;
 
+    private final int version;
     private final DataFileMetaSerializer dataFileMetaSerializer;
 
     public ManifestEntrySerializer() {
+        this(CoreOptions.MANIFEST_ENTRY_VERSION.defaultValue());
+    }
+
+    public ManifestEntrySerializer(int version) {
         super(ManifestEntry.schema());
+        Preconditions.checkArgument(
+                version == 2 || version == 3, "Unsupported manifest entry version: %s", version);
+        this.version = version;
         this.dataFileMetaSerializer = new DataFileMetaSerializer();
     }
 
     @Override
     public int getVersion() {
-        return 2;
+        return version;
     }
 
+    /**
+     * Converts the entry to a row of all columns of {@link ManifestEntry#schema()}, the columns
+     * which are not written by the version are null, see {@link #toWrittenRow}.
+     */
     @Override
     public InternalRow convertTo(ManifestEntry entry) {
-        GenericRow row = new GenericRow(5);
+        GenericRow row = new GenericRow(8);
         row.setField(0, entry.kind().toByteValue());
         row.setField(1, serializeBinaryRow(entry.partition()));
         row.setField(2, entry.bucket());
         row.setField(3, entry.totalBuckets());
-        row.setField(4, dataFileMetaSerializer.toRow(entry.file()));
+        if (version == 2) {
+            row.setField(4, dataFileMetaSerializer.toRow(entry.file()));
+        } else {
+            row.setField(4, null);
+            row.setField(5, BinaryString.fromString(entry.file().fileName()));
+            row.setField(6, entry.file().level());
+            row.setField(7, serializeFile(entry.file()));
+        }
         return row;
     }
 
     @Override
     public ManifestEntry convertFrom(int version, InternalRow row) {
-        if (version != 2) {
-            if (version == 1) {
-                throw new IllegalArgumentException(
-                        String.format(
-                                "The current version %s is not compatible with the version %s, please recreate the table.",
-                                getVersion(), version));
-            }
-            throw new IllegalArgumentException("Unsupported version: " + version);
-        }
+        checkVersion(version);
         return new ManifestEntry(
                 FileKind.fromByteValue(row.getByte(0)),
                 deserializeBinaryRow(row.getBinary(1)),
                 row.getInt(2),
                 row.getInt(3),
-                dataFileMetaSerializer.fromRow(row.getRow(4, dataFileMetaSerializer.numFields())));
+                version == 2
+                        ? dataFileMetaSerializer.fromRow(
+                                row.getRow(4, dataFileMetaSerializer.numFields()))
+                        : deserializeFile(row.getBinary(7)));
+    }
+
+    /**
+     * Converts the entry to a row of the columns written by the version, see {@link
+     * ManifestEntry#schema(int)}.
+     */
+    public InternalRow toWrittenRow(ManifestEntry entry) {
+        InternalRow row = toRow(entry);
+        // the version field and the columns of version 2
+        return version == 2 ? new OffsetRow(6, 0).replace(row) : row;
+    }
+
+    /**
+     * Tests {@code filter} on a row produced by {@link #toRow}, only reading the partition, bucket
+     * and level of the entry. The data file meta is not decoded.
+     */
+    public boolean test(InternalRow row, ManifestFile.EntryFilter filter) {
+        // fields of the row are shifted by the version field
+        int version = row.getInt(0);
+        checkVersion(version);
+        int level =
+                version == 2
+                        ? row.getRow(5, dataFileMetaSerializer.numFields())
+                                .getInt(DataFileMetaSerializer.LEVEL_INDEX)
+                        : row.getInt(7);
+        return filter.test(deserializeBinaryRow(row.getBinary(2)), row.getInt(3), level);
+    }
+
+    private void checkVersion(int version) {
+        if (version == 1) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The current version %s is not compatible with the version %s, please recreate the table.",
+                            getVersion(), version));
+        }
+        if (version != 2 && version != 3) {
+            throw new IllegalArgumentException("Unsupported version: " + version);
+        }
+    }
+
+    private byte[] serializeFile(DataFileMeta file) {
+        DataOutputSerializer out = new DataOutputSerializer(256);
+        try {
+            dataFileMetaSerializer.serialize(file, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.getCopyOfBuffer();
+    }
+
+    private DataFileMeta deserializeFile(byte[] bytes) {
+        try {
+            return dataFileMetaSerializer.deserialize(new DataInputDeserializer(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
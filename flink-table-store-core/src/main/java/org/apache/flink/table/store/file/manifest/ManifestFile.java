@@ -21,7 +21,10 @@ package org.apache.flink.table.store.file.manifest;
 import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.api.common.serialization.BulkWriter;
 import org.apache.flink.core.fs.Path;
+import org.apache.flink.table.store.CoreOptions;
+import org.apache.flink.table.store.data.BinaryRow;
 import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.io.RollingFileWriter;
 import org.apache.flink.table.store.file.io.SingleFileWriter;
 import org.apache.flink.table.store.file.schema.SchemaManager;
@@ -34,7 +37,10 @@ import org.apache.flink.table.store.format.FileFormat;
 import org.apache.flink.table.store.format.FormatReaderFactory;
 import org.apache.flink.table.store.types.RowType;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -46,29 +52,35 @@ public class ManifestFile {
     private final SchemaManager schemaManager;
     private final long schemaId;
     private final RowType partitionType;
+    @Nullable private final RowType keyType;
     private final ManifestEntrySerializer serializer;
     private final FormatReaderFactory readerFactory;
     private final BulkWriter.Factory<InternalRow> writerFactory;
     private final FileStorePathFactory pathFactory;
     private final long suggestedFileSize;
+    @Nullable private final ManifestCache cache;
 
     private ManifestFile(
             SchemaManager schemaManager,
             long schemaId,
             RowType partitionType,
+            @Nullable RowType keyType,
             ManifestEntrySerializer serializer,
             FormatReaderFactory readerFactory,
             BulkWriter.Factory<InternalRow> writerFactory,
             FileStorePathFactory pathFactory,
-            long suggestedFileSize) {
+            long suggestedFileSize,
+            @Nullable ManifestCache cache) {
         this.schemaManager = schemaManager;
         this.schemaId = schemaId;
         this.partitionType = partitionType;
+        this.keyType = keyType;
         this.serializer = serializer;
         this.readerFactory = readerFactory;
         this.writerFactory = writerFactory;
         this.pathFactory = pathFactory;
         this.suggestedFileSize = suggestedFileSize;
+        this.cache = cache;
     }
 
     @VisibleForTesting
@@ -77,9 +89,45 @@ public class ManifestFile {
     }
 
     public List<ManifestEntry> read(String fileName) {
+        Path path = pathFactory.toManifestFilePath(fileName);
+        try {
+            if (cache == null) {
+                return FileUtils.readListFromFile(path, serializer, readerFactory);
+            }
+            return cache.read(path, p -> FileUtils.readListFromFile(p, serializer, readerFactory));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read manifest file " + fileName, e);
+        }
+    }
+
+    /**
+     * Reads the {@link ManifestEntry}s of a manifest file which pass {@code filter}.
+     *
+     * <p>The filter is tested on the partition, bucket and level columns of an entry before its
+     * {@link DataFileMeta} is decoded, so the key range and statistics of entries which do not pass
+     * are never deserialized. Entries of version 2 have no level column, the level is taken from
+     * their nested data file meta row, which the format reader has already converted. With the
+     * manifest cache enabled, the whole file is read and cached and the filter is applied to the
+     * cached entries.
+     */
+    public List<ManifestEntry> read(String fileName, @Nullable EntryFilter filter) {
+        if (filter == null) {
+            return read(fileName);
+        }
+
+        Path path = pathFactory.toManifestFilePath(fileName);
         try {
-            return FileUtils.readListFromFile(
-                    pathFactory.toManifestFilePath(fileName), serializer, readerFactory);
+            if (cache == null) {
+                return FileUtils.readListFromFile(
+                        path, serializer, readerFactory, row -> serializer.test(row, filter));
+            }
+            List<ManifestEntry> entries = new ArrayList<>();
+            for (ManifestEntry entry : read(fileName)) {
+                if (filter.test(entry.partition(), entry.bucket(), entry.file().level())) {
+                    entries.add(entry);
+                }
+            }
+            return entries;
         } catch (IOException e) {
             throw new RuntimeException("Failed to read manifest file " + fileName, e);
         }
@@ -105,22 +153,28 @@ public class ManifestFile {
     }
 
     public void delete(String fileName) {
-        FileUtils.deleteOrWarn(pathFactory.toManifestFilePath(fileName));
+        Path path = pathFactory.toManifestFilePath(fileName);
+        if (cache != null) {
+            cache.invalidate(path);
+        }
+        FileUtils.deleteOrWarn(path);
     }
 
     private class ManifestEntryWriter extends SingleFileWriter<ManifestEntry, ManifestFileMeta> {
 
         private final FieldStatsCollector partitionStatsCollector;
         private final FieldStatsArraySerializer partitionStatsSerializer;
+        private final ManifestIndex.Collector indexCollector;
 
         private long numAddedFiles = 0;
         private long numDeletedFiles = 0;
 
         ManifestEntryWriter(BulkWriter.Factory<InternalRow> factory, Path path) {
-            super(factory, path, serializer::toRow);
+            super(factory, path, serializer::toWrittenRow);
 
             this.partitionStatsCollector = new FieldStatsCollector(partitionType);
             this.partitionStatsSerializer = new FieldStatsArraySerializer(partitionType);
+            this.indexCollector = new ManifestIndex.Collector(schemaId, keyType);
         }
 
         @Override
@@ -139,6 +193,7 @@ public class ManifestFile {
             }
 
             partitionStatsCollector.collect(entry.partition());
+            indexCollector.collect(entry);
         }
 
         @Override
@@ -149,10 +204,17 @@ public class ManifestFile {
                     numAddedFiles,
                     numDeletedFiles,
                     partitionStatsSerializer.toBinary(partitionStatsCollector.extract()),
-                    schemaId);
+                    schemaId,
+                    indexCollector.extract());
         }
     }
 
+    /** Filter on the partition, bucket and level of {@link ManifestEntry}s. */
+    @FunctionalInterface
+    public interface EntryFilter {
+        boolean test(BinaryRow partition, int bucket, int level);
+    }
+
     /**
      * Creator of {@link ManifestFile}. It reueses {@link BulkFormat} and {@link BulkWriter.Factory}
      * from {@link FileFormat}.
@@ -162,9 +224,12 @@ public class ManifestFile {
         private final SchemaManager schemaManager;
         private final long schemaId;
         private final RowType partitionType;
+        @Nullable private final RowType keyType;
         private final FileFormat fileFormat;
         private final FileStorePathFactory pathFactory;
         private final long suggestedFileSize;
+        @Nullable private final ManifestCache cache;
+        private final int entryVersion;
 
         public Factory(
                 SchemaManager schemaManager,
@@ -173,25 +238,80 @@ public class ManifestFile {
                 FileFormat fileFormat,
                 FileStorePathFactory pathFactory,
                 long suggestedFileSize) {
+            this(
+                    schemaManager,
+                    schemaId,
+                    partitionType,
+                    null,
+                    fileFormat,
+                    pathFactory,
+                    suggestedFileSize,
+                    null);
+        }
+
+        public Factory(
+                SchemaManager schemaManager,
+                long schemaId,
+                RowType partitionType,
+                @Nullable RowType keyType,
+                FileFormat fileFormat,
+                FileStorePathFactory pathFactory,
+                long suggestedFileSize,
+                @Nullable ManifestCache cache) {
+            this(
+                    schemaManager,
+                    schemaId,
+                    partitionType,
+                    keyType,
+                    fileFormat,
+                    pathFactory,
+                    suggestedFileSize,
+                    cache,
+                    CoreOptions.MANIFEST_ENTRY_VERSION.defaultValue());
+        }
+
+        /**
+         * @param keyType key type of the data files, used to index key ranges of manifest files.
+         *     Null if keys should not be indexed.
+         * @param entryVersion version of the layout with which manifest entries are written, see
+         *     {@link ManifestEntrySerializer}
+         */
+        public Factory(
+                SchemaManager schemaManager,
+                long schemaId,
+                RowType partitionType,
+                @Nullable RowType keyType,
+                FileFormat fileFormat,
+                FileStorePathFactory pathFactory,
+                long suggestedFileSize,
+                @Nullable ManifestCache cache,
+                int entryVersion) {
             this.schemaManager = schemaManager;
             this.schemaId = schemaId;
             this.partitionType = partitionType;
+            this.keyType = keyType;
             this.fileFormat = fileFormat;
             this.pathFactory = pathFactory;
             this.suggestedFileSize = suggestedFileSize;
+            this.cache = cache;
+            this.entryVersion = entryVersion;
         }
 
         public ManifestFile create() {
-            RowType entryType = VersionedObjectSerializer.versionType(ManifestEntry.schema());
             return new ManifestFile(
                     schemaManager,
                     schemaId,
                     partitionType,
-                    new ManifestEntrySerializer(),
-                    fileFormat.createReaderFactory(entryType),
-                    fileFormat.createWriterFactory(entryType),
+                    keyType,
+                    new ManifestEntrySerializer(entryVersion),
+                    fileFormat.createReaderFactory(
+                            VersionedObjectSerializer.versionType(ManifestEntry.schema())),
+                    fileFormat.createWriterFactory(
+                            VersionedObjectSerializer.versionType(
+                                    ManifestEntry.schema(entryVersion))),
                     pathFactory,
-                    suggestedFileSize);
+                    suggestedFileSize,
+                    cache);
         }
     }
 }
@@ -20,16 +20,24 @@ package org.apache.flink.table.store.file.manifest;
 
 import org.apache.flink.table.store.file.stats.BinaryTableStats;
 import org.apache.flink.table.store.file.stats.FieldStatsArraySerializer;
+import org.apache.flink.table.store.file.utils.FileUtils;
 import org.apache.flink.table.store.types.BigIntType;
 import org.apache.flink.table.store.types.DataField;
 import org.apache.flink.table.store.types.RowType;
 import org.apache.flink.table.store.types.VarCharType;
+import org.apache.flink.util.ExceptionUtils;
+
+import javax.annotation.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
 
 /** Metadata of a manifest file. */
 public class ManifestFileMeta {
@@ -40,6 +48,8 @@ public class ManifestFileMeta {
     private final long numDeletedFiles;
     private final BinaryTableStats partitionStats;
     private final long schemaId;
+    // null for manifest files written by older versions
+    @Nullable private final ManifestIndex index;
 
     public ManifestFileMeta(
             String fileName,
@@ -48,12 +58,24 @@ public class ManifestFileMeta {
             long numDeletedFiles,
             BinaryTableStats partitionStats,
             long schemaId) {
+        this(fileName, fileSize, numAddedFiles, numDeletedFiles, partitionStats, schemaId, null);
+    }
+
+    public ManifestFileMeta(
+            String fileName,
+            long fileSize,
+            long numAddedFiles,
+            long numDeletedFiles,
+            BinaryTableStats partitionStats,
+            long schemaId,
+            @Nullable ManifestIndex index) {
         this.fileName = fileName;
         this.fileSize = fileSize;
         this.numAddedFiles = numAddedFiles;
         this.numDeletedFiles = numDeletedFiles;
         this.partitionStats = partitionStats;
         this.schemaId = schemaId;
+        this.index = index;
     }
 
     public String fileName() {
@@ -80,6 +102,11 @@ public class ManifestFileMeta {
         return schemaId;
     }
 
+    @Nullable
+    public ManifestIndex index() {
+        return index;
+    }
+
     public static RowType schema() {
         List<DataField> fields = new ArrayList<>();
         fields.add(new DataField(0, "_FILE_NAME", new VarCharType(false, Integer.MAX_VALUE)));
@@ -88,9 +115,13 @@ public class ManifestFileMeta {
         fields.add(new DataField(3, "_NUM_DELETED_FILES", new BigIntType(false)));
         fields.add(new DataField(4, "_PARTITION_STATS", FieldStatsArraySerializer.schema()));
         fields.add(new DataField(5, "_SCHEMA_ID", new BigIntType(false)));
+        // nullable so that manifest lists written by older versions can still be read
+        fields.add(new DataField(6, "_INDEX", ManifestIndex.schema()));
         return new RowType(fields);
     }
 
+    // the index is derived from the content of the manifest file, so it is not considered in
+    // equals and hashCode
     @Override
     public boolean equals(Object o) {
         if (!(o instanceof ManifestFileMeta)) {
@@ -129,60 +160,118 @@ public class ManifestFileMeta {
             ManifestFile manifestFile,
             long suggestedMetaSize,
             int suggestedMinMetaCount) {
-        List<ManifestFileMeta> result = new ArrayList<>();
-        // these are the newly created manifest files, clean them up if exception occurs
-        List<ManifestFileMeta> newMetas = new ArrayList<>();
+        return merge(
+                metas,
+                manifestFile,
+                suggestedMetaSize,
+                suggestedMinMetaCount,
+                FileUtils.COMMON_IO_FORK_JOIN_POOL,
+                null);
+    }
+
+    /**
+     * Merge several {@link ManifestFileMeta}s like {@link #merge(List, ManifestFile, long, int)}.
+     * Groups of manifest files are merged independently, so all groups are merged in parallel in
+     * {@code pool}, and the manifest files of one group are also read in parallel.
+     *
+     * <p>NOTE: This method is atomic.
+     */
+    public static List<ManifestFileMeta> merge(
+            List<ManifestFileMeta> metas,
+            ManifestFile manifestFile,
+            long suggestedMetaSize,
+            int suggestedMinMetaCount,
+            ForkJoinPool pool,
+            @Nullable ManifestMergeMetrics metrics) {
+        long startMillis = System.currentTimeMillis();
+
+        // groups with only one manifest file are kept as is
+        List<List<ManifestFileMeta>> groups = new ArrayList<>();
         List<ManifestFileMeta> candidates = new ArrayList<>();
         long totalSize = 0;
+        for (ManifestFileMeta manifest : metas) {
+            totalSize += manifest.fileSize;
+            candidates.add(manifest);
+            if (totalSize >= suggestedMetaSize) {
+                // reach suggested file size, merge these manifests into new files
+                groups.add(candidates);
+                candidates = new ArrayList<>();
+                totalSize = 0;
+            }
+        }
 
-        try {
-            // merge existing manifests first
-            for (ManifestFileMeta manifest : metas) {
-                totalSize += manifest.fileSize;
-                candidates.add(manifest);
-                if (totalSize >= suggestedMetaSize) {
-                    // reach suggested file size, perform merging and produce new file
-                    mergeCandidates(candidates, manifestFile, result, newMetas);
-                    candidates.clear();
-                    totalSize = 0;
-                }
+        // merge the last bit of manifests if there are too many
+        if (candidates.size() >= suggestedMinMetaCount) {
+            groups.add(candidates);
+        } else {
+            for (ManifestFileMeta manifest : candidates) {
+                groups.add(Collections.singletonList(manifest));
             }
+        }
+
+        // these are the newly created manifest files, clean them up if exception occurs
+        List<ManifestFileMeta> newMetas = Collections.synchronizedList(new ArrayList<>());
+        List<ForkJoinTask<List<ManifestFileMeta>>> tasks = new ArrayList<>();
+        for (List<ManifestFileMeta> group : groups) {
+            tasks.add(
+                    group.size() > 1
+                            ? pool.submit(() -> mergeCandidates(group, manifestFile, newMetas))
+                            : null);
+        }
 
-            // merge the last bit of manifests if there are too many
-            if (candidates.size() >= suggestedMinMetaCount) {
-                mergeCandidates(candidates, manifestFile, result, newMetas);
-            } else {
-                result.addAll(candidates);
+        // wait for all groups even if one fails, so that no new file is written after cleaning up
+        List<ManifestFileMeta> result = new ArrayList<>();
+        Throwable exception = null;
+        for (int i = 0; i < groups.size(); i++) {
+            ForkJoinTask<List<ManifestFileMeta>> task = tasks.get(i);
+            if (task == null) {
+                result.addAll(groups.get(i));
+                continue;
             }
-        } catch (Throwable e) {
-            // exception occurs, clean up and rethrow
+            try {
+                List<ManifestFileMeta> merged = task.join();
+                result.addAll(merged);
+                if (metrics != null) {
+                    metrics.recordRewrite(groups.get(i), merged);
+                }
+            } catch (Throwable e) {
+                exception = ExceptionUtils.firstOrSuppressed(e, exception);
+            }
+        }
+
+        if (exception != null) {
             for (ManifestFileMeta manifest : newMetas) {
                 manifestFile.delete(manifest.fileName);
             }
-            throw e;
+            ExceptionUtils.rethrow(exception);
         }
 
+        if (metrics != null && !newMetas.isEmpty()) {
+            metrics.recordMerge(System.currentTimeMillis() - startMillis);
+        }
         return result;
     }
 
-    private static void mergeCandidates(
+    private static List<ManifestFileMeta> mergeCandidates(
             List<ManifestFileMeta> candidates,
             ManifestFile manifestFile,
-            List<ManifestFileMeta> result,
             List<ManifestFileMeta> newMetas) {
-        if (candidates.size() == 1) {
-            result.add(candidates.get(0));
-            return;
-        }
-
+        // read in parallel, but merge in the order of the manifest files
+        List<List<ManifestEntry>> entries =
+                candidates
+                        .parallelStream()
+                        .map(manifest -> manifestFile.read(manifest.fileName))
+                        .collect(Collectors.toList());
         Map<ManifestEntry.Identifier, ManifestEntry> map = new LinkedHashMap<>();
-        for (ManifestFileMeta manifest : candidates) {
-            ManifestEntry.mergeEntries(manifestFile.read(manifest.fileName), map);
+        for (List<ManifestEntry> list : entries) {
+            ManifestEntry.mergeEntries(list, map);
         }
-        if (!map.isEmpty()) {
-            List<ManifestFileMeta> merged = manifestFile.write(new ArrayList<>(map.values()));
-            result.addAll(merged);
-            newMetas.addAll(merged);
+        if (map.isEmpty()) {
+            return Collections.emptyList();
         }
+
+        List<ManifestFileMeta> merged = manifestFile.write(new ArrayList<>(map.values()));
+        newMetas.addAll(merged);
+        return merged;
     }
 }
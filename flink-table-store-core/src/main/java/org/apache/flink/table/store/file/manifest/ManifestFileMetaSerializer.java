@@ -46,7 +46,8 @@ public class ManifestFileMetaSerializer extends VersionedObjectSerializer<Manife
                 meta.numAddedFiles(),
                 meta.numDeletedFiles(),
                 meta.partitionStats().toRowData(),
-                meta.schemaId());
+                meta.schemaId(),
+                meta.index() == null ? null : meta.index().toRow());
     }
 
     @Override
@@ -66,6 +67,7 @@ public class ManifestFileMetaSerializer extends VersionedObjectSerializer<Manife
                 row.getLong(2),
                 row.getLong(3),
                 BinaryTableStats.fromRowData(row.getRow(4, 3)),
-                row.getLong(5));
+                row.getLong(5),
+                row.isNullAt(6) ? null : ManifestIndex.fromRow(row.getRow(6, 4)));
     }
 }
@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.manifest;
+
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.table.store.data.GenericRow;
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.data.InternalSerializers;
+import org.apache.flink.table.store.file.io.DataFileMeta;
+import org.apache.flink.table.store.file.stats.BinaryTableStats;
+import org.apache.flink.table.store.file.stats.FieldStatsArraySerializer;
+import org.apache.flink.table.store.format.FieldStats;
+import org.apache.flink.table.store.types.BigIntType;
+import org.apache.flink.table.store.types.DataField;
+import org.apache.flink.table.store.types.IntType;
+import org.apache.flink.table.store.types.RowType;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+
+import static org.apache.flink.table.store.file.utils.SerializationUtils.newBytesType;
+
+/**
+ * Index of a manifest file, stored in its {@link ManifestFileMeta}. It describes the buckets and
+ * the key range of all {@link ManifestEntry}s in the manifest file, so that scans can skip the
+ * whole manifest file without reading it.
+ */
+public class ManifestIndex {
+
+    /** Total bucket number if entries of the manifest file have different total buckets. */
+    public static final int MIXED_TOTAL_BUCKETS = -1;
+
+    private final BitSet buckets;
+    private final int totalBuckets;
+    private final long rowCount;
+    // null if key stats are not collected, for example when the manifest file contains data files
+    // of different schemas
+    @Nullable private final BinaryTableStats keyStats;
+
+    public ManifestIndex(
+            BitSet buckets, int totalBuckets, long rowCount, @Nullable BinaryTableStats keyStats) {
+        this.buckets = buckets;
+        this.totalBuckets = totalBuckets;
+        this.rowCount = rowCount;
+        this.keyStats = keyStats;
+    }
+
+    public BitSet buckets() {
+        return buckets;
+    }
+
+    public boolean containsBucket(int bucket) {
+        return buckets.get(bucket);
+    }
+
+    public int totalBuckets() {
+        return totalBuckets;
+    }
+
+    /** Total row count of all data files in the manifest file. */
+    public long rowCount() {
+        return rowCount;
+    }
+
+    @Nullable
+    public BinaryTableStats keyStats() {
+        return keyStats;
+    }
+
+    public static RowType schema() {
+        List<DataField> fields = new ArrayList<>();
+        fields.add(new DataField(0, "_BUCKETS", newBytesType(false)));
+        fields.add(new DataField(1, "_TOTAL_BUCKETS", new IntType(false)));
+        fields.add(new DataField(2, "_ROW_COUNT", new BigIntType(false)));
+        fields.add(new DataField(3, "_KEY_STATS", FieldStatsArraySerializer.schema().copy(true)));
+        return new RowType(true, fields);
+    }
+
+    public InternalRow toRow() {
+        return GenericRow.of(
+                buckets.toByteArray(),
+                totalBuckets,
+                rowCount,
+                keyStats == null ? null : keyStats.toRowData());
+    }
+
+    public static ManifestIndex fromRow(InternalRow row) {
+        return new ManifestIndex(
+                BitSet.valueOf(row.getBinary(0)),
+                row.getInt(1),
+                row.getLong(2),
+                row.isNullAt(3) ? null : BinaryTableStats.fromRowData(row.getRow(3, 3)));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof ManifestIndex)) {
+            return false;
+        }
+        ManifestIndex that = (ManifestIndex) o;
+        return Objects.equals(buckets, that.buckets)
+                && totalBuckets == that.totalBuckets
+                && rowCount == that.rowCount
+                && Objects.equals(keyStats, that.keyStats);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(buckets, totalBuckets, rowCount, keyStats);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("{%s, %d, %d, %s}", buckets, totalBuckets, rowCount, keyStats);
+    }
+
+    /** Collector to build a {@link ManifestIndex} from the entries of a manifest file. */
+    public static class Collector {
+
+        private final long schemaId;
+        @Nullable private final FieldStatsArraySerializer keyStatsSerializer;
+        @Nullable private final TypeSerializer<Object>[] keySerializers;
+
+        private final BitSet buckets = new BitSet();
+        private int totalBuckets = 0;
+        private long rowCount = 0;
+
+        // per key field, null values mean the bound is unknown
+        @Nullable private Object[] minKeys;
+        @Nullable private Object[] maxKeys;
+        @Nullable private long[] keyNullCounts;
+        private boolean collectKeyStats;
+
+        /**
+         * @param schemaId schema of the manifest file, key stats are only collected if all data
+         *     files belong to this schema
+         * @param keyType key type of the schema, null if key stats should not be collected
+         */
+        @SuppressWarnings("unchecked")
+        public Collector(long schemaId, @Nullable RowType keyType) {
+            this.schemaId = schemaId;
+            this.collectKeyStats = keyType != null && keyType.getFieldCount() > 0;
+            if (collectKeyStats) {
+                int numFields = keyType.getFieldCount();
+                this.keyStatsSerializer = new FieldStatsArraySerializer(keyType);
+                this.keySerializers = new TypeSerializer[numFields];
+                for (int i = 0; i < numFields; i++) {
+                    keySerializers[i] = InternalSerializers.create(keyType.getTypeAt(i));
+                }
+                this.minKeys = new Object[numFields];
+                this.maxKeys = new Object[numFields];
+                this.keyNullCounts = new long[numFields];
+            } else {
+                this.keyStatsSerializer = null;
+                this.keySerializers = null;
+            }
+        }
+
+        public void collect(ManifestEntry entry) {
+            buckets.set(entry.bucket());
+            if (totalBuckets == 0) {
+                totalBuckets = entry.totalBuckets();
+            } else if (totalBuckets != entry.totalBuckets()) {
+                totalBuckets = MIXED_TOTAL_BUCKETS;
+            }
+
+            DataFileMeta file = entry.file();
+            rowCount += file.rowCount();
+            if (collectKeyStats) {
+                if (file.schemaId() == schemaId) {
+                    collectKeyStats(file);
+                } else {
+                    collectKeyStats = false;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void collectKeyStats(DataFileMeta file) {
+            // do not use BinaryTableStats#fields here, which caches the result in the file meta
+            FieldStats[] stats = keyStatsSerializer.fromBinary(file.keyStats(), file.rowCount());
+            for (int i = 0; i < stats.length; i++) {
+                FieldStats fieldStats = stats[i];
+                keyNullCounts[i] += fieldStats.nullCount();
+                if (fieldStats.minValue() == null || fieldStats.maxValue() == null) {
+                    if (fieldStats.nullCount() != file.rowCount()) {
+                        // not all null, the bound of this field is unknown from now on
+                        minKeys[i] = UnknownBound.INSTANCE;
+                        maxKeys[i] = UnknownBound.INSTANCE;
+                    }
+                    continue;
+                }
+                if (minKeys[i] == UnknownBound.INSTANCE
+                        || !(fieldStats.minValue() instanceof Comparable)) {
+                    minKeys[i] = UnknownBound.INSTANCE;
+                    maxKeys[i] = UnknownBound.INSTANCE;
+                    continue;
+                }
+
+                Comparable<Object> min = (Comparable<Object>) fieldStats.minValue();
+                Comparable<Object> max = (Comparable<Object>) fieldStats.maxValue();
+                if (minKeys[i] == null || min.compareTo(minKeys[i]) < 0) {
+                    minKeys[i] = keySerializers[i].copy(min);
+                }
+                if (maxKeys[i] == null || max.compareTo(maxKeys[i]) > 0) {
+                    maxKeys[i] = keySerializers[i].copy(max);
+                }
+            }
+        }
+
+        public ManifestIndex extract() {
+            BinaryTableStats keyStats = null;
+            if (collectKeyStats) {
+                FieldStats[] stats = new FieldStats[minKeys.length];
+                for (int i = 0; i < stats.length; i++) {
+                    boolean unknown = minKeys[i] == UnknownBound.INSTANCE;
+                    stats[i] =
+                            new FieldStats(
+                                    unknown ? null : minKeys[i],
+                                    unknown ? null : maxKeys[i],
+                                    keyNullCounts[i]);
+                }
+                keyStats = keyStatsSerializer.toBinary(stats);
+            }
+            return new ManifestIndex(buckets, totalBuckets, rowCount, keyStats);
+        }
+    }
+
+    /** Marker of a key field whose bound is unknown. */
+    private enum UnknownBound {
+        INSTANCE
+    }
+}
@@ -30,6 +30,8 @@ import org.apache.flink.table.store.format.FileFormat;
 import org.apache.flink.table.store.format.FormatReaderFactory;
 import org.apache.flink.table.store.types.RowType;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
 import java.util.List;
 
@@ -43,22 +45,28 @@ public class ManifestList {
     private final FormatReaderFactory readerFactory;
     private final BulkWriter.Factory<InternalRow> writerFactory;
     private final FileStorePathFactory pathFactory;
+    @Nullable private final ManifestCache cache;
 
     private ManifestList(
             ManifestFileMetaSerializer serializer,
             FormatReaderFactory readerFactory,
             BulkWriter.Factory<InternalRow> writerFactory,
-            FileStorePathFactory pathFactory) {
+            FileStorePathFactory pathFactory,
+            @Nullable ManifestCache cache) {
         this.serializer = serializer;
         this.readerFactory = readerFactory;
         this.writerFactory = writerFactory;
         this.pathFactory = pathFactory;
+        this.cache = cache;
     }
 
     public List<ManifestFileMeta> read(String fileName) {
+        Path path = pathFactory.toManifestListPath(fileName);
         try {
-            return FileUtils.readListFromFile(
-                    pathFactory.toManifestListPath(fileName), serializer, readerFactory);
+            if (cache == null) {
+                return FileUtils.readListFromFile(path, serializer, readerFactory);
+            }
+            return cache.read(path, p -> FileUtils.readListFromFile(p, serializer, readerFactory));
         } catch (IOException e) {
             throw new RuntimeException("Failed to read manifest list " + fileName, e);
         }
@@ -98,7 +106,11 @@ public class ManifestList {
     }
 
     public void delete(String fileName) {
-        FileUtils.deleteOrWarn(pathFactory.toManifestListPath(fileName));
+        Path path = pathFactory.toManifestListPath(fileName);
+        if (cache != null) {
+            cache.invalidate(path);
+        }
+        FileUtils.deleteOrWarn(path);
     }
 
     /**
@@ -110,12 +122,22 @@ public class ManifestList {
         private final RowType partitionType;
         private final FileFormat fileFormat;
         private final FileStorePathFactory pathFactory;
+        @Nullable private final ManifestCache cache;
 
         public Factory(
                 RowType partitionType, FileFormat fileFormat, FileStorePathFactory pathFactory) {
+            this(partitionType, fileFormat, pathFactory, null);
+        }
+
+        public Factory(
+                RowType partitionType,
+                FileFormat fileFormat,
+                FileStorePathFactory pathFactory,
+                @Nullable ManifestCache cache) {
             this.partitionType = partitionType;
             this.fileFormat = fileFormat;
             this.pathFactory = pathFactory;
+            this.cache = cache;
         }
 
         public ManifestList create() {
@@ -124,7 +146,8 @@ public class ManifestList {
                     new ManifestFileMetaSerializer(),
                     fileFormat.createReaderFactory(metaType),
                     fileFormat.createWriterFactory(metaType),
-                    pathFactory);
+                    pathFactory,
+                    cache);
         }
     }
 }
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.manifest;
+
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Cumulative metrics of merging manifest files by {@link ManifestFileMeta#merge}. */
+public class ManifestMergeMetrics {
+
+    private final AtomicLong mergeCount = new AtomicLong();
+    private final AtomicLong mergeDurationMillis = new AtomicLong();
+    private final AtomicLong rewrittenFiles = new AtomicLong();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+
+    void recordMerge(long durationMillis) {
+        mergeCount.incrementAndGet();
+        mergeDurationMillis.addAndGet(durationMillis);
+    }
+
+    void recordRewrite(List<ManifestFileMeta> before, List<ManifestFileMeta> after) {
+        rewrittenFiles.addAndGet(before.size());
+        bytesRead.addAndGet(before.stream().mapToLong(ManifestFileMeta::fileSize).sum());
+        bytesWritten.addAndGet(after.stream().mapToLong(ManifestFileMeta::fileSize).sum());
+    }
+
+    /** Number of merges performed. */
+    public long mergeCount() {
+        return mergeCount.get();
+    }
+
+    /** Total wall-clock duration of all merges in milliseconds. */
+    public long mergeDurationMillis() {
+        return mergeDurationMillis.get();
+    }
+
+    /** Number of manifest files which were read and merged into new manifest files. */
+    public long rewrittenFiles() {
+        return rewrittenFiles.get();
+    }
+
+    /** Total size of the manifest files which were merged. */
+    public long bytesRead() {
+        return bytesRead.get();
+    }
+
+    /** Total size of the manifest files written by merging. */
+    public long bytesWritten() {
+        return bytesWritten.get();
+    }
+
+    /** Registers these metrics as gauges of the given group. */
+    public void register(MetricGroup group) {
+        group.gauge("mergeCount", (Gauge<Long>) this::mergeCount);
+        group.gauge("mergeDurationMillis", (Gauge<Long>) this::mergeDurationMillis);
+        group.gauge("rewrittenFiles", (Gauge<Long>) this::rewrittenFiles);
+        group.gauge("bytesRead", (Gauge<Long>) this::bytesRead);
+        group.gauge("bytesWritten", (Gauge<Long>) this::bytesWritten);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "{mergeCount = %d, mergeDurationMillis = %d, rewrittenFiles = %d, "
+                        + "bytesRead = %d, bytesWritten = %d}",
+                mergeCount(), mergeDurationMillis(), rewrittenFiles(), bytesRead(), bytesWritten());
+    }
+}
@@ -30,24 +30,36 @@ import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.io.KeyValueFileWriterFactory;
 import org.apache.flink.table.store.file.io.NewFilesIncrement;
 import org.apache.flink.table.store.file.io.RollingFileWriter;
+import org.apache.flink.table.store.file.memory.LimitedMemorySegmentPool;
 import org.apache.flink.table.store.file.memory.MemoryOwner;
 import org.apache.flink.table.store.file.memory.MemorySegmentPool;
 import org.apache.flink.table.store.file.mergetree.compact.MergeFunction;
 import org.apache.flink.table.store.file.utils.RecordWriter;
 import org.apache.flink.table.store.types.RowType;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 /** A {@link RecordWriter} to write records and generate {@link CompactIncrement}. */
 public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
 
+    private static final Logger LOG = LoggerFactory.getLogger(MergeTreeWriter.class);
+
     private final boolean writeBufferSpillable;
     private final int sortMaxFan;
     private final IOManager ioManager;
@@ -60,6 +72,8 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
     private final KeyValueFileWriterFactory writerFactory;
     private final boolean commitForceCompact;
     private final ChangelogProducer changelogProducer;
+    private final long writeBufferSize;
+    @Nullable private final ExecutorService flushExecutor;
 
     private final LinkedHashSet<DataFileMeta> newFiles;
     private final LinkedHashSet<DataFileMeta> newFilesChangelog;
@@ -70,6 +84,10 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
     private long newSequenceNumber;
     private WriteBuffer writeBuffer;
 
+    // only used when flushing asynchronously, the spare buffer is either idle or being flushed
+    @Nullable private WriteBuffer spareBuffer;
+    @Nullable private Future<FlushResult> flushing;
+
     public MergeTreeWriter(
             boolean writeBufferSpillable,
             int sortMaxFan,
@@ -81,6 +99,40 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
             KeyValueFileWriterFactory writerFactory,
             boolean commitForceCompact,
             ChangelogProducer changelogProducer) {
+        this(
+                writeBufferSpillable,
+                sortMaxFan,
+                ioManager,
+                compactManager,
+                maxSequenceNumber,
+                keyComparator,
+                mergeFunction,
+                writerFactory,
+                commitForceCompact,
+                changelogProducer,
+                0,
+                null);
+    }
+
+    /**
+     * Creates a writer. If {@code flushExecutor} is not null and the write buffer is not spillable,
+     * the writer uses two buffers of at most half of the {@code writeBufferSize} bytes shared by
+     * all writers, and a full buffer is flushed by {@code flushExecutor} while records are written
+     * into the other one.
+     */
+    public MergeTreeWriter(
+            boolean writeBufferSpillable,
+            int sortMaxFan,
+            IOManager ioManager,
+            CompactManager compactManager,
+            long maxSequenceNumber,
+            Comparator<InternalRow> keyComparator,
+            MergeFunction<KeyValue> mergeFunction,
+            KeyValueFileWriterFactory writerFactory,
+            boolean commitForceCompact,
+            ChangelogProducer changelogProducer,
+            long writeBufferSize,
+            @Nullable ExecutorService flushExecutor) {
         this.writeBufferSpillable = writeBufferSpillable;
         this.sortMaxFan = sortMaxFan;
         this.ioManager = ioManager;
@@ -93,6 +145,9 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
         this.writerFactory = writerFactory;
         this.commitForceCompact = commitForceCompact;
         this.changelogProducer = changelogProducer;
+        this.writeBufferSize = writeBufferSize;
+        // a spillable buffer spills to disk instead of becoming full
+        this.flushExecutor = writeBufferSpillable && ioManager != null ? null : flushExecutor;
 
         this.newFiles = new LinkedHashSet<>();
         this.newFilesChangelog = new LinkedHashSet<>();
@@ -112,14 +167,23 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
 
     @Override
     public void setMemoryPool(MemorySegmentPool memoryPool) {
-        this.writeBuffer =
-                new SortBufferWriteBuffer(
-                        keyType,
-                        valueType,
-                        memoryPool,
-                        writeBufferSpillable,
-                        sortMaxFan,
-                        ioManager);
+        // writeBufferSize is the memory shared by all writers, which also bounds a single buffer
+        // as memory is preempted from other writers. Each of the two buffers is bounded by half
+        // of it, the free pages of the pool are not used as other writers may hold pages now
+        int halfPages = (int) (writeBufferSize / memoryPool.pageSize() / 2);
+        if (flushExecutor != null && halfPages >= 3) {
+            this.writeBuffer =
+                    createWriteBuffer(new LimitedMemorySegmentPool(memoryPool, halfPages));
+            this.spareBuffer =
+                    createWriteBuffer(new LimitedMemorySegmentPool(memoryPool, halfPages));
+        } else {
+            this.writeBuffer = createWriteBuffer(memoryPool);
+        }
+    }
+
+    private WriteBuffer createWriteBuffer(MemorySegmentPool memoryPool) {
+        return new SortBufferWriteBuffer(
+                keyType, valueType, memoryPool, writeBufferSpillable, sortMaxFan, ioManager);
     }
 
     @Override
@@ -130,12 +194,21 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
                         : kv.sequenceNumber();
         boolean success = writeBuffer.put(sequenceNumber, kv.valueKind(), kv.key(), kv.value());
         if (!success) {
-            flushWriteBuffer(false, false);
+            if (spareBuffer != null) {
+                flushWriteBufferAsync();
+            } else {
+                flushWriteBuffer(false, false);
+            }
             success = writeBuffer.put(sequenceNumber, kv.valueKind(), kv.key(), kv.value());
             if (!success) {
                 throw new RuntimeException("Mem table is too small to hold a single element.");
             }
         }
+
+        if (flushing != null && flushing.isDone()) {
+            // compact the flushed files without waiting for the next full buffer
+            finishFlushing();
+        }
     }
 
     @Override
@@ -150,7 +223,11 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
 
     @Override
     public long memoryOccupancy() {
-        return writeBuffer.memoryOccupancy();
+        long occupancy = writeBuffer.memoryOccupancy();
+        if (spareBuffer != null) {
+            occupancy += spareBuffer.memoryOccupancy();
+        }
+        return occupancy;
     }
 
     @Override
@@ -163,45 +240,99 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
 
     private void flushWriteBuffer(boolean waitForLatestCompaction, boolean forcedFullCompaction)
             throws Exception {
+        waitForFlushing();
         if (writeBuffer.size() > 0) {
             if (compactManager.shouldWaitCompaction()) {
                 waitForLatestCompaction = true;
             }
 
-            final RollingFileWriter<KeyValue, DataFileMeta> changelogWriter =
-                    changelogProducer == ChangelogProducer.INPUT
-                            ? writerFactory.createRollingChangelogFileWriter(0)
-                            : null;
-            final RollingFileWriter<KeyValue, DataFileMeta> dataWriter =
-                    writerFactory.createRollingMergeTreeFileWriter(0);
-
-            try {
-                writeBuffer.forEach(
-                        keyComparator,
-                        mergeFunction,
-                        changelogWriter == null ? null : changelogWriter::write,
-                        dataWriter::write);
-            } finally {
-                if (changelogWriter != null) {
-                    changelogWriter.close();
-                }
-                dataWriter.close();
-            }
+            addFlushResult(writeToFiles(writeBuffer));
+            writeBuffer.clear();
+        }
+
+        trySyncLatestCompaction(waitForLatestCompaction);
+        compactManager.triggerCompaction(forcedFullCompaction);
+    }
+
+    /**
+     * Hands the full write buffer over to the flush executor and switches to the spare buffer. If
+     * the spare buffer is still being flushed, waits for it first.
+     */
+    private void flushWriteBufferAsync() throws Exception {
+        finishFlushing();
+
+        WriteBuffer fullBuffer = writeBuffer;
+        writeBuffer = spareBuffer;
+        spareBuffer = fullBuffer;
+        flushing = flushExecutor.submit(() -> writeToFiles(fullBuffer));
+    }
+
+    /** Waits for the in-progress flush and triggers compaction after its files are added. */
+    private void finishFlushing() throws Exception {
+        waitForFlushing();
+        trySyncLatestCompaction(compactManager.shouldWaitCompaction());
+        compactManager.triggerCompaction(false);
+    }
+
+    private void waitForFlushing() throws Exception {
+        if (flushing == null) {
+            return;
+        }
+
+        FlushResult result;
+        try {
+            result = flushing.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof Exception ? (Exception) cause : new RuntimeException(cause);
+        } finally {
+            flushing = null;
+        }
+
+        addFlushResult(result);
+        // memory is only returned to the pool in the writer thread
+        spareBuffer.clear();
+    }
 
+    /** Sorts and merges the records in the buffer and writes them into new files. */
+    private FlushResult writeToFiles(WriteBuffer buffer) throws Exception {
+        final RollingFileWriter<KeyValue, DataFileMeta> changelogWriter =
+                changelogProducer == ChangelogProducer.INPUT
+                        ? writerFactory.createRollingChangelogFileWriter(0)
+                        : null;
+        final RollingFileWriter<KeyValue, DataFileMeta> dataWriter =
+                writerFactory.createRollingMergeTreeFileWriter(0);
+
+        try {
+            buffer.forEach(
+                    keyComparator,
+                    mergeFunction,
+                    changelogWriter == null ? null : changelogWriter::write,
+                    dataWriter::write);
             if (changelogWriter != null) {
-                newFilesChangelog.addAll(changelogWriter.result());
+                changelogWriter.close();
             }
-
-            for (DataFileMeta fileMeta : dataWriter.result()) {
-                newFiles.add(fileMeta);
-                compactManager.addNewFile(fileMeta);
+            dataWriter.close();
+        } catch (Throwable e) {
+            // files of a failed flush are never reported, delete them here
+            if (changelogWriter != null) {
+                changelogWriter.abort();
             }
-
-            writeBuffer.clear();
+            dataWriter.abort();
+            throw e;
         }
 
-        trySyncLatestCompaction(waitForLatestCompaction);
-        compactManager.triggerCompaction(forcedFullCompaction);
+        return new FlushResult(
+                dataWriter.result(),
+                changelogWriter == null ? Collections.emptyList() : changelogWriter.result());
+    }
+
+    private void addFlushResult(FlushResult result) {
+        newFilesChangelog.addAll(result.changelogFiles);
+        for (DataFileMeta fileMeta : result.dataFiles) {
+            newFiles.add(fileMeta);
+            compactManager.addNewFile(fileMeta);
+        }
     }
 
     @Override
@@ -257,7 +388,7 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
                 // 2. This file is not the input of upgraded.
                 if (!compactBefore.containsKey(file.fileName())
                         && !afterFiles.contains(file.fileName())) {
-                    writerFactory.deleteFile(file.fileName());
+                    writerFactory.deleteFile(file);
                 }
             } else {
                 compactBefore.put(file.fileName(), file);
@@ -274,8 +405,18 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
 
     @Override
     public void close() throws Exception {
-        // cancel compaction so that it does not block job cancelling
-        compactManager.cancelCompaction();
+        // wait for the in-progress flush so that its files are deleted below, a failed flush
+        // has deleted its own files
+        try {
+            waitForFlushing();
+        } catch (Exception e) {
+            LOG.warn("Exception occurs when flushing the write buffer asynchronously.", e);
+        }
+
+        // cancel compaction so that it does not block job cancelling, a cancelled compaction
+        // which still finishes deletes its own files, a finished one is synced and its files are
+        // deleted below
+        compactManager.cancelCompaction(this::deleteCancelledCompactionFiles);
         sync();
 
         // delete temporary files
@@ -283,7 +424,7 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
         newFiles.clear();
 
         for (DataFileMeta file : newFilesChangelog) {
-            writerFactory.deleteFile(file.fileName());
+            writerFactory.deleteFile(file);
         }
         newFilesChangelog.clear();
 
@@ -298,12 +439,38 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
         compactAfter.clear();
 
         for (DataFileMeta file : compactChangelog) {
-            writerFactory.deleteFile(file.fileName());
+            writerFactory.deleteFile(file);
         }
         compactChangelog.clear();
 
         for (DataFileMeta file : delete) {
-            writerFactory.deleteFile(file.fileName());
+            writerFactory.deleteFile(file);
+        }
+    }
+
+    private void deleteCancelledCompactionFiles(CompactResult result) {
+        Set<String> beforeFiles =
+                result.before().stream().map(DataFileMeta::fileName).collect(Collectors.toSet());
+        for (DataFileMeta file : result.after()) {
+            // upgraded files are still required by the previous snapshot
+            if (!beforeFiles.contains(file.fileName())) {
+                writerFactory.deleteFile(file);
+            }
+        }
+        for (DataFileMeta file : result.changelog()) {
+            writerFactory.deleteFile(file);
+        }
+    }
+
+    /** Files written by flushing a {@link WriteBuffer}. */
+    private static class FlushResult {
+
+        private final List<DataFileMeta> dataFiles;
+        private final List<DataFileMeta> changelogFiles;
+
+        private FlushResult(List<DataFileMeta> dataFiles, List<DataFileMeta> changelogFiles) {
+            this.dataFiles = dataFiles;
+            this.changelogFiles = changelogFiles;
         }
     }
 }
@@ -21,11 +21,15 @@ package org.apache.flink.table.store.file.mergetree;
 import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.io.DataFileMeta;
+import org.apache.flink.table.store.file.utils.NormalizedKeyComparator;
+import org.apache.flink.table.store.file.utils.NormalizedKeyComparator.NormalizedKey;
 import org.apache.flink.util.Preconditions;
 
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -62,7 +66,13 @@ public class SortedRun {
 
     public static SortedRun fromUnsorted(
             List<DataFileMeta> unsortedFiles, Comparator<InternalRow> keyComparator) {
-        unsortedFiles.sort((o1, o2) -> keyComparator.compare(o1.minKey(), o2.minKey()));
+        // normalized min keys are computed once per file instead of once per comparison
+        NormalizedKeyComparator comparator = NormalizedKeyComparator.of(keyComparator);
+        Map<DataFileMeta, NormalizedKey> minKeys = new IdentityHashMap<>();
+        for (DataFileMeta file : unsortedFiles) {
+            minKeys.put(file, comparator.newKey(file.minKey()));
+        }
+        unsortedFiles.sort((o1, o2) -> comparator.compare(minKeys.get(o1), minKeys.get(o2)));
         SortedRun run = new SortedRun(unsortedFiles);
         run.validate(keyComparator);
         return run;
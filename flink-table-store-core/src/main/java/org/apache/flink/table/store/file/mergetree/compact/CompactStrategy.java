@@ -38,6 +38,14 @@ public interface CompactStrategy {
      */
     Optional<CompactUnit> pick(int numLevels, List<LevelSortedRun> runs);
 
+    /**
+     * Whether a picked unit of a single file moved to another level is compacted, which upgrades
+     * the file without rewriting it. Otherwise units of a single file are skipped.
+     */
+    default boolean upgradeSingleFile() {
+        return false;
+    }
+
     /** Pick a compaction unit consisting of all existing files. */
     static Optional<CompactUnit> pickFullCompaction(int numLevels, List<LevelSortedRun> runs) {
         int maxLevel = numLevels - 1;
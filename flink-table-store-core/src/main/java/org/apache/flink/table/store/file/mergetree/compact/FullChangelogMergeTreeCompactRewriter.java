@@ -18,8 +18,10 @@
 
 package org.apache.flink.table.store.file.mergetree.compact;
 
+import org.apache.flink.table.store.CoreOptions.SortEngine;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.KeyValue;
+import org.apache.flink.table.store.file.compact.CompactRateLimiter;
 import org.apache.flink.table.store.file.compact.CompactResult;
 import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.io.KeyValueFileReaderFactory;
@@ -46,8 +48,10 @@ public class FullChangelogMergeTreeCompactRewriter extends MergeTreeCompactRewri
             KeyValueFileReaderFactory readerFactory,
             KeyValueFileWriterFactory writerFactory,
             Comparator<InternalRow> keyComparator,
-            MergeFunctionFactory<KeyValue> mfFactory) {
-        super(readerFactory, writerFactory, keyComparator, mfFactory);
+            MergeFunctionFactory<KeyValue> mfFactory,
+            SortEngine sortEngine,
+            CompactRateLimiter rateLimiter) {
+        super(readerFactory, writerFactory, keyComparator, mfFactory, sortEngine, rateLimiter);
         this.maxLevel = maxLevel;
     }
 
@@ -74,11 +78,11 @@ public class FullChangelogMergeTreeCompactRewriter extends MergeTreeCompactRewri
                         for (SortedRun run : section) {
                             runReaders.add(MergeTreeReaders.readerForRun(run, readerFactory));
                         }
-                        return new SortMergeReader<>(
+                        return SortMergeReader.createSortMergeReader(
                                 runReaders,
                                 keyComparator,
-                                new FullChangelogMergeFunctionWrapper(
-                                        mfFactory.create(), maxLevel));
+                                new FullChangelogMergeFunctionWrapper(mfFactory.create(), maxLevel),
+                                sortEngine);
                     });
         }
 
@@ -90,6 +94,8 @@ public class FullChangelogMergeTreeCompactRewriter extends MergeTreeCompactRewri
             iterator = new RecordReaderIterator<>(ConcatRecordReader.create(sectionReaders));
             compactFileWriter = writerFactory.createRollingMergeTreeFileWriter(maxLevel);
             changelogFileWriter = writerFactory.createRollingChangelogFileWriter(maxLevel);
+            CompactRateLimiter.Throttle throttle =
+                    throttle(sections, compactFileWriter, changelogFileWriter);
 
             while (iterator.hasNext()) {
                 FullChangelogMergeFunctionWrapper.Result result = iterator.next();
@@ -102,16 +108,23 @@ public class FullChangelogMergeTreeCompactRewriter extends MergeTreeCompactRewri
                 if (result.after() != null) {
                     changelogFileWriter.write(result.after());
                 }
+                throttle.advance();
             }
-        } finally {
-            if (iterator != null) {
-                iterator.close();
-            }
+            compactFileWriter.close();
+            changelogFileWriter.close();
+            throttle.finish();
+        } catch (Throwable e) {
+            // also clean up when the compaction is interrupted while throttled
             if (compactFileWriter != null) {
-                compactFileWriter.close();
+                compactFileWriter.abort();
             }
             if (changelogFileWriter != null) {
-                changelogFileWriter.close();
+                changelogFileWriter.abort();
+            }
+            throw e;
+        } finally {
+            if (iterator != null) {
+                iterator.close();
             }
         }
 
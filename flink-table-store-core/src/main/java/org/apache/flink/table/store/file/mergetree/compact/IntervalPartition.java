@@ -18,10 +18,11 @@
 
 package org.apache.flink.table.store.file.mergetree.compact;
 
-import org.apache.flink.table.store.data.BinaryRow;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.mergetree.SortedRun;
+import org.apache.flink.table.store.file.utils.NormalizedKeyComparator;
+import org.apache.flink.table.store.file.utils.NormalizedKeyComparator.NormalizedKey;
 
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -32,19 +33,27 @@ import java.util.stream.Collectors;
 /** Algorithm to partition several data files into the minimum number of {@link SortedRun}s. */
 public class IntervalPartition {
 
-    private final List<DataFileMeta> files;
-    private final Comparator<InternalRow> keyComparator;
+    private final List<FileKeys> files;
+    private final NormalizedKeyComparator keyComparator;
 
     public IntervalPartition(List<DataFileMeta> inputFiles, Comparator<InternalRow> keyComparator) {
-        this.files = new ArrayList<>(inputFiles);
+        this.keyComparator = NormalizedKeyComparator.of(keyComparator);
+        // normalized keys are computed once per file instead of once per comparison
+        this.files = new ArrayList<>(inputFiles.size());
+        for (DataFileMeta file : inputFiles) {
+            files.add(
+                    new FileKeys(
+                            file,
+                            this.keyComparator.newKey(file.minKey()),
+                            this.keyComparator.newKey(file.maxKey())));
+        }
         this.files.sort(
                 (o1, o2) -> {
-                    int leftResult = keyComparator.compare(o1.minKey(), o2.minKey());
+                    int leftResult = this.keyComparator.compare(o1.minKey, o2.minKey);
                     return leftResult == 0
-                            ? keyComparator.compare(o1.maxKey(), o2.maxKey())
+                            ? this.keyComparator.compare(o1.maxKey, o2.maxKey)
                             : leftResult;
                 });
-        this.keyComparator = keyComparator;
     }
 
     /**
@@ -66,20 +75,20 @@ public class IntervalPartition {
      */
     public List<List<SortedRun>> partition() {
         List<List<SortedRun>> result = new ArrayList<>();
-        List<DataFileMeta> section = new ArrayList<>();
-        BinaryRow bound = null;
+        List<FileKeys> section = new ArrayList<>();
+        NormalizedKey bound = null;
 
-        for (DataFileMeta meta : files) {
-            if (!section.isEmpty() && keyComparator.compare(meta.minKey(), bound) > 0) {
+        for (FileKeys file : files) {
+            if (!section.isEmpty() && keyComparator.compare(file.minKey, bound) > 0) {
                 // larger than current right bound, conclude current section and create a new one
                 result.add(partition(section));
                 section.clear();
                 bound = null;
             }
-            section.add(meta);
-            if (bound == null || keyComparator.compare(meta.maxKey(), bound) > 0) {
+            section.add(file);
+            if (bound == null || keyComparator.compare(file.maxKey, bound) > 0) {
                 // update right bound
-                bound = meta.maxKey();
+                bound = file.maxKey;
             }
         }
         if (!section.isEmpty()) {
@@ -90,37 +99,58 @@ public class IntervalPartition {
         return result;
     }
 
-    private List<SortedRun> partition(List<DataFileMeta> metas) {
-        PriorityQueue<List<DataFileMeta>> queue =
+    private List<SortedRun> partition(List<FileKeys> files) {
+        PriorityQueue<List<FileKeys>> queue =
                 new PriorityQueue<>(
                         (o1, o2) ->
                                 // sort by max key of the last data file
                                 keyComparator.compare(
-                                        o1.get(o1.size() - 1).maxKey(),
-                                        o2.get(o2.size() - 1).maxKey()));
+                                        o1.get(o1.size() - 1).maxKey,
+                                        o2.get(o2.size() - 1).maxKey));
         // create the initial partition
-        List<DataFileMeta> firstRun = new ArrayList<>();
-        firstRun.add(metas.get(0));
+        List<FileKeys> firstRun = new ArrayList<>();
+        firstRun.add(files.get(0));
         queue.add(firstRun);
 
-        for (int i = 1; i < metas.size(); i++) {
-            DataFileMeta meta = metas.get(i);
+        for (int i = 1; i < files.size(); i++) {
+            FileKeys file = files.get(i);
             // any file list whose max key < meta.minKey() is sufficient,
             // for convenience we pick the smallest
-            List<DataFileMeta> top = queue.poll();
-            if (keyComparator.compare(meta.minKey(), top.get(top.size() - 1).maxKey()) > 0) {
+            List<FileKeys> top = queue.poll();
+            if (keyComparator.compare(file.minKey, top.get(top.size() - 1).maxKey) > 0) {
                 // append current file to an existing partition
-                top.add(meta);
+                top.add(file);
             } else {
                 // create a new partition
-                List<DataFileMeta> newRun = new ArrayList<>();
-                newRun.add(meta);
+                List<FileKeys> newRun = new ArrayList<>();
+                newRun.add(file);
                 queue.add(newRun);
             }
             queue.add(top);
         }
 
         // order between partitions does not matter
-        return queue.stream().map(SortedRun::fromSorted).collect(Collectors.toList());
+        return queue.stream()
+                .map(
+                        run ->
+                                SortedRun.fromSorted(
+                                        run.stream()
+                                                .map(file -> file.meta)
+                                                .collect(Collectors.toList())))
+                .collect(Collectors.toList());
+    }
+
+    /** A {@link DataFileMeta} with normalized min and max keys. */
+    private static class FileKeys {
+
+        private final DataFileMeta meta;
+        private final NormalizedKey minKey;
+        private final NormalizedKey maxKey;
+
+        private FileKeys(DataFileMeta meta, NormalizedKey minKey, NormalizedKey maxKey) {
+            this.meta = meta;
+            this.minKey = minKey;
+            this.maxKey = maxKey;
+        }
     }
 }
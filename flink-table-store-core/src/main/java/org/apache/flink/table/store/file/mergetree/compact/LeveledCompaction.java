@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.mergetree.compact;
+
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.compact.CompactUnit;
+import org.apache.flink.table.store.file.io.DataFileMeta;
+import org.apache.flink.table.store.file.mergetree.LevelSortedRun;
+import org.apache.flink.table.store.file.mergetree.SortedRun;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Leveled Compaction Style is a compaction style, targeting the use cases requiring lower read
+ * amplification and space amplification, trading off write amplification.
+ *
+ * <p>Each level except level 0 and the highest level has a target size, which is the size of level
+ * 1 multiplied by a ratio for each level above it. When level 0 has too many files, they are
+ * compacted together with the overlapping files of level 1. When a level exceeds its target size,
+ * one of its files is compacted together with the overlapping files of the next level. Files of a
+ * level are picked in a round-robin manner by their keys.
+ *
+ * <p>See RocksDb Leveled-Compaction: https://github.com/facebook/rocksdb/wiki/Leveled-Compaction.
+ */
+public class LeveledCompaction implements CompactStrategy {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LeveledCompaction.class);
+
+    private final Comparator<InternalRow> keyComparator;
+    private final long baseLevelSize;
+    private final int levelSizeMultiplier;
+    private final int numLevel0CompactionTrigger;
+    private final int maxSortedRunNum;
+
+    // max key of the last picked file of each level
+    private final Map<Integer, InternalRow> compactPointers;
+
+    public LeveledCompaction(
+            Comparator<InternalRow> keyComparator,
+            long baseLevelSize,
+            int levelSizeMultiplier,
+            int numLevel0CompactionTrigger,
+            int maxSortedRunNum) {
+        this.keyComparator = keyComparator;
+        this.baseLevelSize = baseLevelSize;
+        this.levelSizeMultiplier = levelSizeMultiplier;
+        this.numLevel0CompactionTrigger = numLevel0CompactionTrigger;
+        this.maxSortedRunNum = maxSortedRunNum;
+        this.compactPointers = new HashMap<>();
+    }
+
+    @Override
+    public Optional<CompactUnit> pick(int numLevels, List<LevelSortedRun> runs) {
+        int maxLevel = numLevels - 1;
+
+        // level 0 files are from newest to oldest
+        List<DataFileMeta> level0 = new ArrayList<>();
+        SortedRun[] levels = new SortedRun[numLevels];
+        for (LevelSortedRun run : runs) {
+            if (run.level() == 0) {
+                level0.addAll(run.run().files());
+            } else {
+                levels[run.level()] = run.run();
+            }
+        }
+
+        // level 0 is scored by its number of files, other levels by their size
+        double[] scores = new double[maxLevel];
+        scores[0] = (double) level0.size() / numLevel0CompactionTrigger;
+        long targetSize = baseLevelSize;
+        for (int level = 1; level < maxLevel; level++) {
+            if (levels[level] != null) {
+                scores[level] = (double) levels[level].totalSize() / targetSize;
+            }
+            targetSize =
+                    targetSize > Long.MAX_VALUE / levelSizeMultiplier
+                            ? Long.MAX_VALUE
+                            : targetSize * levelSizeMultiplier;
+        }
+
+        // pick the level with the highest score, lower levels first for equal scores
+        int level = 0;
+        for (int i = 1; i < maxLevel; i++) {
+            if (scores[i] > scores[level]) {
+                level = i;
+            }
+        }
+        if (scores[level] < 1) {
+            return Optional.empty();
+        }
+
+        int outputLevel = level + 1;
+        List<DataFileMeta> nextLevel =
+                levels[outputLevel] == null
+                        ? Collections.emptyList()
+                        : levels[outputLevel].files();
+        // a single file without overlapping files is upgraded to the next level without
+        // rewriting, see upgradeSingleFile
+        List<DataFileMeta> inputs =
+                level == 0
+                        ? pickLevel0(level0, nextLevel)
+                        : pickLevel(level, levels[level].files(), nextLevel);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Leveled compaction of level {} with score {}", level, scores[level]);
+        }
+        return Optional.of(CompactUnit.fromFiles(outputLevel, inputs));
+    }
+
+    @Override
+    public boolean upgradeSingleFile() {
+        return true;
+    }
+
+    private List<DataFileMeta> pickLevel0(List<DataFileMeta> level0, List<DataFileMeta> nextLevel) {
+        // only compact the oldest files, so that level 0 is always newer than level 1
+        int numFiles = Math.min(level0.size(), maxSortedRunNum);
+        List<DataFileMeta> inputs =
+                new ArrayList<>(level0.subList(level0.size() - numFiles, level0.size()));
+        inputs.addAll(overlappingFiles(inputs, nextLevel));
+        return inputs;
+    }
+
+    private List<DataFileMeta> pickLevel(
+            int level, List<DataFileMeta> files, List<DataFileMeta> nextLevel) {
+        InternalRow pointer = compactPointers.get(level);
+        int picked = 0;
+        if (pointer != null) {
+            for (int i = 0; i < files.size(); i++) {
+                if (keyComparator.compare(files.get(i).minKey(), pointer) > 0) {
+                    picked = i;
+                    break;
+                }
+            }
+        }
+
+        List<DataFileMeta> inputs = new ArrayList<>();
+        inputs.add(files.get(picked));
+        inputs.addAll(overlappingFiles(inputs, nextLevel));
+        compactPointers.put(level, files.get(picked).maxKey());
+        return inputs;
+    }
+
+    private List<DataFileMeta> overlappingFiles(
+            List<DataFileMeta> inputs, List<DataFileMeta> nextLevel) {
+        InternalRow minKey = inputs.get(0).minKey();
+        InternalRow maxKey = inputs.get(0).maxKey();
+        for (DataFileMeta file : inputs) {
+            if (keyComparator.compare(file.minKey(), minKey) < 0) {
+                minKey = file.minKey();
+            }
+            if (keyComparator.compare(file.maxKey(), maxKey) > 0) {
+                maxKey = file.maxKey();
+            }
+        }
+
+        List<DataFileMeta> overlapping = new ArrayList<>();
+        for (DataFileMeta file : nextLevel) {
+            if (keyComparator.compare(file.maxKey(), minKey) >= 0
+                    && keyComparator.compare(file.minKey(), maxKey) <= 0) {
+                overlapping.add(file);
+            }
+        }
+        return overlapping;
+    }
+}
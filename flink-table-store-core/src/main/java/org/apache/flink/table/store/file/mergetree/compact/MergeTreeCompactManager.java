@@ -50,6 +50,7 @@ public class MergeTreeCompactManager extends CompactFutureManager {
     private final long minFileSize;
     private final int numSortedRunStopTrigger;
     private final CompactRewriter rewriter;
+    private final boolean upgradeSmallFiles;
 
     public MergeTreeCompactManager(
             ExecutorService executor,
@@ -59,6 +60,26 @@ public class MergeTreeCompactManager extends CompactFutureManager {
             long minFileSize,
             int numSortedRunStopTrigger,
             CompactRewriter rewriter) {
+        this(
+                executor,
+                levels,
+                strategy,
+                keyComparator,
+                minFileSize,
+                numSortedRunStopTrigger,
+                rewriter,
+                false);
+    }
+
+    public MergeTreeCompactManager(
+            ExecutorService executor,
+            Levels levels,
+            CompactStrategy strategy,
+            Comparator<InternalRow> keyComparator,
+            long minFileSize,
+            int numSortedRunStopTrigger,
+            CompactRewriter rewriter,
+            boolean upgradeSmallFiles) {
         this.executor = executor;
         this.levels = levels;
         this.strategy = strategy;
@@ -66,6 +87,7 @@ public class MergeTreeCompactManager extends CompactFutureManager {
         this.numSortedRunStopTrigger = numSortedRunStopTrigger;
         this.keyComparator = keyComparator;
         this.rewriter = rewriter;
+        this.upgradeSmallFiles = upgradeSmallFiles;
     }
 
     @Override
@@ -102,7 +124,7 @@ public class MergeTreeCompactManager extends CompactFutureManager {
             }
             optionalUnit =
                     strategy.pick(levels.numberOfLevels(), runs)
-                            .map(unit -> unit.files().size() < 2 ? null : unit);
+                            .filter(this::needsCompaction);
         }
 
         optionalUnit.ifPresent(
@@ -136,6 +158,18 @@ public class MergeTreeCompactManager extends CompactFutureManager {
                 });
     }
 
+    /**
+     * A single file can not be compacted, unless the strategy upgrades it to another level without
+     * rewriting.
+     */
+    private boolean needsCompaction(CompactUnit unit) {
+        List<DataFileMeta> files = unit.files();
+        return files.size() > 1
+                || (strategy.upgradeSingleFile()
+                        && files.size() == 1
+                        && files.get(0).level() != unit.outputLevel());
+    }
+
     @VisibleForTesting
     public Levels levels() {
         return levels;
@@ -143,7 +177,8 @@ public class MergeTreeCompactManager extends CompactFutureManager {
 
     private void submitCompaction(CompactUnit unit, boolean dropDelete) {
         MergeTreeCompactTask task =
-                new MergeTreeCompactTask(keyComparator, minFileSize, rewriter, unit, dropDelete);
+                new MergeTreeCompactTask(
+                        keyComparator, minFileSize, rewriter, unit, dropDelete, upgradeSmallFiles);
         if (LOG.isDebugEnabled()) {
             LOG.debug(
                     "Pick these files (name, level, size) for compaction: {}",
@@ -155,7 +190,9 @@ public class MergeTreeCompactManager extends CompactFutureManager {
                                                     file.fileName(), file.level(), file.fileSize()))
                             .collect(Collectors.joining(", ")));
         }
-        taskFuture = executor.submit(task);
+        // buckets closer to the stop trigger compact first
+        task.setPriority(levels.numberOfSortedRuns());
+        submitTask(executor, task);
     }
 
     /** Finish current task, and update result files to {@link Levels}. */
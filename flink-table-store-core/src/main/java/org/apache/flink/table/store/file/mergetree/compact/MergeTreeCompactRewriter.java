@@ -18,10 +18,13 @@
 
 package org.apache.flink.table.store.file.mergetree.compact;
 
+import org.apache.flink.table.store.CoreOptions.SortEngine;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.KeyValue;
+import org.apache.flink.table.store.file.compact.CompactRateLimiter;
 import org.apache.flink.table.store.file.compact.CompactResult;
 import org.apache.flink.table.store.file.io.DataFileMeta;
+import org.apache.flink.table.store.file.io.FileWriter;
 import org.apache.flink.table.store.file.io.KeyValueFileReaderFactory;
 import org.apache.flink.table.store.file.io.KeyValueFileWriterFactory;
 import org.apache.flink.table.store.file.io.RollingFileWriter;
@@ -40,16 +43,22 @@ public class MergeTreeCompactRewriter extends AbstractCompactRewriter {
     protected final KeyValueFileWriterFactory writerFactory;
     protected final Comparator<InternalRow> keyComparator;
     protected final MergeFunctionFactory<KeyValue> mfFactory;
+    protected final SortEngine sortEngine;
+    protected final CompactRateLimiter rateLimiter;
 
     public MergeTreeCompactRewriter(
             KeyValueFileReaderFactory readerFactory,
             KeyValueFileWriterFactory writerFactory,
             Comparator<InternalRow> keyComparator,
-            MergeFunctionFactory<KeyValue> mfFactory) {
+            MergeFunctionFactory<KeyValue> mfFactory,
+            SortEngine sortEngine,
+            CompactRateLimiter rateLimiter) {
         this.readerFactory = readerFactory;
         this.writerFactory = writerFactory;
         this.keyComparator = keyComparator;
         this.mfFactory = mfFactory;
+        this.sortEngine = sortEngine;
+        this.rateLimiter = rateLimiter;
     }
 
     @Override
@@ -64,9 +73,36 @@ public class MergeTreeCompactRewriter extends AbstractCompactRewriter {
                 writerFactory.createRollingMergeTreeFileWriter(outputLevel);
         RecordReader<KeyValue> sectionsReader =
                 MergeTreeReaders.readerForMergeTree(
-                        sections, dropDelete, readerFactory, keyComparator, mfFactory.create());
-        writer.write(new RecordReaderIterator<>(sectionsReader));
-        writer.close();
+                        sections,
+                        dropDelete,
+                        readerFactory,
+                        keyComparator,
+                        mfFactory.create(),
+                        sortEngine);
+        CompactRateLimiter.Throttle throttle = throttle(sections, writer);
+        try (RecordReaderIterator<KeyValue> iterator = new RecordReaderIterator<>(sectionsReader)) {
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+                throttle.advance();
+            }
+            writer.close();
+            throttle.finish();
+        } catch (Throwable e) {
+            // also clean up when the compaction is interrupted while throttled
+            writer.abort();
+            throw e;
+        }
         return new CompactResult(extractFilesFromSections(sections), writer.result());
     }
+
+    protected CompactRateLimiter.Throttle throttle(
+            List<List<SortedRun>> sections, FileWriter<?, ?>... writers) {
+        long inputBytes = 0;
+        long inputRecords = 0;
+        for (DataFileMeta file : extractFilesFromSections(sections)) {
+            inputBytes += file.fileSize();
+            inputRecords += file.rowCount();
+        }
+        return rateLimiter.throttle(inputBytes, inputRecords, writers);
+    }
 }
@@ -41,6 +41,7 @@ public class MergeTreeCompactTask extends CompactTask {
     private final List<List<SortedRun>> partitioned;
 
     private final boolean dropDelete;
+    private final boolean upgradeSmallFiles;
 
     // metric
     private int upgradeFilesNum;
@@ -51,12 +52,28 @@ public class MergeTreeCompactTask extends CompactTask {
             CompactRewriter rewriter,
             CompactUnit unit,
             boolean dropDelete) {
+        this(keyComparator, minFileSize, rewriter, unit, dropDelete, false);
+    }
+
+    /**
+     * @param upgradeSmallFiles whether files smaller than {@code minFileSize} are also upgraded
+     *     instead of rewritten when they do not overlap other files. It only applies if no delete
+     *     records need to be dropped, because they can only be dropped by rewriting the files.
+     */
+    public MergeTreeCompactTask(
+            Comparator<InternalRow> keyComparator,
+            long minFileSize,
+            CompactRewriter rewriter,
+            CompactUnit unit,
+            boolean dropDelete,
+            boolean upgradeSmallFiles) {
         super(unit.files());
         this.minFileSize = minFileSize;
         this.rewriter = rewriter;
         this.outputLevel = unit.outputLevel();
         this.partitioned = new IntervalPartition(unit.files(), keyComparator).partition();
         this.dropDelete = dropDelete;
+        this.upgradeSmallFiles = upgradeSmallFiles;
 
         this.upgradeFilesNum = 0;
     }
@@ -77,9 +94,11 @@ public class MergeTreeCompactTask extends CompactTask {
                 // No overlapping:
                 // We can just upgrade the large file and just change the level instead of
                 // rewriting it
-                // But for small files, we will try to compact it
+                // But for small files, we will try to compact it, unless small files are upgraded
+                // too and there are no deletes to drop
+                boolean upgradeAll = upgradeSmallFiles && !dropDelete;
                 for (DataFileMeta file : run.files()) {
-                    if (file.fileSize() < minFileSize) {
+                    if (!upgradeAll && file.fileSize() < minFileSize) {
                         // Smaller files are rewritten along with the previous files
                         candidate.add(singletonList(SortedRun.fromSingle(file)));
                     } else {
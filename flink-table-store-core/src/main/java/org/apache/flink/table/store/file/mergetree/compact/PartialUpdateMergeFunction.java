@@ -18,6 +18,7 @@
 
 package org.apache.flink.table.store.file.mergetree.compact;
 
+import org.apache.flink.table.store.codegen.RecordMerger;
 import org.apache.flink.table.store.data.GenericRow;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.KeyValue;
@@ -27,17 +28,20 @@ import org.apache.flink.table.store.utils.Projection;
 
 import javax.annotation.Nullable;
 
+import java.util.Collections;
 import java.util.List;
 
 import static org.apache.flink.table.store.utils.RowDataUtils.createFieldGetters;
 
 /**
  * A {@link MergeFunction} where key is primary key (unique) and value is the partial record, update
- * non-null fields on merge.
+ * non-null fields on merge. If a generated {@link RecordMerger} is given, fields are merged by it
+ * instead of being copied one by one into a {@link GenericRow}.
  */
 public class PartialUpdateMergeFunction implements MergeFunction<KeyValue> {
 
     private final InternalRow.FieldGetter[] getters;
+    @Nullable private final RecordMerger recordMerger;
     private final boolean ignoreDelete;
 
     private KeyValue latestKv;
@@ -45,14 +49,26 @@ public class PartialUpdateMergeFunction implements MergeFunction<KeyValue> {
     private KeyValue reused;
 
     protected PartialUpdateMergeFunction(InternalRow.FieldGetter[] getters, boolean ignoreDelete) {
+        this(getters, null, ignoreDelete);
+    }
+
+    protected PartialUpdateMergeFunction(
+            InternalRow.FieldGetter[] getters,
+            @Nullable RecordMerger recordMerger,
+            boolean ignoreDelete) {
         this.getters = getters;
+        this.recordMerger = recordMerger;
         this.ignoreDelete = ignoreDelete;
     }
 
     @Override
     public void reset() {
         this.latestKv = null;
-        this.row = new GenericRow(getters.length);
+        if (recordMerger == null) {
+            this.row = new GenericRow(getters.length);
+        } else {
+            recordMerger.reset();
+        }
     }
 
     @Override
@@ -72,6 +88,10 @@ public class PartialUpdateMergeFunction implements MergeFunction<KeyValue> {
         }
 
         latestKv = kv;
+        if (recordMerger != null) {
+            recordMerger.merge(kv.value());
+            return;
+        }
         for (int i = 0; i < getters.length; i++) {
             Object field = getters[i].getFieldOrNull(kv.value());
             if (field != null) {
@@ -95,7 +115,11 @@ public class PartialUpdateMergeFunction implements MergeFunction<KeyValue> {
         if (reused == null) {
             reused = new KeyValue();
         }
-        return reused.replace(latestKv.key(), latestKv.sequenceNumber(), RowKind.INSERT, row);
+        return reused.replace(
+                latestKv.key(),
+                latestKv.sequenceNumber(),
+                RowKind.INSERT,
+                recordMerger == null ? row : recordMerger.result());
     }
 
     public static MergeFunctionFactory<KeyValue> factory(
@@ -109,10 +133,15 @@ public class PartialUpdateMergeFunction implements MergeFunction<KeyValue> {
 
         private final boolean ignoreDelete;
         private final List<DataType> tableTypes;
+        private final RecordMergerFactory recordMergerFactory;
 
         private Factory(boolean ignoreDelete, List<DataType> tableTypes) {
             this.ignoreDelete = ignoreDelete;
             this.tableTypes = tableTypes;
+            this.recordMergerFactory =
+                    new RecordMergerFactory(
+                            tableTypes,
+                            Collections.nCopies(tableTypes.size(), "last_non_null_value"));
         }
 
         @Override
@@ -121,7 +150,10 @@ public class PartialUpdateMergeFunction implements MergeFunction<KeyValue> {
             if (projection != null) {
                 fieldTypes = Projection.of(projection).project(tableTypes);
             }
-            return new PartialUpdateMergeFunction(createFieldGetters(fieldTypes), ignoreDelete);
+            return new PartialUpdateMergeFunction(
+                    createFieldGetters(fieldTypes),
+                    recordMergerFactory.create(projection),
+                    ignoreDelete);
         }
     }
 }
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.mergetree.compact;
+
+import org.apache.flink.table.store.codegen.CodeGenUtils;
+import org.apache.flink.table.store.codegen.GeneratedClass;
+import org.apache.flink.table.store.codegen.RecordMerger;
+import org.apache.flink.table.store.types.DataType;
+import org.apache.flink.table.store.utils.Projection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Factory to create generated {@link RecordMerger}s, so that {@link MergeFunction}s can merge value
+ * fields without boxing them. The generated classes are cached per projection.
+ */
+public class RecordMergerFactory implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(RecordMergerFactory.class);
+
+    private final List<DataType> fieldTypes;
+    private final List<String> mergeFunctions;
+
+    private transient Map<Projection, Optional<GeneratedClass<RecordMerger>>> generated;
+
+    /**
+     * @param mergeFunctions merge function of each field, see {@link
+     *     org.apache.flink.table.store.codegen.CodeGenerator#generateRecordMerger}
+     */
+    public RecordMergerFactory(List<DataType> fieldTypes, List<String> mergeFunctions) {
+        this.fieldTypes = fieldTypes;
+        this.mergeFunctions = mergeFunctions;
+    }
+
+    /**
+     * Returns a new {@link RecordMerger} of the projected fields, or null if some field can not be
+     * merged by generated code.
+     */
+    @Nullable
+    public synchronized RecordMerger create(@Nullable int[][] projection) {
+        if (generated == null) {
+            generated = new HashMap<>();
+        }
+        return generated
+                .computeIfAbsent(
+                        projection == null ? null : Projection.of(projection), this::generate)
+                .map(c -> c.newInstance(RecordMergerFactory.class.getClassLoader()))
+                .orElse(null);
+    }
+
+    private Optional<GeneratedClass<RecordMerger>> generate(@Nullable Projection projection) {
+        List<DataType> types = fieldTypes;
+        List<String> functions = mergeFunctions;
+        if (projection != null) {
+            types = projection.project(fieldTypes);
+            functions = projection.project(mergeFunctions);
+        }
+
+        try {
+            GeneratedClass<RecordMerger> recordMerger =
+                    CodeGenUtils.generateRecordMerger(types, functions, "RecordMerger");
+            recordMerger.compile(RecordMergerFactory.class.getClassLoader());
+            return Optional.of(recordMerger);
+        } catch (Exception e) {
+            LOG.warn(
+                    "Failed to generate record merger for {} with {}, fields are merged one by one.",
+                    types,
+                    functions,
+                    e);
+            return Optional.empty();
+        }
+    }
+}
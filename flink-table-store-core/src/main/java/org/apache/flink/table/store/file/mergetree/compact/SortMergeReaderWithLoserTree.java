@@ -0,0 +1,313 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.mergetree.compact;
+
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.KeyValue;
+import org.apache.flink.table.store.file.utils.NormalizedKeyComparator;
+import org.apache.flink.table.store.file.utils.NormalizedKeyComparator.NormalizedKey;
+import org.apache.flink.table.store.file.utils.RecordReader;
+import org.apache.flink.util.Preconditions;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * {@link SortMergeReader} implemented with loser-tree.
+ *
+ * <p>Each internal node of the tree keeps the loser of the comparison between its two subtrees, and
+ * the overall winner is kept in {@code tree[0]}. When the winner is replaced by the next record of
+ * its reader, only the nodes on the path from its leaf to the root are compared again, which takes
+ * about log2(k) comparisons for k readers. A min-heap needs about twice as many. The tree is built
+ * again when some readers start a new batch.
+ *
+ * <p>Polled records may be reused by the merge function until the next record is requested, so the
+ * readers of polled records are only advanced in the next call. Records with the same key as the
+ * winner are found without modifying the tree, by remembering for each node whether its loser has
+ * the same key as the winner of the node.
+ */
+public class SortMergeReaderWithLoserTree<T> implements SortMergeReader<T> {
+
+    /** A virtual leaf smaller than any other leaf, only used when building the tree. */
+    private static final int MIN_SENTINEL = -1;
+
+    private static final Comparator<Leaf> SEQUENCE_COMPARATOR =
+            Comparator.comparingLong(leaf -> leaf.kv.sequenceNumber());
+
+    private final NormalizedKeyComparator userKeyComparator;
+    private final MergeFunctionWrapper<T> mergeFunctionWrapper;
+
+    private final Leaf[] leaves;
+    // tree[0] is the winner, tree[1..k-1] are the losers of internal nodes
+    private final int[] tree;
+    // whether the loser of an internal node has the same key as the winner of this node
+    private final boolean[] sameKeyAsWinner;
+
+    private final List<Leaf> nextBatchLeaves;
+    private final List<Leaf> polled;
+
+    public SortMergeReaderWithLoserTree(
+            List<RecordReader<KeyValue>> readers,
+            Comparator<InternalRow> userKeyComparator,
+            MergeFunctionWrapper<T> mergeFunctionWrapper) {
+        this.userKeyComparator = NormalizedKeyComparator.of(userKeyComparator);
+        this.mergeFunctionWrapper = mergeFunctionWrapper;
+
+        this.leaves = new Leaf[readers.size()];
+        for (int i = 0; i < leaves.length; i++) {
+            leaves[i] = new Leaf(i, readers.get(i), this.userKeyComparator);
+        }
+        this.tree = new int[leaves.length];
+        this.sameKeyAsWinner = new boolean[leaves.length];
+
+        this.nextBatchLeaves = new ArrayList<>(Arrays.asList(leaves));
+        this.polled = new ArrayList<>();
+    }
+
+    @Nullable
+    @Override
+    public RecordIterator<T> readBatch() throws IOException {
+        for (Leaf leaf : nextBatchLeaves) {
+            leaf.nextBatch();
+        }
+        nextBatchLeaves.clear();
+
+        // leaves of new batches are not winners of the tree, so they cannot be adjusted and the
+        // tree is built again, which only happens once per batch
+        Arrays.fill(tree, MIN_SENTINEL);
+        for (int i = leaves.length - 1; i >= 0; i--) {
+            adjust(i);
+        }
+
+        return leaves.length == 0 || leaves[tree[0]].kv == null ? null : new SortMergeIterator();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Leaf leaf : leaves) {
+            leaf.close();
+        }
+    }
+
+    private int parent(int leafIndex) {
+        return (leafIndex + leaves.length) >>> 1;
+    }
+
+    /**
+     * Replays the matches on the path from the given leaf to the root. The leaf must be the current
+     * winner, or the tree must be in building.
+     */
+    private void adjust(int leafIndex) {
+        int winner = leafIndex;
+        for (int node = parent(leafIndex); node > 0; node >>>= 1) {
+            int loser = tree[node];
+            boolean sameKey = false;
+            boolean loserWins;
+            if (winner == MIN_SENTINEL) {
+                loserWins = false;
+            } else if (loser == MIN_SENTINEL) {
+                loserWins = true;
+            } else {
+                KeyValue winnerKv = leaves[winner].kv;
+                KeyValue loserKv = leaves[loser].kv;
+                if (loserKv == null) {
+                    // exhausted leaves are larger than any other leaf
+                    loserWins = false;
+                } else if (winnerKv == null) {
+                    loserWins = true;
+                } else {
+                    int result =
+                            userKeyComparator.compare(
+                                    leaves[loser].normalizedKey, leaves[winner].normalizedKey);
+                    sameKey = result == 0;
+                    loserWins =
+                            result < 0
+                                    || (sameKey
+                                            && loserKv.sequenceNumber()
+                                                    < winnerKv.sequenceNumber());
+                }
+            }
+
+            if (loserWins) {
+                tree[node] = winner;
+                winner = loser;
+            }
+            sameKeyAsWinner[node] = sameKey;
+        }
+        tree[0] = winner;
+    }
+
+    /**
+     * Adds the winner of the subtree rooted at {@code topNode} to {@link #polled}, together with
+     * all leaves in this subtree having the same key.
+     */
+    private void pollSameKey(int winner, int topNode) {
+        polled.add(leaves[winner]);
+        for (int node = parent(winner); node != topNode; node >>>= 1) {
+            if (sameKeyAsWinner[node]) {
+                pollSameKey(tree[node], node);
+            }
+        }
+    }
+
+    /** The iterator iterates on {@link SortMergeReaderWithLoserTree}. */
+    private class SortMergeIterator implements RecordIterator<T> {
+
+        private boolean released = false;
+
+        @Override
+        public T next() throws IOException {
+            while (true) {
+                boolean hasMore = nextImpl();
+                if (!hasMore) {
+                    return null;
+                }
+                T result = mergeFunctionWrapper.getResult();
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+
+        private boolean nextImpl() throws IOException {
+            Preconditions.checkState(
+                    !released, "SortMergeIterator#advanceNext is called after release");
+            Preconditions.checkState(
+                    nextBatchLeaves.isEmpty(),
+                    "SortMergeIterator#advanceNext is called even if the last call returns null. "
+                            + "This is a bug.");
+
+            // advance previously polled leaves in sequence order, so that each of them is the
+            // winner of the tree when being adjusted
+            for (Leaf leaf : polled) {
+                if (!leaf.update()) {
+                    nextBatchLeaves.add(leaf);
+                }
+                adjust(leaf.index);
+            }
+            polled.clear();
+
+            // there are readers reaching end of batch, so we end current batch
+            if (!nextBatchLeaves.isEmpty()) {
+                return false;
+            }
+
+            Preconditions.checkNotNull(leaves[tree[0]].kv, "Loser tree is empty. This is a bug.");
+            mergeFunctionWrapper.reset();
+
+            // fetch all leaves with the same key
+            pollSameKey(tree[0], 0);
+            if (polled.size() > 1) {
+                polled.sort(SEQUENCE_COMPARATOR);
+            }
+            for (Leaf leaf : polled) {
+                mergeFunctionWrapper.add(leaf.kv);
+            }
+            return true;
+        }
+
+        @Override
+        public void releaseBatch() {
+            released = true;
+        }
+    }
+
+    /** A leaf of the loser tree, reused for all batches of its reader. */
+    private static class Leaf {
+
+        private final int index;
+
+        // null if the reader is exhausted and closed
+        @Nullable private RecordReader<KeyValue> reader;
+        @Nullable private RecordIterator<KeyValue> iterator;
+        // null if the current batch or the whole reader is exhausted
+        @Nullable private KeyValue kv;
+
+        // normalized key of the current kv, computed once per record
+        private final NormalizedKeyComparator keyComparator;
+        private final NormalizedKey normalizedKey;
+
+        private Leaf(
+                int index, RecordReader<KeyValue> reader, NormalizedKeyComparator keyComparator) {
+            this.index = index;
+            this.reader = reader;
+            this.keyComparator = keyComparator;
+            this.normalizedKey = keyComparator.newKey();
+        }
+
+        private void nextBatch() throws IOException {
+            while (reader != null) {
+                RecordIterator<KeyValue> batch = reader.readBatch();
+                if (batch == null) {
+                    // no more batches, permanently remove this reader
+                    reader.close();
+                    reader = null;
+                    break;
+                }
+                KeyValue nextKv = batch.next();
+                if (nextKv == null) {
+                    // empty iterator, clean up and try next batch
+                    batch.releaseBatch();
+                } else {
+                    // found next kv
+                    iterator = batch;
+                    setKv(nextKv);
+                    return;
+                }
+            }
+            iterator = null;
+            kv = null;
+        }
+
+        // IMPORTANT: Must adjust the tree after calling this!
+        private boolean update() throws IOException {
+            KeyValue nextKv = iterator.next();
+            if (nextKv == null) {
+                // reach end of batch, clean up
+                iterator.releaseBatch();
+                iterator = null;
+                kv = null;
+                return false;
+            }
+            setKv(nextKv);
+            return true;
+        }
+
+        private void setKv(KeyValue kv) {
+            this.kv = kv;
+            keyComparator.replace(normalizedKey, kv.key());
+        }
+
+        private void close() throws IOException {
+            if (iterator != null) {
+                iterator.releaseBatch();
+                iterator = null;
+            }
+            if (reader != null) {
+                reader.close();
+                reader = null;
+            }
+        }
+    }
+}
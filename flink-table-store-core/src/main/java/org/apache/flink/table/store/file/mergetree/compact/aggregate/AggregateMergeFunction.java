@@ -19,11 +19,13 @@
 package org.apache.flink.table.store.file.mergetree.compact.aggregate;
 
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.table.store.codegen.RecordMerger;
 import org.apache.flink.table.store.data.GenericRow;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.KeyValue;
 import org.apache.flink.table.store.file.mergetree.compact.MergeFunction;
 import org.apache.flink.table.store.file.mergetree.compact.MergeFunctionFactory;
+import org.apache.flink.table.store.file.mergetree.compact.RecordMergerFactory;
 import org.apache.flink.table.store.types.DataType;
 import org.apache.flink.table.store.types.RowKind;
 import org.apache.flink.table.store.utils.Projection;
@@ -31,6 +33,7 @@ import org.apache.flink.table.store.utils.Projection;
 import javax.annotation.Nullable;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.apache.flink.configuration.ConfigOptions.key;
@@ -40,12 +43,14 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
 
 /**
  * A {@link MergeFunction} where key is primary key (unique) and value is the partial record,
- * pre-aggregate non-null fields on merge.
+ * pre-aggregate non-null fields on merge. If a generated {@link RecordMerger} is given, fields are
+ * aggregated by it instead of by {@link FieldAggregator}s on boxed values.
  */
 public class AggregateMergeFunction implements MergeFunction<KeyValue> {
 
     private final InternalRow.FieldGetter[] getters;
     private final RowAggregator rowAggregator;
+    @Nullable private final RecordMerger recordMerger;
 
     private KeyValue latestKv;
     private GenericRow row;
@@ -53,14 +58,26 @@ public class AggregateMergeFunction implements MergeFunction<KeyValue> {
 
     protected AggregateMergeFunction(
             InternalRow.FieldGetter[] getters, RowAggregator rowAggregator) {
+        this(getters, rowAggregator, null);
+    }
+
+    protected AggregateMergeFunction(
+            InternalRow.FieldGetter[] getters,
+            RowAggregator rowAggregator,
+            @Nullable RecordMerger recordMerger) {
         this.getters = getters;
         this.rowAggregator = rowAggregator;
+        this.recordMerger = recordMerger;
     }
 
     @Override
     public void reset() {
         this.latestKv = null;
-        this.row = new GenericRow(getters.length);
+        if (recordMerger == null) {
+            this.row = new GenericRow(getters.length);
+        } else {
+            recordMerger.reset();
+        }
     }
 
     @Override
@@ -69,6 +86,10 @@ public class AggregateMergeFunction implements MergeFunction<KeyValue> {
                 kv.valueKind() == RowKind.INSERT || kv.valueKind() == RowKind.UPDATE_AFTER,
                 "Pre-aggregate can not accept delete records!");
         latestKv = kv;
+        if (recordMerger != null) {
+            recordMerger.merge(kv.value());
+            return;
+        }
         for (int i = 0; i < getters.length; i++) {
             FieldAggregator fieldAggregator = rowAggregator.getFieldAggregatorAtPos(i);
             Object accumulator = getters[i].getFieldOrNull(row);
@@ -88,7 +109,11 @@ public class AggregateMergeFunction implements MergeFunction<KeyValue> {
         if (reused == null) {
             reused = new KeyValue();
         }
-        return reused.replace(latestKv.key(), latestKv.sequenceNumber(), RowKind.INSERT, row);
+        return reused.replace(
+                latestKv.key(),
+                latestKv.sequenceNumber(),
+                RowKind.INSERT,
+                recordMerger == null ? row : recordMerger.result());
     }
 
     /** Provide an Aggregator for merge a new row data. */
@@ -109,13 +134,7 @@ public class AggregateMergeFunction implements MergeFunction<KeyValue> {
                 DataType fieldType = fieldTypes.get(i);
                 // aggregate by primary keys, so they do not aggregate
                 boolean isPrimaryKey = primaryKeys.contains(fieldName);
-                String strAggFunc =
-                        sqlConf.getString(
-                                key(FIELDS + "." + fieldName + "." + AGG_FUNCTION)
-                                        .stringType()
-                                        .noDefaultValue()
-                                        .withDescription(
-                                                "Get " + fieldName + "'s aggregate function"));
+                String strAggFunc = aggFunction(sqlConf, fieldName);
                 fieldAggregators[i] =
                         FieldAggregator.createFieldAggregator(fieldType, strAggFunc, isPrimaryKey);
             }
@@ -124,6 +143,14 @@ public class AggregateMergeFunction implements MergeFunction<KeyValue> {
         public FieldAggregator getFieldAggregatorAtPos(int fieldPos) {
             return fieldAggregators[fieldPos];
         }
+
+        static String aggFunction(Configuration sqlConf, String fieldName) {
+            return sqlConf.getString(
+                    key(FIELDS + "." + fieldName + "." + AGG_FUNCTION)
+                            .stringType()
+                            .noDefaultValue()
+                            .withDescription("Get " + fieldName + "'s aggregate function"));
+        }
     }
 
     public static MergeFunctionFactory<KeyValue> factory(
@@ -142,6 +169,7 @@ public class AggregateMergeFunction implements MergeFunction<KeyValue> {
         private final List<String> tableNames;
         private final List<DataType> tableTypes;
         private final List<String> primaryKeys;
+        private final RecordMergerFactory recordMergerFactory;
 
         private Factory(
                 Configuration conf,
@@ -152,6 +180,16 @@ public class AggregateMergeFunction implements MergeFunction<KeyValue> {
             this.tableNames = tableNames;
             this.tableTypes = tableTypes;
             this.primaryKeys = primaryKeys;
+
+            List<String> aggFunctions = new ArrayList<>();
+            for (String fieldName : tableNames) {
+                // aggregate by primary keys, so they do not aggregate
+                aggFunctions.add(
+                        primaryKeys.contains(fieldName)
+                                ? "last_value"
+                                : RowAggregator.aggFunction(conf, fieldName));
+            }
+            this.recordMergerFactory = new RecordMergerFactory(tableTypes, aggFunctions);
         }
 
         @Override
@@ -167,7 +205,8 @@ public class AggregateMergeFunction implements MergeFunction<KeyValue> {
             return new AggregateMergeFunction(
                     createFieldGetters(fieldTypes),
                     new AggregateMergeFunction.RowAggregator(
-                            conf, fieldNames, fieldTypes, primaryKeys));
+                            conf, fieldNames, fieldTypes, primaryKeys),
+                    recordMergerFactory.create(projection));
         }
     }
 }
@@ -20,9 +20,12 @@ package org.apache.flink.table.store.file.operation;
 
 import org.apache.flink.table.store.data.BinaryRow;
 import org.apache.flink.table.store.file.Snapshot;
+import org.apache.flink.table.store.file.manifest.FileKind;
 import org.apache.flink.table.store.file.manifest.ManifestEntry;
+import org.apache.flink.table.store.file.manifest.ManifestEntryMerger;
 import org.apache.flink.table.store.file.manifest.ManifestFile;
 import org.apache.flink.table.store.file.manifest.ManifestFileMeta;
+import org.apache.flink.table.store.file.manifest.ManifestIndex;
 import org.apache.flink.table.store.file.manifest.ManifestList;
 import org.apache.flink.table.store.file.predicate.BucketSelector;
 import org.apache.flink.table.store.file.predicate.Predicate;
@@ -44,7 +47,6 @@ import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -72,6 +74,7 @@ public abstract class AbstractFileStoreScan implements FileStoreScan {
     private List<ManifestFileMeta> specifiedManifests = null;
     private ScanKind scanKind = ScanKind.ALL;
     private Integer specifiedLevel = null;
+    private Plan previousPlan = null;
 
     public AbstractFileStoreScan(
             RowType partitionType,
@@ -170,16 +173,26 @@ public abstract class AbstractFileStoreScan implements FileStoreScan {
         return this;
     }
 
+    @Override
+    public FileStoreScan withPreviousPlan(@Nullable Plan previousPlan) {
+        this.previousPlan = previousPlan;
+        return this;
+    }
+
     @Override
     public Plan plan() {
         List<ManifestFileMeta> manifests = specifiedManifests;
         Long snapshotId = specifiedSnapshotId;
+        List<ManifestEntry> baseFiles = null;
         if (manifests == null) {
             if (snapshotId == null) {
                 snapshotId = snapshotManager.latestSnapshotId();
             }
             if (snapshotId == null) {
                 manifests = Collections.emptyList();
+            } else if (canPlanIncrementally(snapshotId)) {
+                baseFiles = previousPlan.files();
+                manifests = readDeltaManifests(previousPlan.snapshotId() + 1, snapshotId);
             } else {
                 Snapshot snapshot = snapshotManager.snapshot(snapshotId);
                 manifests = readManifests(snapshot);
@@ -187,27 +200,30 @@ public abstract class AbstractFileStoreScan implements FileStoreScan {
         }
 
         final Long readSnapshot = snapshotId;
-        final List<ManifestFileMeta> readManifests = manifests;
-
-        List<ManifestEntry> entries;
-        try {
-            entries =
-                    FileUtils.COMMON_IO_FORK_JOIN_POOL
-                            .submit(
-                                    () ->
-                                            readManifests
-                                                    .parallelStream()
-                                                    .filter(this::filterManifestFileMeta)
-                                                    .flatMap(m -> readManifestFileMeta(m).stream())
-                                                    .filter(this::filterManifestEntry)
-                                                    .collect(Collectors.toList()))
-                            .get();
-        } catch (InterruptedException | ExecutionException e) {
-            throw new RuntimeException("Failed to read ManifestEntry list concurrently", e);
+
+        // entries are merged shard by shard while reading, so the unmerged entries of all
+        // manifests are never held in memory at the same time
+        ManifestEntryMerger merger = new ManifestEntryMerger(FileUtils.COMMON_IO_FORK_JOIN_POOL);
+        if (baseFiles != null) {
+            merger.addMerged(baseFiles);
         }
+        merger.merge(
+                manifests,
+                m ->
+                        filterManifestFileMeta(m)
+                                ? readManifestFileMeta(m).stream()
+                                        .filter(this::filterByStats)
+                                        .collect(Collectors.toList())
+                                : Collections.emptyList());
 
         List<ManifestEntry> files = new ArrayList<>();
-        for (ManifestEntry file : ManifestEntry.mergeEntries(entries)) {
+        for (ManifestEntry file : merger.result()) {
+            // when planning incrementally, a remaining delete entry refers to a file which does
+            // not pass the filters of the previous plan, so it would not be in a full plan either
+            if (baseFiles != null && file.kind() == FileKind.DELETE) {
+                continue;
+            }
+
             if (checkNumOfBuckets && file.totalBuckets() != numOfBuckets) {
                 String partInfo =
                         partitionConverter.getArity() > 0
@@ -249,6 +265,28 @@ public abstract class AbstractFileStoreScan implements FileStoreScan {
         };
     }
 
+    private boolean canPlanIncrementally(long snapshotId) {
+        if (previousPlan == null || scanKind != ScanKind.ALL) {
+            return false;
+        }
+        Long previousSnapshotId = previousPlan.snapshotId();
+        if (previousSnapshotId == null || previousSnapshotId > snapshotId) {
+            return false;
+        }
+        // snapshots are expired from the earliest one, so if the first snapshot after the
+        // previous plan still exists, all snapshots up to the requested one exist
+        return previousSnapshotId.equals(snapshotId)
+                || snapshotManager.snapshotExists(previousSnapshotId + 1);
+    }
+
+    private List<ManifestFileMeta> readDeltaManifests(long fromSnapshotId, long toSnapshotId) {
+        List<ManifestFileMeta> manifests = new ArrayList<>();
+        for (long id = fromSnapshotId; id <= toSnapshotId; id++) {
+            manifests.addAll(manifestList.read(snapshotManager.snapshot(id).deltaManifestList()));
+        }
+        return manifests;
+    }
+
     private List<ManifestFileMeta> readManifests(Snapshot snapshot) {
         switch (scanKind) {
             case ALL:
@@ -295,6 +333,13 @@ public abstract class AbstractFileStoreScan implements FileStoreScan {
 
     /** Note: Keep this thread-safe. */
     private boolean filterManifestFileMeta(ManifestFileMeta manifest) {
+        return filterManifestByPartition(manifest)
+                && filterManifestByBucket(manifest)
+                && filterManifestByStats(manifest);
+    }
+
+    /** Note: Keep this thread-safe. */
+    private boolean filterManifestByPartition(ManifestFileMeta manifest) {
         return partitionFilter == null
                 || partitionFilter.test(
                         manifest.numAddedFiles() + manifest.numDeletedFiles(),
@@ -302,14 +347,57 @@ public abstract class AbstractFileStoreScan implements FileStoreScan {
     }
 
     /** Note: Keep this thread-safe. */
-    private boolean filterManifestEntry(ManifestEntry entry) {
-        return filterByPartition(entry) && filterByStats(entry);
+    private boolean filterManifestByBucket(ManifestFileMeta manifest) {
+        ManifestIndex index = manifest.index();
+        if (index == null || (specifiedBucket == null && bucketSelector == null)) {
+            return true;
+        }
+
+        // entries of a skipped manifest are not checked against the current bucket number, so
+        // only skip manifests whose entries are all written with the current bucket number
+        if (checkNumOfBuckets && index.totalBuckets() != numOfBuckets) {
+            return true;
+        }
+
+        if (specifiedBucket != null && !index.containsBucket(specifiedBucket)) {
+            return false;
+        }
+
+        if (bucketSelector != null && index.totalBuckets() != ManifestIndex.MIXED_TOTAL_BUCKETS) {
+            return index.buckets().stream()
+                    .anyMatch(bucket -> bucketSelector.select(bucket, index.totalBuckets()));
+        }
+        return true;
+    }
+
+    /**
+     * Filter a whole manifest file by the {@link ManifestIndex} before reading it. This must not
+     * skip any manifest file containing an entry accepted by {@link #filterByStats(ManifestEntry)}.
+     *
+     * <p>Note: Keep this thread-safe.
+     */
+    protected boolean filterManifestByStats(ManifestFileMeta manifest) {
+        return true;
+    }
+
+    /**
+     * Filter applied before the data file metas of entries are decoded, see {@link
+     * ManifestFile#read(String, ManifestFile.EntryFilter)}.
+     *
+     * <p>Note: Keep this thread-safe.
+     */
+    private boolean filterManifestEntry(BinaryRow partition, int bucket, int level) {
+        // the bucket is only filtered before merging if the bucket number of all entries
+        // is not checked later
+        return filterByPartition(partition)
+                && (checkNumOfBuckets || specifiedBucket == null || bucket == specifiedBucket)
+                && (specifiedLevel == null || level == specifiedLevel);
     }
 
     /** Note: Keep this thread-safe. */
-    private boolean filterByPartition(ManifestEntry entry) {
+    private boolean filterByPartition(BinaryRow partition) {
         return (partitionFilter == null
-                || partitionFilter.test(partitionConverter.convert(entry.partition())));
+                || partitionFilter.test(partitionConverter.convert(partition)));
     }
 
     /** Note: Keep this thread-safe. */
@@ -333,7 +421,7 @@ public abstract class AbstractFileStoreScan implements FileStoreScan {
 
     /** Note: Keep this thread-safe. */
     private List<ManifestEntry> readManifestFileMeta(ManifestFileMeta manifest) {
-        return manifestFileFactory.create().read(manifest.fileName());
+        return manifestFileFactory.create().read(manifest.fileName(), this::filterManifestEntry);
     }
 
     // ------------------------------------------------------------------------
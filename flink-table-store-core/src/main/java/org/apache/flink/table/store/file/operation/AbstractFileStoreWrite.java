@@ -19,15 +19,21 @@
 package org.apache.flink.table.store.file.operation;
 
 import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.table.store.CoreOptions;
 import org.apache.flink.table.store.data.BinaryRow;
 import org.apache.flink.table.store.file.Snapshot;
+import org.apache.flink.table.store.file.compact.CompactExecutor;
+import org.apache.flink.table.store.file.compact.CompactRateLimiter;
 import org.apache.flink.table.store.file.disk.IOManager;
 import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.manifest.ManifestEntry;
+import org.apache.flink.table.store.file.schema.SchemaManager;
+import org.apache.flink.table.store.file.schema.TableSchema;
 import org.apache.flink.table.store.file.utils.RecordWriter;
 import org.apache.flink.table.store.file.utils.SnapshotManager;
 import org.apache.flink.table.store.table.sink.FileCommittable;
-import org.apache.flink.util.concurrent.ExecutorThreadFactory;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,8 +47,8 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * Base {@link FileStoreWrite} implementation.
@@ -55,26 +61,45 @@ public abstract class AbstractFileStoreWrite<T> implements FileStoreWrite<T> {
 
     private final String commitUser;
     protected final SnapshotManager snapshotManager;
+    private final SchemaManager schemaManager;
     private final FileStoreScan scan;
 
     @Nullable protected IOManager ioManager;
 
     protected final Map<BinaryRow, Map<Integer, WriterContainer<T>>> writers;
-    private final ExecutorService compactExecutor;
+    private final CompactExecutor compactExecutor;
+    private final boolean sharedCompactExecutor;
+    protected final CompactRateLimiter compactRateLimiter;
+    private long compactRateLimitSchemaId;
 
     private boolean overwrite = false;
 
     protected AbstractFileStoreWrite(
-            String commitUser, SnapshotManager snapshotManager, FileStoreScan scan) {
+            String commitUser,
+            SnapshotManager snapshotManager,
+            SchemaManager schemaManager,
+            long schemaId,
+            FileStoreScan scan,
+            CoreOptions options) {
         this.commitUser = commitUser;
         this.snapshotManager = snapshotManager;
+        this.schemaManager = schemaManager;
         this.scan = scan;
 
         this.writers = new HashMap<>();
+        this.sharedCompactExecutor = options.compactionSharedThreads();
         this.compactExecutor =
-                Executors.newSingleThreadScheduledExecutor(
-                        new ExecutorThreadFactory(
-                                Thread.currentThread().getName() + "-compaction"));
+                sharedCompactExecutor
+                        ? CompactExecutor.acquireShared(options.compactionThreads())
+                        : new CompactExecutor(
+                                options.compactionThreads(),
+                                Thread.currentThread().getName() + "-compaction");
+        this.compactRateLimiter =
+                CompactRateLimiter.acquireShared(
+                        snapshotManager.tablePath().toString(),
+                        schemaId,
+                        options.compactionIoRateLimit());
+        this.compactRateLimitSchemaId = schemaId;
     }
 
     @Override
@@ -83,6 +108,16 @@ public abstract class AbstractFileStoreWrite<T> implements FileStoreWrite<T> {
         return this;
     }
 
+    @Override
+    public FileStoreWrite<T> withMetricGroup(MetricGroup metricGroup) {
+        MetricGroup compactionGroup = metricGroup.addGroup("compaction");
+        compactionGroup.gauge("queueLength", (Gauge<Integer>) compactExecutor::queueLength);
+        compactionGroup.gauge("runningTasks", (Gauge<Integer>) compactExecutor::runningTasks);
+        compactionGroup.gauge("ioRateLimit", (Gauge<Long>) compactRateLimiter::rate);
+        compactionGroup.gauge("throttledMillis", (Gauge<Long>) compactRateLimiter::throttledMillis);
+        return this;
+    }
+
     protected List<DataFileMeta> scanExistingFileMetas(
             Long snapshotId, BinaryRow partition, int bucket) {
         List<DataFileMeta> existingFileMetas = new ArrayList<>();
@@ -96,6 +131,25 @@ public abstract class AbstractFileStoreWrite<T> implements FileStoreWrite<T> {
         return existingFileMetas;
     }
 
+    /**
+     * Applies the {@link CoreOptions#COMPACTION_IO_RATE_LIMIT} of the latest schema if the table is
+     * altered after this write is created, so that the rate can be changed without restarting the
+     * job. Schema ids are consecutive, so schemas are only listed if the next schema exists.
+     */
+    private void refreshCompactRateLimit() {
+        if (!schemaManager.schemaExists(compactRateLimitSchemaId + 1)) {
+            return;
+        }
+
+        Optional<TableSchema> latest = schemaManager.latest();
+        if (latest.isPresent() && latest.get().id() > compactRateLimitSchemaId) {
+            compactRateLimitSchemaId = latest.get().id();
+            compactRateLimiter.updateRate(
+                    compactRateLimitSchemaId,
+                    new CoreOptions(latest.get().options()).compactionIoRateLimit());
+        }
+    }
+
     public void withOverwrite(boolean overwrite) {
         this.overwrite = overwrite;
     }
@@ -132,6 +186,8 @@ public abstract class AbstractFileStoreWrite<T> implements FileStoreWrite<T> {
     @Override
     public List<FileCommittable> prepareCommit(boolean blocking, long commitIdentifier)
             throws Exception {
+        refreshCompactRateLimit();
+
         long latestCommittedIdentifier;
         if (writers.values().stream()
                         .map(Map::values)
@@ -220,7 +276,19 @@ public abstract class AbstractFileStoreWrite<T> implements FileStoreWrite<T> {
             }
         }
         writers.clear();
-        compactExecutor.shutdownNow();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(
+                    "Closing file store write, compaction threads: {}, compaction rate limiter: {}",
+                    compactExecutor,
+                    compactRateLimiter);
+        }
+        CompactRateLimiter.releaseShared(
+                snapshotManager.tablePath().toString(), compactRateLimiter);
+        if (sharedCompactExecutor) {
+            CompactExecutor.releaseShared(compactExecutor);
+        } else {
+            compactExecutor.shutdownNow();
+        }
     }
 
     private WriterContainer<T> getWriterWrapper(BinaryRow partition, int bucket) {
@@ -18,12 +18,15 @@
 
 package org.apache.flink.table.store.file.operation;
 
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.io.DataFilePathFactory;
 import org.apache.flink.table.store.file.io.RowDataFileRecordReader;
+import org.apache.flink.table.store.file.manifest.ManifestCache;
 import org.apache.flink.table.store.file.mergetree.compact.ConcatRecordReader;
 import org.apache.flink.table.store.file.predicate.Predicate;
+import org.apache.flink.table.store.file.predicate.PredicateBuilder;
 import org.apache.flink.table.store.file.schema.SchemaEvolutionUtil;
 import org.apache.flink.table.store.file.schema.SchemaManager;
 import org.apache.flink.table.store.file.schema.TableSchema;
@@ -32,10 +35,13 @@ import org.apache.flink.table.store.file.utils.FileStorePathFactory;
 import org.apache.flink.table.store.file.utils.RecordReader;
 import org.apache.flink.table.store.format.FileFormatDiscover;
 import org.apache.flink.table.store.format.FormatKey;
+import org.apache.flink.table.store.format.FormatReadMetrics;
 import org.apache.flink.table.store.table.source.DataSplit;
 import org.apache.flink.table.store.types.RowType;
 import org.apache.flink.table.store.utils.Projection;
 
+import org.apache.flink.shaded.guava30.com.google.common.primitives.Ints;
+
 import javax.annotation.Nullable;
 
 import java.io.IOException;
@@ -43,7 +49,9 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
+import static org.apache.flink.table.store.file.predicate.PredicateBuilder.pickTransformFieldMapping;
 import static org.apache.flink.table.store.file.predicate.PredicateBuilder.splitAnd;
 
 /** {@link FileStoreRead} for {@link org.apache.flink.table.store.file.AppendOnlyFileStore}. */
@@ -55,6 +63,9 @@ public class AppendOnlyFileStoreRead implements FileStoreRead<InternalRow> {
     private final FileFormatDiscover formatDiscover;
     private final FileStorePathFactory pathFactory;
     private final Map<FormatKey, BulkFormatMapping> bulkFormatMappings;
+    private final boolean vectorizedFilter;
+    private final FormatReadMetrics formatReadMetrics;
+    @Nullable private final ManifestCache manifestCache;
 
     private int[][] projection;
 
@@ -65,13 +76,18 @@ public class AppendOnlyFileStoreRead implements FileStoreRead<InternalRow> {
             long schemaId,
             RowType rowType,
             FileFormatDiscover formatDiscover,
-            FileStorePathFactory pathFactory) {
+            FileStorePathFactory pathFactory,
+            boolean vectorizedFilter,
+            @Nullable ManifestCache manifestCache) {
         this.schemaManager = schemaManager;
         this.schemaId = schemaId;
         this.rowType = rowType;
         this.formatDiscover = formatDiscover;
         this.pathFactory = pathFactory;
         this.bulkFormatMappings = new HashMap<>();
+        this.vectorizedFilter = vectorizedFilter;
+        this.formatReadMetrics = new FormatReadMetrics();
+        this.manifestCache = manifestCache;
 
         this.projection = Projection.range(0, rowType.getFieldCount()).toNestedIndexes();
     }
@@ -81,6 +97,15 @@ public class AppendOnlyFileStoreRead implements FileStoreRead<InternalRow> {
         return this;
     }
 
+    @Override
+    public FileStoreRead<InternalRow> withMetricGroup(MetricGroup metricGroup) {
+        formatReadMetrics.register(metricGroup.addGroup("format"));
+        if (manifestCache != null) {
+            manifestCache.registerMetrics(metricGroup.addGroup("manifestCache"));
+        }
+        return this;
+    }
+
     @Override
     public FileStoreRead<InternalRow> withFilter(Predicate predicate) {
         this.filters = splitAnd(predicate);
@@ -91,6 +116,7 @@ public class AppendOnlyFileStoreRead implements FileStoreRead<InternalRow> {
     public RecordReader<InternalRow> createReader(DataSplit split) throws IOException {
         DataFilePathFactory dataFilePathFactory =
                 pathFactory.createDataFilePathFactory(split.partition(), split.bucket());
+        Predicate readFilter = readFilter();
         List<ConcatRecordReader.ReaderSupplier<InternalRow>> suppliers = new ArrayList<>();
         for (DataFileMeta file : split.files()) {
             String formatIdentifier = DataFilePathFactory.formatIdentifier(file.fileName());
@@ -124,16 +150,40 @@ public class AppendOnlyFileStoreRead implements FileStoreRead<InternalRow> {
                                         formatDiscover
                                                 .discover(formatIdentifier)
                                                 .createReaderFactory(
-                                                        rowType, dataProjection, dataFilters));
+                                                        rowType, dataProjection, dataFilters)
+                                                .withMetrics(formatReadMetrics));
                             });
             suppliers.add(
                     () ->
                             new RowDataFileRecordReader(
                                     dataFilePathFactory.toPath(file.fileName()),
                                     bulkFormatMapping.getReaderFactory(),
-                                    bulkFormatMapping.getIndexMapping()));
+                                    bulkFormatMapping.getIndexMapping(),
+                                    readFilter,
+                                    // the format filters are the read filters if the schema of
+                                    // the file is the read schema
+                                    file.schemaId() == schemaId));
         }
 
         return ConcatRecordReader.create(suppliers);
     }
+
+    /**
+     * Filters on the projected fields to select rows of columnar batches, their field indexes are
+     * the ones of the projected rows.
+     */
+    @Nullable
+    private Predicate readFilter() {
+        if (!vectorizedFilter || filters == null || Projection.of(projection).isNested()) {
+            return null;
+        }
+
+        int[] topLevelProjection = Projection.of(projection).toTopLevelIndexes();
+        int[] fieldIdxToProjectionIdx =
+                IntStream.range(0, rowType.getFieldCount())
+                        .map(i -> Ints.indexOf(topLevelProjection, i))
+                        .toArray();
+        List<Predicate> readFilters = pickTransformFieldMapping(filters, fieldIdxToProjectionIdx);
+        return readFilters.isEmpty() ? null : PredicateBuilder.and(readFilters);
+    }
 }
@@ -120,7 +120,10 @@ public class AppendOnlyFileStoreScan extends AbstractFileStoreScan {
                                             SchemaEvolutionUtil.createConvertMapping(
                                                     tableFields, dataFields, indexMapping);
                     return new FieldStatsArraySerializer(
-                            schema.logicalRowType(), indexMapping, converterMapping);
+                            schema.logicalRowType(),
+                            indexMapping,
+                            converterMapping,
+                            tableSchema.logicalRowType());
                 });
     }
 }
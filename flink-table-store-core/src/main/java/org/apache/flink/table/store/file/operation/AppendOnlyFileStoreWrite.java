@@ -25,10 +25,12 @@ import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.append.AppendOnlyCompactManager;
 import org.apache.flink.table.store.file.append.AppendOnlyWriter;
 import org.apache.flink.table.store.file.compact.CompactManager;
+import org.apache.flink.table.store.file.compact.CompactRateLimiter;
 import org.apache.flink.table.store.file.compact.NoopCompactManager;
 import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.io.DataFilePathFactory;
 import org.apache.flink.table.store.file.io.RowDataRollingFileWriter;
+import org.apache.flink.table.store.file.schema.SchemaManager;
 import org.apache.flink.table.store.file.utils.FileStorePathFactory;
 import org.apache.flink.table.store.file.utils.RecordReaderIterator;
 import org.apache.flink.table.store.file.utils.RecordWriter;
@@ -60,6 +62,7 @@ public class AppendOnlyFileStoreWrite extends AbstractFileStoreWrite<InternalRow
 
     public AppendOnlyFileStoreWrite(
             AppendOnlyFileStoreRead read,
+            SchemaManager schemaManager,
             long schemaId,
             String commitUser,
             RowType rowType,
@@ -67,7 +70,7 @@ public class AppendOnlyFileStoreWrite extends AbstractFileStoreWrite<InternalRow
             SnapshotManager snapshotManager,
             FileStoreScan scan,
             CoreOptions options) {
-        super(commitUser, snapshotManager, scan);
+        super(commitUser, snapshotManager, schemaManager, schemaId, scan, options);
         this.read = read;
         this.schemaId = schemaId;
         this.rowType = rowType;
@@ -147,7 +150,15 @@ public class AppendOnlyFileStoreWrite extends AbstractFileStoreWrite<InternalRow
                             rowType,
                             pathFactory.createDataFilePathFactory(partition, bucket),
                             new LongCounter(toCompact.get(0).minSequenceNumber()));
-            rewriter.write(
+            long inputBytes = 0;
+            long inputRecords = 0;
+            for (DataFileMeta file : toCompact) {
+                inputBytes += file.fileSize();
+                inputRecords += file.rowCount();
+            }
+            CompactRateLimiter.Throttle throttle =
+                    compactRateLimiter.throttle(inputBytes, inputRecords, rewriter);
+            try (RecordReaderIterator<InternalRow> iterator =
                     new RecordReaderIterator<>(
                             read.createReader(
                                     new DataSplit(
@@ -155,8 +166,18 @@ public class AppendOnlyFileStoreWrite extends AbstractFileStoreWrite<InternalRow
                                             partition,
                                             bucket,
                                             toCompact,
-                                            false))));
-            rewriter.close();
+                                            false)))) {
+                while (iterator.hasNext()) {
+                    rewriter.write(iterator.next());
+                    throttle.advance();
+                }
+                rewriter.close();
+                throttle.finish();
+            } catch (Throwable e) {
+                // also clean up when the compaction is interrupted while throttled
+                rewriter.abort();
+                throw e;
+            }
             return rewriter.result();
         };
     }
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.operation;
+
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Cumulative metrics of expiring snapshots by {@link FileStoreExpireImpl}. */
+public class ExpireMetrics {
+
+    private final AtomicLong expiredSnapshots = new AtomicLong();
+    private final AtomicLong deletedDataFiles = new AtomicLong();
+    private final AtomicLong deletedChangelogFiles = new AtomicLong();
+    private final AtomicLong deletedManifestFiles = new AtomicLong();
+    private final AtomicLong deletedManifestLists = new AtomicLong();
+    private final AtomicLong expireDurationMillis = new AtomicLong();
+
+    void recordExpiredSnapshots(long count) {
+        expiredSnapshots.addAndGet(count);
+    }
+
+    void recordDeletedDataFiles(long count) {
+        deletedDataFiles.addAndGet(count);
+    }
+
+    void recordDeletedChangelogFiles(long count) {
+        deletedChangelogFiles.addAndGet(count);
+    }
+
+    void recordDeletedManifestFiles(long count) {
+        deletedManifestFiles.addAndGet(count);
+    }
+
+    void recordDeletedManifestLists(long count) {
+        deletedManifestLists.addAndGet(count);
+    }
+
+    void recordExpireDuration(long durationMillis) {
+        expireDurationMillis.addAndGet(durationMillis);
+    }
+
+    /** Number of expired snapshots. */
+    public long expiredSnapshots() {
+        return expiredSnapshots.get();
+    }
+
+    /** Number of deleted data files, including their extra files. */
+    public long deletedDataFiles() {
+        return deletedDataFiles.get();
+    }
+
+    /** Number of deleted changelog files. */
+    public long deletedChangelogFiles() {
+        return deletedChangelogFiles.get();
+    }
+
+    /** Number of deleted manifest files. */
+    public long deletedManifestFiles() {
+        return deletedManifestFiles.get();
+    }
+
+    /** Number of deleted manifest lists. */
+    public long deletedManifestLists() {
+        return deletedManifestLists.get();
+    }
+
+    /** Total wall-clock duration of expiring snapshots in milliseconds. */
+    public long expireDurationMillis() {
+        return expireDurationMillis.get();
+    }
+
+    /** Registers these metrics as gauges of the given group. */
+    public void register(MetricGroup group) {
+        group.gauge("expiredSnapshots", (Gauge<Long>) this::expiredSnapshots);
+        group.gauge("deletedDataFiles", (Gauge<Long>) this::deletedDataFiles);
+        group.gauge("deletedChangelogFiles", (Gauge<Long>) this::deletedChangelogFiles);
+        group.gauge("deletedManifestFiles", (Gauge<Long>) this::deletedManifestFiles);
+        group.gauge("deletedManifestLists", (Gauge<Long>) this::deletedManifestLists);
+        group.gauge("expireDurationMillis", (Gauge<Long>) this::expireDurationMillis);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "{expiredSnapshots = %d, deletedDataFiles = %d, deletedChangelogFiles = %d, "
+                        + "deletedManifestFiles = %d, deletedManifestLists = %d, "
+                        + "expireDurationMillis = %d}",
+                expiredSnapshots(),
+                deletedDataFiles(),
+                deletedChangelogFiles(),
+                deletedManifestFiles(),
+                deletedManifestLists(),
+                expireDurationMillis());
+    }
+}
@@ -18,6 +18,7 @@
 
 package org.apache.flink.table.store.file.operation;
 
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.table.store.file.manifest.ManifestCommittable;
 
 import java.util.Collections;
@@ -32,12 +33,25 @@ public interface FileStoreCommit {
 
     FileStoreCommit withCreateEmptyCommit(boolean createEmptyCommit);
 
+    /** Registers the metrics of committing, such as merging manifest files, to the group. */
+    FileStoreCommit withMetricGroup(MetricGroup metricGroup);
+
     /** Find out which manifest committable need to be retried when recovering from the failure. */
     List<ManifestCommittable> filterCommitted(List<ManifestCommittable> committableList);
 
     /** Commit from manifest committable. */
     void commit(ManifestCommittable committable, Map<String, String> properties);
 
+    /**
+     * Commit multiple manifest committables as a group. All their new files are committed into a
+     * single {@link org.apache.flink.table.store.file.Snapshot.CommitKind#APPEND} snapshot, and all
+     * their compaction changes into a single {@link
+     * org.apache.flink.table.store.file.Snapshot.CommitKind#COMPACT} snapshot, both carrying the
+     * largest identifier of the group. Committables must be given in the order of their
+     * identifiers.
+     */
+    void commit(List<ManifestCommittable> committables, Map<String, String> properties);
+
     /** Overwrite a single partition from manifest committable. */
     default void overwrite(
             Map<String, String> partition,
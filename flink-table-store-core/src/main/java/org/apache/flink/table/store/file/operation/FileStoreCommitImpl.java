@@ -18,9 +18,11 @@
 
 package org.apache.flink.table.store.file.operation;
 
+import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.configuration.MemorySize;
 import org.apache.flink.core.fs.FileSystem;
 import org.apache.flink.core.fs.Path;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.table.store.data.BinaryRow;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.Snapshot;
@@ -31,10 +33,12 @@ import org.apache.flink.table.store.file.manifest.ManifestEntry;
 import org.apache.flink.table.store.file.manifest.ManifestFile;
 import org.apache.flink.table.store.file.manifest.ManifestFileMeta;
 import org.apache.flink.table.store.file.manifest.ManifestList;
+import org.apache.flink.table.store.file.manifest.ManifestMergeMetrics;
 import org.apache.flink.table.store.file.predicate.Predicate;
 import org.apache.flink.table.store.file.predicate.PredicateBuilder;
 import org.apache.flink.table.store.file.utils.AtomicFileWriter;
 import org.apache.flink.table.store.file.utils.FileStorePathFactory;
+import org.apache.flink.table.store.file.utils.FileUtils;
 import org.apache.flink.table.store.file.utils.SnapshotManager;
 import org.apache.flink.table.store.table.sink.FileCommittable;
 import org.apache.flink.table.store.types.RowType;
@@ -84,6 +88,8 @@ public class FileStoreCommitImpl implements FileStoreCommit {
 
     private static final Logger LOG = LoggerFactory.getLogger(FileStoreCommitImpl.class);
 
+    private static final int MAX_BASE_PLAN_ENTRIES = 100_000;
+
     private final long schemaId;
     private final String commitUser;
     private final RowType partitionType;
@@ -97,10 +103,17 @@ public class FileStoreCommitImpl implements FileStoreCommit {
     private final MemorySize manifestTargetSize;
     private final int manifestMergeMinCount;
     @Nullable private final Comparator<InternalRow> keyComparator;
+    private final ManifestMergeMetrics manifestMergeMetrics;
 
     @Nullable private Lock lock;
     private boolean createEmptyCommit;
 
+    // files of the partitions checked by the last conflict check, the following conflict checks
+    // only apply the snapshots committed since then instead of reading all manifests again. Plans
+    // with more than MAX_BASE_PLAN_ENTRIES entries are not kept to bound the memory of committers
+    @Nullable private FileStoreScan.Plan lastBasePlan;
+    private Set<BinaryRow> lastBasePartitions;
+
     public FileStoreCommitImpl(
             long schemaId,
             String commitUser,
@@ -127,9 +140,18 @@ public class FileStoreCommitImpl implements FileStoreCommit {
         this.manifestTargetSize = manifestTargetSize;
         this.manifestMergeMinCount = manifestMergeMinCount;
         this.keyComparator = keyComparator;
+        this.manifestMergeMetrics = new ManifestMergeMetrics();
 
         this.lock = null;
         this.createEmptyCommit = false;
+        this.lastBasePlan = null;
+        this.lastBasePartitions = Collections.emptySet();
+    }
+
+    /** Returns the metrics of merging manifest files during the commits of this committer. */
+    @VisibleForTesting
+    public ManifestMergeMetrics manifestMergeMetrics() {
+        return manifestMergeMetrics;
     }
 
     @Override
@@ -144,6 +166,12 @@ public class FileStoreCommitImpl implements FileStoreCommit {
         return this;
     }
 
+    @Override
+    public FileStoreCommit withMetricGroup(MetricGroup metricGroup) {
+        manifestMergeMetrics.register(metricGroup.addGroup("manifestMerge"));
+        return this;
+    }
+
     @Override
     public List<ManifestCommittable> filterCommitted(List<ManifestCommittable> committableList) {
         // nothing to filter, fast exit
@@ -169,23 +197,43 @@ public class FileStoreCommitImpl implements FileStoreCommit {
 
     @Override
     public void commit(ManifestCommittable committable, Map<String, String> properties) {
+        commit(Collections.singletonList(committable), properties);
+    }
+
+    @Override
+    public void commit(List<ManifestCommittable> committables, Map<String, String> properties) {
+        if (committables.isEmpty()) {
+            return;
+        }
         if (LOG.isDebugEnabled()) {
-            LOG.debug("Ready to commit\n" + committable.toString());
+            LOG.debug(
+                    "Ready to commit\n"
+                            + committables.stream()
+                                    .map(Object::toString)
+                                    .collect(Collectors.joining("\n")));
         }
 
         Long safeLatestSnapshotId = null;
         List<ManifestEntry> baseEntries = new ArrayList<>();
 
+        // changes of all committables are concatenated in their order, so that the compact changes
+        // of a committable still follow the compact changes of the committables before it
+        long identifier = Long.MIN_VALUE;
+        Map<Integer, Long> logOffsets = new HashMap<>();
         List<ManifestEntry> appendTableFiles = new ArrayList<>();
         List<ManifestEntry> appendChangelog = new ArrayList<>();
         List<ManifestEntry> compactTableFiles = new ArrayList<>();
         List<ManifestEntry> compactChangelog = new ArrayList<>();
-        collectChanges(
-                committable.fileCommittables(),
-                appendTableFiles,
-                appendChangelog,
-                compactTableFiles,
-                compactChangelog);
+        for (ManifestCommittable committable : committables) {
+            identifier = Math.max(identifier, committable.identifier());
+            logOffsets.putAll(committable.logOffsets());
+            collectChanges(
+                    committable.fileCommittables(),
+                    appendTableFiles,
+                    appendChangelog,
+                    compactTableFiles,
+                    compactChangelog);
+        }
 
         if (createEmptyCommit || !appendTableFiles.isEmpty() || !appendChangelog.isEmpty()) {
             // Optimization for common path.
@@ -208,8 +256,8 @@ public class FileStoreCommitImpl implements FileStoreCommit {
             tryCommit(
                     appendTableFiles,
                     appendChangelog,
-                    committable.identifier(),
-                    committable.logOffsets(),
+                    identifier,
+                    logOffsets,
                     Snapshot.CommitKind.APPEND,
                     safeLatestSnapshotId);
         }
@@ -231,8 +279,8 @@ public class FileStoreCommitImpl implements FileStoreCommit {
             tryCommit(
                     compactTableFiles,
                     compactChangelog,
-                    committable.identifier(),
-                    committable.logOffsets(),
+                    identifier,
+                    logOffsets,
                     Snapshot.CommitKind.COMPACT,
                     safeLatestSnapshotId);
         }
@@ -407,6 +455,7 @@ public class FileStoreCommitImpl implements FileStoreCommit {
                 List<ManifestEntry> currentEntries =
                         scan.withSnapshot(latestSnapshotId)
                                 .withPartitionFilter(partitionFilter)
+                                .withPreviousPlan(null)
                                 .plan()
                                 .files();
                 for (ManifestEntry entry : currentEntries) {
@@ -483,12 +532,21 @@ public class FileStoreCommitImpl implements FileStoreCommit {
                 latestSnapshot.getLogOffsets().forEach(logOffsets::putIfAbsent);
             }
             // merge manifest files with changes
+            long mergeCount = manifestMergeMetrics.mergeCount();
             newMetas.addAll(
                     ManifestFileMeta.merge(
                             oldMetas,
                             manifestFile,
                             manifestTargetSize.getBytes(),
-                            manifestMergeMinCount));
+                            manifestMergeMinCount,
+                            FileUtils.COMMON_IO_FORK_JOIN_POOL,
+                            manifestMergeMetrics));
+            if (manifestMergeMetrics.mergeCount() > mergeCount && LOG.isDebugEnabled()) {
+                LOG.debug(
+                        "Merged manifest files for snapshot #{}, total merge metrics: {}",
+                        newSnapshotId,
+                        manifestMergeMetrics);
+            }
             previousChangesListName = manifestList.write(newMetas);
 
             // write new changes into manifest files
@@ -617,18 +675,52 @@ public class FileStoreCommitImpl implements FileStoreCommit {
     @SafeVarargs
     private final List<ManifestEntry> readAllEntriesFromChangedPartitions(
             long snapshotId, List<ManifestEntry>... changes) {
-        List<BinaryRow> changedPartitions =
+        Set<BinaryRow> changedPartitions =
                 Arrays.stream(changes)
                         .flatMap(Collection::stream)
                         .map(ManifestEntry::partition)
-                        .distinct()
-                        .collect(Collectors.toList());
+                        .collect(Collectors.toSet());
+        FileStoreScan.Plan plan = null;
+        if (lastBasePlan != null && lastBasePartitions.containsAll(changedPartitions)) {
+            try {
+                // apply only the snapshots committed after the last check, the previous plan is
+                // kept for all its partitions so that it can be reused by the following checks
+                plan =
+                        scan.withSnapshot(snapshotId)
+                                .withPartitionFilter(new ArrayList<>(lastBasePartitions))
+                                .withPreviousPlan(lastBasePlan)
+                                .plan();
+            } catch (Exception e) {
+                // for example, a snapshot after the previous plan is expired while reading
+                LOG.warn(
+                        "Cannot plan incrementally from snapshot {} to {}, plan changed partitions"
+                                + " fully instead.",
+                        lastBasePlan.snapshotId(),
+                        snapshotId,
+                        e);
+                lastBasePlan = null;
+            }
+        }
+
         try {
-            return scan.withSnapshot(snapshotId)
-                    .withPartitionFilter(changedPartitions)
-                    .plan()
-                    .files();
-        } catch (Throwable e) {
+            if (plan == null) {
+                plan =
+                        scan.withSnapshot(snapshotId)
+                                .withPartitionFilter(new ArrayList<>(changedPartitions))
+                                .withPreviousPlan(null)
+                                .plan();
+                lastBasePartitions = changedPartitions;
+            }
+            lastBasePlan = plan.files().size() <= MAX_BASE_PLAN_ENTRIES ? plan : null;
+
+            if (lastBasePartitions.size() == changedPartitions.size()) {
+                return plan.files();
+            }
+            return plan.files().stream()
+                    .filter(entry -> changedPartitions.contains(entry.partition()))
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            lastBasePlan = null;
             throw new RuntimeException("Cannot read manifest entries from changed partitions.", e);
         }
     }
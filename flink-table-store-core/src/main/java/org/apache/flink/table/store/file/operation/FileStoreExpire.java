@@ -18,12 +18,17 @@
 
 package org.apache.flink.table.store.file.operation;
 
+import org.apache.flink.metrics.MetricGroup;
+
 /** Expire operation which provides snapshots expire. */
 public interface FileStoreExpire {
 
     /** With global lock. */
     FileStoreExpire withLock(Lock lock);
 
+    /** Registers the metrics of expiring snapshots to the group. */
+    FileStoreExpire withMetricGroup(MetricGroup metricGroup);
+
     /** Expire snapshots. */
     void expire();
 }
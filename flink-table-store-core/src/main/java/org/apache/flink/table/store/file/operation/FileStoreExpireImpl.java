@@ -20,6 +20,7 @@ package org.apache.flink.table.store.file.operation;
 
 import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.core.fs.Path;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.table.store.file.Snapshot;
 import org.apache.flink.table.store.file.manifest.ManifestEntry;
 import org.apache.flink.table.store.file.manifest.ManifestFile;
@@ -45,7 +46,10 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 /**
  * Default implementation of {@link FileStoreExpire}. It retains a certain number or period of
@@ -54,12 +58,19 @@ import java.util.stream.Collectors;
  * <p>NOTE: This implementation will keep at least one snapshot so that users will not accidentally
  * clear all snapshots.
  *
+ * <p>Snapshots are expired in batches. The files to delete of a batch are collected first and then
+ * deleted in parallel in {@link FileUtils#COMMON_IO_FORK_JOIN_POOL}, which bounds the number of
+ * concurrent deletions.
+ *
  * <p>TODO: add concurrent tests.
  */
 public class FileStoreExpireImpl implements FileStoreExpire {
 
     private static final Logger LOG = LoggerFactory.getLogger(FileStoreExpireImpl.class);
 
+    // number of snapshots expired before the earliest hint is moved forward
+    private static final int EXPIRE_BATCH_SIZE = 100;
+
     private final int numRetainedMin;
     // snapshots exceeding any constraint will be expired
     private final int numRetainedMax;
@@ -70,7 +81,10 @@ public class FileStoreExpireImpl implements FileStoreExpire {
     private final ManifestFile manifestFile;
     private final ManifestList manifestList;
 
+    private final ExpireMetrics metrics;
+
     private Lock lock;
+    private int expireBatchSize = EXPIRE_BATCH_SIZE;
 
     public FileStoreExpireImpl(
             int numRetainedMin,
@@ -87,6 +101,13 @@ public class FileStoreExpireImpl implements FileStoreExpire {
         this.snapshotManager = snapshotManager;
         this.manifestFile = manifestFileFactory.create();
         this.manifestList = manifestListFactory.create();
+        this.metrics = new ExpireMetrics();
+    }
+
+    /** Returns the metrics of all expirations done by this instance. */
+    @VisibleForTesting
+    public ExpireMetrics metrics() {
+        return metrics;
     }
 
     @Override
@@ -95,6 +116,18 @@ public class FileStoreExpireImpl implements FileStoreExpire {
         return this;
     }
 
+    @VisibleForTesting
+    FileStoreExpireImpl withExpireBatchSize(int expireBatchSize) {
+        this.expireBatchSize = expireBatchSize;
+        return this;
+    }
+
+    @Override
+    public FileStoreExpire withMetricGroup(MetricGroup metricGroup) {
+        metrics.register(metricGroup);
+        return this;
+    }
+
     @Override
     public void expire() {
         Long latestSnapshotId = snapshotManager.latestSnapshotId();
@@ -156,80 +189,167 @@ public class FileStoreExpireImpl implements FileStoreExpire {
                     "Snapshot expire range is [" + beginInclusiveId + ", " + endExclusiveId + ")");
         }
 
+        // expire snapshots in batches in the order of their ids, all files of a batch are deleted
+        // before its snapshot files, and the earliest hint is moved after each batch, so an
+        // interrupted expiration resumes from the first snapshot which is not yet expired
+        long startMillis = System.currentTimeMillis();
+        // to avoid deleting twice
+        Set<ManifestFileMeta> deletedManifests = new HashSet<>();
+        for (long batchBeginId = beginInclusiveId;
+                batchBeginId < endExclusiveId;
+                batchBeginId += expireBatchSize) {
+            long batchEndId = Math.min(batchBeginId + expireBatchSize, endExclusiveId);
+            // the snapshot after a batch is the earliest one once the batch is expired, its
+            // manifests must be kept even if later snapshots no longer use them
+            Set<ManifestFileMeta> manifestsInUse =
+                    new HashSet<>(
+                            snapshotManager
+                                    .snapshot(batchEndId)
+                                    .readAllDataManifests(manifestList));
+            expireBatch(batchBeginId, batchEndId, manifestsInUse, deletedManifests);
+            writeEarliestHint(batchEndId);
+        }
+
+        metrics.recordExpireDuration(System.currentTimeMillis() - startMillis);
+        LOG.info(
+                "Expired snapshots [{}, {}), total expire metrics: {}",
+                beginInclusiveId,
+                endExclusiveId,
+                metrics);
+    }
+
+    private void expireBatch(
+            long beginInclusiveId,
+            long endExclusiveId,
+            Set<ManifestFileMeta> manifestsInUse,
+            Set<ManifestFileMeta> deletedManifests) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(
+                    "Ready to expire snapshots in ["
+                            + beginInclusiveId
+                            + ", "
+                            + endExclusiveId
+                            + ")");
+        }
+        List<Snapshot> toExpire =
+                LongStream.range(beginInclusiveId, endExclusiveId)
+                        .mapToObj(snapshotManager::snapshot)
+                        .collect(Collectors.toList());
+
         // delete merge tree files
         // deleted merge tree files in a snapshot are not used by the next snapshot, so the range of
         // id should be (beginInclusiveId, endExclusiveId]
-        for (long id = beginInclusiveId + 1; id <= endExclusiveId; id++) {
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Ready to delete merge tree files not used by snapshot #" + id);
-            }
-            Snapshot snapshot = snapshotManager.snapshot(id);
-            expireMergeTreeFiles(snapshot.deltaManifestList());
-        }
+        List<Long> mergeTreeSnapshotIds =
+                LongStream.rangeClosed(beginInclusiveId + 1, endExclusiveId)
+                        .boxed()
+                        .collect(Collectors.toList());
+        List<Path> dataFiles =
+                runInParallel(
+                        () ->
+                                mergeTreeSnapshotIds
+                                        .parallelStream()
+                                        .flatMap(
+                                                id ->
+                                                        mergeTreeFilesToDelete(
+                                                                getManifestEntriesFromManifestList(
+                                                                        snapshotManager
+                                                                                .snapshot(id)
+                                                                                .deltaManifestList()))
+                                                                .stream())
+                                        .collect(Collectors.toList()));
+        deleteInParallel(dataFiles, FileUtils::deleteOrWarn);
+        metrics.recordDeletedDataFiles(dataFiles.size());
 
         // delete changelog files
-        for (long id = beginInclusiveId; id < endExclusiveId; id++) {
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Ready to delete changelog files from snapshot #" + id);
-            }
-            Snapshot snapshot = snapshotManager.snapshot(id);
-            if (snapshot.changelogManifestList() != null) {
-                expireChangelogFiles(snapshot.changelogManifestList());
-            }
-        }
+        List<Path> changelogFiles =
+                runInParallel(
+                        () ->
+                                toExpire.parallelStream()
+                                        .filter(
+                                                snapshot ->
+                                                        snapshot.changelogManifestList() != null)
+                                        .flatMap(
+                                                snapshot ->
+                                                        changelogFilesToDelete(
+                                                                snapshot.changelogManifestList())
+                                                                .stream())
+                                        .collect(Collectors.toList()));
+        deleteInParallel(changelogFiles, FileUtils::deleteOrWarn);
+        metrics.recordDeletedChangelogFiles(changelogFiles.size());
 
         // delete manifests
-        Snapshot exclusiveSnapshot = snapshotManager.snapshot(endExclusiveId);
-        Set<ManifestFileMeta> manifestsInUse =
-                new HashSet<>(exclusiveSnapshot.readAllDataManifests(manifestList));
-        // to avoid deleting twice
-        Set<ManifestFileMeta> deletedManifests = new HashSet<>();
-        for (long id = beginInclusiveId; id < endExclusiveId; id++) {
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Ready to delete manifests in snapshot #" + id);
-            }
-
-            Snapshot toExpire = snapshotManager.snapshot(id);
-            // cannot call `toExpire.readAllDataManifests` directly, it is possible that a job is
-            // killed during expiration, so some manifest files may have been deleted
-            List<ManifestFileMeta> toExpireManifests = new ArrayList<>();
-            toExpireManifests.addAll(tryReadManifestList(toExpire.baseManifestList()));
-            toExpireManifests.addAll(tryReadManifestList(toExpire.deltaManifestList()));
-
-            // delete manifest
-            for (ManifestFileMeta manifest : toExpireManifests) {
-                if (!manifestsInUse.contains(manifest) && !deletedManifests.contains(manifest)) {
-                    manifestFile.delete(manifest.fileName());
-                    deletedManifests.add(manifest);
-                }
-            }
-            if (toExpire.changelogManifestList() != null) {
-                for (ManifestFileMeta manifest :
-                        tryReadManifestList(toExpire.changelogManifestList())) {
-                    manifestFile.delete(manifest.fileName());
+        // cannot call `readAllDataManifests` directly, it is possible that a job is killed during
+        // expiration, so some manifest files may have been deleted
+        List<List<ManifestFileMeta>> dataManifests =
+                runInParallel(
+                        () ->
+                                toExpire.parallelStream()
+                                        .map(
+                                                snapshot -> {
+                                                    List<ManifestFileMeta> manifests =
+                                                            new ArrayList<>();
+                                                    manifests.addAll(
+                                                            tryReadManifestList(
+                                                                    snapshot.baseManifestList()));
+                                                    manifests.addAll(
+                                                            tryReadManifestList(
+                                                                    snapshot.deltaManifestList()));
+                                                    return manifests;
+                                                })
+                                        .collect(Collectors.toList()));
+        List<String> manifestsToDelete = new ArrayList<>();
+        for (List<ManifestFileMeta> manifests : dataManifests) {
+            for (ManifestFileMeta manifest : manifests) {
+                if (!manifestsInUse.contains(manifest) && deletedManifests.add(manifest)) {
+                    manifestsToDelete.add(manifest.fileName());
                 }
             }
-
-            // delete manifest lists
-            manifestList.delete(toExpire.baseManifestList());
-            manifestList.delete(toExpire.deltaManifestList());
-            if (toExpire.changelogManifestList() != null) {
-                manifestList.delete(toExpire.changelogManifestList());
+        }
+        List<String> changelogManifestsToDelete =
+                runInParallel(
+                        () ->
+                                toExpire.parallelStream()
+                                        .filter(
+                                                snapshot ->
+                                                        snapshot.changelogManifestList() != null)
+                                        .flatMap(
+                                                snapshot ->
+                                                        tryReadManifestList(
+                                                                snapshot.changelogManifestList())
+                                                                .stream())
+                                        .map(ManifestFileMeta::fileName)
+                                        .collect(Collectors.toList()));
+        manifestsToDelete.addAll(changelogManifestsToDelete);
+        deleteInParallel(manifestsToDelete, manifestFile::delete);
+        metrics.recordDeletedManifestFiles(manifestsToDelete.size());
+
+        // delete manifest lists
+        List<String> manifestListsToDelete = new ArrayList<>();
+        for (Snapshot snapshot : toExpire) {
+            manifestListsToDelete.add(snapshot.baseManifestList());
+            manifestListsToDelete.add(snapshot.deltaManifestList());
+            if (snapshot.changelogManifestList() != null) {
+                manifestListsToDelete.add(snapshot.changelogManifestList());
             }
-
-            // delete snapshot
-            FileUtils.deleteOrWarn(snapshotManager.snapshotPath(id));
         }
-
-        writeEarliestHint(endExclusiveId);
-    }
-
-    private void expireMergeTreeFiles(String manifestListName) {
-        expireMergeTreeFiles(getManifestEntriesFromManifestList(manifestListName));
+        deleteInParallel(manifestListsToDelete, manifestList::delete);
+        metrics.recordDeletedManifestLists(manifestListsToDelete.size());
+
+        // delete snapshots one by one from the earliest one, so that the remaining snapshots are
+        // always consecutive
+        for (Snapshot snapshot : toExpire) {
+            FileUtils.deleteOrWarn(snapshotManager.snapshotPath(snapshot.id()));
+            snapshotManager.invalidateSnapshot(snapshot.id());
+        }
+        metrics.recordExpiredSnapshots(toExpire.size());
     }
 
     @VisibleForTesting
     void expireMergeTreeFiles(Iterable<ManifestEntry> dataFileLog) {
+        mergeTreeFilesToDelete(dataFileLog).forEach(FileUtils::deleteOrWarn);
+    }
+
+    private List<Path> mergeTreeFilesToDelete(Iterable<ManifestEntry> dataFileLog) {
         // we cannot delete a data file directly when we meet a DELETE entry, because that
         // file might be upgraded
         Map<Path, List<Path>> dataFileToDelete = new HashMap<>();
@@ -252,21 +372,45 @@ public class FileStoreExpireImpl implements FileStoreExpire {
                             "Unknown value kind " + entry.kind().name());
             }
         }
+
+        List<Path> result = new ArrayList<>();
         dataFileToDelete.forEach(
                 (path, extraFiles) -> {
-                    FileUtils.deleteOrWarn(path);
-                    extraFiles.forEach(FileUtils::deleteOrWarn);
+                    result.add(path);
+                    result.addAll(extraFiles);
                 });
+        return result;
     }
 
-    private void expireChangelogFiles(String manifestListName) {
+    private List<Path> changelogFilesToDelete(String manifestListName) {
+        List<Path> result = new ArrayList<>();
         for (ManifestEntry changelogEntry : getManifestEntriesFromManifestList(manifestListName)) {
-            FileUtils.deleteOrWarn(
+            result.add(
                     new Path(
                             pathFactory.bucketPath(
                                     changelogEntry.partition(), changelogEntry.bucket()),
                             changelogEntry.file().fileName()));
         }
+        return result;
+    }
+
+    private <T> void deleteInParallel(List<T> files, Consumer<T> deleter) {
+        runInParallel(
+                () -> {
+                    files.parallelStream().forEach(deleter);
+                    return null;
+                });
+    }
+
+    private static <T> T runInParallel(Callable<T> task) {
+        try {
+            return FileUtils.COMMON_IO_FORK_JOIN_POOL.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while expiring snapshots", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to expire snapshots", e.getCause());
+        }
     }
 
     private Iterable<ManifestEntry> getManifestEntriesFromManifestList(String manifestListName) {
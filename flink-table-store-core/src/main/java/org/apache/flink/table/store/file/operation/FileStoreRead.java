@@ -18,6 +18,7 @@
 
 package org.apache.flink.table.store.file.operation;
 
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.table.store.file.predicate.Predicate;
 import org.apache.flink.table.store.file.utils.RecordReader;
 import org.apache.flink.table.store.table.source.DataSplit;
@@ -33,6 +34,9 @@ public interface FileStoreRead<T> {
 
     FileStoreRead<T> withFilter(Predicate predicate);
 
+    /** Registers the metrics of reading the files, such as fetch and decode time, to the group. */
+    FileStoreRead<T> withMetricGroup(MetricGroup metricGroup);
+
     /** Create a {@link RecordReader} from split. */
     RecordReader<T> createReader(DataSplit split) throws IOException;
 }
@@ -50,6 +50,22 @@ public interface FileStoreScan {
 
     FileStoreScan withLevel(int level);
 
+    /**
+     * Plan incrementally on top of a previous {@link Plan} of {@link ScanKind#ALL}. Instead of
+     * reading all manifests of the snapshot, only the delta manifests of the snapshots committed
+     * after the previous plan are read and applied to its files, so planning cost scales with the
+     * changes rather than the table size.
+     *
+     * <p>The previous plan must be produced by a scan with the same filters. If the snapshots in
+     * between have expired, or this is not a {@link ScanKind#ALL} scan, a full plan is produced.
+     * Passing null resets to full planning.
+     *
+     * <p>Currently only used by commit conflict checks, which plan the latest snapshot repeatedly.
+     * Streaming readers, including the lookup join, produce one full plan at startup and then plan
+     * the delta of each snapshot, so they do not plan on top of a previous plan.
+     */
+    FileStoreScan withPreviousPlan(@Nullable Plan previousPlan);
+
     /** Produce a {@link Plan}. */
     Plan plan();
 
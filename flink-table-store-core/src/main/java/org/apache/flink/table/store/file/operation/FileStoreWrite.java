@@ -18,6 +18,7 @@
 
 package org.apache.flink.table.store.file.operation;
 
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.table.store.data.BinaryRow;
 import org.apache.flink.table.store.file.FileStore;
 import org.apache.flink.table.store.file.disk.IOManager;
@@ -38,6 +39,9 @@ public interface FileStoreWrite<T> {
 
     FileStoreWrite<T> withIOManager(IOManager ioManager);
 
+    /** Registers the metrics of this write, such as the compaction queue, to the given group. */
+    FileStoreWrite<T> withMetricGroup(MetricGroup metricGroup);
+
     /**
      * If overwrite is true, the writer will overwrite the store, otherwise it won't.
      *
@@ -0,0 +1,347 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.operation;
+
+import org.apache.flink.table.store.data.BinaryRow;
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.data.RowDataSerializer;
+import org.apache.flink.table.store.file.KeyValue;
+import org.apache.flink.table.store.file.io.BloomFilter;
+import org.apache.flink.table.store.file.io.BloomFilterCache;
+import org.apache.flink.table.store.file.io.DataFileMeta;
+import org.apache.flink.table.store.file.io.DataFilePathFactory;
+import org.apache.flink.table.store.file.io.KeyValueFileReaderFactory;
+import org.apache.flink.table.store.file.manifest.FileKind;
+import org.apache.flink.table.store.file.manifest.ManifestEntry;
+import org.apache.flink.table.store.file.mergetree.LevelSortedRun;
+import org.apache.flink.table.store.file.mergetree.Levels;
+import org.apache.flink.table.store.file.mergetree.compact.MergeFunction;
+import org.apache.flink.table.store.file.mergetree.compact.MergeFunctionFactory;
+import org.apache.flink.table.store.file.predicate.Predicate;
+import org.apache.flink.table.store.file.utils.FileStorePathFactory;
+import org.apache.flink.table.store.file.utils.RecordReader;
+import org.apache.flink.table.store.file.utils.SnapshotManager;
+import org.apache.flink.table.store.types.RowKind;
+import org.apache.flink.table.store.types.RowType;
+
+import org.apache.flink.shaded.guava30.com.google.common.cache.Cache;
+import org.apache.flink.shaded.guava30.com.google.common.cache.CacheBuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+
+/**
+ * Looks up single keys of a {@link org.apache.flink.table.store.file.KeyValueFileStore} without
+ * loading the whole table. The files of a bucket are organized in {@link Levels}, and only the
+ * files whose key range and bloom filter may contain the key are read, from the newest to the
+ * oldest sorted run. If the newest record of a key wins, the lookup stops at the first hit,
+ * otherwise all records of the key are merged.
+ *
+ * <p>The levels of a bucket are planned once and cached for a bounded number of buckets. {@link
+ * #refresh()} applies the delta files of the new snapshots to the cached levels, so that buckets
+ * are not planned again. Bloom filters are read through the shared {@link BloomFilterCache}. Key
+ * filters given to {@link #lookup} are pushed down to the file formats so that they only read the
+ * blocks which may contain the key.
+ *
+ * <p>NOTE: This class is not thread safe.
+ */
+public class KeyValueFileStoreLookup {
+
+    private static final Logger LOG = LoggerFactory.getLogger(KeyValueFileStoreLookup.class);
+
+    private static final int LEVELS_CACHE_SIZE = 1000;
+
+    private final SnapshotManager snapshotManager;
+    private final Supplier<FileStoreScan> scanFactory;
+    private final KeyValueFileReaderFactory.Builder readerFactoryBuilder;
+    private final FileStorePathFactory pathFactory;
+    private final Comparator<InternalRow> keyComparator;
+    private final MergeFunctionFactory<KeyValue> mfFactory;
+    private final boolean firstHitWins;
+    private final int numLevels;
+    private final RowDataSerializer keySerializer;
+    private final RowDataSerializer valueSerializer;
+
+    private final Cache<BucketKey, Levels> levels;
+    private final BloomFilterCache bloomFilterCache;
+
+    @Nullable private Long snapshotId;
+
+    public KeyValueFileStoreLookup(
+            SnapshotManager snapshotManager,
+            Supplier<FileStoreScan> scanFactory,
+            KeyValueFileReaderFactory.Builder readerFactoryBuilder,
+            FileStorePathFactory pathFactory,
+            Comparator<InternalRow> keyComparator,
+            MergeFunctionFactory<KeyValue> mfFactory,
+            boolean firstHitWins,
+            int numLevels,
+            RowType keyType,
+            RowType valueType,
+            BloomFilterCache bloomFilterCache) {
+        this.snapshotManager = snapshotManager;
+        this.scanFactory = scanFactory;
+        this.readerFactoryBuilder = readerFactoryBuilder;
+        this.pathFactory = pathFactory;
+        this.keyComparator = keyComparator;
+        this.mfFactory = mfFactory;
+        this.firstHitWins = firstHitWins;
+        this.numLevels = numLevels;
+        this.keySerializer = new RowDataSerializer(keyType);
+        this.valueSerializer = new RowDataSerializer(valueType);
+
+        this.levels = CacheBuilder.newBuilder().maximumSize(LEVELS_CACHE_SIZE).build();
+        this.bloomFilterCache = bloomFilterCache;
+        this.snapshotId = snapshotManager.latestSnapshotId();
+    }
+
+    /** Lookups after this call see the latest snapshot. */
+    public void refresh() {
+        Long latest = snapshotManager.latestSnapshotId();
+        if (Objects.equals(latest, snapshotId)) {
+            return;
+        }
+
+        if (snapshotId == null || latest == null || latest < snapshotId) {
+            levels.invalidateAll();
+        } else {
+            try {
+                for (long id = snapshotId + 1; id <= latest; id++) {
+                    applyDelta(id);
+                }
+            } catch (Exception e) {
+                // snapshots in between may have expired, plan the buckets again
+                LOG.warn(
+                        "Cannot apply the delta from snapshot {} to {}, plan the buckets again.",
+                        snapshotId,
+                        latest,
+                        e);
+                levels.invalidateAll();
+            }
+        }
+        snapshotId = latest;
+    }
+
+    /** Applies the files added and deleted by a snapshot to the cached levels of its buckets. */
+    private void applyDelta(long id) {
+        Set<BucketKey> touched = new HashSet<>();
+        Map<BucketKey, List<DataFileMeta>> before = new HashMap<>();
+        Map<BucketKey, List<DataFileMeta>> after = new HashMap<>();
+        List<ManifestEntry> delta =
+                scanFactory.get().withSnapshot(id).withKind(ScanKind.DELTA).plan().files();
+        for (ManifestEntry entry : delta) {
+            BucketKey key = new BucketKey(entry.partition(), entry.bucket());
+            if (levels.getIfPresent(key) != null) {
+                touched.add(key);
+                (entry.kind() == FileKind.ADD ? after : before)
+                        .computeIfAbsent(key, k -> new ArrayList<>())
+                        .add(entry.file());
+            }
+        }
+
+        for (BucketKey key : touched) {
+            Levels bucketLevels = levels.getIfPresent(key);
+            if (bucketLevels != null) {
+                bucketLevels.update(
+                        before.getOrDefault(key, Collections.emptyList()),
+                        after.getOrDefault(key, Collections.emptyList()));
+            }
+        }
+    }
+
+    /**
+     * Returns the merged record of {@code key}, or null if there is no such key or it is deleted.
+     *
+     * @param keyFilters filters on the key to push down to the file formats
+     */
+    @Nullable
+    public KeyValue lookup(
+            BinaryRow partition, int bucket, InternalRow key, List<Predicate> keyFilters)
+            throws IOException {
+        List<DataFileMeta> candidates = candidates(partition, bucket, key);
+        if (candidates.isEmpty()) {
+            return null;
+        }
+
+        KeyValueFileReaderFactory readerFactory =
+                readerFactoryBuilder.build(partition, bucket, true, keyFilters);
+        List<KeyValue> records = new ArrayList<>();
+        for (DataFileMeta file : candidates) {
+            KeyValue record = lookup(readerFactory, file, key);
+            if (record != null) {
+                if (firstHitWins) {
+                    return isAdd(record) ? record : null;
+                }
+                records.add(record);
+            }
+        }
+        if (records.isEmpty()) {
+            return null;
+        }
+
+        records.sort(Comparator.comparingLong(KeyValue::sequenceNumber));
+        MergeFunction<KeyValue> mergeFunction = mfFactory.create();
+        mergeFunction.reset();
+        records.forEach(mergeFunction::add);
+        KeyValue result = mergeFunction.getResult();
+        return result != null && isAdd(result) ? result : null;
+    }
+
+    private static boolean isAdd(KeyValue kv) {
+        return kv.valueKind() == RowKind.INSERT || kv.valueKind() == RowKind.UPDATE_AFTER;
+    }
+
+    /** Files which may contain the key, from the newest to the oldest. */
+    private List<DataFileMeta> candidates(BinaryRow partition, int bucket, InternalRow key)
+            throws IOException {
+        int keyHash = BloomFilter.hash(keySerializer.toBinaryRow(key));
+        DataFilePathFactory dataFilePathFactory = null;
+        List<DataFileMeta> result = new ArrayList<>();
+        for (LevelSortedRun run : levels(partition, bucket).levelSortedRuns()) {
+            DataFileMeta file = fileContaining(run.run().files(), key);
+            if (file == null) {
+                continue;
+            }
+            if (dataFilePathFactory == null) {
+                dataFilePathFactory = pathFactory.createDataFilePathFactory(partition, bucket);
+            }
+            if (bloomFilterCache.mightContain(dataFilePathFactory, file, keyHash)) {
+                result.add(file);
+            }
+        }
+        return result;
+    }
+
+    /** Binary searches the file whose key range contains the key in a sorted run. */
+    @Nullable
+    private DataFileMeta fileContaining(List<DataFileMeta> files, InternalRow key) {
+        int low = 0;
+        int high = files.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            DataFileMeta file = files.get(mid);
+            if (keyComparator.compare(file.maxKey(), key) < 0) {
+                low = mid + 1;
+            } else if (keyComparator.compare(file.minKey(), key) > 0) {
+                high = mid - 1;
+            } else {
+                return file;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private KeyValue lookup(
+            KeyValueFileReaderFactory readerFactory, DataFileMeta file, InternalRow key)
+            throws IOException {
+        try (RecordReader<KeyValue> reader =
+                readerFactory.createRecordReader(file.schemaId(), file.fileName(), file.level())) {
+            RecordReader.RecordIterator<KeyValue> batch;
+            while ((batch = reader.readBatch()) != null) {
+                try {
+                    KeyValue kv;
+                    while ((kv = batch.next()) != null) {
+                        int compare = keyComparator.compare(kv.key(), key);
+                        if (compare == 0) {
+                            return kv.copy(keySerializer, valueSerializer);
+                        } else if (compare > 0) {
+                            // keys in a data file are sorted
+                            return null;
+                        }
+                    }
+                } finally {
+                    batch.releaseBatch();
+                }
+            }
+            return null;
+        }
+    }
+
+    private Levels levels(BinaryRow partition, int bucket) throws IOException {
+        BucketKey key = new BucketKey(partition.copy(), bucket);
+        try {
+            return levels.get(
+                    key,
+                    () -> {
+                        List<DataFileMeta> files = new ArrayList<>();
+                        if (snapshotId != null) {
+                            scanFactory
+                                    .get()
+                                    .withSnapshot(snapshotId)
+                                    .withPartitionFilter(Collections.singletonList(partition))
+                                    .withBucket(bucket)
+                                    .plan()
+                                    .files()
+                                    .stream()
+                                    .map(ManifestEntry::file)
+                                    .forEach(files::add);
+                        }
+                        return new Levels(keyComparator, files, numLevels);
+                    });
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /** Key of the cached levels of a bucket. */
+    private static class BucketKey {
+
+        private final BinaryRow partition;
+        private final int bucket;
+
+        private BucketKey(BinaryRow partition, int bucket) {
+            this.partition = partition;
+            this.bucket = bucket;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            BucketKey that = (BucketKey) o;
+            return bucket == that.bucket && partition.equals(that.partition);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(partition, bucket);
+        }
+    }
+}
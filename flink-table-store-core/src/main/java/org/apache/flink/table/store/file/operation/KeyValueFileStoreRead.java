@@ -18,10 +18,19 @@
 
 package org.apache.flink.table.store.file.operation;
 
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.table.store.CoreOptions.SortEngine;
+import org.apache.flink.table.store.data.BinaryRow;
+import org.apache.flink.table.store.data.GenericRow;
 import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.data.RowDataSerializer;
 import org.apache.flink.table.store.file.KeyValue;
+import org.apache.flink.table.store.file.io.BloomFilter;
+import org.apache.flink.table.store.file.io.BloomFilterCache;
 import org.apache.flink.table.store.file.io.DataFileMeta;
+import org.apache.flink.table.store.file.io.DataFilePathFactory;
 import org.apache.flink.table.store.file.io.KeyValueFileReaderFactory;
+import org.apache.flink.table.store.file.manifest.ManifestCache;
 import org.apache.flink.table.store.file.mergetree.DropDeleteReader;
 import org.apache.flink.table.store.file.mergetree.MergeTreeReaders;
 import org.apache.flink.table.store.file.mergetree.SortedRun;
@@ -30,6 +39,8 @@ import org.apache.flink.table.store.file.mergetree.compact.IntervalPartition;
 import org.apache.flink.table.store.file.mergetree.compact.MergeFunctionFactory;
 import org.apache.flink.table.store.file.mergetree.compact.MergeFunctionWrapper;
 import org.apache.flink.table.store.file.mergetree.compact.ReducerMergeFunctionWrapper;
+import org.apache.flink.table.store.file.predicate.Equal;
+import org.apache.flink.table.store.file.predicate.LeafPredicate;
 import org.apache.flink.table.store.file.predicate.Predicate;
 import org.apache.flink.table.store.file.schema.KeyValueFieldsExtractor;
 import org.apache.flink.table.store.file.schema.SchemaManager;
@@ -38,6 +49,7 @@ import org.apache.flink.table.store.file.utils.FileStorePathFactory;
 import org.apache.flink.table.store.file.utils.RecordReader;
 import org.apache.flink.table.store.file.utils.RecordReaderUtils;
 import org.apache.flink.table.store.format.FileFormatDiscover;
+import org.apache.flink.table.store.format.FormatReadMetrics;
 import org.apache.flink.table.store.table.source.DataSplit;
 import org.apache.flink.table.store.types.RowType;
 import org.apache.flink.table.store.utils.ProjectedRow;
@@ -67,6 +79,12 @@ public class KeyValueFileStoreRead implements FileStoreRead<KeyValue> {
     private final Comparator<InternalRow> keyComparator;
     private final MergeFunctionFactory<KeyValue> mfFactory;
     private final boolean valueCountMode;
+    private final SortEngine sortEngine;
+    private final RowType keyType;
+    private final FileStorePathFactory pathFactory;
+    private final BloomFilterCache bloomFilterCache;
+    private final FormatReadMetrics formatReadMetrics;
+    @Nullable private final ManifestCache manifestCache;
 
     @Nullable private int[][] keyProjectedFields;
 
@@ -76,6 +94,9 @@ public class KeyValueFileStoreRead implements FileStoreRead<KeyValue> {
 
     @Nullable private int[][] valueProjection;
 
+    // the only key which may be read, files whose bloom filter does not contain it are skipped
+    @Nullable private BinaryRow lookupKey;
+
     public KeyValueFileStoreRead(
             SchemaManager schemaManager,
             long schemaId,
@@ -85,7 +106,10 @@ public class KeyValueFileStoreRead implements FileStoreRead<KeyValue> {
             MergeFunctionFactory<KeyValue> mfFactory,
             FileFormatDiscover formatDiscover,
             FileStorePathFactory pathFactory,
-            KeyValueFieldsExtractor extractor) {
+            KeyValueFieldsExtractor extractor,
+            SortEngine sortEngine,
+            BloomFilterCache bloomFilterCache,
+            @Nullable ManifestCache manifestCache) {
         this.tableSchema = schemaManager.schema(schemaId);
         this.readerFactoryBuilder =
                 KeyValueFileReaderFactory.builder(
@@ -96,9 +120,16 @@ public class KeyValueFileStoreRead implements FileStoreRead<KeyValue> {
                         formatDiscover,
                         pathFactory,
                         extractor);
+        this.formatReadMetrics = new FormatReadMetrics();
+        readerFactoryBuilder.withMetrics(formatReadMetrics);
+        this.manifestCache = manifestCache;
         this.keyComparator = keyComparator;
         this.mfFactory = mfFactory;
         this.valueCountMode = tableSchema.trimmedPrimaryKeys().isEmpty();
+        this.sortEngine = sortEngine;
+        this.keyType = keyType;
+        this.pathFactory = pathFactory;
+        this.bloomFilterCache = bloomFilterCache;
     }
 
     public KeyValueFileStoreRead withKeyProjection(int[][] projectedFields) {
@@ -113,6 +144,15 @@ public class KeyValueFileStoreRead implements FileStoreRead<KeyValue> {
         return this;
     }
 
+    @Override
+    public FileStoreRead<KeyValue> withMetricGroup(MetricGroup metricGroup) {
+        formatReadMetrics.register(metricGroup.addGroup("format"));
+        if (manifestCache != null) {
+            manifestCache.registerMetrics(metricGroup.addGroup("manifestCache"));
+        }
+        return this;
+    }
+
     @Override
     public FileStoreRead<KeyValue> withFilter(Predicate predicate) {
         List<Predicate> allFilters = new ArrayList<>();
@@ -145,9 +185,36 @@ public class KeyValueFileStoreRead implements FileStoreRead<KeyValue> {
         // value filters.
         filtersForNonOverlappedSection = allFilters;
         filtersForOverlappedSection = valueCountMode ? allFilters : pkFilters;
+        lookupKey = valueCountMode ? null : lookupKey(primaryKeys, allFilters);
         return this;
     }
 
+    /** Extracts the key if there are equality filters on all primary key fields. */
+    @Nullable
+    private BinaryRow lookupKey(List<String> primaryKeys, List<Predicate> filters) {
+        GenericRow key = new GenericRow(primaryKeys.size());
+        for (int i = 0; i < primaryKeys.size(); i++) {
+            Object literal = null;
+            for (Predicate filter : filters) {
+                if (filter instanceof LeafPredicate) {
+                    LeafPredicate leaf = (LeafPredicate) filter;
+                    if (leaf.function() == Equal.INSTANCE
+                            && leaf.fieldName().equals(primaryKeys.get(i))) {
+                        literal = leaf.literals().get(0);
+                        break;
+                    }
+                }
+            }
+            // literals may be of another type, for example of an older schema
+            if (literal == null
+                    || !InternalRow.getDataClass(keyType.getTypeAt(i)).isInstance(literal)) {
+                return null;
+            }
+            key.setField(i, literal);
+        }
+        return new RowDataSerializer(keyType).toBinaryRow(key).copy();
+    }
+
     @Override
     public RecordReader<KeyValue> createReader(DataSplit split) throws IOException {
         if (split.isIncremental()) {
@@ -183,8 +250,10 @@ public class KeyValueFileStoreRead implements FileStoreRead<KeyValue> {
             List<ConcatRecordReader.ReaderSupplier<KeyValue>> sectionReaders = new ArrayList<>();
             MergeFunctionWrapper<KeyValue> mergeFuncWrapper =
                     new ReducerMergeFunctionWrapper(mfFactory.create(valueProjection));
+            List<DataFileMeta> files =
+                    lookupKey == null ? split.files() : filterByBloomFilter(split);
             for (List<SortedRun> section :
-                    new IntervalPartition(split.files(), keyComparator).partition()) {
+                    new IntervalPartition(files, keyComparator).partition()) {
                 sectionReaders.add(
                         () ->
                                 MergeTreeReaders.readerForSection(
@@ -193,7 +262,8 @@ public class KeyValueFileStoreRead implements FileStoreRead<KeyValue> {
                                                 ? overlappedSectionFactory
                                                 : nonOverlappedSectionFactory,
                                         keyComparator,
-                                        mergeFuncWrapper));
+                                        mergeFuncWrapper,
+                                        sortEngine));
             }
             DropDeleteReader reader =
                     new DropDeleteReader(ConcatRecordReader.create(sectionReaders));
@@ -203,6 +273,19 @@ public class KeyValueFileStoreRead implements FileStoreRead<KeyValue> {
         }
     }
 
+    private List<DataFileMeta> filterByBloomFilter(DataSplit split) throws IOException {
+        int keyHash = BloomFilter.hash(lookupKey);
+        DataFilePathFactory dataFilePathFactory =
+                pathFactory.createDataFilePathFactory(split.partition(), split.bucket());
+        List<DataFileMeta> result = new ArrayList<>();
+        for (DataFileMeta file : split.files()) {
+            if (bloomFilterCache.mightContain(dataFilePathFactory, file, keyHash)) {
+                result.add(file);
+            }
+        }
+        return result;
+    }
+
     private Optional<String> changelogFile(DataFileMeta fileMeta) {
         for (String file : fileMeta.extraFiles()) {
             if (file.startsWith(CHANGELOG_FILE_PREFIX)) {
@@ -21,6 +21,8 @@ package org.apache.flink.table.store.file.operation;
 import org.apache.flink.table.store.file.casting.CastExecutor;
 import org.apache.flink.table.store.file.manifest.ManifestEntry;
 import org.apache.flink.table.store.file.manifest.ManifestFile;
+import org.apache.flink.table.store.file.manifest.ManifestFileMeta;
+import org.apache.flink.table.store.file.manifest.ManifestIndex;
 import org.apache.flink.table.store.file.manifest.ManifestList;
 import org.apache.flink.table.store.file.predicate.Predicate;
 import org.apache.flink.table.store.file.schema.KeyValueFieldsExtractor;
@@ -90,6 +92,23 @@ public class KeyValueFileStoreScan extends AbstractFileStoreScan {
         return this;
     }
 
+    /** Note: Keep this thread-safe. */
+    @Override
+    protected boolean filterManifestByStats(ManifestFileMeta manifest) {
+        ManifestIndex index = manifest.index();
+        if (keyFilter == null || index == null || index.keyStats() == null) {
+            return true;
+        }
+
+        // key stats of the index are collected from data files of the manifest schema
+        return keyFilter.test(
+                index.rowCount(),
+                index.keyStats()
+                        .fields(
+                                getFieldStatsArraySerializer(manifest.schemaId()),
+                                index.rowCount()));
+    }
+
     /** Note: Keep this thread-safe. */
     @Override
     protected boolean filterByStats(ManifestEntry entry) {
@@ -126,7 +145,8 @@ public class KeyValueFileStoreScan extends AbstractFileStoreScan {
                     return new FieldStatsArraySerializer(
                             new RowType(keyFields),
                             indexMapping,
-                            (CastExecutor<Object, Object>[]) converterMapping);
+                            (CastExecutor<Object, Object>[]) converterMapping,
+                            new RowType(tableKeyFields));
                 });
     }
 }
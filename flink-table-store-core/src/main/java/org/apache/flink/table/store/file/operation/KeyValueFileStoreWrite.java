@@ -33,6 +33,7 @@ import org.apache.flink.table.store.file.mergetree.MergeTreeWriter;
 import org.apache.flink.table.store.file.mergetree.compact.CompactRewriter;
 import org.apache.flink.table.store.file.mergetree.compact.CompactStrategy;
 import org.apache.flink.table.store.file.mergetree.compact.FullChangelogMergeTreeCompactRewriter;
+import org.apache.flink.table.store.file.mergetree.compact.LeveledCompaction;
 import org.apache.flink.table.store.file.mergetree.compact.MergeFunctionFactory;
 import org.apache.flink.table.store.file.mergetree.compact.MergeTreeCompactManager;
 import org.apache.flink.table.store.file.mergetree.compact.MergeTreeCompactRewriter;
@@ -44,16 +45,20 @@ import org.apache.flink.table.store.file.utils.RecordWriter;
 import org.apache.flink.table.store.file.utils.SnapshotManager;
 import org.apache.flink.table.store.format.FileFormatDiscover;
 import org.apache.flink.table.store.types.RowType;
+import org.apache.flink.util.concurrent.ExecutorThreadFactory;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Supplier;
 
 import static org.apache.flink.table.store.file.io.DataFileMeta.getMaxSequenceNumber;
@@ -70,6 +75,8 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
     private final CoreOptions options;
     private final FileStorePathFactory pathFactory;
 
+    @Nullable private ExecutorService flushExecutor;
+
     public KeyValueFileStoreWrite(
             SchemaManager schemaManager,
             long schemaId,
@@ -83,7 +90,7 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
             FileStoreScan scan,
             CoreOptions options,
             KeyValueFieldsExtractor extractor) {
-        super(commitUser, snapshotManager, scan, options);
+        super(commitUser, snapshotManager, schemaManager, schemaId, scan, options);
         this.readerFactoryBuilder =
                 KeyValueFileReaderFactory.builder(
                         schemaManager,
@@ -101,6 +108,9 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
                         options.fileFormat(),
                         pathFactory,
                         options.targetFileSize());
+        if (options.fileBloomFilterEnabled()) {
+            writerFactoryBuilder.withBloomFilter(options.fileBloomFilterFpp());
+        }
         this.keyComparatorSupplier = keyComparatorSupplier;
         this.mfFactory = mfFactory;
         this.options = options;
@@ -149,11 +159,7 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
                 createCompactManager(
                         partition,
                         bucket,
-                        new UniversalCompaction(
-                                options.maxSizeAmplificationPercent(),
-                                options.sortedRunSizeRatio(),
-                                options.numSortedRunCompactionTrigger(),
-                                options.maxSortedRunNum()),
+                        createCompactStrategy(keyComparator),
                         compactExecutor,
                         levels);
         return new MergeTreeWriter(
@@ -166,7 +172,18 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
                 mfFactory.create(),
                 writerFactory,
                 options.commitForceCompact(),
-                options.changelogProducer());
+                options.changelogProducer(),
+                options.writeBufferSize(),
+                options.writeBufferAsyncFlush() ? flushExecutor() : null);
+    }
+
+    private ExecutorService flushExecutor() {
+        if (flushExecutor == null) {
+            flushExecutor =
+                    Executors.newSingleThreadExecutor(
+                            new ExecutorThreadFactory(Thread.currentThread().getName() + "-flush"));
+        }
+        return flushExecutor;
     }
 
     private boolean bufferSpillable() {
@@ -178,6 +195,23 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
         }
     }
 
+    private CompactStrategy createCompactStrategy(Comparator<InternalRow> keyComparator) {
+        if (options.compactionStyle() == CoreOptions.CompactionStyle.LEVELED) {
+            return new LeveledCompaction(
+                    keyComparator,
+                    options.leveledBaseLevelSize(),
+                    options.leveledLevelSizeMultiplier(),
+                    options.numSortedRunCompactionTrigger(),
+                    options.maxSortedRunNum());
+        } else {
+            return new UniversalCompaction(
+                    options.maxSizeAmplificationPercent(),
+                    options.sortedRunSizeRatio(),
+                    options.numSortedRunCompactionTrigger(),
+                    options.maxSortedRunNum());
+        }
+    }
+
     private CompactManager createCompactManager(
             BinaryRow partition,
             int bucket,
@@ -195,11 +229,21 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
                     compactStrategy,
                     keyComparator,
                     options.targetFileSize(),
-                    options.numSortedRunStopTrigger(),
-                    rewriter);
+                    numSortedRunStopTrigger(levels),
+                    rewriter,
+                    options.compactionUpgradeSmallFiles());
         }
     }
 
+    private int numSortedRunStopTrigger(Levels levels) {
+        int stopTrigger = options.numSortedRunStopTrigger();
+        if (options.compactionStyle() == CoreOptions.CompactionStyle.LEVELED) {
+            // the stop trigger limits level 0 files, each other level is one more sorted run
+            stopTrigger += levels.numberOfLevels() - 1;
+        }
+        return stopTrigger;
+    }
+
     private MergeTreeCompactRewriter createRewriter(
             BinaryRow partition, int bucket, Comparator<InternalRow> keyComparator) {
         KeyValueFileReaderFactory readerFactory = readerFactoryBuilder.build(partition, bucket);
@@ -211,10 +255,25 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
                     readerFactory,
                     writerFactory,
                     keyComparator,
-                    mfFactory);
+                    mfFactory,
+                    options.sortEngine(),
+                    compactRateLimiter);
         } else {
             return new MergeTreeCompactRewriter(
-                    readerFactory, writerFactory, keyComparator, mfFactory);
+                    readerFactory,
+                    writerFactory,
+                    keyComparator,
+                    mfFactory,
+                    options.sortEngine(),
+                    compactRateLimiter);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        super.close();
+        if (flushExecutor != null) {
+            flushExecutor.shutdownNow();
         }
     }
 }
@@ -430,6 +430,16 @@ public class SchemaManager implements Serializable {
         }
     }
 
+    /** Checks if the schema of the given id exists, without listing all schemas. */
+    public boolean schemaExists(long id) {
+        Path path = toSchemaPath(id);
+        try {
+            return path.getFileSystem().exists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     private Path schemaDirectory() {
         return new Path(tableRoot + "/schema");
     }
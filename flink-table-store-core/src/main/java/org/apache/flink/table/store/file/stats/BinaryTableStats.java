@@ -33,14 +33,20 @@ import static org.apache.flink.table.store.file.utils.SerializationUtils.deseria
 import static org.apache.flink.table.store.file.utils.SerializationUtils.serializeBinaryRow;
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
-/** A serialized row bytes to cache {@link FieldStats}. */
+/**
+ * A serialized row bytes to cache {@link FieldStats}.
+ *
+ * <p>Stats may be shared by threads through the manifest cache. The lazily deserialized fields are
+ * volatile so that they are safely published, deserializing them more than once is harmless.
+ */
 public class BinaryTableStats {
 
-    @Nullable private InternalRow row;
+    @Nullable private final InternalRow row;
     @Nullable private FieldStats[] cacheArray;
-    @Nullable private BinaryRow cacheMin;
-    @Nullable private BinaryRow cacheMax;
-    @Nullable private long[] cacheNullCounts;
+    @Nullable private Object cacheConversionKey;
+    @Nullable private volatile BinaryRow cacheMin;
+    @Nullable private volatile BinaryRow cacheMax;
+    @Nullable private volatile long[] cacheNullCounts;
 
     public BinaryTableStats(InternalRow row) {
         this.row = row;
@@ -55,6 +61,7 @@ public class BinaryTableStats {
             BinaryRow cacheMax,
             long[] cacheNullCounts,
             @Nullable FieldStats[] cacheArray) {
+        this.row = null;
         this.cacheMin = cacheMin;
         this.cacheMax = cacheMax;
         this.cacheNullCounts = cacheNullCounts;
@@ -65,35 +72,47 @@ public class BinaryTableStats {
         return fields(converter, null);
     }
 
-    public FieldStats[] fields(FieldStatsArraySerializer converter, @Nullable Long rowCount) {
-        if (cacheArray == null) {
+    public synchronized FieldStats[] fields(
+            FieldStatsArraySerializer converter, @Nullable Long rowCount) {
+        // stats may be shared by scans with different schemas through the manifest cache, so the
+        // cached array is only valid for the conversion which produced it, a null converter reads
+        // the array the stats were created with
+        if (cacheArray == null
+                || (converter != null && !converter.conversionKey().equals(cacheConversionKey))) {
             cacheArray = converter.fromBinary(this, rowCount);
+            cacheConversionKey = converter.conversionKey();
         }
         return cacheArray;
     }
 
     public BinaryRow min() {
-        if (cacheMin == null) {
+        BinaryRow min = cacheMin;
+        if (min == null) {
             checkNotNull(row);
-            cacheMin = deserializeBinaryRow(this.row.getBinary(0));
+            min = deserializeBinaryRow(this.row.getBinary(0));
+            cacheMin = min;
         }
-        return cacheMin;
+        return min;
     }
 
     public BinaryRow max() {
-        if (cacheMax == null) {
+        BinaryRow max = cacheMax;
+        if (max == null) {
             checkNotNull(row);
-            cacheMax = deserializeBinaryRow(this.row.getBinary(1));
+            max = deserializeBinaryRow(this.row.getBinary(1));
+            cacheMax = max;
         }
-        return cacheMax;
+        return max;
     }
 
     public long[] nullCounts() {
-        if (cacheNullCounts == null) {
+        long[] nullCounts = cacheNullCounts;
+        if (nullCounts == null) {
             checkNotNull(row);
-            cacheNullCounts = row.getArray(2).toLongArray();
+            nullCounts = row.getArray(2).toLongArray();
+            cacheNullCounts = nullCounts;
         }
-        return cacheNullCounts;
+        return nullCounts;
     }
 
     public InternalRow toRowData() {
@@ -33,6 +33,7 @@ import org.apache.flink.table.store.utils.RowDataUtils;
 import javax.annotation.Nullable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.IntStream;
 
@@ -48,12 +49,30 @@ public class FieldStatsArraySerializer {
     @Nullable private final int[] indexMapping;
     @Nullable private final CastExecutor<Object, Object>[] converterMapping;
 
+    /**
+     * Identifies the conversion of this serializer, serializers with equal keys convert the same
+     * stats to equal arrays. See {@link BinaryTableStats#fields}.
+     */
+    private final Object conversionKey;
+
     public FieldStatsArraySerializer(RowType type) {
         this(type, null, null);
     }
 
     public FieldStatsArraySerializer(
             RowType type, int[] indexMapping, CastExecutor<Object, Object>[] converterMapping) {
+        this(type, indexMapping, converterMapping, null);
+    }
+
+    /**
+     * @param targetType the row type the stats are converted to by the mappings, used to identify
+     *     the conversion, if null this serializer only equals to itself when the stats are mapped.
+     */
+    public FieldStatsArraySerializer(
+            RowType type,
+            @Nullable int[] indexMapping,
+            @Nullable CastExecutor<Object, Object>[] converterMapping,
+            @Nullable RowType targetType) {
         RowType safeType = toAllFieldsNullableRowType(type);
         this.serializer = new RowDataSerializer(safeType);
         this.fieldGetters =
@@ -65,6 +84,17 @@ public class FieldStatsArraySerializer {
                         .toArray(InternalRow.FieldGetter[]::new);
         this.indexMapping = indexMapping;
         this.converterMapping = converterMapping;
+        if (indexMapping == null && converterMapping == null) {
+            this.conversionKey = safeType;
+        } else if (targetType != null) {
+            this.conversionKey = Arrays.asList(safeType, targetType);
+        } else {
+            this.conversionKey = this;
+        }
+    }
+
+    public Object conversionKey() {
+        return conversionKey;
     }
 
     public BinaryTableStats toBinary(FieldStats[] stats) {
@@ -24,6 +24,7 @@ import org.apache.flink.table.store.file.schema.KeyValueFieldsExtractor;
 import org.apache.flink.table.store.file.schema.SchemaEvolutionUtil;
 import org.apache.flink.table.store.file.schema.TableSchema;
 import org.apache.flink.table.store.format.FileFormatDiscover;
+import org.apache.flink.table.store.format.FormatReadMetrics;
 import org.apache.flink.table.store.format.FormatReaderFactory;
 import org.apache.flink.table.store.types.DataField;
 import org.apache.flink.table.store.types.RowType;
@@ -70,6 +71,8 @@ public class BulkFormatMapping {
         private final int[][] valueProjection;
         @Nullable private final List<Predicate> filters;
 
+        @Nullable private FormatReadMetrics metrics;
+
         private BulkFormatMappingBuilder(
                 FileFormatDiscover formatDiscover,
                 KeyValueFieldsExtractor extractor,
@@ -83,6 +86,12 @@ public class BulkFormatMapping {
             this.filters = filters;
         }
 
+        /** Records the metrics of the readers of the built mappings into {@code metrics}. */
+        public BulkFormatMappingBuilder withMetrics(@Nullable FormatReadMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
         public BulkFormatMapping build(
                 String formatIdentifier, TableSchema tableSchema, TableSchema dataSchema) {
             List<DataField> tableKeyFields = extractor.keyFields(tableSchema);
@@ -142,11 +151,13 @@ public class BulkFormatMapping {
                             ? filters
                             : SchemaEvolutionUtil.createDataFilters(
                                     tableSchema.fields(), dataSchema.fields(), filters);
-            return new BulkFormatMapping(
-                    indexMapping,
+            FormatReaderFactory readerFactory =
                     formatDiscover
                             .discover(formatIdentifier)
-                            .createReaderFactory(dataRecordType, dataProjection, dataFilters));
+                            .createReaderFactory(dataRecordType, dataProjection, dataFilters);
+            return new BulkFormatMapping(
+                    indexMapping,
+                    metrics == null ? readerFactory : readerFactory.withMetrics(metrics));
         }
     }
 }
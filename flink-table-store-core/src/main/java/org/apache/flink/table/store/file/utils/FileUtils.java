@@ -24,6 +24,7 @@ import org.apache.flink.core.fs.FileStatus;
 import org.apache.flink.core.fs.FileSystem;
 import org.apache.flink.core.fs.Path;
 import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.data.columnar.ColumnarRow;
 import org.apache.flink.table.store.format.FormatReaderFactory;
 
 import org.slf4j.Logger;
@@ -42,6 +43,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /** Utils for file reading and writing. */
@@ -69,10 +71,33 @@ public class FileUtils {
     public static <T> List<T> readListFromFile(
             Path path, ObjectSerializer<T> serializer, FormatReaderFactory readerFactory)
             throws IOException {
+        return readListFromFile(path, serializer, readerFactory, null);
+    }
+
+    /**
+     * Reads the objects of a file whose rows pass {@code filter}. The filter is tested on the raw
+     * rows of the format reader, so rows which do not pass are never deserialized.
+     */
+    public static <T> List<T> readListFromFile(
+            Path path,
+            ObjectSerializer<T> serializer,
+            FormatReaderFactory readerFactory,
+            @Nullable Predicate<InternalRow> filter)
+            throws IOException {
         List<T> result = new ArrayList<>();
         RecordReaderUtils.forEachRemaining(
                 createFormatReader(readerFactory, path),
-                row -> result.add(serializer.fromRow(row)));
+                row -> {
+                    if (filter == null || filter.test(row)) {
+                        // rows of columnar formats are views of reused column vectors, while the
+                        // deserialized objects may keep references to nested rows
+                        result.add(
+                                serializer.fromRow(
+                                        row instanceof ColumnarRow
+                                                ? serializer.copyRow(row)
+                                                : row));
+                    }
+                });
         return result;
     }
 
@@ -20,6 +20,7 @@ package org.apache.flink.table.store.file.utils;
 
 import org.apache.flink.table.store.codegen.CodeGenUtils;
 import org.apache.flink.table.store.codegen.GeneratedClass;
+import org.apache.flink.table.store.codegen.NormalizedKeyComputer;
 import org.apache.flink.table.store.codegen.RecordComparator;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.types.RowType;
@@ -28,20 +29,33 @@ import org.apache.flink.util.function.SerializableSupplier;
 import java.util.Comparator;
 import java.util.function.Supplier;
 
-/** A {@link Supplier} that returns the comparator for the file store key. */
+/**
+ * A {@link Supplier} that returns the comparator for the file store key. The comparator is a {@link
+ * NormalizedKeyComparator} so that merging readers can compare normalized keys.
+ */
 public class KeyComparatorSupplier implements SerializableSupplier<Comparator<InternalRow>> {
 
     private static final long serialVersionUID = 1L;
 
     private final GeneratedClass<RecordComparator> genRecordComparator;
+    private final GeneratedClass<NormalizedKeyComputer> genNormalizedKeyComputer;
+    private final int numKeyFields;
 
     public KeyComparatorSupplier(RowType keyType) {
         genRecordComparator =
                 CodeGenUtils.generateRecordComparator(keyType.getFieldTypes(), "KeyComparator");
+        genNormalizedKeyComputer =
+                CodeGenUtils.generateNormalizedKeyComputer(
+                        keyType.getFieldTypes(), "KeyNormalizedKeyComputer");
+        numKeyFields = keyType.getFieldCount();
     }
 
     @Override
-    public RecordComparator get() {
-        return genRecordComparator.newInstance(KeyComparatorSupplier.class.getClassLoader());
+    public NormalizedKeyComparator get() {
+        ClassLoader classLoader = KeyComparatorSupplier.class.getClassLoader();
+        return new NormalizedKeyComparator(
+                genRecordComparator.newInstance(classLoader),
+                genNormalizedKeyComputer.newInstance(classLoader),
+                numKeyFields);
     }
 }
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.utils;
+
+import org.apache.flink.table.store.codegen.NormalizedKeyComputer;
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.memory.MemorySegment;
+
+import javax.annotation.Nullable;
+
+import java.util.Comparator;
+
+/**
+ * A {@link Comparator} for the file store key which can also compare keys by their normalized keys.
+ *
+ * <p>A normalized key is a byte-comparable prefix of the key computed by a {@link
+ * NormalizedKeyComputer}, like the one used by the in-memory sort buffer. Callers comparing the
+ * same key many times (for example the readers of a sort merge) compute the {@link NormalizedKey}
+ * once and then compare them with {@link #compare(NormalizedKey, NormalizedKey)}, which compares
+ * the normalized bytes and only falls back to the field by field comparison when the bytes are
+ * equal and do not fully determine the order.
+ */
+public class NormalizedKeyComparator implements Comparator<InternalRow> {
+
+    private final Comparator<InternalRow> comparator;
+    @Nullable private final NormalizedKeyComputer computer;
+    private final int numKeyFields;
+    private final int numKeyBytes;
+    private final boolean keyFullyDetermines;
+    private final boolean invertKey;
+
+    public NormalizedKeyComparator(
+            Comparator<InternalRow> comparator,
+            @Nullable NormalizedKeyComputer computer,
+            int numKeyFields) {
+        this.comparator = comparator;
+        this.computer = computer;
+        this.numKeyFields = numKeyFields;
+        this.numKeyBytes = computer == null ? 0 : computer.getNumKeyBytes();
+        this.keyFullyDetermines = numKeyBytes > 0 && computer.isKeyFullyDetermines();
+        this.invertKey = numKeyBytes > 0 && computer.invertKey();
+    }
+
+    /**
+     * Returns the given comparator if it is already a {@link NormalizedKeyComparator}, otherwise
+     * wraps it into one without normalized keys.
+     */
+    public static NormalizedKeyComparator of(Comparator<InternalRow> comparator) {
+        return comparator instanceof NormalizedKeyComparator
+                ? (NormalizedKeyComparator) comparator
+                : new NormalizedKeyComparator(comparator, null, 0);
+    }
+
+    @Override
+    public int compare(InternalRow o1, InternalRow o2) {
+        return comparator.compare(o1, o2);
+    }
+
+    /** Creates an empty {@link NormalizedKey} which can be reused for different keys. */
+    public NormalizedKey newKey() {
+        return new NormalizedKey(
+                numKeyBytes > 0 ? MemorySegment.wrap(new byte[numKeyBytes]) : null);
+    }
+
+    /** Creates a {@link NormalizedKey} for the given key. */
+    public NormalizedKey newKey(InternalRow key) {
+        NormalizedKey normalizedKey = newKey();
+        replace(normalizedKey, key);
+        return normalizedKey;
+    }
+
+    /**
+     * Replaces the key of a {@link NormalizedKey}. The key object must not be modified while the
+     * {@link NormalizedKey} is used, as it is needed when normalized bytes are equal.
+     */
+    public void replace(NormalizedKey normalizedKey, InternalRow key) {
+        normalizedKey.key = key;
+        // keys of files written before fields were added to the key type have less fields, they
+        // are only compared field by field
+        normalizedKey.normalized = numKeyBytes > 0 && key.getFieldCount() >= numKeyFields;
+        if (normalizedKey.normalized) {
+            computer.putKey(key, normalizedKey.segment, 0);
+        }
+    }
+
+    public int compare(NormalizedKey k1, NormalizedKey k2) {
+        if (k1.normalized && k2.normalized) {
+            int result = computer.compareKey(k1.segment, 0, k2.segment, 0);
+            if (result != 0 || keyFullyDetermines) {
+                return invertKey ? -result : result;
+            }
+        }
+        return comparator.compare(k1.key, k2.key);
+    }
+
+    /** A key together with its normalized bytes. */
+    public static class NormalizedKey {
+
+        @Nullable private final MemorySegment segment;
+        private InternalRow key;
+        private boolean normalized;
+
+        private NormalizedKey(@Nullable MemorySegment segment) {
+            this.segment = segment;
+        }
+
+        public InternalRow key() {
+            return key;
+        }
+    }
+}
@@ -107,6 +107,11 @@ public abstract class ObjectSerializer<T> implements Serializable {
         return deserializeList(view);
     }
 
+    /** Copies a row of this serializer, so that it is independent of the original row. */
+    public final InternalRow copyRow(InternalRow row) {
+        return rowSerializer.copy(row);
+    }
+
     /** Convert a {@link T} to {@link InternalRow}. */
     public abstract InternalRow toRow(T record);
 
@@ -23,6 +23,9 @@ import org.apache.flink.core.fs.Path;
 import org.apache.flink.table.store.file.Snapshot;
 import org.apache.flink.util.Preconditions;
 
+import org.apache.flink.shaded.guava30.com.google.common.cache.Cache;
+import org.apache.flink.shaded.guava30.com.google.common.cache.CacheBuilder;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,6 +33,7 @@ import javax.annotation.Nullable;
 
 import java.io.IOException;
 import java.util.Iterator;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -37,7 +41,17 @@ import java.util.function.BinaryOperator;
 
 import static org.apache.flink.table.store.file.utils.FileUtils.listVersionedFiles;
 
-/** Manager for {@link Snapshot}, providing utility methods related to paths and snapshot hints. */
+/**
+ * Manager for {@link Snapshot}, providing utility methods related to paths and snapshot hints.
+ *
+ * <p>Snapshot files are never modified once committed, so parsed snapshots are cached in this
+ * manager. Snapshots are expired from the earliest one and expiring removes them from the cache
+ * through {@link #invalidateSnapshot}. A cached snapshot is returned directly only if it is not
+ * earlier than the last found earliest snapshot and its file has been checked to exist since the
+ * earliest snapshot last changed, other cached snapshots may have been expired by other processes
+ * and are only returned if their files still exist. The latest and earliest snapshot ids found are
+ * remembered as well, as snapshot ids only grow.
+ */
 public class SnapshotManager {
 
     private static final Logger LOG = LoggerFactory.getLogger(SnapshotManager.class);
@@ -47,11 +61,27 @@ public class SnapshotManager {
     public static final String LATEST = "LATEST";
     private static final int READ_HINT_RETRY_NUM = 3;
     private static final int READ_HINT_RETRY_INTERVAL = 1;
+    private static final int SNAPSHOT_CACHE_SIZE = 1000;
+    // number of snapshots to probe after the latest hint before listing all snapshot files
+    private static final int FIND_LATEST_PROBE_NUM = 3;
 
     private final Path tablePath;
+    private final Cache<Long, CachedSnapshot> snapshotCache;
+    @Nullable private volatile Long lastLatestSnapshotId;
+    @Nullable private volatile Long lastEarliestSnapshotId;
+    // incremented whenever lastEarliestSnapshotId changes
+    private volatile long earliestVersion;
 
     public SnapshotManager(Path tablePath) {
         this.tablePath = tablePath;
+        this.snapshotCache = CacheBuilder.newBuilder().maximumSize(SNAPSHOT_CACHE_SIZE).build();
+        this.lastLatestSnapshotId = null;
+        this.lastEarliestSnapshotId = null;
+        this.earliestVersion = 0;
+    }
+
+    public Path tablePath() {
+        return tablePath;
     }
 
     public Path snapshotDirectory() {
@@ -63,7 +93,44 @@ public class SnapshotManager {
     }
 
     public Snapshot snapshot(long snapshotId) {
-        return Snapshot.fromPath(snapshotPath(snapshotId));
+        long version = earliestVersion;
+        CachedSnapshot cached = snapshotCache.getIfPresent(snapshotId);
+        if (cached != null && (cached.earliestVersion != version || mayBeExpired(snapshotId))) {
+            if (snapshotExists(snapshotId)) {
+                cached = new CachedSnapshot(cached.snapshot, version);
+                snapshotCache.put(snapshotId, cached);
+            } else {
+                // expired, fail on reading the file like an uncached snapshot
+                snapshotCache.invalidate(snapshotId);
+                cached = null;
+            }
+        }
+        if (cached == null) {
+            cached = new CachedSnapshot(Snapshot.fromPath(snapshotPath(snapshotId)), version);
+            snapshotCache.put(snapshotId, cached);
+        }
+        return cached.snapshot;
+    }
+
+    /** Removes a snapshot from the cache of this manager, called when it is expired. */
+    public void invalidateSnapshot(long snapshotId) {
+        snapshotCache.invalidate(snapshotId);
+        Long earliest = lastEarliestSnapshotId;
+        if (earliest != null && earliest <= snapshotId) {
+            updateLastEarliestSnapshotId(snapshotId + 1);
+        }
+    }
+
+    private boolean mayBeExpired(long snapshotId) {
+        Long earliest = lastEarliestSnapshotId;
+        return earliest == null || snapshotId < earliest;
+    }
+
+    private synchronized void updateLastEarliestSnapshotId(@Nullable Long snapshotId) {
+        if (!Objects.equals(lastEarliestSnapshotId, snapshotId)) {
+            lastEarliestSnapshotId = snapshotId;
+            earliestVersion++;
+        }
     }
 
     public boolean snapshotExists(long snapshotId) {
@@ -123,13 +190,8 @@ public class SnapshotManager {
             return null;
         }
 
-        for (long i = latest; i >= earliest; i--) {
-            long commitTime = snapshot(i).timeMillis();
-            if (commitTime < timestampMills) {
-                return i;
-            }
-        }
-        return earliest - 1;
+        Long result = findLastBefore(earliest, latest, timestampMills, false);
+        return result == null ? earliest - 1 : result;
     }
 
     /** Returns a snapshot earlier than or equals to the timestamp mills. */
@@ -140,13 +202,29 @@ public class SnapshotManager {
             return null;
         }
 
-        for (long i = latest; i >= earliest; i--) {
-            long commitTime = snapshot(i).timeMillis();
-            if (commitTime <= timestampMills) {
-                return i;
+        return findLastBefore(earliest, latest, timestampMills, true);
+    }
+
+    /**
+     * Binary searches the last snapshot between {@code earliest} and {@code latest} committed
+     * before the timestamp mills, as commit times grow with snapshot ids.
+     */
+    private @Nullable Long findLastBefore(
+            long earliest, long latest, long timestampMills, boolean inclusive) {
+        Long result = null;
+        long low = earliest;
+        long high = latest;
+        while (low <= high) {
+            long mid = low + (high - low) / 2;
+            long commitTime = snapshot(mid).timeMillis();
+            if (commitTime < timestampMills || (inclusive && commitTime == timestampMills)) {
+                result = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
             }
         }
-        return null;
+        return result;
     }
 
     public long snapshotCount() throws IOException {
@@ -180,22 +258,37 @@ public class SnapshotManager {
     }
 
     private @Nullable Long findLatest() throws IOException {
-        Path snapshotDir = snapshotDirectory();
-        FileSystem fs = snapshotDir.getFileSystem();
-        if (!fs.exists(snapshotDir)) {
-            return null;
+        // snapshots are expired from the earliest one, so while the last found latest snapshot
+        // exists, there is no gap between it and the current latest snapshot
+        Long snapshotId = lastLatestSnapshotId;
+        if (snapshotId != null && !snapshotExists(snapshotId)) {
+            snapshotId = null;
+        }
+        if (snapshotId == null) {
+            Path snapshotDir = snapshotDirectory();
+            FileSystem fs = snapshotDir.getFileSystem();
+            if (!fs.exists(snapshotDir)) {
+                return null;
+            }
+            snapshotId = readHint(LATEST);
         }
 
-        Long snapshotId = readHint(LATEST);
         if (snapshotId != null) {
-            long nextSnapshot = snapshotId + 1;
-            // it is the latest only there is no next one
-            if (!snapshotExists(nextSnapshot)) {
-                return snapshotId;
+            // the hint is usually only a few snapshots behind, probe them before listing
+            for (int i = 0; i < FIND_LATEST_PROBE_NUM; i++) {
+                long nextSnapshot = snapshotId + 1;
+                // it is the latest only there is no next one
+                if (!snapshotExists(nextSnapshot)) {
+                    lastLatestSnapshotId = snapshotId;
+                    return snapshotId;
+                }
+                snapshotId = nextSnapshot;
             }
         }
 
-        return findByListFiles(Math::max);
+        Long latest = findByListFiles(Math::max);
+        lastLatestSnapshotId = latest;
+        return latest;
     }
 
     private @Nullable Long findEarliest() throws IOException {
@@ -207,11 +300,11 @@ public class SnapshotManager {
 
         Long snapshotId = readHint(EARLIEST);
         // null and it is the earliest only it exists
-        if (snapshotId != null && snapshotExists(snapshotId)) {
-            return snapshotId;
+        if (snapshotId == null || !snapshotExists(snapshotId)) {
+            snapshotId = findByListFiles(Math::min);
         }
-
-        return findByListFiles(Math::min);
+        updateLastEarliestSnapshotId(snapshotId);
+        return snapshotId;
     }
 
     public Long readHint(String fileName) {
@@ -256,4 +349,16 @@ public class SnapshotManager {
             fs.delete(tempFile, false);
         }
     }
+
+    /** A cached {@link Snapshot} with the version of the earliest snapshot id it is checked in. */
+    private static class CachedSnapshot {
+
+        private final Snapshot snapshot;
+        private final long earliestVersion;
+
+        private CachedSnapshot(Snapshot snapshot, long earliestVersion) {
+            this.snapshot = snapshot;
+            this.earliestVersion = earliestVersion;
+        }
+    }
 }
@@ -20,14 +20,15 @@ package org.apache.flink.table.store.format;
 
 import org.apache.flink.table.store.CoreOptions;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /** A class to discover {@link FileFormat}. */
 public interface FileFormatDiscover {
 
     static FileFormatDiscover of(CoreOptions options) {
-        Map<String, FileFormat> formats = new HashMap<>();
+        // shared by the compaction threads of all buckets
+        Map<String, FileFormat> formats = new ConcurrentHashMap<>();
         return new FileFormatDiscover() {
 
             @Override
@@ -107,6 +107,8 @@ public abstract class AbstractFileStoreTable implements FileStoreTable {
     @Override
     public TableCommit newCommit(String commitUser) {
         return new TableCommit(
-                store().newCommit(commitUser), options().writeOnly() ? null : store().newExpire());
+                        store().newCommit(commitUser),
+                        options().writeOnly() ? null : store().newExpire())
+                .withGroupCommit(options().commitGroupCommittables());
     }
 }
@@ -19,6 +19,7 @@
 package org.apache.flink.table.store.table;
 
 import org.apache.flink.core.fs.Path;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.table.store.CoreOptions;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.AppendOnlyFileStore;
@@ -107,6 +108,12 @@ public class AppendOnlyFileStoreTable extends AbstractFileStoreTable {
                 return this;
             }
 
+            @Override
+            public TableRead withMetricGroup(MetricGroup metricGroup) {
+                read.withMetricGroup(metricGroup);
+                return this;
+            }
+
             @Override
             public RecordReader<InternalRow> createReader(Split split) throws IOException {
                 return read.createReader((DataSplit) split);
@@ -43,6 +43,7 @@ import org.apache.flink.table.store.table.source.AbstractDataTableScan;
 import org.apache.flink.table.store.table.source.KeyValueTableRead;
 import org.apache.flink.table.store.table.source.MergeTreeSplitGenerator;
 import org.apache.flink.table.store.table.source.SplitGenerator;
+import org.apache.flink.table.store.table.source.TableLookup;
 import org.apache.flink.table.store.table.source.TableRead;
 import org.apache.flink.table.store.table.source.ValueContentRowDataRecordIterator;
 import org.apache.flink.table.store.types.DataField;
@@ -204,6 +205,11 @@ public class ChangelogWithKeyFileStoreTable extends AbstractFileStoreTable {
         };
     }
 
+    /** Creates a {@link TableLookup} to look up single rows by their primary keys. */
+    public TableLookup newLookup() {
+        return new TableLookup(store().newLookup(), tableSchema);
+    }
+
     @Override
     public TableWrite newWrite(String commitUser) {
         final SequenceGenerator sequenceGenerator =
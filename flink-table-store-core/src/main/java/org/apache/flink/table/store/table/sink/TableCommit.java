@@ -18,6 +18,7 @@
 
 package org.apache.flink.table.store.table.sink;
 
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.table.store.file.manifest.ManifestCommittable;
 import org.apache.flink.table.store.file.operation.FileStoreCommit;
 import org.apache.flink.table.store.file.operation.FileStoreExpire;
@@ -41,6 +42,7 @@ public class TableCommit implements AutoCloseable {
 
     @Nullable private List<Map<String, String>> overwritePartitions = null;
     @Nullable private Lock lock;
+    private boolean groupCommit = false;
 
     public TableCommit(FileStoreCommit commit, @Nullable FileStoreExpire expire) {
         this.commit = commit;
@@ -76,6 +78,24 @@ public class TableCommit implements AutoCloseable {
         return this;
     }
 
+    /** Registers the metrics of committing and expiring snapshots to the group. */
+    public TableCommit withMetricGroup(MetricGroup metricGroup) {
+        commit.withMetricGroup(metricGroup);
+        if (expire != null) {
+            expire.withMetricGroup(metricGroup.addGroup("expire"));
+        }
+        return this;
+    }
+
+    /**
+     * Commit all committables of {@link #commit(List)} into one snapshot of each commit kind,
+     * instead of snapshots for every committable.
+     */
+    public TableCommit withGroupCommit(boolean groupCommit) {
+        this.groupCommit = groupCommit;
+        return this;
+    }
+
     public List<ManifestCommittable> filterCommitted(List<ManifestCommittable> committables) {
         return commit.filterCommitted(committables);
     }
@@ -90,8 +110,12 @@ public class TableCommit implements AutoCloseable {
 
     public void commit(List<ManifestCommittable> committables) {
         if (overwritePartitions == null) {
-            for (ManifestCommittable committable : committables) {
-                commit.commit(committable, new HashMap<>());
+            if (groupCommit) {
+                commit.commit(committables, new HashMap<>());
+            } else {
+                for (ManifestCommittable committable : committables) {
+                    commit.commit(committable, new HashMap<>());
+                }
             }
         } else {
             ManifestCommittable committable;
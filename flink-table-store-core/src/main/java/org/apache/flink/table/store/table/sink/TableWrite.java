@@ -19,6 +19,7 @@
 package org.apache.flink.table.store.table.sink;
 
 import org.apache.flink.annotation.Internal;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.table.store.data.BinaryRow;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.disk.IOManager;
@@ -36,6 +37,8 @@ public interface TableWrite extends AutoCloseable {
 
     TableWrite withIOManager(IOManager ioManager);
 
+    TableWrite withMetricGroup(MetricGroup metricGroup);
+
     SinkRecord write(InternalRow rowData) throws Exception;
 
     /** Log record need to preserve original pk (which includes partition fields). */
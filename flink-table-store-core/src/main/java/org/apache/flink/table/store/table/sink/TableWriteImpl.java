@@ -18,6 +18,7 @@
 
 package org.apache.flink.table.store.table.sink;
 
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.table.store.data.BinaryRow;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.disk.IOManager;
@@ -58,6 +59,12 @@ public class TableWriteImpl<T> implements TableWrite {
         return this;
     }
 
+    @Override
+    public TableWrite withMetricGroup(MetricGroup metricGroup) {
+        write.withMetricGroup(metricGroup);
+        return this;
+    }
+
     @Override
     public SinkRecord write(InternalRow rowData) throws Exception {
         SinkRecord record = recordConverter.convert(rowData);
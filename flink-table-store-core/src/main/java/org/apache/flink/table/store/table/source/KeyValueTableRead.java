@@ -18,6 +18,7 @@
 
 package org.apache.flink.table.store.table.source;
 
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.KeyValue;
 import org.apache.flink.table.store.file.operation.KeyValueFileStoreRead;
@@ -39,6 +40,12 @@ public abstract class KeyValueTableRead implements TableRead {
         this.read = read;
     }
 
+    @Override
+    public TableRead withMetricGroup(MetricGroup metricGroup) {
+        read.withMetricGroup(metricGroup);
+        return this;
+    }
+
     @Override
     public RecordReader<InternalRow> createReader(Split split) throws IOException {
         return new RowDataRecordReader(read.createReader((DataSplit) split));
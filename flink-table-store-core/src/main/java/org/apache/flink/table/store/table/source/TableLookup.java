@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.table.source;
+
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.KeyValue;
+import org.apache.flink.table.store.file.operation.KeyValueFileStoreLookup;
+import org.apache.flink.table.store.file.predicate.Predicate;
+import org.apache.flink.table.store.file.predicate.PredicateBuilder;
+import org.apache.flink.table.store.file.schema.TableSchema;
+import org.apache.flink.table.store.table.sink.SinkRecord;
+import org.apache.flink.table.store.table.sink.SinkRecordConverter;
+import org.apache.flink.table.store.types.RowType;
+import org.apache.flink.table.store.utils.RowDataUtils;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Point lookup of a table with primary keys. Instead of reading all splits, the partition and
+ * bucket of the key are computed like in {@link SinkRecordConverter}, and only the data files of
+ * that bucket which may contain the key are read.
+ *
+ * <p>NOTE: This class is not thread safe.
+ */
+public class TableLookup {
+
+    private final KeyValueFileStoreLookup lookup;
+    private final SinkRecordConverter recordConverter;
+    private final PredicateBuilder predicateBuilder;
+    private final RowType rowType;
+    private final int[] primaryKeys;
+
+    public TableLookup(KeyValueFileStoreLookup lookup, TableSchema tableSchema) {
+        this.lookup = lookup;
+        this.recordConverter = new SinkRecordConverter(tableSchema);
+        this.rowType = tableSchema.logicalRowType();
+        this.predicateBuilder = new PredicateBuilder(rowType);
+        this.primaryKeys = tableSchema.projection(tableSchema.trimmedPrimaryKeys());
+    }
+
+    /** Lookups after this call see the latest snapshot of the table. */
+    public void refresh() {
+        lookup.refresh();
+    }
+
+    /**
+     * Returns the row with the same primary key as the given row, or null if there is no such row.
+     *
+     * @param row a row of the table, only the primary key fields are used
+     */
+    @Nullable
+    public InternalRow lookup(InternalRow row) throws IOException {
+        SinkRecord record = recordConverter.convert(row);
+        List<Predicate> keyFilters = new ArrayList<>(primaryKeys.length);
+        for (int field : primaryKeys) {
+            keyFilters.add(
+                    predicateBuilder.equal(
+                            field, RowDataUtils.get(row, field, rowType.getTypeAt(field))));
+        }
+        KeyValue kv =
+                lookup.lookup(record.partition(), record.bucket(), record.primaryKey(), keyFilters);
+        return kv == null ? null : kv.value();
+    }
+}
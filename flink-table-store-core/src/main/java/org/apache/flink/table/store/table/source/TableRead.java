@@ -18,6 +18,7 @@
 
 package org.apache.flink.table.store.table.source;
 
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.mergetree.compact.ConcatRecordReader;
 import org.apache.flink.table.store.file.operation.FileStoreRead;
@@ -50,6 +51,14 @@ public interface TableRead {
 
     TableRead withProjection(int[][] projection);
 
+    /**
+     * Registers the metrics of reading the files to the given group. Tables which do not read data
+     * files, like system tables, register nothing.
+     */
+    default TableRead withMetricGroup(MetricGroup metricGroup) {
+        return this;
+    }
+
     RecordReader<InternalRow> createReader(Split split) throws IOException;
 
     default RecordReader<InternalRow> createReader(List<Split> splits) throws IOException {
@@ -19,6 +19,7 @@
 package org.apache.flink.table.store.table.system;
 
 import org.apache.flink.core.fs.Path;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.table.store.CoreOptions;
 import org.apache.flink.table.store.data.BinaryString;
 import org.apache.flink.table.store.data.InternalRow;
@@ -233,6 +234,12 @@ public class AuditLogTable implements DataTable {
             return this;
         }
 
+        @Override
+        public TableRead withMetricGroup(MetricGroup metricGroup) {
+            dataRead.withMetricGroup(metricGroup);
+            return this;
+        }
+
         @Override
         public RecordReader<InternalRow> createReader(Split split) throws IOException {
             return transform(dataRead.createReader(split), this::convertRow);
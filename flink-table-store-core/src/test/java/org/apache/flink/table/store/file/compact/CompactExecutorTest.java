@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.compact;
+
+import org.apache.flink.table.store.file.io.DataFileMeta;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests for {@link CompactExecutor}. */
+public class CompactExecutorTest {
+
+    private CompactExecutor executor;
+
+    @BeforeEach
+    public void before() {
+        executor = new CompactExecutor(1, "test-compaction");
+    }
+
+    @AfterEach
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testPriority() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> blocking =
+                executor.submit(
+                        () -> {
+                            blocked.countDown();
+                            release.await();
+                            return null;
+                        });
+        blocked.await();
+
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        int[] priorities = {1, 5, 3, 5, 0};
+        List<Future<CompactResult>> futures = new ArrayList<>();
+        for (int i = 0; i < priorities.length; i++) {
+            TestCompactTask task = new TestCompactTask(i, order);
+            task.setPriority(priorities[i]);
+            futures.add(executor.submit(task));
+        }
+        assertThat(executor.queueLength()).isEqualTo(priorities.length);
+        assertThat(executor.runningTasks()).isEqualTo(1);
+
+        release.countDown();
+        blocking.get();
+        for (Future<CompactResult> future : futures) {
+            future.get();
+        }
+
+        // higher priority first, same priority in submission order
+        assertThat(order).containsExactly(1, 3, 2, 0, 4);
+        assertThat(executor.queueLength()).isEqualTo(0);
+    }
+
+    @Test
+    public void testShared() {
+        CompactExecutor first = CompactExecutor.acquireShared(2);
+        CompactExecutor second = CompactExecutor.acquireShared(2);
+        CompactExecutor other = CompactExecutor.acquireShared(4);
+        assertThat(second).isSameAs(first);
+        assertThat(other).isNotSameAs(first);
+        assertThat(other.getMaximumPoolSize()).isEqualTo(4);
+
+        CompactExecutor.releaseShared(first);
+        assertThat(first.isShutdown()).isFalse();
+        CompactExecutor.releaseShared(second);
+        assertThat(first.isShutdown()).isTrue();
+        CompactExecutor.releaseShared(other);
+        assertThat(other.isShutdown()).isTrue();
+
+        // a new executor is created after the previous one is shut down
+        CompactExecutor next = CompactExecutor.acquireShared(2);
+        assertThat(next).isNotSameAs(first);
+        CompactExecutor.releaseShared(next);
+    }
+
+    @Test
+    public void testFinishedAfterCancel() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompactResult expected = new CompactResult();
+        CompactTask running =
+                new CompactTask(Collections.emptyList()) {
+                    @Override
+                    protected CompactResult doCompact(List<DataFileMeta> inputs) {
+                        started.countDown();
+                        // finishes even if cancelled
+                        while (release.getCount() > 0) {
+                            try {
+                                release.await();
+                            } catch (InterruptedException ignored) {
+                            }
+                        }
+                        return expected;
+                    }
+                };
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        TestCompactTask queued = new TestCompactTask(0, order);
+        Future<CompactResult> runningFuture = executor.submit(running);
+        Future<CompactResult> queuedFuture = executor.submit(queued);
+        started.await();
+
+        runningFuture.cancel(true);
+        queuedFuture.cancel(true);
+        CompletableFuture<CompactResult> runningResult = new CompletableFuture<>();
+        List<CompactResult> queuedResults = new ArrayList<>();
+        running.whenFinishedAfterCancel(runningResult::complete);
+        queued.whenFinishedAfterCancel(queuedResults::add);
+        assertThat(runningResult).isNotDone();
+        release.countDown();
+
+        // the result of a cancelled but finished compaction is still handed over
+        assertThat(runningResult.get()).isSameAs(expected);
+        // a compaction cancelled before running never runs
+        assertThatThrownBy(queued::call).isInstanceOf(CancellationException.class);
+        assertThat(queuedResults).isEmpty();
+        assertThat(order).isEmpty();
+    }
+
+    private static class TestCompactTask extends CompactTask {
+
+        private final int id;
+        private final List<Integer> order;
+
+        private TestCompactTask(int id, List<Integer> order) {
+            super(Collections.emptyList());
+            this.id = id;
+            this.order = order;
+        }
+
+        @Override
+        protected CompactResult doCompact(List<DataFileMeta> inputs) {
+            order.add(id);
+            return new CompactResult();
+        }
+    }
+}
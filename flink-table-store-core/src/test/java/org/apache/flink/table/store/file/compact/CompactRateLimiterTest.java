@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.compact;
+
+import org.apache.flink.table.store.file.io.FileWriter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link CompactRateLimiter}. */
+public class CompactRateLimiterTest {
+
+    @Test
+    public void testUnlimited() throws Exception {
+        CompactRateLimiter limiter = new CompactRateLimiter(0);
+        limiter.acquire(Long.MAX_VALUE);
+        assertThat(limiter.throttledMillis()).isEqualTo(0);
+    }
+
+    @Test
+    public void testAcquire() throws Exception {
+        CompactRateLimiter limiter = new CompactRateLimiter(10_000);
+        long start = System.nanoTime();
+        limiter.acquire(2_000);
+        limiter.acquire(3_000);
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(elapsed).isGreaterThanOrEqualTo(400);
+        assertThat(limiter.throttledMillis()).isGreaterThanOrEqualTo(400);
+    }
+
+    @Test
+    public void testShared() {
+        CompactRateLimiter first = CompactRateLimiter.acquireShared("/table", 0, 1_000);
+        CompactRateLimiter second = CompactRateLimiter.acquireShared("/table", 0, 2_000);
+        CompactRateLimiter other = CompactRateLimiter.acquireShared("/other", 0, 3_000);
+        assertThat(second).isSameAs(first);
+        // a conflicting rate of the same schema is ignored
+        assertThat(first.rate()).isEqualTo(1_000);
+        assertThat(other.rate()).isEqualTo(3_000);
+        assertThat(other).isNotSameAs(first);
+
+        // the rate of a newer schema applies to all writers of the table
+        CompactRateLimiter third = CompactRateLimiter.acquireShared("/table", 1, 2_000);
+        assertThat(third).isSameAs(first);
+        assertThat(first.rate()).isEqualTo(2_000);
+
+        CompactRateLimiter.releaseShared("/table", first);
+        CompactRateLimiter.releaseShared("/table", second);
+        CompactRateLimiter.releaseShared("/table", third);
+        CompactRateLimiter.releaseShared("/other", other);
+
+        // a new limiter is created after all writers of the table are closed
+        CompactRateLimiter next = CompactRateLimiter.acquireShared("/table", 0, 1_000);
+        assertThat(next).isNotSameAs(first);
+        CompactRateLimiter.releaseShared("/table", next);
+    }
+
+    @Test
+    public void testUpdateRate() {
+        CompactRateLimiter limiter = new CompactRateLimiter(1_000);
+        limiter.updateRate(2, 2_000);
+        assertThat(limiter.rate()).isEqualTo(2_000);
+
+        // rates of older schemas are ignored
+        limiter.updateRate(1, 3_000);
+        assertThat(limiter.rate()).isEqualTo(2_000);
+
+        limiter.updateRate(3, 0);
+        assertThat(limiter.rate()).isEqualTo(0);
+    }
+
+    @Test
+    public void testSetRate() throws Exception {
+        CompactRateLimiter limiter = new CompactRateLimiter(1);
+        limiter.setRate(0);
+        limiter.acquire(1_000_000);
+        assertThat(limiter.throttledMillis()).isEqualTo(0);
+
+        limiter.setRate(10_000);
+        assertThat(limiter.rate()).isEqualTo(10_000);
+        limiter.acquire(3_000);
+        assertThat(limiter.throttledMillis()).isGreaterThanOrEqualTo(250);
+    }
+
+    @Test
+    public void testThrottle() throws Exception {
+        // the bucket fills up from the creation of the limiter, so the elapsed time is checked
+        long start = System.nanoTime();
+        CompactRateLimiter limiter = new CompactRateLimiter(100_000);
+        TestWriter writer = new TestWriter();
+        CompactRateLimiter.Throttle throttle = limiter.throttle(10_000, 2_000, writer);
+
+        // records are merged, only half of the input records are written
+        for (int i = 0; i < 1_000; i++) {
+            writer.length += 10;
+            throttle.advance();
+        }
+        // 5 kb read and 10 kb written
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .isGreaterThanOrEqualTo(150);
+        assertThat(limiter.throttledMillis()).isGreaterThan(0);
+
+        throttle.finish();
+        // the other 5 kb read
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .isGreaterThanOrEqualTo(200);
+    }
+
+    private static class TestWriter implements FileWriter<Integer, Void> {
+
+        private long length = 0;
+
+        @Override
+        public void write(Integer record) {}
+
+        @Override
+        public long recordCount() {
+            return 0;
+        }
+
+        @Override
+        public long length() {
+            return length;
+        }
+
+        @Override
+        public void abort() {}
+
+        @Override
+        public Void result() {
+            return null;
+        }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.io;
+
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.table.store.data.BinaryRow;
+import org.apache.flink.table.store.types.RowKind;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.apache.flink.table.store.file.io.DataFileTestUtils.row;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link BloomFilter}. */
+public class BloomFilterTest {
+
+    @TempDir java.nio.file.Path tempDir;
+
+    @Test
+    public void testMightContain() {
+        Random random = new Random();
+        Set<Integer> hashes = new HashSet<>();
+        int num = random.nextInt(10000) + 1;
+        while (hashes.size() < num) {
+            hashes.add(random.nextInt());
+        }
+
+        BloomFilter filter = BloomFilter.create(num, 0.01);
+        hashes.forEach(filter::add);
+        for (int hash : hashes) {
+            assertThat(filter.mightContain(hash)).isTrue();
+        }
+
+        int falsePositives = 0;
+        int tests = 0;
+        while (tests < 100000) {
+            int hash = random.nextInt();
+            if (!hashes.contains(hash)) {
+                tests++;
+                if (filter.mightContain(hash)) {
+                    falsePositives++;
+                }
+            }
+        }
+        assertThat((double) falsePositives / tests).isLessThan(0.03);
+    }
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        BloomFilter filter = BloomFilter.create(100, 0.05);
+        for (int i = 0; i < 100; i++) {
+            filter.add(BloomFilter.hash(row(i)));
+        }
+
+        Path path = new Path(tempDir.toString(), "test.bloom");
+        filter.write(path);
+        BloomFilter read = BloomFilter.read(path);
+        assertThat(read).isEqualTo(filter);
+        for (int i = 0; i < 100; i++) {
+            assertThat(read.mightContain(BloomFilter.hash(row(i)))).isTrue();
+        }
+    }
+
+    @Test
+    public void testHashIgnoresRowKind() {
+        BinaryRow key = row(1);
+        BinaryRow deleted = row(1);
+        deleted.setRowKind(RowKind.DELETE);
+        assertThat(BloomFilter.hash(deleted)).isEqualTo(BloomFilter.hash(key));
+        assertThat(deleted.getRowKind()).isEqualTo(RowKind.DELETE);
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.io;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link KeyCountEstimator}. */
+public class KeyCountEstimatorTest {
+
+    @Test
+    public void testEstimate() {
+        KeyCountEstimator estimator = new KeyCountEstimator(1000);
+        assertThat(estimator.estimate()).isEqualTo(-1);
+
+        estimator.update(0, 0);
+        assertThat(estimator.estimate()).isEqualTo(-1);
+
+        estimator.update(300, 30);
+        assertThat(estimator.estimate()).isEqualTo(100);
+
+        estimator.update(5000, 10);
+        assertThat(estimator.estimate()).isEqualTo(2);
+
+        estimator.update(2000, 1);
+        assertThat(estimator.estimate()).isEqualTo(1);
+    }
+}
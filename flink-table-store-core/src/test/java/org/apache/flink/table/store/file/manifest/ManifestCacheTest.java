@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.manifest;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+import org.apache.flink.table.store.CoreOptions;
+import org.apache.flink.table.store.file.schema.SchemaManager;
+import org.apache.flink.table.store.file.utils.FileStorePathFactory;
+import org.apache.flink.table.store.format.FileFormat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.apache.flink.table.store.file.TestKeyValueGenerator.DEFAULT_PART_TYPE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests for {@link ManifestCache}. */
+public class ManifestCacheTest {
+
+    private final ManifestTestDataGenerator gen = ManifestTestDataGenerator.builder().build();
+    private final FileFormat avro = FileFormat.fromIdentifier("avro", new Configuration());
+
+    @TempDir java.nio.file.Path tempDir;
+
+    @Test
+    public void testDisabled() {
+        assertThat(ManifestCache.getOrCreate(0)).isNull();
+        assertThat(ManifestCache.getOrCreate(100)).isSameAs(ManifestCache.getOrCreate(100));
+        assertThat(ManifestCache.getOrCreate(200)).isNotSameAs(ManifestCache.getOrCreate(100));
+    }
+
+    @Test
+    public void testReadManifestFileFromCache() {
+        ManifestCache cache = new ManifestCache(1000);
+        ManifestFile manifestFile = createManifestFile(cache);
+
+        List<ManifestEntry> entries = generateData(100);
+        ManifestFileMeta meta = manifestFile.write(entries).get(0);
+
+        assertThat(manifestFile.read(meta.fileName())).isEqualTo(entries);
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(manifestFile.read(meta.fileName())).isEqualTo(entries);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThatThrownBy(() -> manifestFile.read(meta.fileName()).clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(manifestFile.read(meta.fileName(), (partition, bucket, level) -> bucket == 0))
+                .isEqualTo(
+                        entries.stream().filter(e -> e.bucket() == 0).collect(Collectors.toList()));
+        assertThat(cache.hitCount()).isEqualTo(3);
+
+        manifestFile.delete(meta.fileName());
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testReadManifestListFromCache() {
+        ManifestCache cache = new ManifestCache(1000);
+        ManifestList manifestList =
+                new ManifestList.Factory(DEFAULT_PART_TYPE, avro, createPathFactory(), cache)
+                        .create();
+
+        List<ManifestFileMeta> metas = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            metas.add(gen.createManifestFileMeta(generateData(5)));
+        }
+        String name = manifestList.write(metas);
+
+        assertThat(manifestList.read(name)).isEqualTo(metas);
+        assertThat(manifestList.read(name)).isEqualTo(metas);
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testEvictByEntryCount() {
+        ManifestCache cache = new ManifestCache(100);
+        ManifestFile manifestFile = createManifestFile(cache);
+
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            names.add(manifestFile.write(generateData(50)).get(0).fileName());
+        }
+        for (String name : names) {
+            manifestFile.read(name);
+        }
+
+        assertThat(cache.missCount()).isEqualTo(10);
+        assertThat(cache.evictionCount()).isGreaterThanOrEqualTo(8);
+        assertThat(cache.size()).isLessThanOrEqualTo(2);
+
+        Map<String, Gauge<?>> gauges = new HashMap<>();
+        cache.registerMetrics(gaugeCollector(gauges));
+        assertThat(gauges.get("hitCount").getValue()).isEqualTo(0L);
+        assertThat(gauges.get("missCount").getValue()).isEqualTo(10L);
+        assertThat(gauges.get("evictionCount").getValue()).isEqualTo(cache.evictionCount());
+        assertThat(gauges.get("size").getValue()).isEqualTo(cache.size());
+
+        // the shared cache registers its metrics only once
+        Map<String, Gauge<?>> otherGauges = new HashMap<>();
+        cache.registerMetrics(gaugeCollector(otherGauges));
+        assertThat(otherGauges).isEmpty();
+    }
+
+    private UnregisteredMetricsGroup gaugeCollector(Map<String, Gauge<?>> gauges) {
+        return new UnregisteredMetricsGroup() {
+            @Override
+            public <T, G extends Gauge<T>> G gauge(String name, G gauge) {
+                gauges.put(name, gauge);
+                return gauge;
+            }
+        };
+    }
+
+    private List<ManifestEntry> generateData(int num) {
+        List<ManifestEntry> entries = new ArrayList<>();
+        for (int i = 0; i < num; i++) {
+            entries.add(gen.next());
+        }
+        return entries;
+    }
+
+    private FileStorePathFactory createPathFactory() {
+        return new FileStorePathFactory(
+                new Path(tempDir.toString()),
+                DEFAULT_PART_TYPE,
+                "default",
+                CoreOptions.FILE_FORMAT.defaultValue());
+    }
+
+    private ManifestFile createManifestFile(ManifestCache cache) {
+        return new ManifestFile.Factory(
+                        new SchemaManager(new Path(tempDir.toString())),
+                        0,
+                        DEFAULT_PART_TYPE,
+                        null,
+                        avro,
+                        createPathFactory(),
+                        Long.MAX_VALUE,
+                        cache)
+                .create();
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.manifest;
+
+import org.apache.flink.table.store.data.BinaryRow;
+import org.apache.flink.table.store.file.utils.FileUtils;
+
+import org.apache.flink.shaded.guava30.com.google.common.collect.Iterables;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests for {@link ManifestEntryMerger}. */
+public class ManifestEntryMergerTest {
+
+    private final ManifestTestDataGenerator gen = ManifestTestDataGenerator.builder().build();
+
+    @RepeatedTest(10)
+    public void testMerge() {
+        Random random = new Random();
+        List<List<ManifestEntry>> manifests = generateManifests(random);
+        List<ManifestEntry> all =
+                manifests.stream().flatMap(List::stream).collect(Collectors.toList());
+        Collection<ManifestEntry> expected = ManifestEntry.mergeEntries(all);
+
+        ManifestEntryMerger merger =
+                new ManifestEntryMerger(FileUtils.COMMON_IO_FORK_JOIN_POOL, random.nextInt(8) + 1);
+        merger.merge(manifests, m -> m);
+        List<ManifestEntry> actual = new ArrayList<>();
+        Iterables.addAll(actual, merger.result());
+
+        assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
+        // the order within one partition and bucket is kept
+        assertThat(groupByPartitionAndBucket(actual))
+                .isEqualTo(groupByPartitionAndBucket(expected));
+    }
+
+    @Test
+    public void testAddMerged() {
+        List<ManifestEntry> base = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            base.add(nextAdd());
+        }
+        ManifestEntry deleted = base.get(3);
+        ManifestEntry added = nextAdd();
+
+        ManifestEntryMerger merger = new ManifestEntryMerger(new ForkJoinPool(2));
+        merger.addMerged(base);
+        merger.merge(
+                Collections.singletonList(
+                        Collections.singletonList(
+                                new ManifestEntry(
+                                        FileKind.DELETE,
+                                        deleted.partition(),
+                                        deleted.bucket(),
+                                        deleted.totalBuckets(),
+                                        deleted.file()))),
+                m -> m);
+        merger.merge(Collections.singletonList(Collections.singletonList(added)), m -> m);
+
+        List<ManifestEntry> expected = new ArrayList<>(base);
+        expected.remove(deleted);
+        expected.add(added);
+        assertThat(merger.result()).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    public void testDuplicatedAdd() {
+        ManifestEntry entry = nextAdd();
+        ManifestEntryMerger merger = new ManifestEntryMerger(new ForkJoinPool(2));
+        assertThatThrownBy(
+                        () ->
+                                merger.merge(
+                                        Collections.nCopies(2, Collections.singletonList(entry)),
+                                        m -> m))
+                .hasRootCauseInstanceOf(IllegalStateException.class);
+    }
+
+    private List<List<ManifestEntry>> generateManifests(Random random) {
+        List<List<ManifestEntry>> manifests = new ArrayList<>();
+        List<ManifestEntry> alive = new ArrayList<>();
+        int numManifests = random.nextInt(50) + 1;
+        for (int i = 0; i < numManifests; i++) {
+            List<ManifestEntry> manifest = new ArrayList<>();
+            int numEntries = random.nextInt(20);
+            for (int j = 0; j < numEntries; j++) {
+                if (!alive.isEmpty() && random.nextInt(3) == 0) {
+                    ManifestEntry entry = alive.remove(random.nextInt(alive.size()));
+                    manifest.add(
+                            new ManifestEntry(
+                                    FileKind.DELETE,
+                                    entry.partition(),
+                                    entry.bucket(),
+                                    entry.totalBuckets(),
+                                    entry.file()));
+                } else {
+                    ManifestEntry entry = nextAdd();
+                    alive.add(entry);
+                    manifest.add(entry);
+                }
+            }
+            manifests.add(manifest);
+        }
+        return manifests;
+    }
+
+    private ManifestEntry nextAdd() {
+        while (true) {
+            ManifestEntry entry = gen.next();
+            if (entry.kind() == FileKind.ADD) {
+                return entry;
+            }
+        }
+    }
+
+    private static Map<BinaryRow, Map<Integer, List<ManifestEntry>>> groupByPartitionAndBucket(
+            Collection<ManifestEntry> entries) {
+        return entries.stream()
+                .collect(
+                        Collectors.groupingBy(
+                                ManifestEntry::partition,
+                                Collectors.groupingBy(ManifestEntry::bucket)));
+    }
+}
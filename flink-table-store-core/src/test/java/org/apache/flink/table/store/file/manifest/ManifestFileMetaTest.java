@@ -45,6 +45,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -94,6 +95,36 @@ public class ManifestFileMetaTest {
         }
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 4})
+    public void testMergeInParallel(int numLastBits) {
+        List<ManifestFileMeta> input = new ArrayList<>();
+        List<ManifestFileMeta> expected = new ArrayList<>();
+        createData(numLastBits, input, expected);
+
+        ManifestMergeMetrics metrics = new ManifestMergeMetrics();
+        List<ManifestFileMeta> actual =
+                ManifestFileMeta.merge(input, manifestFile, 500, 3, new ForkJoinPool(4), metrics);
+        assertThat(actual).hasSameSizeAs(expected);
+        for (int i = 0; i < actual.size(); i++) {
+            assertSameContent(expected.get(i), actual.get(i), manifestFile);
+        }
+
+        int numRewritten = numLastBits < 3 ? 5 : 5 + numLastBits;
+        assertThat(metrics.mergeCount()).isEqualTo(1);
+        assertThat(metrics.rewrittenFiles()).isEqualTo(numRewritten);
+        assertThat(metrics.bytesRead())
+                .isEqualTo(
+                        input.subList(0, 5).stream().mapToLong(ManifestFileMeta::fileSize).sum()
+                                + (numLastBits < 3 ? 0 : numLastBits * 100));
+        assertThat(metrics.bytesWritten()).isPositive();
+
+        // nothing to merge
+        ManifestFileMeta.merge(
+                actual.subList(0, 1), manifestFile, 500, 3, new ForkJoinPool(4), metrics);
+        assertThat(metrics.mergeCount()).isEqualTo(1);
+    }
+
     private void assertSameContent(
             ManifestFileMeta expected, ManifestFileMeta actual, ManifestFile manifestFile) {
         // check meta
@@ -18,18 +18,29 @@
 
 package org.apache.flink.table.store.file.manifest;
 
+import org.apache.flink.api.common.serialization.BulkWriter;
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.core.fs.FSDataOutputStream;
 import org.apache.flink.core.fs.FileSystem;
 import org.apache.flink.core.fs.Path;
 import org.apache.flink.table.store.CoreOptions;
+import org.apache.flink.table.store.data.GenericRow;
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.io.DataFileMetaSerializer;
 import org.apache.flink.table.store.file.schema.SchemaManager;
 import org.apache.flink.table.store.file.stats.StatsTestUtils;
 import org.apache.flink.table.store.file.utils.FailingAtomicRenameFileSystem;
 import org.apache.flink.table.store.file.utils.FileStorePathFactory;
+import org.apache.flink.table.store.file.utils.VersionedObjectSerializer;
 import org.apache.flink.table.store.format.FileFormat;
+import org.apache.flink.table.store.types.DataField;
+import org.apache.flink.table.store.types.RowType;
 
 import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -39,6 +50,7 @@ import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 import static org.apache.flink.table.store.file.TestKeyValueGenerator.DEFAULT_PART_TYPE;
+import static org.apache.flink.table.store.file.utils.SerializationUtils.serializeBinaryRow;
 import static org.assertj.core.api.Assertions.assertThat;
 
 /** Tests for {@link ManifestFile}. */
@@ -64,6 +76,74 @@ public class ManifestFileTest {
         assertThat(actualEntries).isEqualTo(entries);
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"avro", "orc"})
+    public void testWriteAndReadWithFilter(String format) {
+        for (int version : new int[] {2, 3}) {
+            innerTestWriteAndReadWithFilter(
+                    FileFormat.fromIdentifier(format, new Configuration()), version);
+        }
+    }
+
+    private void innerTestWriteAndReadWithFilter(FileFormat format, int version) {
+        List<ManifestEntry> entries = generateData();
+        ManifestFile manifestFile =
+                createManifestFile(tempDir.toString() + "/v" + version, format, version);
+        List<ManifestFileMeta> metas = manifestFile.write(entries);
+
+        List<ManifestEntry> actualEntries =
+                metas.stream()
+                        .flatMap(m -> manifestFile.read(m.fileName()).stream())
+                        .collect(Collectors.toList());
+        assertThat(actualEntries).isEqualTo(entries);
+
+        ManifestFile.EntryFilter filter = (partition, bucket, level) -> bucket == 0 && level > 0;
+        actualEntries =
+                metas.stream()
+                        .flatMap(m -> manifestFile.read(m.fileName(), filter).stream())
+                        .collect(Collectors.toList());
+        assertThat(actualEntries)
+                .isEqualTo(
+                        entries.stream()
+                                .filter(e -> e.bucket() == 0 && e.file().level() > 0)
+                                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testReadVersion2() throws IOException {
+        // version 2 stores the data file meta as a nested row and has no filter columns
+        List<DataField> fields = ManifestEntry.schema().getFields().subList(0, 5);
+        RowType version2Type = VersionedObjectSerializer.versionType(new RowType(fields));
+        DataFileMetaSerializer fileSerializer = new DataFileMetaSerializer();
+
+        List<ManifestEntry> entries = generateData();
+        Path path = createPathFactory(tempDir.toString()).newManifestFile();
+        try (FSDataOutputStream out =
+                path.getFileSystem().create(path, FileSystem.WriteMode.NO_OVERWRITE)) {
+            BulkWriter<InternalRow> writer = avro.createWriterFactory(version2Type).create(out);
+            for (ManifestEntry entry : entries) {
+                writer.addElement(
+                        GenericRow.of(
+                                2,
+                                entry.kind().toByteValue(),
+                                serializeBinaryRow(entry.partition()),
+                                entry.bucket(),
+                                entry.totalBuckets(),
+                                fileSerializer.toRow(entry.file())));
+            }
+            writer.flush();
+            writer.finish();
+        }
+
+        ManifestFile manifestFile = createManifestFile(tempDir.toString());
+        assertThat(manifestFile.read(path.getName())).isEqualTo(entries);
+        assertThat(manifestFile.read(path.getName(), (partition, bucket, level) -> level > 0))
+                .isEqualTo(
+                        entries.stream()
+                                .filter(e -> e.file().level() > 0)
+                                .collect(Collectors.toList()));
+    }
+
     @RepeatedTest(10)
     public void testCleanUpForException() throws IOException {
         String failingName = UUID.randomUUID().toString();
@@ -95,23 +175,33 @@ public class ManifestFileTest {
     }
 
     private ManifestFile createManifestFile(String path) {
-        FileStorePathFactory pathFactory =
-                new FileStorePathFactory(
-                        new Path(path),
-                        DEFAULT_PART_TYPE,
-                        "default",
-                        CoreOptions.FILE_FORMAT.defaultValue());
+        return createManifestFile(path, avro, CoreOptions.MANIFEST_ENTRY_VERSION.defaultValue());
+    }
+
+    private ManifestFile createManifestFile(String path, FileFormat format, int version) {
+        FileStorePathFactory pathFactory = createPathFactory(path);
         int suggestedFileSize = ThreadLocalRandom.current().nextInt(8192) + 1024;
         return new ManifestFile.Factory(
                         new SchemaManager(new Path(path)),
                         0,
                         DEFAULT_PART_TYPE,
-                        avro,
+                        null,
+                        format,
                         pathFactory,
-                        suggestedFileSize)
+                        suggestedFileSize,
+                        null,
+                        version)
                 .create();
     }
 
+    private FileStorePathFactory createPathFactory(String path) {
+        return new FileStorePathFactory(
+                new Path(path),
+                DEFAULT_PART_TYPE,
+                "default",
+                CoreOptions.FILE_FORMAT.defaultValue());
+    }
+
     private void checkRollingFiles(
             ManifestFileMeta expected, List<ManifestFileMeta> actual, long suggestedFileSize) {
         // all but last file should be no smaller than suggestedFileSize
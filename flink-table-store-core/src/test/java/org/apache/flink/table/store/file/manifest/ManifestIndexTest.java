@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.manifest;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.table.store.CoreOptions;
+import org.apache.flink.table.store.file.schema.SchemaManager;
+import org.apache.flink.table.store.file.stats.FieldStatsArraySerializer;
+import org.apache.flink.table.store.file.utils.FileStorePathFactory;
+import org.apache.flink.table.store.format.FieldStats;
+import org.apache.flink.table.store.format.FileFormat;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.apache.flink.table.store.file.TestKeyValueGenerator.DEFAULT_PART_TYPE;
+import static org.apache.flink.table.store.file.TestKeyValueGenerator.KEY_TYPE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link ManifestIndex}. */
+public class ManifestIndexTest {
+
+    private final ManifestTestDataGenerator gen = ManifestTestDataGenerator.builder().build();
+    private final FileFormat avro = FileFormat.fromIdentifier("avro", new Configuration());
+
+    @TempDir java.nio.file.Path tempDir;
+
+    @RepeatedTest(10)
+    public void testCollect() {
+        List<ManifestEntry> entries = generateData();
+        ManifestIndex.Collector collector = new ManifestIndex.Collector(0, KEY_TYPE);
+        entries.forEach(collector::collect);
+        ManifestIndex index = collector.extract();
+
+        BitSet expectedBuckets = new BitSet();
+        long expectedRowCount = 0;
+        for (ManifestEntry entry : entries) {
+            expectedBuckets.set(entry.bucket());
+            expectedRowCount += entry.file().rowCount();
+            assertThat(index.totalBuckets()).isEqualTo(entry.totalBuckets());
+        }
+        assertThat(index.buckets()).isEqualTo(expectedBuckets);
+        assertThat(index.rowCount()).isEqualTo(expectedRowCount);
+
+        FieldStatsArraySerializer serializer = new FieldStatsArraySerializer(KEY_TYPE);
+        FieldStats[] keyStats = index.keyStats().fields(serializer);
+        for (ManifestEntry entry : entries) {
+            FieldStats[] fileStats = entry.file().keyStats().fields(serializer);
+            for (int i = 0; i < keyStats.length; i++) {
+                assertThat(compare(keyStats[i].minValue(), fileStats[i].minValue()))
+                        .isLessThanOrEqualTo(0);
+                assertThat(compare(keyStats[i].maxValue(), fileStats[i].maxValue()))
+                        .isGreaterThanOrEqualTo(0);
+            }
+        }
+    }
+
+    @Test
+    public void testNoKeyStatsForDifferentSchema() {
+        ManifestIndex.Collector collector = new ManifestIndex.Collector(1, KEY_TYPE);
+        generateData().forEach(collector::collect);
+        assertThat(collector.extract().keyStats()).isNull();
+
+        collector = new ManifestIndex.Collector(0, null);
+        generateData().forEach(collector::collect);
+        assertThat(collector.extract().keyStats()).isNull();
+    }
+
+    @Test
+    public void testWriteAndReadIndex() {
+        FileStorePathFactory pathFactory =
+                new FileStorePathFactory(
+                        new Path(tempDir.toString()),
+                        DEFAULT_PART_TYPE,
+                        "default",
+                        CoreOptions.FILE_FORMAT.defaultValue());
+        ManifestFile manifestFile =
+                new ManifestFile.Factory(
+                                new SchemaManager(new Path(tempDir.toString())),
+                                0,
+                                DEFAULT_PART_TYPE,
+                                KEY_TYPE,
+                                avro,
+                                pathFactory,
+                                Long.MAX_VALUE,
+                                null)
+                        .create();
+        ManifestList manifestList =
+                new ManifestList.Factory(DEFAULT_PART_TYPE, avro, pathFactory).create();
+
+        List<ManifestFileMeta> metas = manifestFile.write(generateData());
+        assertThat(metas.get(0).index()).isNotNull();
+
+        List<ManifestFileMeta> actual = manifestList.read(manifestList.write(metas));
+        assertThat(actual).isEqualTo(metas);
+        for (int i = 0; i < metas.size(); i++) {
+            assertThat(actual.get(i).index()).isEqualTo(metas.get(i).index());
+        }
+    }
+
+    private List<ManifestEntry> generateData() {
+        List<ManifestEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            entries.add(gen.next());
+        }
+        return entries;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compare(Object o1, Object o2) {
+        return ((Comparable<Object>) o1).compareTo(o2);
+    }
+}
@@ -24,6 +24,7 @@ import org.apache.flink.core.fs.FileStatus;
 import org.apache.flink.core.fs.Path;
 import org.apache.flink.table.store.CoreOptions;
 import org.apache.flink.table.store.CoreOptions.ChangelogProducer;
+import org.apache.flink.table.store.CoreOptions.CompactionStyle;
 import org.apache.flink.table.store.data.BinaryRow;
 import org.apache.flink.table.store.data.GenericRow;
 import org.apache.flink.table.store.data.InternalRow;
@@ -39,6 +40,8 @@ import org.apache.flink.table.store.file.mergetree.compact.AbstractCompactRewrit
 import org.apache.flink.table.store.file.mergetree.compact.CompactStrategy;
 import org.apache.flink.table.store.file.mergetree.compact.DeduplicateMergeFunction;
 import org.apache.flink.table.store.file.mergetree.compact.IntervalPartition;
+import org.apache.flink.table.store.file.mergetree.compact.LeveledCompaction;
+import org.apache.flink.table.store.file.mergetree.compact.MergeFunction;
 import org.apache.flink.table.store.file.mergetree.compact.MergeTreeCompactManager;
 import org.apache.flink.table.store.file.mergetree.compact.UniversalCompaction;
 import org.apache.flink.table.store.file.schema.KeyValueFieldsExtractor;
@@ -77,16 +80,19 @@ import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /** Tests for {@link MergeTreeReaders} and {@link MergeTreeWriter}. */
 public class MergeTreeTest {
 
     @TempDir java.nio.file.Path tempDir;
     private static ExecutorService service;
+    private static ExecutorService flushService;
     private Path path;
     private FileStorePathFactory pathFactory;
     private Comparator<InternalRow> comparator;
@@ -125,8 +131,19 @@ public class MergeTreeTest {
     }
 
     private void recreateMergeTree(long targetFileSize) {
+        recreateMergeTree(targetFileSize, false, CompactionStyle.UNIVERSAL);
+    }
+
+    private void recreateMergeTree(
+            long targetFileSize, boolean asyncFlush, CompactionStyle compactionStyle) {
         Configuration configuration = new Configuration();
-        configuration.set(CoreOptions.WRITE_BUFFER_SIZE, new MemorySize(4096 * 3));
+        // each half of the buffer requires at least 3 pages when flushing asynchronously
+        configuration.set(
+                CoreOptions.WRITE_BUFFER_SIZE, new MemorySize(4096 * (asyncFlush ? 6 : 3)));
+        configuration.set(CoreOptions.WRITE_BUFFER_ASYNC_FLUSH, asyncFlush);
+        configuration.set(CoreOptions.COMPACTION_STYLE, compactionStyle);
+        configuration.set(
+                CoreOptions.COMPACTION_LEVELED_BASE_LEVEL_SIZE, new MemorySize(16 * 1024));
         configuration.set(CoreOptions.PAGE_SIZE, new MemorySize(4096));
         configuration.set(CoreOptions.TARGET_FILE_SIZE, new MemorySize(targetFileSize));
         options = new CoreOptions(configuration);
@@ -176,12 +193,15 @@ public class MergeTreeTest {
     @BeforeAll
     public static void before() {
         service = Executors.newSingleThreadExecutor();
+        flushService = Executors.newSingleThreadExecutor();
     }
 
     @AfterAll
     public static void after() {
         service.shutdownNow();
         service = null;
+        flushService.shutdownNow();
+        flushService = null;
     }
 
     @Test
@@ -255,6 +275,89 @@ public class MergeTreeTest {
         doTestWriteRead(3, 20_000);
     }
 
+    @Test
+    public void testWriteManyWithAsyncFlush() throws Exception {
+        recreateMergeTree(1024 * 1024, true, CompactionStyle.UNIVERSAL);
+        doTestWriteRead(3, 20_000);
+    }
+
+    @Test
+    public void testRestoreWithAsyncFlush() throws Exception {
+        recreateMergeTree(1024 * 1024, true, CompactionStyle.UNIVERSAL);
+        List<TestRecord> expected = new ArrayList<>(writeBatch(5_000));
+        List<DataFileMeta> newFiles = writer.prepareCommit(true).newFilesIncrement().newFiles();
+        assertThat(newFiles.size()).isGreaterThan(1);
+        writer = createMergeTreeWriter(newFiles);
+        expected.addAll(writeBatch(5_000));
+        writer.prepareCommit(true);
+        writer.sync();
+        assertRecords(expected);
+    }
+
+    @Test
+    public void testFailedAsyncFlush() throws Exception {
+        recreateMergeTree(1024, true, CompactionStyle.UNIVERSAL);
+        MergeFunction<KeyValue> deduplicate = DeduplicateMergeFunction.factory().create();
+        AtomicInteger numResults = new AtomicInteger(0);
+        MergeFunction<KeyValue> failing =
+                new MergeFunction<KeyValue>() {
+                    @Override
+                    public void reset() {
+                        deduplicate.reset();
+                    }
+
+                    @Override
+                    public void add(KeyValue kv) {
+                        deduplicate.add(kv);
+                    }
+
+                    @Override
+                    public KeyValue getResult() {
+                        if (numResults.incrementAndGet() > 500) {
+                            throw new RuntimeException("Expected failure");
+                        }
+                        return deduplicate.getResult();
+                    }
+                };
+        MergeTreeWriter mergeTreeWriter =
+                new MergeTreeWriter(
+                        false,
+                        128,
+                        null,
+                        createCompactManager(service, Collections.emptyList()),
+                        -1,
+                        comparator,
+                        failing,
+                        writerFactory,
+                        options.commitForceCompact(),
+                        ChangelogProducer.NONE,
+                        options.writeBufferSize(),
+                        flushService);
+        mergeTreeWriter.setMemoryPool(
+                new HeapMemorySegmentPool(options.writeBufferSize(), options.pageSize()));
+        writer = mergeTreeWriter;
+
+        assertThatThrownBy(
+                        () -> {
+                            for (int i = 0; i < 100; i++) {
+                                writeBatch();
+                            }
+                            writer.prepareCommit(true);
+                        })
+                .hasMessageContaining("Expected failure");
+        writer.close();
+
+        // files of the failed flush and of the flushes before are deleted
+        Path bucketDir = writerFactory.pathFactory().toPath("ignore").getParent();
+        assertThat(bucketDir.getFileSystem().listStatus(bucketDir)).isEmpty();
+    }
+
+    @Test
+    public void testWriteManyWithLeveledCompaction() throws Exception {
+        recreateMergeTree(1024, false, CompactionStyle.LEVELED);
+        doTestWriteRead(3, 20_000);
+    }
+
     private void doTestWriteRead(int batchNumber) throws Exception {
         doTestWriteRead(batchNumber, 200);
     }
@@ -315,7 +418,9 @@ public class MergeTreeTest {
                         DeduplicateMergeFunction.factory().create(),
                         writerFactory,
                         options.commitForceCompact(),
-                        ChangelogProducer.NONE);
+                        ChangelogProducer.NONE,
+                        options.writeBufferSize(),
+                        options.writeBufferAsyncFlush() ? flushService : null);
         writer.setMemoryPool(
                 new HeapMemorySegmentPool(options.writeBufferSize(), options.pageSize()));
         return writer;
@@ -324,11 +429,18 @@ public class MergeTreeTest {
     private MergeTreeCompactManager createCompactManager(
             ExecutorService compactExecutor, List<DataFileMeta> files) {
         CompactStrategy strategy =
-                new UniversalCompaction(
-                        options.maxSizeAmplificationPercent(),
-                        options.sortedRunSizeRatio(),
-                        options.numSortedRunCompactionTrigger(),
-                        options.maxSortedRunNum());
+                options.compactionStyle() == CompactionStyle.LEVELED
+                        ? new LeveledCompaction(
+                                comparator,
+                                options.leveledBaseLevelSize(),
+                                options.leveledLevelSizeMultiplier(),
+                                options.numSortedRunCompactionTrigger(),
+                                options.maxSortedRunNum())
+                        : new UniversalCompaction(
+                                options.maxSizeAmplificationPercent(),
+                                options.sortedRunSizeRatio(),
+                                options.numSortedRunCompactionTrigger(),
+                                options.maxSortedRunNum());
         return new MergeTreeCompactManager(
                 compactExecutor,
                 new Levels(comparator, files, options.numLevels()),
@@ -415,7 +527,8 @@ public class MergeTreeTest {
                         dropDelete,
                         readerFactory,
                         comparator,
-                        DeduplicateMergeFunction.factory().create());
+                        DeduplicateMergeFunction.factory().create(),
+                        options.sortEngine());
         List<TestRecord> records = new ArrayList<>();
         try (RecordReaderIterator<KeyValue> iterator = new RecordReaderIterator<>(reader)) {
             while (iterator.hasNext()) {
@@ -458,9 +571,16 @@ public class MergeTreeTest {
                             dropDelete,
                             compactReaderFactory,
                             comparator,
-                            DeduplicateMergeFunction.factory().create());
-            writer.write(new RecordReaderIterator<>(sectionsReader));
-            writer.close();
+                            DeduplicateMergeFunction.factory().create(),
+                            options.sortEngine());
+            try {
+                writer.write(new RecordReaderIterator<>(sectionsReader));
+                writer.close();
+            } catch (Throwable e) {
+                // clean up like the real rewriter when the compaction is cancelled by closing
+                writer.abort();
+                throw e;
+            }
             return new CompactResult(extractFilesFromSections(sections), writer.result());
         }
     }
@@ -21,14 +21,19 @@ package org.apache.flink.table.store.file.mergetree.compact;
 import org.apache.flink.table.store.codegen.RecordComparator;
 import org.apache.flink.table.store.data.BinaryRow;
 import org.apache.flink.table.store.data.BinaryRowWriter;
+import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.mergetree.SortedRun;
 import org.apache.flink.table.store.file.stats.StatsTestUtils;
+import org.apache.flink.table.store.file.utils.KeyComparatorSupplier;
+import org.apache.flink.table.store.types.IntType;
+import org.apache.flink.table.store.types.RowType;
 
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -49,6 +54,9 @@ public class IntervalPartitionTest {
     private static final RecordComparator COMPARATOR =
             (RecordComparator) (o1, o2) -> o1.getInt(0) - o2.getInt(0);
 
+    private static final Comparator<InternalRow> NORMALIZED_KEY_COMPARATOR =
+            new KeyComparatorSupplier(RowType.of(new IntType())).get();
+
     @Test
     public void testSameMinKey() {
         runTest(
@@ -78,8 +86,24 @@ public class IntervalPartitionTest {
                 "[0, 9] | [5, 7], [9, 15]\n" + "[16, 22], [24, 32] | [16, 28]");
     }
 
+    @Test
+    public void testSectionPartitioningWithNormalizedKeys() {
+        runTest(
+                "[0, 9], [5, 7], [9, 15], [16, 22], [16, 28], [24, 32]",
+                "[0, 9] | [5, 7], [9, 15]\n" + "[16, 22], [24, 32] | [16, 28]",
+                NORMALIZED_KEY_COMPARATOR);
+        runTest(
+                "[100, 200], [100, 400], [100, 300], [100, 500]",
+                "[100, 200] | [100, 300] | [100, 400] | [100, 500]",
+                NORMALIZED_KEY_COMPARATOR);
+    }
+
     private void runTest(String in, String ans) {
-        IntervalPartition algorithm = new IntervalPartition(parseMetas(in), COMPARATOR);
+        runTest(in, ans, COMPARATOR);
+    }
+
+    private void runTest(String in, String ans, Comparator<InternalRow> comparator) {
+        IntervalPartition algorithm = new IntervalPartition(parseMetas(in), comparator);
         List<List<SortedRun>> expected = new ArrayList<>();
         for (String line : ans.split("\n")) {
             expected.add(parseSortedRuns(line));
@@ -88,7 +112,7 @@ public class IntervalPartitionTest {
         List<List<SortedRun>> actual = algorithm.partition();
         for (List<SortedRun> section : actual) {
             for (SortedRun sortedRun : section) {
-                sortedRun.validate(COMPARATOR);
+                sortedRun.validate(comparator);
             }
         }
 
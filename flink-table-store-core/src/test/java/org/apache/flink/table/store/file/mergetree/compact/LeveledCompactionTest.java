@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.mergetree.compact;
+
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.compact.CompactUnit;
+import org.apache.flink.table.store.file.io.DataFileMeta;
+import org.apache.flink.table.store.file.mergetree.LevelSortedRun;
+import org.apache.flink.table.store.file.mergetree.Levels;
+import org.apache.flink.table.store.file.mergetree.SortedRun;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.apache.flink.table.store.file.io.DataFileTestUtils.newFile;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link LeveledCompaction}. */
+public class LeveledCompactionTest {
+
+    private static final Comparator<InternalRow> COMPARATOR =
+            Comparator.comparingInt(o -> o.getInt(0));
+
+    @Test
+    public void testNoCompaction() {
+        LeveledCompaction compaction = new LeveledCompaction(COMPARATOR, 100, 10, 3, 10);
+        List<LevelSortedRun> runs = new ArrayList<>();
+        runs.add(level0(newFile("a", 0, 0, 10, 2)));
+        runs.add(level0(newFile("b", 0, 0, 10, 1)));
+        runs.add(level(1, newFile("c", 1, 0, 49, 0)));
+        // the highest level has no target size
+        runs.add(level(3, newFile("d", 3, 0, 9999, 0)));
+        assertThat(compaction.pick(4, runs)).isEmpty();
+    }
+
+    @Test
+    public void testLevel0() {
+        LeveledCompaction compaction = new LeveledCompaction(COMPARATOR, 100, 10, 3, 3);
+        List<LevelSortedRun> runs = new ArrayList<>();
+        runs.add(level0(newFile("a", 0, 0, 10, 4)));
+        runs.add(level0(newFile("b", 0, 20, 30, 3)));
+        runs.add(level0(newFile("c", 0, 25, 35, 2)));
+        runs.add(level0(newFile("d", 0, 30, 40, 1)));
+        runs.add(
+                level(
+                        1,
+                        newFile("e", 1, 0, 15, 0),
+                        newFile("f", 1, 16, 28, 0),
+                        newFile("g", 1, 41, 50, 0)));
+
+        // oldest files of level 0 and the overlapping files of level 1
+        CompactUnit unit = compaction.pick(3, runs).get();
+        assertThat(unit.outputLevel()).isEqualTo(1);
+        assertThat(fileNames(unit)).containsExactlyInAnyOrder("b", "c", "d", "f");
+    }
+
+    @Test
+    public void testLevelSize() {
+        LeveledCompaction compaction = new LeveledCompaction(COMPARATOR, 100, 10, 3, 10);
+        List<LevelSortedRun> runs = new ArrayList<>();
+        runs.add(level0(newFile("a", 0, 0, 10, 10)));
+        runs.add(
+                level(
+                        1,
+                        newFile("b", 1, 0, 49, 0),
+                        newFile("c", 1, 50, 99, 0),
+                        newFile("d", 1, 100, 149, 0)));
+        runs.add(level(2, newFile("e", 2, 40, 60, 0), newFile("f", 2, 140, 200, 0)));
+        runs.add(level(3, newFile("g", 3, 0, 9999, 0)));
+
+        // files of level 1 are picked in a round-robin manner
+        Optional<CompactUnit> unit = compaction.pick(4, runs);
+        assertThat(unit.get().outputLevel()).isEqualTo(2);
+        assertThat(fileNames(unit.get())).containsExactlyInAnyOrder("b", "e");
+        assertThat(fileNames(compaction.pick(4, runs).get())).containsExactlyInAnyOrder("c", "e");
+        assertThat(fileNames(compaction.pick(4, runs).get())).containsExactlyInAnyOrder("d", "f");
+        assertThat(fileNames(compaction.pick(4, runs).get())).containsExactlyInAnyOrder("b", "e");
+    }
+
+    @Test
+    public void testHigherScoreFirst() {
+        LeveledCompaction compaction = new LeveledCompaction(COMPARATOR, 100, 10, 3, 10);
+        List<LevelSortedRun> runs = new ArrayList<>();
+        runs.add(level0(newFile("a", 0, 0, 10, 12)));
+        runs.add(level0(newFile("b", 0, 0, 10, 11)));
+        runs.add(level0(newFile("c", 0, 0, 10, 10)));
+        // level 1 is in size, level 2 is 2.5 times its target size
+        runs.add(level(1, newFile("d", 1, 0, 99, 0)));
+        runs.add(level(2, newFile("e", 2, 0, 2499, 0)));
+        runs.add(level(3, newFile("f", 3, 2000, 9999, 0)));
+
+        CompactUnit unit = compaction.pick(4, runs).get();
+        assertThat(unit.outputLevel()).isEqualTo(3);
+        assertThat(fileNames(unit)).containsExactly("e", "f");
+
+        // a single file of level 2 without overlapping files is upgraded
+        runs.remove(runs.size() - 1);
+        unit = compaction.pick(4, runs).get();
+        assertThat(unit.outputLevel()).isEqualTo(3);
+        assertThat(fileNames(unit)).containsExactly("e");
+    }
+
+    @Test
+    public void testSingleFileLevelIsDrained() {
+        LeveledCompaction compaction = new LeveledCompaction(COMPARATOR, 100, 10, 3, 10);
+        Levels levels =
+                new Levels(
+                        COMPARATOR,
+                        Arrays.asList(newFile("a", 1, 0, 199, 0), newFile("b", 3, 500, 999, 0)),
+                        4);
+
+        // level 1 is twice its target size but only holds a single file
+        CompactUnit unit = compaction.pick(4, levels.levelSortedRuns()).get();
+        assertThat(unit.outputLevel()).isEqualTo(2);
+        assertThat(fileNames(unit)).containsExactly("a");
+
+        // the upgrade only moves the file, so level 1 is drained
+        levels.update(
+                unit.files(), Collections.singletonList(unit.files().get(0).upgrade(2)));
+        assertThat(compaction.pick(4, levels.levelSortedRuns())).isEmpty();
+    }
+
+    @Test
+    public void testMoveToEmptyLevel() {
+        LeveledCompaction compaction = new LeveledCompaction(COMPARATOR, 100, 10, 3, 10);
+        List<LevelSortedRun> runs = new ArrayList<>();
+        runs.add(
+                level(
+                        1,
+                        newFile("a", 1, 0, 49, 0),
+                        newFile("b", 1, 50, 99, 0),
+                        newFile("c", 1, 100, 149, 0)));
+        runs.add(level(3, newFile("d", 3, 0, 9999, 0)));
+
+        // files without overlapping files are moved on their own
+        assertThat(fileNames(compaction.pick(4, runs).get())).containsExactly("a");
+        assertThat(fileNames(compaction.pick(4, runs).get())).containsExactly("b");
+        assertThat(fileNames(compaction.pick(4, runs).get())).containsExactly("c");
+        assertThat(fileNames(compaction.pick(4, runs).get())).containsExactly("a");
+    }
+
+    private static LevelSortedRun level0(DataFileMeta file) {
+        return new LevelSortedRun(0, SortedRun.fromSingle(file));
+    }
+
+    private static LevelSortedRun level(int level, DataFileMeta... files) {
+        return new LevelSortedRun(level, SortedRun.fromSorted(Arrays.asList(files)));
+    }
+
+    private static List<String> fileNames(CompactUnit unit) {
+        return unit.files().stream().map(DataFileMeta::fileName).collect(Collectors.toList());
+    }
+}
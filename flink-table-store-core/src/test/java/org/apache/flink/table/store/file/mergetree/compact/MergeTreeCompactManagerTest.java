@@ -24,6 +24,7 @@ import org.apache.flink.table.store.file.compact.CompactResult;
 import org.apache.flink.table.store.file.compact.CompactUnit;
 import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.io.DataFileTestUtils;
+import org.apache.flink.table.store.file.mergetree.LevelSortedRun;
 import org.apache.flink.table.store.file.mergetree.Levels;
 import org.apache.flink.table.store.file.mergetree.SortedRun;
 
@@ -95,6 +96,27 @@ public class MergeTreeCompactManagerTest {
                 Collections.singletonList(new LevelMinMax(0, 1, 3)));
     }
 
+    @Test
+    public void testUpgradeSingleFile() throws ExecutionException, InterruptedException {
+        CompactStrategy strategy =
+                new CompactStrategy() {
+                    @Override
+                    public Optional<CompactUnit> pick(int numLevels, List<LevelSortedRun> runs) {
+                        return testStrategy().pick(numLevels, runs);
+                    }
+
+                    @Override
+                    public boolean upgradeSingleFile() {
+                        return true;
+                    }
+                };
+        innerTest(
+                Collections.singletonList(new LevelMinMax(0, 1, 3)),
+                Collections.singletonList(new LevelMinMax(2, 1, 3)),
+                strategy,
+                true);
+    }
+
     @Test
     public void testNormal() throws ExecutionException, InterruptedException {
         innerTest(
@@ -179,6 +201,45 @@ public class MergeTreeCompactManagerTest {
                 Collections.singletonList(new LevelMinMax(2, 1, 10)));
     }
 
+    @Test
+    public void testUpgradeSmallFiles() throws ExecutionException, InterruptedException {
+        innerTest(
+                Arrays.asList(
+                        new LevelMinMax(0, 1, 5),
+                        new LevelMinMax(0, 6, 6),
+                        new LevelMinMax(1, 7, 7),
+                        new LevelMinMax(1, 9, 10),
+                        new LevelMinMax(2, 1, 10)),
+                Arrays.asList(
+                        new LevelMinMax(1, 1, 5),
+                        new LevelMinMax(1, 6, 6),
+                        new LevelMinMax(1, 7, 7),
+                        new LevelMinMax(1, 9, 10),
+                        new LevelMinMax(2, 1, 10)),
+                (numLevels, runs) -> Optional.of(CompactUnit.fromLevelRuns(1, runs.subList(0, 3))),
+                false,
+                true);
+    }
+
+    @Test
+    public void testUpgradeSmallFilesWithDropDelete()
+            throws ExecutionException, InterruptedException {
+        // small files are still rewritten to drop the deletes
+        innerTest(
+                Arrays.asList(
+                        new LevelMinMax(0, 1, 5),
+                        new LevelMinMax(0, 6, 6),
+                        new LevelMinMax(1, 7, 7),
+                        new LevelMinMax(1, 9, 10)),
+                Arrays.asList(
+                        new LevelMinMax(2, 1, 5),
+                        new LevelMinMax(2, 6, 7),
+                        new LevelMinMax(2, 9, 10)),
+                testStrategy(),
+                true,
+                true);
+    }
+
     private void innerTest(List<LevelMinMax> inputs, List<LevelMinMax> expected)
             throws ExecutionException, InterruptedException {
         innerTest(inputs, expected, testStrategy(), true);
@@ -190,6 +251,16 @@ public class MergeTreeCompactManagerTest {
             CompactStrategy strategy,
             boolean expectedDropDelete)
             throws ExecutionException, InterruptedException {
+        innerTest(inputs, expected, strategy, expectedDropDelete, false);
+    }
+
+    private void innerTest(
+            List<LevelMinMax> inputs,
+            List<LevelMinMax> expected,
+            CompactStrategy strategy,
+            boolean expectedDropDelete,
+            boolean upgradeSmallFiles)
+            throws ExecutionException, InterruptedException {
         List<DataFileMeta> files = new ArrayList<>();
         for (int i = 0; i < inputs.size(); i++) {
             LevelMinMax minMax = inputs.get(i);
@@ -204,7 +275,8 @@ public class MergeTreeCompactManagerTest {
                         comparator,
                         2,
                         Integer.MAX_VALUE,
-                        new TestRewriter(expectedDropDelete));
+                        new TestRewriter(expectedDropDelete),
+                        upgradeSmallFiles);
         manager.triggerCompaction(false);
         manager.getCompactionResult(true);
         List<LevelMinMax> outputs =
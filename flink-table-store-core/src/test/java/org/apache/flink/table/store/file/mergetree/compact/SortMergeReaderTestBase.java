@@ -18,10 +18,14 @@
 
 package org.apache.flink.table.store.file.mergetree.compact;
 
+import org.apache.flink.table.store.CoreOptions.SortEngine;
 import org.apache.flink.table.store.file.KeyValue;
+import org.apache.flink.table.store.file.utils.KeyComparatorSupplier;
 import org.apache.flink.table.store.file.utils.RecordReader;
 import org.apache.flink.table.store.file.utils.ReusingTestData;
 import org.apache.flink.table.store.file.utils.TestReusingRecordReader;
+import org.apache.flink.table.store.types.IntType;
+import org.apache.flink.table.store.types.RowType;
 
 import org.junit.jupiter.api.Test;
 
@@ -34,12 +38,18 @@ public abstract class SortMergeReaderTestBase extends CombiningRecordReaderTestB
 
     protected abstract MergeFunction<KeyValue> createMergeFunction();
 
+    protected SortEngine sortEngine() {
+        return SortEngine.LOSER_TREE;
+    }
+
     @Override
     protected RecordReader<KeyValue> createRecordReader(List<TestReusingRecordReader> readers) {
-        return new SortMergeReader<>(
+        return SortMergeReader.createSortMergeReader(
                 new ArrayList<>(readers),
-                KEY_COMPARATOR,
-                new ReducerMergeFunctionWrapper(createMergeFunction()));
+                // compares normalized keys
+                new KeyComparatorSupplier(RowType.of(new IntType())).get(),
+                new ReducerMergeFunctionWrapper(createMergeFunction()),
+                sortEngine());
     }
 
     @Test
@@ -124,4 +134,24 @@ public abstract class SortMergeReaderTestBase extends CombiningRecordReaderTestB
             runTest(parseData("1, 2, +, 100", "1, 1, +, -100"));
         }
     }
+
+    /** Tests for {@link SortMergeReaderWithMinHeap} with {@link DeduplicateMergeFunction}. */
+    public static class WithMinHeapAndDeduplicateMergeFunction
+            extends WithDeduplicateMergeFunction {
+
+        @Override
+        protected SortEngine sortEngine() {
+            return SortEngine.MIN_HEAP;
+        }
+    }
+
+    /** Tests for {@link SortMergeReaderWithMinHeap} with {@link ValueCountMergeFunction}. */
+    public static class WithMinHeapAndValueRecordMergeFunctionTest
+            extends WithValueRecordMergeFunctionTest {
+
+        @Override
+        protected SortEngine sortEngine() {
+            return SortEngine.MIN_HEAP;
+        }
+    }
 }
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.mergetree.compact.aggregate;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.table.store.data.BinaryRow;
+import org.apache.flink.table.store.data.BinaryString;
+import org.apache.flink.table.store.data.Decimal;
+import org.apache.flink.table.store.data.GenericRow;
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.data.Timestamp;
+import org.apache.flink.table.store.file.KeyValue;
+import org.apache.flink.table.store.file.mergetree.compact.MergeFunction;
+import org.apache.flink.table.store.file.mergetree.compact.RecordMergerFactory;
+import org.apache.flink.table.store.types.DataType;
+import org.apache.flink.table.store.types.DataTypes;
+import org.apache.flink.table.store.types.RowKind;
+import org.apache.flink.table.store.utils.Projection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.apache.flink.table.store.utils.RowDataUtils.createFieldGetters;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link AggregateMergeFunction} with generated record mergers. */
+public class AggregateMergeFunctionTest {
+
+    private static final List<String> NAMES =
+            Arrays.asList(
+                    "k", "f0", "f1", "f2", "f3", "f4", "f5", "f6", "f7", "f8", "f9", "f10", "f11",
+                    "f12", "f13");
+
+    private static final List<DataType> TYPES =
+            Arrays.asList(
+                    DataTypes.INT(),
+                    DataTypes.TINYINT(),
+                    DataTypes.INT(),
+                    DataTypes.BIGINT(),
+                    DataTypes.DECIMAL(10, 2),
+                    DataTypes.DOUBLE(),
+                    DataTypes.SMALLINT(),
+                    DataTypes.FLOAT(),
+                    DataTypes.DATE(),
+                    DataTypes.TIMESTAMP(3),
+                    DataTypes.STRING(),
+                    DataTypes.BOOLEAN(),
+                    DataTypes.BOOLEAN(),
+                    DataTypes.STRING(),
+                    DataTypes.BIGINT());
+
+    private static final List<String> FUNCTIONS =
+            Arrays.asList(
+                    null,
+                    "sum",
+                    "sum",
+                    "sum",
+                    "sum",
+                    "max",
+                    "max",
+                    "min",
+                    "max",
+                    "min",
+                    "listagg",
+                    "bool_and",
+                    "bool_or",
+                    "last_value",
+                    "last_non_null_value");
+
+    @Test
+    public void testGeneratedEqualsInterpreted() {
+        innerTest(null);
+    }
+
+    @Test
+    public void testGeneratedWithProjection() {
+        innerTest(new int[][] {{4}, {0}, {10}, {1}});
+    }
+
+    @Test
+    public void testFallbackToInterpreted() {
+        assertThat(
+                        new RecordMergerFactory(
+                                        Collections.singletonList(DataTypes.STRING()),
+                                        Collections.singletonList("sum"))
+                                .create(null))
+                .isNull();
+    }
+
+    private void innerTest(int[][] projection) {
+        Configuration conf = new Configuration();
+        for (int i = 1; i < NAMES.size(); i++) {
+            conf.setString("fields." + NAMES.get(i) + ".aggregate-function", FUNCTIONS.get(i));
+        }
+        List<String> names = NAMES;
+        List<DataType> types = TYPES;
+        if (projection != null) {
+            names = Projection.of(projection).project(NAMES);
+            types = Projection.of(projection).project(TYPES);
+        }
+
+        MergeFunction<KeyValue> generated =
+                AggregateMergeFunction.factory(conf, NAMES, TYPES, Collections.singletonList("k"))
+                        .create(projection);
+        MergeFunction<KeyValue> interpreted =
+                new AggregateMergeFunction(
+                        createFieldGetters(types),
+                        new AggregateMergeFunction.RowAggregator(
+                                conf, names, types, Collections.singletonList("k")));
+        InternalRow.FieldGetter[] getters = createFieldGetters(types);
+
+        Random random = new Random();
+        for (int key = 0; key < 100; key++) {
+            generated.reset();
+            interpreted.reset();
+            int numRecords = random.nextInt(5) + 1;
+            for (int i = 0; i < numRecords; i++) {
+                GenericRow value = randomRow(random, key);
+                if (projection != null) {
+                    GenericRow projected = new GenericRow(projection.length);
+                    for (int j = 0; j < projection.length; j++) {
+                        projected.setField(j, value.getField(projection[j][0]));
+                    }
+                    value = projected;
+                }
+                KeyValue kv = new KeyValue().replace(null, i, RowKind.INSERT, value);
+                generated.add(kv);
+                interpreted.add(kv);
+            }
+
+            InternalRow expected = interpreted.getResult().value();
+            InternalRow actual = generated.getResult().value();
+            assertThat(actual).isInstanceOf(BinaryRow.class);
+            for (InternalRow.FieldGetter getter : getters) {
+                assertThat(getter.getFieldOrNull(actual))
+                        .isEqualTo(getter.getFieldOrNull(expected));
+            }
+        }
+    }
+
+    private GenericRow randomRow(Random random, int key) {
+        return GenericRow.of(
+                key,
+                randomOrNull(random, (byte) random.nextInt(10)),
+                randomOrNull(random, random.nextInt()),
+                randomOrNull(random, random.nextLong()),
+                randomOrNull(random, Decimal.fromUnscaledLong(random.nextInt(100000), 10, 2)),
+                randomOrNull(random, random.nextDouble()),
+                randomOrNull(random, (short) random.nextInt()),
+                randomOrNull(random, random.nextFloat()),
+                randomOrNull(random, random.nextInt(30000)),
+                randomOrNull(random, Timestamp.fromEpochMillis(random.nextInt())),
+                randomOrNull(random, BinaryString.fromString(String.valueOf(random.nextInt(100)))),
+                randomOrNull(random, random.nextBoolean()),
+                randomOrNull(random, random.nextBoolean()),
+                randomOrNull(random, BinaryString.fromString(String.valueOf(random.nextInt(100)))),
+                randomOrNull(random, random.nextLong()));
+    }
+
+    private static Object randomOrNull(Random random, Object value) {
+        return random.nextInt(3) == 0 ? null : value;
+    }
+}
@@ -22,9 +22,12 @@ import org.apache.flink.core.fs.FileSystem;
 import org.apache.flink.core.fs.Path;
 import org.apache.flink.table.store.data.BinaryRow;
 import org.apache.flink.table.store.file.KeyValue;
+import org.apache.flink.table.store.file.Snapshot;
 import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.manifest.FileKind;
 import org.apache.flink.table.store.file.manifest.ManifestEntry;
+import org.apache.flink.table.store.file.manifest.ManifestFileMeta;
+import org.apache.flink.table.store.file.manifest.ManifestList;
 import org.apache.flink.table.store.file.utils.FileUtils;
 import org.apache.flink.table.store.file.utils.SnapshotManager;
 
@@ -34,11 +37,15 @@ import org.junit.jupiter.api.Test;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static org.apache.flink.table.store.data.BinaryRow.EMPTY_ROW;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Tests for {@link FileStoreExpireImpl}. After expiration, only useful files should be retained.
@@ -212,4 +219,93 @@ public class CleanedFileStoreExpireTest extends FileStoreExpireTestBase {
             }
         }
     }
+
+    @Test
+    public void testResumeInterruptedExpire() throws Exception {
+        List<KeyValue> allData = new ArrayList<>();
+        List<Integer> snapshotPositions = new ArrayList<>();
+        commit(10, allData, snapshotPositions);
+        int latestSnapshotId = snapshotManager.latestSnapshotId().intValue();
+
+        // mimic an expiration killed just before deleting the first snapshot file
+        Snapshot first = snapshotManager.snapshot(Snapshot.FIRST_SNAPSHOT_ID);
+        store.newExpire(1, latestSnapshotId - 1, Long.MAX_VALUE).expire();
+        FileUtils.writeFileUtf8(
+                snapshotManager.snapshotPath(Snapshot.FIRST_SNAPSHOT_ID), first.toJson());
+        snapshotManager.commitEarliestHint(Snapshot.FIRST_SNAPSHOT_ID);
+
+        long numManifestLists = 0;
+        for (int i = 1; i <= latestSnapshotId - 3; i++) {
+            numManifestLists += snapshotManager.snapshot(i).changelogManifestList() == null ? 2 : 3;
+        }
+        FileStoreExpireImpl expire = store.newExpire(1, 3, Long.MAX_VALUE);
+        expire.expire();
+
+        for (int i = 1; i <= latestSnapshotId; i++) {
+            if (i > latestSnapshotId - 3) {
+                assertThat(snapshotManager.snapshotExists(i)).isTrue();
+                assertSnapshot(i, allData, snapshotPositions);
+            } else {
+                assertThat(snapshotManager.snapshotExists(i)).isFalse();
+            }
+        }
+        assertThat(expire.metrics().expiredSnapshots()).isEqualTo(latestSnapshotId - 3);
+        assertThat(expire.metrics().deletedManifestLists()).isEqualTo(numManifestLists);
+    }
+
+    @Test
+    public void testResumeExpireInterruptedAfterBatch() throws Exception {
+        List<KeyValue> allData = new ArrayList<>();
+        List<Integer> snapshotPositions = new ArrayList<>();
+        // find the end of a first batch whose snapshot uses manifests of the batch, which are
+        // merged away by a later snapshot
+        ManifestList manifestList = store.manifestListFactory().create();
+        long batchEndId = -1;
+        for (int i = 0; i < 100 && batchEndId < 0; i++) {
+            commit(1, allData, snapshotPositions);
+            long latest = snapshotManager.latestSnapshotId();
+            Set<ManifestFileMeta> latestManifests =
+                    new HashSet<>(
+                            snapshotManager.snapshot(latest).readAllDataManifests(manifestList));
+            for (long id = Snapshot.FIRST_SNAPSHOT_ID + 1; id < latest && batchEndId < 0; id++) {
+                Set<ManifestFileMeta> mergedAway =
+                        new HashSet<>(
+                                snapshotManager.snapshot(id).readAllDataManifests(manifestList));
+                mergedAway.retainAll(
+                        snapshotManager.snapshot(id - 1).readAllDataManifests(manifestList));
+                mergedAway.removeAll(latestManifests);
+                if (!mergedAway.isEmpty()) {
+                    batchEndId = id;
+                }
+            }
+        }
+        assertThat(batchEndId).isGreaterThan(0);
+        int latestSnapshotId = snapshotManager.latestSnapshotId().intValue();
+
+        // mimic an expiration killed after its first batch, before moving the earliest hint
+        Lock failingLock =
+                new Lock() {
+                    @Override
+                    public <T> T runWithLock(Callable<T> callable) throws Exception {
+                        throw new IOException("Killed");
+                    }
+
+                    @Override
+                    public void close() {}
+                };
+        FileStoreExpireImpl expire =
+                store.newExpire(1, 1, Long.MAX_VALUE)
+                        .withExpireBatchSize((int) (batchEndId - Snapshot.FIRST_SNAPSHOT_ID));
+        expire.withLock(failingLock);
+        assertThatThrownBy(expire::expire).hasRootCauseMessage("Killed");
+
+        // snapshots after the first batch must be intact
+        assertThat(snapshotManager.earliestSnapshotId()).isEqualTo(batchEndId);
+        for (int i = (int) batchEndId; i <= latestSnapshotId; i++) {
+            assertSnapshot(i, allData, snapshotPositions);
+        }
+
+        store.newExpire(1, 1, Long.MAX_VALUE).expire();
+        assertSnapshot(latestSnapshotId, allData, snapshotPositions);
+    }
 }
@@ -26,6 +26,7 @@ import org.apache.flink.table.store.file.KeyValue;
 import org.apache.flink.table.store.file.Snapshot;
 import org.apache.flink.table.store.file.TestFileStore;
 import org.apache.flink.table.store.file.TestKeyValueGenerator;
+import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.manifest.ManifestCommittable;
 import org.apache.flink.table.store.file.mergetree.compact.DeduplicateMergeFunction;
 import org.apache.flink.table.store.file.schema.SchemaManager;
@@ -505,6 +506,114 @@ public class FileStoreCommitTest {
         }
     }
 
+    @Test
+    public void testIncrementalConflictCheck() throws Exception {
+        TestFileStore store = createStore(false, 2);
+        BinaryRow partition = gen.getPartition(gen.next());
+        List<ManifestCommittable> committables = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            store.commitDataImpl(
+                    generateDataList(10),
+                    kv -> partition,
+                    kv -> 0,
+                    false,
+                    (long) i,
+                    (commit, committable) -> committables.add(committable));
+        }
+
+        // another committer commits between the commits of this committer, the conflict check
+        // of the second commit only applies the snapshots committed after the first one
+        FileStoreCommitImpl commit = store.newCommit();
+        commit.commit(committables.get(0), Collections.emptyMap());
+        store.newCommit().commit(committables.get(1), Collections.emptyMap());
+        commit.commit(committables.get(2), Collections.emptyMap());
+
+        assertThat(store.snapshotManager().latestSnapshotId()).isEqualTo(3);
+        List<String> expected =
+                committables.stream()
+                        .flatMap(c -> c.fileCommittables().stream())
+                        .flatMap(c -> c.newFilesIncrement().newFiles().stream())
+                        .map(DataFileMeta::fileName)
+                        .collect(Collectors.toList());
+        assertThat(store.newScan().plan().files())
+                .extracting(e -> e.file().fileName())
+                .containsExactlyInAnyOrderElementsOf(expected);
+
+        // files committed by the other committer are visible to the incremental check
+        RuntimeException e =
+                assertThrows(
+                        RuntimeException.class,
+                        () -> commit.commit(committables.get(1), Collections.emptyMap()),
+                        "Expecting RuntimeException, but nothing is thrown.");
+        assertThat(e).hasMessageContaining("Give up committing.");
+    }
+
+    @Test
+    public void testIncrementalConflictCheckFallback() throws Exception {
+        TestFileStore store = createStore(false, 2);
+        BinaryRow partition = gen.getPartition(gen.next());
+        List<ManifestCommittable> committables = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            store.commitDataImpl(
+                    generateDataList(10),
+                    kv -> partition,
+                    kv -> 0,
+                    false,
+                    (long) i,
+                    (commit, committable) -> committables.add(committable));
+        }
+
+        // the check of the second commit plans snapshot 1 fully, the check of the third commit
+        // plans incrementally from it
+        FileStoreCommitImpl commit = store.newCommit();
+        store.newCommit().commit(committables.get(0), Collections.emptyMap());
+        commit.commit(committables.get(1), Collections.emptyMap());
+        store.newCommit().commit(committables.get(2), Collections.emptyMap());
+
+        // the delta of snapshot 2 is gone while planning incrementally, like an expiration in
+        // between, the check falls back to a full plan of snapshot 3 instead of failing
+        Snapshot snapshot = store.snapshotManager().snapshot(2);
+        store.manifestListFactory().create().delete(snapshot.deltaManifestList());
+        commit.commit(committables.get(3), Collections.emptyMap());
+
+        assertThat(store.snapshotManager().latestSnapshotId()).isEqualTo(4);
+    }
+
+    @Test
+    public void testGroupCommit() throws Exception {
+        TestFileStore store = createStore(false, 2);
+        List<ManifestCommittable> committables = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            store.commitDataImpl(
+                    generateDataList(10),
+                    gen::getPartition,
+                    kv -> 0,
+                    false,
+                    (long) i,
+                    (commit, committable) -> committables.add(committable));
+        }
+
+        store.newCommit().commit(committables, Collections.emptyMap());
+
+        Snapshot snapshot =
+                store.snapshotManager().snapshot(store.snapshotManager().latestSnapshotId());
+        assertThat(snapshot.id()).isEqualTo(1);
+        assertThat(snapshot.commitKind()).isEqualTo(Snapshot.CommitKind.APPEND);
+        assertThat(snapshot.commitIdentifier()).isEqualTo(2);
+        List<String> expected =
+                committables.stream()
+                        .flatMap(c -> c.fileCommittables().stream())
+                        .flatMap(c -> c.newFilesIncrement().newFiles().stream())
+                        .map(DataFileMeta::fileName)
+                        .collect(Collectors.toList());
+        assertThat(store.newScan().plan().files())
+                .extracting(e -> e.file().fileName())
+                .containsExactlyInAnyOrderElementsOf(expected);
+
+        // all committables of the group are committed
+        assertThat(store.newCommit().filterCommitted(committables)).isEmpty();
+    }
+
     private TestFileStore createStore(boolean failing) throws Exception {
         return createStore(failing, 1);
     }
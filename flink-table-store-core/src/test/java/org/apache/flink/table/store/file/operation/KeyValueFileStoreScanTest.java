@@ -18,8 +18,15 @@
 
 package org.apache.flink.table.store.file.operation;
 
+import org.apache.flink.api.common.serialization.BulkWriter;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.core.fs.FSDataOutputStream;
+import org.apache.flink.core.fs.FileSystem;
 import org.apache.flink.core.fs.Path;
 import org.apache.flink.table.store.data.BinaryRow;
+import org.apache.flink.table.store.data.BinaryString;
+import org.apache.flink.table.store.data.GenericRow;
+import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.KeyValue;
 import org.apache.flink.table.store.file.Snapshot;
 import org.apache.flink.table.store.file.TestFileStore;
@@ -31,6 +38,9 @@ import org.apache.flink.table.store.file.predicate.PredicateBuilder;
 import org.apache.flink.table.store.file.schema.SchemaManager;
 import org.apache.flink.table.store.file.schema.UpdateSchema;
 import org.apache.flink.table.store.file.utils.SnapshotManager;
+import org.apache.flink.table.store.file.utils.VersionedObjectSerializer;
+import org.apache.flink.table.store.format.FileFormat;
+import org.apache.flink.table.store.types.DataField;
 import org.apache.flink.table.store.types.IntType;
 import org.apache.flink.table.store.types.RowType;
 
@@ -210,6 +220,103 @@ public class KeyValueFileStoreScanTest {
         runTestExactMatch(scan, null, expected);
     }
 
+    @Test
+    public void testWithManifestListWithoutIndex() throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int numCommits = random.nextInt(10) + 1;
+        List<KeyValue> allData = new ArrayList<>();
+        for (int i = 0; i < numCommits; i++) {
+            List<KeyValue> data = generateData(random.nextInt(100) + 1);
+            writeData(data);
+            allData.addAll(data);
+        }
+
+        ManifestList manifestList = store.manifestListFactory().create();
+        Snapshot snapshot = snapshotManager.snapshot(snapshotManager.latestSnapshotId());
+        List<ManifestFileMeta> manifests = snapshot.readAllDataManifests(manifestList);
+
+        // manifest lists written before the index was introduced do not have the _INDEX field
+        List<ManifestFileMeta> legacyManifests =
+                manifestList.read(writeManifestListWithoutIndex(manifests));
+        assertThat(legacyManifests).isEqualTo(manifests);
+        assertThat(legacyManifests).allMatch(manifest -> manifest.index() == null);
+
+        int wantedBucket = random.nextInt(NUM_BUCKETS);
+        int wantedShopId = allData.get(random.nextInt(allData.size())).key().getInt(0);
+        FileStoreScan.Plan expected =
+                store.newScan()
+                        .withKeyFilter(
+                                new PredicateBuilder(RowType.of(new IntType(false)))
+                                        .equal(0, wantedShopId))
+                        .withManifestList(manifests)
+                        .withBucket(wantedBucket)
+                        .plan();
+        FileStoreScan.Plan actual =
+                store.newScan()
+                        .withKeyFilter(
+                                new PredicateBuilder(RowType.of(new IntType(false)))
+                                        .equal(0, wantedShopId))
+                        .withManifestList(legacyManifests)
+                        .withBucket(wantedBucket)
+                        .plan();
+        assertThat(actual.files()).containsExactlyInAnyOrderElementsOf(expected.files());
+
+        // without the index no manifest file is skipped
+        Map<BinaryRow, BinaryRow> expectedKvs =
+                store.toKvMap(
+                        allData.stream()
+                                .filter(kv -> getBucket(kv) == wantedBucket)
+                                .collect(Collectors.toList()));
+        runTestExactMatch(
+                store.newScan().withManifestList(legacyManifests).withBucket(wantedBucket),
+                null,
+                expectedKvs);
+    }
+
+    @Test
+    public void testWithPreviousPlan() throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        writeData(generateData(random.nextInt(100) + 1));
+        FileStoreScan.Plan previousPlan = store.newScan().plan();
+
+        int numCommits = random.nextInt(10) + 1;
+        for (int i = 0; i < numCommits; i++) {
+            writeData(generateData(random.nextInt(100) + 1));
+        }
+        long latestSnapshotId = snapshotManager.latestSnapshotId();
+
+        FileStoreScan.Plan expected = store.newScan().withSnapshot(latestSnapshotId).plan();
+        FileStoreScan.Plan actual =
+                store.newScan()
+                        .withSnapshot(latestSnapshotId)
+                        .withPreviousPlan(previousPlan)
+                        .plan();
+        assertThat(actual.snapshotId()).isEqualTo(latestSnapshotId);
+        assertThat(actual.files()).containsExactlyInAnyOrderElementsOf(expected.files());
+
+        // planning on the same snapshot returns the previous files
+        actual = store.newScan().withPreviousPlan(expected).plan();
+        assertThat(actual.files()).containsExactlyInAnyOrderElementsOf(expected.files());
+    }
+
+    @Test
+    public void testWithPreviousPlanAndBucket() throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int wantedBucket = random.nextInt(NUM_BUCKETS);
+        writeData(generateData(random.nextInt(100) + 1));
+        FileStoreScan.Plan previousPlan = store.newScan().withBucket(wantedBucket).plan();
+
+        int numCommits = random.nextInt(10) + 1;
+        for (int i = 0; i < numCommits; i++) {
+            writeData(generateData(random.nextInt(100) + 1));
+        }
+
+        FileStoreScan.Plan expected = store.newScan().withBucket(wantedBucket).plan();
+        FileStoreScan.Plan actual =
+                store.newScan().withBucket(wantedBucket).withPreviousPlan(previousPlan).plan();
+        assertThat(actual.files()).containsExactlyInAnyOrderElementsOf(expected.files());
+    }
+
     private void runTestExactMatch(
             FileStoreScan scan, Long expectedSnapshotId, Map<BinaryRow, BinaryRow> expected)
             throws Exception {
@@ -253,4 +360,33 @@ public class KeyValueFileStoreScanTest {
     private int getBucket(KeyValue kv) {
         return (kv.key().hashCode() % NUM_BUCKETS + NUM_BUCKETS) % NUM_BUCKETS;
     }
+
+    private String writeManifestListWithoutIndex(List<ManifestFileMeta> manifests)
+            throws Exception {
+        List<DataField> legacyFields = ManifestFileMeta.schema().getFields().subList(0, 6);
+        RowType legacyType = VersionedObjectSerializer.versionType(new RowType(legacyFields));
+        BulkWriter.Factory<InternalRow> writerFactory =
+                FileFormat.fromIdentifier("avro", new Configuration())
+                        .createWriterFactory(legacyType);
+
+        Path path = store.pathFactory().newManifestList();
+        try (FSDataOutputStream out =
+                path.getFileSystem().create(path, FileSystem.WriteMode.NO_OVERWRITE)) {
+            BulkWriter<InternalRow> writer = writerFactory.create(out);
+            for (ManifestFileMeta manifest : manifests) {
+                writer.addElement(
+                        GenericRow.of(
+                                2,
+                                BinaryString.fromString(manifest.fileName()),
+                                manifest.fileSize(),
+                                manifest.numAddedFiles(),
+                                manifest.numDeletedFiles(),
+                                manifest.partitionStats().toRowData(),
+                                manifest.schemaId()));
+            }
+            writer.flush();
+            writer.finish();
+        }
+        return path.getName();
+    }
 }
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.predicate;
+
+import org.apache.flink.table.store.data.BinaryString;
+import org.apache.flink.table.store.data.Timestamp;
+import org.apache.flink.table.store.data.columnar.ColumnVector;
+import org.apache.flink.table.store.data.columnar.ColumnarRow;
+import org.apache.flink.table.store.data.columnar.VectorizedColumnBatch;
+import org.apache.flink.table.store.data.columnar.heap.HeapBytesVector;
+import org.apache.flink.table.store.data.columnar.heap.HeapDoubleVector;
+import org.apache.flink.table.store.data.columnar.heap.HeapIntVector;
+import org.apache.flink.table.store.data.columnar.heap.HeapLongVector;
+import org.apache.flink.table.store.data.columnar.heap.HeapTimestampVector;
+import org.apache.flink.table.store.types.BigIntType;
+import org.apache.flink.table.store.types.DoubleType;
+import org.apache.flink.table.store.types.IntType;
+import org.apache.flink.table.store.types.RowType;
+import org.apache.flink.table.store.types.TimestampType;
+import org.apache.flink.table.store.types.VarCharType;
+import org.apache.flink.table.store.utils.RowDataToObjectArrayConverter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link VectorizedPredicateFilter}. */
+public class VectorizedPredicateFilterTest {
+
+    private static final RowType ROW_TYPE =
+            RowType.of(
+                    new IntType(),
+                    new BigIntType(),
+                    new VarCharType(10),
+                    new DoubleType(),
+                    new TimestampType(3));
+
+    private static final int NUM_ROWS = 1000;
+
+    private final PredicateBuilder builder = new PredicateBuilder(ROW_TYPE);
+
+    private VectorizedColumnBatch batch;
+
+    @BeforeEach
+    public void before() {
+        Random random = new Random();
+        HeapIntVector ints = new HeapIntVector(NUM_ROWS);
+        HeapLongVector longs = new HeapLongVector(NUM_ROWS);
+        HeapBytesVector strings = new HeapBytesVector(NUM_ROWS);
+        HeapDoubleVector doubles = new HeapDoubleVector(NUM_ROWS);
+        HeapTimestampVector timestamps = new HeapTimestampVector(NUM_ROWS);
+        for (int i = 0; i < NUM_ROWS; i++) {
+            ints.vector[i] = random.nextInt(10);
+            longs.vector[i] = random.nextInt(10);
+            byte[] bytes = ("s" + random.nextInt(20)).getBytes(StandardCharsets.UTF_8);
+            strings.appendBytes(i, bytes, 0, bytes.length);
+            doubles.vector[i] = random.nextInt(10) / 2.0;
+            timestamps.setTimestamp(i, Timestamp.fromEpochMillis(random.nextInt(10)));
+        }
+        ColumnVector[] vectors = new ColumnVector[] {ints, longs, strings, doubles, timestamps};
+        for (int i = 0; i < NUM_ROWS; i++) {
+            if (random.nextInt(10) == 0) {
+                ints.setNullAt(i);
+            }
+            if (random.nextInt(10) == 0) {
+                longs.setNullAt(i);
+            }
+            if (random.nextInt(10) == 0) {
+                strings.setNullAt(i);
+            }
+            if (random.nextInt(10) == 0) {
+                doubles.setNullAt(i);
+            }
+            if (random.nextInt(10) == 0) {
+                timestamps.setNullAt(i);
+            }
+        }
+        batch = new VectorizedColumnBatch(vectors);
+        batch.setNumRows(NUM_ROWS);
+    }
+
+    @Test
+    public void testComparisons() {
+        Object[] literals =
+                new Object[] {
+                    5, 5L, BinaryString.fromString("s15"), 2.5, Timestamp.fromEpochMillis(5)
+                };
+        for (int i = 0; i < literals.length; i++) {
+            assertFilter(builder.equal(i, literals[i]));
+            assertFilter(builder.notEqual(i, literals[i]));
+            assertFilter(builder.lessThan(i, literals[i]));
+            assertFilter(builder.lessOrEqual(i, literals[i]));
+            assertFilter(builder.greaterThan(i, literals[i]));
+            assertFilter(builder.greaterOrEqual(i, literals[i]));
+            assertFilter(builder.equal(i, null));
+            assertFilter(builder.isNull(i));
+            assertFilter(builder.isNotNull(i));
+        }
+        assertFilter(builder.startsWith(2, BinaryString.fromString("s1")));
+    }
+
+    @Test
+    public void testInAndNotIn() {
+        assertFilter(builder.in(0, Arrays.asList(1, 3, 5)));
+        assertFilter(builder.in(0, Arrays.asList(1, null, 5)));
+        assertFilter(builder.notIn(1, Arrays.asList(1L, 3L, 5L)));
+        assertFilter(builder.notIn(1, Arrays.asList(1L, null)));
+        assertFilter(
+                builder.in(
+                        2,
+                        Arrays.asList(
+                                BinaryString.fromString("s1"), BinaryString.fromString("s2"))));
+
+        // more literals than the threshold of converting to or-ed equals
+        List<Object> literals = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            literals.add(i * 2);
+        }
+        assertFilter(builder.in(0, literals));
+        assertFilter(builder.notIn(0, literals));
+    }
+
+    @Test
+    public void testCompound() {
+        assertFilter(
+                PredicateBuilder.and(
+                        builder.greaterThan(0, 3),
+                        builder.lessOrEqual(1, 7L),
+                        builder.isNotNull(2)));
+        assertFilter(
+                PredicateBuilder.or(
+                        builder.equal(3, 1.5),
+                        builder.lessThan(4, Timestamp.fromEpochMillis(3)),
+                        PredicateBuilder.and(builder.isNull(0), builder.isNull(1))));
+    }
+
+    @Test
+    public void testNullVector() {
+        // like a column added by schema evolution
+        batch = batch.project(new int[] {0, -1, 2, 3, 4});
+        assertFilter(builder.equal(1, 5L));
+        assertFilter(builder.isNull(1));
+        assertFilter(PredicateBuilder.or(builder.equal(0, 5), builder.greaterThan(1, 5L)));
+    }
+
+    private void assertFilter(Predicate predicate) {
+        boolean[] selection = new boolean[NUM_ROWS];
+        int count = new VectorizedPredicateFilter(predicate).filter(batch, selection);
+
+        RowDataToObjectArrayConverter converter = new RowDataToObjectArrayConverter(ROW_TYPE);
+        boolean[] expected = new boolean[NUM_ROWS];
+        int expectedCount = 0;
+        for (int i = 0; i < NUM_ROWS; i++) {
+            expected[i] = predicate.test(converter.convert(new ColumnarRow(batch, i)));
+            expectedCount += expected[i] ? 1 : 0;
+        }
+        assertThat(selection).as(predicate.toString()).isEqualTo(expected);
+        assertThat(count).isEqualTo(expectedCount);
+    }
+}
@@ -141,6 +141,10 @@ public class SchemaManagerTest {
         Optional<TableSchema> latest = retryArtificialException(() -> manager.latest());
         assertThat(latest.isPresent()).isTrue();
         assertThat(latest.get().options()).isEqualTo(newOptions);
+        assertThat(retryArtificialException(() -> manager.schemaExists(latest.get().id())))
+                .isTrue();
+        assertThat(retryArtificialException(() -> manager.schemaExists(latest.get().id() + 1)))
+                .isFalse();
     }
 
     @Test
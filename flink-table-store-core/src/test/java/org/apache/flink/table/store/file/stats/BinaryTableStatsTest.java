@@ -79,6 +79,21 @@ public class BinaryTableStatsTest {
                 new BinaryTableStats(minRowData, maxRowData, nullCounts, fieldStatsArray1);
         assertThat(tableStats3).isEqualTo(tableStats1).isEqualTo(tableStats2);
         assertThat(tableStats3.fields(serializer)).isEqualTo(fieldStatsArray2);
+
+        // an equal conversion reuses the converted array
+        FieldStatsArraySerializer sameSerializer =
+                new FieldStatsArraySerializer(
+                        RowType.of(
+                                new IntType(),
+                                new IntType(),
+                                new IntType(),
+                                new IntType(),
+                                new IntType(),
+                                new IntType(),
+                                new IntType(),
+                                new IntType(),
+                                new IntType()));
+        assertThat(tableStats1.fields(sameSerializer, 100L)).isSameAs(fieldStatsArray1);
     }
 
     private BinaryRow binaryRow(List<Integer> valueList) {
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.utils;
+
+import org.apache.flink.table.store.codegen.CodeGenUtils;
+import org.apache.flink.table.store.codegen.RecordComparator;
+import org.apache.flink.table.store.data.BinaryString;
+import org.apache.flink.table.store.data.GenericRow;
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.utils.NormalizedKeyComparator.NormalizedKey;
+import org.apache.flink.table.store.types.BigIntType;
+import org.apache.flink.table.store.types.IntType;
+import org.apache.flink.table.store.types.RowType;
+import org.apache.flink.table.store.types.VarCharType;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link NormalizedKeyComparator}. */
+public class NormalizedKeyComparatorTest {
+
+    @Test
+    public void testIntKey() {
+        RowType keyType = RowType.of(new IntType(false));
+        Random random = new Random();
+        innerTest(keyType, () -> GenericRow.of(random.nextInt(200) - 100));
+    }
+
+    @Test
+    public void testCompositeKey() {
+        // normalized keys of these fields do not fully determine the order
+        RowType keyType =
+                RowType.of(new BigIntType(false), new VarCharType(false, 10), new IntType(false));
+        Random random = new Random();
+        innerTest(
+                keyType,
+                () ->
+                        GenericRow.of(
+                                (long) random.nextInt(5),
+                                BinaryString.fromString(randomString(random)),
+                                random.nextInt(5)));
+    }
+
+    @Test
+    public void testWithoutNormalizedKey() {
+        RecordComparator comparator = (o1, o2) -> Integer.compare(o1.getInt(0), o2.getInt(0));
+        NormalizedKeyComparator keyComparator = NormalizedKeyComparator.of(comparator);
+        assertThat(NormalizedKeyComparator.of(keyComparator)).isSameAs(keyComparator);
+
+        NormalizedKey key1 = keyComparator.newKey(GenericRow.of(1));
+        NormalizedKey key2 = keyComparator.newKey(GenericRow.of(2));
+        assertThat(keyComparator.compare(key1, key2)).isLessThan(0);
+        keyComparator.replace(key1, GenericRow.of(3));
+        assertThat(keyComparator.compare(key1, key2)).isGreaterThan(0);
+    }
+
+    @Test
+    public void testKeyWithLessFields() {
+        // keys of files written before a field was added to the key type
+        RowType keyType = RowType.of(new IntType(), new BigIntType(), new BigIntType());
+        NormalizedKeyComparator keyComparator = new KeyComparatorSupplier(keyType).get();
+
+        NormalizedKey oldKey = keyComparator.newKey(GenericRow.of(1, 1L));
+        NormalizedKey newKey = keyComparator.newKey(GenericRow.of(3, 3L, 3L));
+        assertThat(keyComparator.compare(oldKey, newKey)).isLessThan(0);
+        assertThat(keyComparator.compare(newKey, oldKey)).isGreaterThan(0);
+    }
+
+    private void innerTest(RowType keyType, Supplier<InternalRow> keySupplier) {
+        NormalizedKeyComparator keyComparator = new KeyComparatorSupplier(keyType).get();
+        RecordComparator expectedComparator =
+                CodeGenUtils.newRecordComparator(keyType.getFieldTypes(), "ExpectedComparator");
+
+        List<InternalRow> keys = new ArrayList<>();
+        List<NormalizedKey> normalizedKeys = new ArrayList<>();
+        NormalizedKey reused = keyComparator.newKey();
+        for (int i = 0; i < 100; i++) {
+            InternalRow key = keySupplier.get();
+            keys.add(key);
+            normalizedKeys.add(keyComparator.newKey(key));
+        }
+
+        for (int i = 0; i < keys.size(); i++) {
+            keyComparator.replace(reused, keys.get(i));
+            for (int j = 0; j < keys.size(); j++) {
+                int expected = Integer.signum(expectedComparator.compare(keys.get(i), keys.get(j)));
+                assertThat(Integer.signum(keyComparator.compare(keys.get(i), keys.get(j))))
+                        .isEqualTo(expected);
+                assertThat(
+                                Integer.signum(
+                                        keyComparator.compare(
+                                                normalizedKeys.get(i), normalizedKeys.get(j))))
+                        .isEqualTo(expected);
+                assertThat(Integer.signum(keyComparator.compare(reused, normalizedKeys.get(j))))
+                        .isEqualTo(expected);
+            }
+        }
+    }
+
+    private static String randomString(Random random) {
+        // share long prefixes to exercise the fallback comparison
+        StringBuilder builder = new StringBuilder("prefix");
+        int length = random.nextInt(4);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + random.nextInt(3)));
+        }
+        return builder.toString();
+    }
+}
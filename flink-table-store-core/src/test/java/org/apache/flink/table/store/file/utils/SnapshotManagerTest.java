@@ -19,11 +19,21 @@
 package org.apache.flink.table.store.file.utils;
 
 import org.apache.flink.core.fs.Path;
+import org.apache.flink.table.store.file.Snapshot;
 
+import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /** Tests for {@link SnapshotManager}. */
 public class SnapshotManagerTest {
@@ -38,4 +48,164 @@ public class SnapshotManagerTest {
                     .isEqualTo(new Path(tempDir.toString() + "/snapshot/snapshot-" + i));
         }
     }
+
+    @RepeatedTest(10)
+    public void testFindByTimeMills() throws IOException {
+        SnapshotManager snapshotManager = new SnapshotManager(new Path(tempDir.toString()));
+        Random random = new Random();
+        int numSnapshots = random.nextInt(20) + 1;
+        int numExpired = random.nextInt(numSnapshots);
+        List<Long> timeMills = new ArrayList<>();
+        long time = 1000;
+        for (int i = 0; i < numSnapshots; i++) {
+            // commit times may be equal
+            time += random.nextInt(3);
+            timeMills.add(time);
+            writeSnapshot(snapshotManager, i + 1, time);
+        }
+        for (int i = 0; i < numExpired; i++) {
+            snapshotManager
+                    .snapshotPath(i + 1)
+                    .getFileSystem()
+                    .delete(snapshotManager.snapshotPath(i + 1), false);
+        }
+        snapshotManager.commitEarliestHint(numExpired + 1);
+
+        for (long t = 998; t <= time + 2; t++) {
+            Long expectedEarlier = (long) numExpired;
+            Long expectedEarlierOrEqual = null;
+            for (int i = numExpired; i < numSnapshots; i++) {
+                if (timeMills.get(i) < t) {
+                    expectedEarlier = (long) i + 1;
+                }
+                if (timeMills.get(i) <= t) {
+                    expectedEarlierOrEqual = (long) i + 1;
+                }
+            }
+            assertThat(snapshotManager.earlierThanTimeMills(t)).isEqualTo(expectedEarlier);
+            assertThat(snapshotManager.earlierOrEqualTimeMills(t))
+                    .isEqualTo(expectedEarlierOrEqual);
+        }
+    }
+
+    @Test
+    public void testLatestSnapshotIdBehindHint() throws IOException {
+        SnapshotManager snapshotManager = new SnapshotManager(new Path(tempDir.toString()));
+        assertThat(snapshotManager.latestSnapshotId()).isNull();
+
+        for (int i = 1; i <= 10; i++) {
+            writeSnapshot(snapshotManager, i, i);
+        }
+        snapshotManager.commitLatestHint(2);
+        assertThat(snapshotManager.latestSnapshotId()).isEqualTo(10);
+        assertThat(snapshotManager.latestSnapshotId()).isEqualTo(10);
+
+        writeSnapshot(snapshotManager, 11, 11);
+        assertThat(snapshotManager.latestSnapshotId()).isEqualTo(11);
+        assertThat(new SnapshotManager(new Path(tempDir.toString())).latestSnapshotId())
+                .isEqualTo(11);
+    }
+
+    @Test
+    public void testExpiredSnapshotNotReturnedFromCache() throws IOException {
+        SnapshotManager snapshotManager = new SnapshotManager(new Path(tempDir.toString()));
+        writeSnapshot(snapshotManager, 1, 1);
+        assertThat(snapshotManager.snapshot(1).id()).isEqualTo(1);
+
+        // expired by another manager
+        SnapshotManager other = new SnapshotManager(new Path(tempDir.toString()));
+        other.snapshotPath(1).getFileSystem().delete(other.snapshotPath(1), false);
+
+        assertThatThrownBy(() -> snapshotManager.snapshot(1))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Fails to read snapshot");
+    }
+
+    @Test
+    public void testCachedSnapshotNotProbedAfterEarliest() throws IOException {
+        AtomicInteger existsCount = new AtomicInteger();
+        SnapshotManager snapshotManager =
+                new SnapshotManager(new Path(tempDir.toString())) {
+                    @Override
+                    public boolean snapshotExists(long snapshotId) {
+                        existsCount.incrementAndGet();
+                        return super.snapshotExists(snapshotId);
+                    }
+                };
+        for (int i = 1; i <= 3; i++) {
+            writeSnapshot(snapshotManager, i, i);
+        }
+        snapshotManager.commitEarliestHint(1);
+        assertThat(snapshotManager.earliestSnapshotId()).isEqualTo(1);
+        for (int i = 1; i <= 3; i++) {
+            assertThat(snapshotManager.snapshot(i).id()).isEqualTo(i);
+        }
+
+        existsCount.set(0);
+        for (int i = 1; i <= 3; i++) {
+            assertThat(snapshotManager.snapshot(i).id()).isEqualTo(i);
+        }
+        assertThat(existsCount.get()).isEqualTo(0);
+
+        // expired by this manager
+        snapshotManager
+                .snapshotPath(1)
+                .getFileSystem()
+                .delete(snapshotManager.snapshotPath(1), false);
+        snapshotManager.invalidateSnapshot(1);
+        assertThatThrownBy(() -> snapshotManager.snapshot(1))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Fails to read snapshot");
+
+        // expired by another manager, found by reading the earliest snapshot id again
+        SnapshotManager other = new SnapshotManager(new Path(tempDir.toString()));
+        other.snapshotPath(2).getFileSystem().delete(other.snapshotPath(2), false);
+        other.commitEarliestHint(3);
+        assertThat(snapshotManager.earliestSnapshotId()).isEqualTo(3);
+        assertThatThrownBy(() -> snapshotManager.snapshot(2))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Fails to read snapshot");
+    }
+
+    @Test
+    public void testCachedSnapshotCheckedAfterEarliestChanged() throws IOException {
+        SnapshotManager snapshotManager = new SnapshotManager(new Path(tempDir.toString()));
+        for (int i = 1; i <= 3; i++) {
+            writeSnapshot(snapshotManager, i, i);
+        }
+        snapshotManager.commitEarliestHint(1);
+        assertThat(snapshotManager.earliestSnapshotId()).isEqualTo(1);
+        for (int i = 1; i <= 3; i++) {
+            assertThat(snapshotManager.snapshot(i).id()).isEqualTo(i);
+        }
+
+        // snapshot 3 is not earlier than the new earliest snapshot, but it is checked again
+        // because it has been cached before the earliest snapshot changed
+        SnapshotManager other = new SnapshotManager(new Path(tempDir.toString()));
+        other.snapshotPath(1).getFileSystem().delete(other.snapshotPath(1), false);
+        other.snapshotPath(3).getFileSystem().delete(other.snapshotPath(3), false);
+        other.commitEarliestHint(2);
+        assertThat(snapshotManager.earliestSnapshotId()).isEqualTo(2);
+        assertThat(snapshotManager.snapshot(2).id()).isEqualTo(2);
+        assertThatThrownBy(() -> snapshotManager.snapshot(3))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Fails to read snapshot");
+    }
+
+    private void writeSnapshot(SnapshotManager snapshotManager, long id, long timeMillis)
+            throws IOException {
+        Snapshot snapshot =
+                new Snapshot(
+                        id,
+                        0,
+                        null,
+                        null,
+                        null,
+                        "user",
+                        id,
+                        Snapshot.CommitKind.APPEND,
+                        timeMillis,
+                        Collections.emptyMap());
+        FileUtils.writeFileUtf8(snapshotManager.snapshotPath(id), snapshot.toJson());
+    }
 }
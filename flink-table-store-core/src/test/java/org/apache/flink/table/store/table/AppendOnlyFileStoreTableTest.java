@@ -19,10 +19,14 @@
 package org.apache.flink.table.store.table;
 
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.metrics.Gauge;
 import org.apache.flink.table.store.CoreOptions;
 import org.apache.flink.table.store.data.BinaryRow;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.data.RowDataSerializer;
+import org.apache.flink.table.store.data.columnar.ColumnarRow;
+import org.apache.flink.table.store.data.columnar.VectorizedColumnBatch;
+import org.apache.flink.table.store.data.columnar.VectorizedRecordIterator;
 import org.apache.flink.table.store.file.WriteMode;
 import org.apache.flink.table.store.file.operation.ScanKind;
 import org.apache.flink.table.store.file.predicate.Predicate;
@@ -30,6 +34,7 @@ import org.apache.flink.table.store.file.predicate.PredicateBuilder;
 import org.apache.flink.table.store.file.schema.SchemaManager;
 import org.apache.flink.table.store.file.schema.TableSchema;
 import org.apache.flink.table.store.file.schema.UpdateSchema;
+import org.apache.flink.table.store.file.utils.RecordReader;
 import org.apache.flink.table.store.table.sink.TableCommit;
 import org.apache.flink.table.store.table.sink.TableWrite;
 import org.apache.flink.table.store.table.source.AbstractDataTableScan;
@@ -92,6 +97,88 @@ public class AppendOnlyFileStoreTableTest extends FileStoreTableTestBase {
                 .hasSameElementsAs(Arrays.asList("200|20", "201|21", "202|22", "201|21"));
     }
 
+    @Test
+    public void testBatchReadVectorized() throws Exception {
+        FileStoreTable table =
+                createFileStoreTable(conf -> conf.set(CoreOptions.FILE_FORMAT, "orc"));
+        TableWrite write = table.newWrite(commitUser);
+        TableCommit commit = table.newCommit(commitUser);
+        write.write(rowData(1, 10, 100L));
+        write.write(rowData(1, 11, 101L));
+        commit.commit(0, write.prepareCommit(true, 0));
+        write.write(rowData(1, 12, 102L));
+        commit.commit(1, write.prepareCommit(true, 1));
+        write.close();
+
+        List<String> result = new ArrayList<>();
+        RecordReader<InternalRow> reader =
+                table.newRead()
+                        .withProjection(PROJECTION)
+                        .createReader(table.newScan().plan().splits());
+        RecordReader.RecordIterator<InternalRow> iterator;
+        while ((iterator = reader.readBatch()) != null) {
+            assertThat(iterator).isInstanceOf(VectorizedRecordIterator.class);
+            VectorizedColumnBatch batch = ((VectorizedRecordIterator) iterator).batch();
+            assertThat(iterator.next()).isNull();
+            for (int i = 0; i < batch.getNumRows(); i++) {
+                result.add(BATCH_PROJECTED_ROW_TO_STRING.apply(new ColumnarRow(batch, i)));
+            }
+            iterator.releaseBatch();
+        }
+        reader.close();
+        assertThat(result).containsExactlyInAnyOrder("100|10", "101|11", "102|12");
+    }
+
+    @Test
+    public void testReadFormatMetrics() throws Exception {
+        FileStoreTable table =
+                createFileStoreTable(conf -> conf.set(CoreOptions.FILE_FORMAT, "orc"));
+        TableWrite write = table.newWrite(commitUser);
+        TableCommit commit = table.newCommit(commitUser);
+        write.write(rowData(1, 10, 100L));
+        write.write(rowData(1, 11, 101L));
+        commit.commit(0, write.prepareCommit(true, 0));
+        write.close();
+
+        Map<String, Gauge<?>> gauges = new HashMap<>();
+        TableRead read = table.newRead().withMetricGroup(gaugeCollector(gauges));
+        assertThat(getResult(read, table.newScan().plan().splits(), BATCH_ROW_TO_STRING))
+                .hasSize(2);
+        assertThat((Long) gauges.get("fetchCount").getValue()).isGreaterThan(0);
+        assertThat(gauges)
+                .containsKeys("fetchedBytes", "fetchMillis", "stallMillis", "decodeMillis");
+    }
+
+    @Test
+    public void testBatchReadVectorizedFilter() throws Exception {
+        FileStoreTable table =
+                createFileStoreTable(
+                        conf -> {
+                            conf.set(CoreOptions.FILE_FORMAT, "orc");
+                            conf.set(CoreOptions.SCAN_VECTORIZED_FILTER_ENABLED, true);
+                        });
+        TableWrite write = table.newWrite(commitUser);
+        TableCommit commit = table.newCommit(commitUser);
+        write.write(rowData(1, 10, 100L));
+        write.write(rowData(1, 11, 101L));
+        write.write(rowData(1, 12, 102L));
+        commit.commit(0, write.prepareCommit(true, 0));
+        write.close();
+
+        PredicateBuilder builder = new PredicateBuilder(table.schema().logicalRowType());
+        Predicate predicate =
+                PredicateBuilder.and(builder.greaterThan(2, 100L), builder.notEqual(1, 12));
+        List<Split> splits = table.newScan().plan().splits();
+        TableRead read = table.newRead().withProjection(PROJECTION).withFilter(predicate);
+        assertThat(getResult(read, splits, binaryRow(1), 0, BATCH_PROJECTED_ROW_TO_STRING))
+                .containsExactly("101|11");
+
+        // without projection
+        read = table.newRead().withFilter(predicate);
+        assertThat(getResult(read, splits, binaryRow(1), 0, BATCH_ROW_TO_STRING))
+                .containsExactly("1|11|101|binary|varbinary|mapKey:mapVal|multiset");
+    }
+
     @Test
     public void testBatchFilter() throws Exception {
         writeData();
@@ -22,8 +22,11 @@ import org.apache.flink.configuration.Configuration;
 import org.apache.flink.table.store.CoreOptions;
 import org.apache.flink.table.store.CoreOptions.ChangelogProducer;
 import org.apache.flink.table.store.data.BinaryString;
+import org.apache.flink.table.store.data.GenericRow;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.WriteMode;
+import org.apache.flink.table.store.file.io.DataFileMeta;
+import org.apache.flink.table.store.file.io.DataFilePathFactory;
 import org.apache.flink.table.store.file.operation.ScanKind;
 import org.apache.flink.table.store.file.predicate.Predicate;
 import org.apache.flink.table.store.file.predicate.PredicateBuilder;
@@ -36,6 +39,7 @@ import org.apache.flink.table.store.table.sink.TableWrite;
 import org.apache.flink.table.store.table.source.DataSplit;
 import org.apache.flink.table.store.table.source.DataTableScan;
 import org.apache.flink.table.store.table.source.Split;
+import org.apache.flink.table.store.table.source.TableLookup;
 import org.apache.flink.table.store.table.source.TableRead;
 import org.apache.flink.table.store.table.source.TableScan;
 import org.apache.flink.table.store.table.source.snapshot.ContinuousDataFileSnapshotEnumerator;
@@ -527,6 +531,105 @@ public class ChangelogWithKeyFileStoreTableTest extends FileStoreTableTestBase {
                                 "1|60|500|binary|varbinary|mapKey:mapVal|multiset"));
     }
 
+    @Test
+    public void testReadFilterWithBloomFilter() throws Exception {
+        FileStoreTable table =
+                createFileStoreTable(conf -> conf.set(CoreOptions.FILE_BLOOM_FILTER_ENABLED, true));
+
+        TableWrite write = table.newWrite(commitUser);
+        TableCommit commit = table.newCommit(commitUser);
+
+        write.write(rowData(1, 10, 100L));
+        write.write(rowData(1, 20, 200L));
+        commit.commit(0, write.prepareCommit(true, 0));
+
+        write.write(rowData(1, 10, 10L));
+        write.write(rowData(1, 60, 600L));
+        commit.commit(1, write.prepareCommit(true, 1));
+        write.close();
+
+        List<Split> splits = table.newScan().plan().splits();
+        for (Split split : splits) {
+            for (DataFileMeta file : ((DataSplit) split).files()) {
+                assertThat(file.extraFiles())
+                        .containsExactly(DataFilePathFactory.bloomFilterFileName(file.fileName()));
+            }
+        }
+
+        // the second file covers key 20 by its key range, but is skipped by its bloom filter
+        PredicateBuilder builder = new PredicateBuilder(ROW_TYPE);
+        TableRead read = table.newRead().withFilter(builder.equal(1, 20));
+        List<String> result = getResult(read, splits, binaryRow(1), 0, BATCH_ROW_TO_STRING);
+        assertThat(result).contains("1|20|200|binary|varbinary|mapKey:mapVal|multiset");
+        assertThat(result).doesNotContain("1|60|600|binary|varbinary|mapKey:mapVal|multiset");
+        // the second read uses the cached bloom filters
+        assertThat(getResult(read, splits, binaryRow(1), 0, BATCH_ROW_TO_STRING))
+                .containsExactlyInAnyOrderElementsOf(result);
+
+        read = table.newRead().withFilter(builder.equal(1, 60));
+        assertThat(getResult(read, splits, binaryRow(1), 0, BATCH_ROW_TO_STRING))
+                .containsExactlyInAnyOrder(
+                        "1|10|10|binary|varbinary|mapKey:mapVal|multiset",
+                        "1|60|600|binary|varbinary|mapKey:mapVal|multiset");
+    }
+
+    @Test
+    public void testLookup() throws Exception {
+        ChangelogWithKeyFileStoreTable table =
+                (ChangelogWithKeyFileStoreTable)
+                        createFileStoreTable(
+                                conf -> conf.set(CoreOptions.FILE_BLOOM_FILTER_ENABLED, true));
+        TableLookup lookup = table.newLookup();
+        assertThat(lookup.lookup(rowData(1, 10, 0L))).isNull();
+
+        TableWrite write = table.newWrite(commitUser);
+        TableCommit commit = table.newCommit(commitUser);
+        write.write(rowData(1, 10, 100L));
+        write.write(rowData(1, 20, 200L));
+        write.write(rowData(2, 10, 300L));
+        commit.commit(0, write.prepareCommit(true, 0));
+
+        write.write(rowData(1, 10, 101L));
+        write.write(rowDataWithKind(RowKind.DELETE, 1, 20, 200L));
+        commit.commit(1, write.prepareCommit(true, 1));
+        write.close();
+
+        // the lookup still sees the snapshot it was created with
+        assertThat(lookup.lookup(rowData(1, 10, 0L))).isNull();
+        lookup.refresh();
+
+        assertThat(BATCH_ROW_TO_STRING.apply(lookup.lookup(rowData(1, 10, 0L))))
+                .isEqualTo("1|10|101|binary|varbinary|mapKey:mapVal|multiset");
+        assertThat(BATCH_ROW_TO_STRING.apply(lookup.lookup(rowData(2, 10, 0L))))
+                .isEqualTo("2|10|300|binary|varbinary|mapKey:mapVal|multiset");
+        assertThat(lookup.lookup(rowData(1, 20, 0L))).isNull();
+        assertThat(lookup.lookup(rowData(1, 30, 0L))).isNull();
+        assertThat(lookup.lookup(rowData(3, 10, 0L))).isNull();
+    }
+
+    @Test
+    public void testLookupPartialUpdate() throws Exception {
+        ChangelogWithKeyFileStoreTable table =
+                (ChangelogWithKeyFileStoreTable)
+                        createFileStoreTable(
+                                conf ->
+                                        conf.set(
+                                                CoreOptions.MERGE_ENGINE,
+                                                CoreOptions.MergeEngine.PARTIAL_UPDATE));
+        TableWrite write = table.newWrite(commitUser);
+        TableCommit commit = table.newCommit(commitUser);
+        write.write(rowData(1, 10, 100L));
+        commit.commit(0, write.prepareCommit(true, 0));
+        write.write(GenericRow.of(1, 10, null, null, null, null, null));
+        commit.commit(1, write.prepareCommit(true, 1));
+        write.write(GenericRow.of(1, 10, 101L, null, null, null, null));
+        commit.commit(2, write.prepareCommit(true, 2));
+        write.close();
+
+        assertThat(BATCH_ROW_TO_STRING.apply(table.newLookup().lookup(rowData(1, 10, 0L))))
+                .isEqualTo("1|10|101|binary|varbinary|mapKey:mapVal|multiset");
+    }
+
     @Test
     public void testPartialUpdateIgnoreDelete() throws Exception {
         FileStoreTable table =
@@ -19,8 +19,12 @@
 package org.apache.flink.table.store.table;
 
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.MemorySize;
 import org.apache.flink.core.fs.FileSystem;
 import org.apache.flink.core.fs.Path;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
 import org.apache.flink.table.store.data.BinaryRow;
 import org.apache.flink.table.store.data.BinaryRowWriter;
 import org.apache.flink.table.store.data.BinaryString;
@@ -32,6 +36,8 @@ import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.mergetree.compact.ConcatRecordReader;
 import org.apache.flink.table.store.file.mergetree.compact.ConcatRecordReader.ReaderSupplier;
 import org.apache.flink.table.store.file.predicate.PredicateBuilder;
+import org.apache.flink.table.store.file.schema.SchemaChange;
+import org.apache.flink.table.store.file.schema.SchemaManager;
 import org.apache.flink.table.store.file.utils.RecordReader;
 import org.apache.flink.table.store.file.utils.RecordReaderIterator;
 import org.apache.flink.table.store.file.utils.SnapshotManager;
@@ -68,8 +74,10 @@ import java.util.stream.Collectors;
 
 import static org.apache.flink.table.store.CoreOptions.BUCKET;
 import static org.apache.flink.table.store.CoreOptions.BUCKET_KEY;
+import static org.apache.flink.table.store.CoreOptions.COMPACTION_IO_RATE_LIMIT;
 import static org.apache.flink.table.store.CoreOptions.COMPACTION_MAX_FILE_NUM;
 import static org.apache.flink.table.store.CoreOptions.FILE_FORMAT;
+import static org.apache.flink.table.store.CoreOptions.MANIFEST_MERGE_MIN_COUNT;
 import static org.apache.flink.table.store.CoreOptions.SNAPSHOT_NUM_RETAINED_MAX;
 import static org.apache.flink.table.store.CoreOptions.SNAPSHOT_NUM_RETAINED_MIN;
 import static org.apache.flink.table.store.CoreOptions.WRITE_ONLY;
@@ -180,6 +188,82 @@ public abstract class FileStoreTableTestBase {
                         "2|22|222|binary|varbinary|mapKey:mapVal|multiset");
     }
 
+    @Test
+    public void testAlterCompactionIoRateLimit() throws Exception {
+        FileStoreTable table =
+                createFileStoreTable(
+                        conf -> conf.set(COMPACTION_IO_RATE_LIMIT, MemorySize.parse("1mb")));
+
+        Map<String, Gauge<?>> gauges = new HashMap<>();
+        TableWrite write = table.newWrite(commitUser).withMetricGroup(gaugeCollector(gauges));
+        TableCommit commit = table.newCommit(commitUser);
+        write.write(rowData(1, 10, 100L));
+        commit.commit(0, write.prepareCommit(true, 0));
+        assertThat(gauges.get("ioRateLimit").getValue()).isEqualTo(1024L * 1024);
+
+        new SchemaManager(tablePath)
+                .commitChanges(
+                        Collections.singletonList(
+                                SchemaChange.setOption(COMPACTION_IO_RATE_LIMIT.key(), "2mb")));
+        write.write(rowData(2, 20, 200L));
+        commit.commit(1, write.prepareCommit(true, 1));
+        assertThat(gauges.get("ioRateLimit").getValue()).isEqualTo(2 * 1024L * 1024);
+        assertThat(gauges).containsKeys("queueLength", "runningTasks", "throttledMillis");
+
+        write.close();
+        commit.close();
+    }
+
+    @Test
+    public void testCommitMetrics() throws Exception {
+        FileStoreTable table =
+                createFileStoreTable(
+                        conf -> {
+                            conf.set(MANIFEST_MERGE_MIN_COUNT, 2);
+                            conf.set(SNAPSHOT_NUM_RETAINED_MIN, 1);
+                            conf.set(SNAPSHOT_NUM_RETAINED_MAX, 2);
+                        });
+
+        Map<String, Gauge<?>> gauges = new HashMap<>();
+        TableWrite write = table.newWrite(commitUser);
+        TableCommit commit = table.newCommit(commitUser).withMetricGroup(gaugeCollector(gauges));
+        for (int i = 0; i < 5; i++) {
+            write.write(rowData(1, 10 + i, 100L + i));
+            commit.commit(i, write.prepareCommit(true, i));
+        }
+        assertThat((Long) gauges.get("mergeCount").getValue()).isGreaterThan(0);
+        assertThat((Long) gauges.get("rewrittenFiles").getValue()).isGreaterThan(0);
+        assertThat(gauges).containsKeys("mergeDurationMillis", "bytesRead", "bytesWritten");
+        assertThat((Long) gauges.get("expiredSnapshots").getValue())
+                .isEqualTo(table.snapshotManager().latestSnapshotId() - 2);
+        assertThat((Long) gauges.get("deletedManifestLists").getValue()).isGreaterThan(0);
+        assertThat(gauges)
+                .containsKeys(
+                        "deletedDataFiles",
+                        "deletedChangelogFiles",
+                        "deletedManifestFiles",
+                        "expireDurationMillis");
+
+        write.close();
+        commit.close();
+    }
+
+    /** Collects the gauges registered to the returned group and all its sub groups. */
+    protected static MetricGroup gaugeCollector(Map<String, Gauge<?>> gauges) {
+        return new UnregisteredMetricsGroup() {
+            @Override
+            public <T, G extends Gauge<T>> G gauge(String name, G gauge) {
+                gauges.put(name, gauge);
+                return gauge;
+            }
+
+            @Override
+            public MetricGroup addGroup(String name) {
+                return this;
+            }
+        };
+    }
+
     @Test
     public void testOverwrite() throws Exception {
         FileStoreTable table = createFileStoreTable();
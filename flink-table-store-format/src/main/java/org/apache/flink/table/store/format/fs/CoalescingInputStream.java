@@ -0,0 +1,296 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.format.fs;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.core.fs.FSDataInputStream;
+import org.apache.flink.util.IOUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * A {@link FSDataInputStream} which coalesces nearby reads into fewer and larger requests to the
+ * underlying stream. On object stores, each seek followed by a read is usually a separate request.
+ *
+ * <p>The ranges known in advance are read by {@link #readRanges}, which merges the ranges whose
+ * gaps are not larger than the max gap into one request, and buffers them until they are read. For
+ * other reads, a forward seek within the max gap reads over the gap on the current request instead
+ * of starting a new one.
+ *
+ * <p>The buffered ranges are held on heap until they are read, so callers which copy the bytes
+ * again, like parquet column chunks, temporarily need twice the size of the ranges. Callers should
+ * {@link #dropBuffers} once they are done with the ranges to bound the memory.
+ */
+public class CoalescingInputStream extends FSDataInputStream {
+
+    private static final int SKIP_BUFFER_SIZE = 64 * 1024;
+
+    private final FSDataInputStream in;
+    private final long maxGap;
+    private final long maxMergedSize;
+
+    /** Buffered ranges by their offsets. */
+    private final TreeMap<Long, byte[]> buffers = new TreeMap<>();
+
+    /** Whether a buffered range is dropped once it is read to the end. */
+    private boolean dropOnRead = true;
+
+    private final byte[] singleByte = new byte[1];
+
+    private byte[] skipBuffer;
+
+    private long pos;
+
+    /** Position of the underlying stream, -1 if the next read must start a new request. */
+    private long inPos = -1;
+
+    private long numRequests;
+
+    /** Creates a stream which only reads over small gaps, without reading ranges in advance. */
+    public CoalescingInputStream(FSDataInputStream in, long maxGap) {
+        this(in, maxGap, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param maxGap the max number of bytes between two ranges to be read by one request.
+     * @param maxMergedSize the max size of merged ranges, a larger range is not split.
+     */
+    public CoalescingInputStream(FSDataInputStream in, long maxGap, long maxMergedSize) {
+        this.in = in;
+        this.maxGap = maxGap;
+        this.maxMergedSize = maxMergedSize;
+    }
+
+    /**
+     * Reads the given ranges into memory with coalesced requests, each range is dropped once it is
+     * read to the end. The ranges buffered by previous calls are dropped.
+     */
+    public void readRanges(List<FileRange> ranges) throws IOException {
+        readRanges(ranges, true);
+    }
+
+    /**
+     * Reads the given ranges into memory with coalesced requests. The ranges buffered by previous
+     * calls are dropped.
+     *
+     * @param dropOnRead whether to drop a range once it is read to the end, otherwise it is kept
+     *     until {@link #dropBuffers} or the next call, for ranges which are read more than once.
+     */
+    public void readRanges(List<FileRange> ranges, boolean dropOnRead) throws IOException {
+        buffers.clear();
+        this.dropOnRead = dropOnRead;
+        try {
+            for (FileRange range : coalesce(ranges, maxGap, maxMergedSize)) {
+                byte[] buffer = new byte[Math.toIntExact(range.length())];
+                positionUnderlying(range.offset());
+                IOUtils.readFully(in, buffer, 0, buffer.length);
+                inPos += buffer.length;
+                buffers.put(range.offset(), buffer);
+            }
+        } catch (IOException e) {
+            // the position of the underlying stream is unknown after a failed read
+            inPos = -1;
+            buffers.clear();
+            throw e;
+        }
+    }
+
+    /** Drops the buffered ranges, the following reads go to the underlying stream. */
+    public void dropBuffers() {
+        buffers.clear();
+    }
+
+    /** Number of requests started on the underlying stream. */
+    public long numRequests() {
+        return numRequests;
+    }
+
+    @Override
+    public void seek(long desired) {
+        pos = desired;
+    }
+
+    @Override
+    public long getPos() {
+        return pos;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return read(singleByte, 0, 1) == 1 ? singleByte[0] & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+
+        Map.Entry<Long, byte[]> entry = buffers.floorEntry(pos);
+        if (entry != null && pos < entry.getKey() + entry.getValue().length) {
+            byte[] buffer = entry.getValue();
+            int start = (int) (pos - entry.getKey());
+            int n = Math.min(len, buffer.length - start);
+            System.arraycopy(buffer, start, b, off, n);
+            pos += n;
+            if (dropOnRead && start + n == buffer.length) {
+                buffers.remove(entry.getKey());
+            }
+            return n;
+        }
+
+        // do not read the bytes which are buffered
+        Long next = buffers.higherKey(pos);
+        if (next != null) {
+            len = (int) Math.min(len, next - pos);
+        }
+        int n;
+        try {
+            positionUnderlying(pos);
+            n = in.read(b, off, len);
+        } catch (IOException e) {
+            inPos = -1;
+            throw e;
+        }
+        if (n > 0) {
+            pos += n;
+            inPos += n;
+        }
+        return n;
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffers.clear();
+        in.close();
+    }
+
+    private void positionUnderlying(long target) throws IOException {
+        if (inPos == target) {
+            return;
+        }
+
+        if (inPos >= 0 && target > inPos && target - inPos <= maxGap) {
+            if (skipBuffer == null) {
+                skipBuffer = new byte[(int) Math.min(maxGap, SKIP_BUFFER_SIZE)];
+            }
+            while (inPos < target) {
+                int n = in.read(skipBuffer, 0, (int) Math.min(skipBuffer.length, target - inPos));
+                if (n < 0) {
+                    break;
+                }
+                inPos += n;
+            }
+            if (inPos == target) {
+                return;
+            }
+        }
+
+        in.seek(target);
+        inPos = target;
+        numRequests++;
+    }
+
+    /**
+     * Sorts the ranges and merges the ranges whose gaps are not larger than {@code maxGap}, as long
+     * as the merged size is not larger than {@code maxMergedSize}. Empty ranges are dropped.
+     */
+    @VisibleForTesting
+    static List<FileRange> coalesce(List<FileRange> ranges, long maxGap, long maxMergedSize) {
+        List<FileRange> sorted = new ArrayList<>(ranges);
+        sorted.sort(Comparator.comparingLong(FileRange::offset));
+
+        List<FileRange> result = new ArrayList<>();
+        FileRange current = null;
+        for (FileRange range : sorted) {
+            if (range.length() == 0) {
+                continue;
+            }
+
+            if (current != null && range.offset() - current.end() <= maxGap) {
+                long end = Math.max(current.end(), range.end());
+                if (end - current.offset() <= maxMergedSize) {
+                    current = new FileRange(current.offset(), end - current.offset());
+                    continue;
+                }
+            }
+
+            if (current != null) {
+                result.add(current);
+            }
+            current = range;
+        }
+        if (current != null) {
+            result.add(current);
+        }
+        return result;
+    }
+
+    /** A range of bytes in a file. */
+    public static class FileRange {
+
+        private final long offset;
+        private final long length;
+
+        public FileRange(long offset, long length) {
+            this.offset = offset;
+            this.length = length;
+        }
+
+        public long offset() {
+            return offset;
+        }
+
+        public long length() {
+            return length;
+        }
+
+        public long end() {
+            return offset + length;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            FileRange that = (FileRange) o;
+            return offset == that.offset && length == that.length;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(offset, length);
+        }
+
+        @Override
+        public String toString() {
+            return "[" + offset + ", " + end() + ")";
+        }
+    }
+}
@@ -42,8 +42,16 @@ public class HadoopReadOnlyFileSystem extends FileSystem {
 
     private final org.apache.flink.core.fs.FileSystem fs;
 
+    /** Max gap of the reads coalesced by {@link CoalescingInputStream}, -1 to not coalesce. */
+    private final long coalesceMaxGap;
+
     public HadoopReadOnlyFileSystem(org.apache.flink.core.fs.FileSystem fs) {
+        this(fs, -1);
+    }
+
+    public HadoopReadOnlyFileSystem(org.apache.flink.core.fs.FileSystem fs, long coalesceMaxGap) {
         this.fs = fs;
+        this.coalesceMaxGap = coalesceMaxGap;
     }
 
     @Override
@@ -53,13 +61,19 @@ public class HadoopReadOnlyFileSystem extends FileSystem {
 
     @Override
     public FSDataInputStream open(Path path) throws IOException {
-        return new FSDataInputStream(new FSDataWrappedInputStream(fs.open(toFlinkPath(path))));
+        return wrap(fs.open(toFlinkPath(path)));
     }
 
     @Override
     public FSDataInputStream open(Path path, int bufferSize) throws IOException {
-        return new FSDataInputStream(
-                new FSDataWrappedInputStream(fs.open(toFlinkPath(path), bufferSize)));
+        return wrap(fs.open(toFlinkPath(path), bufferSize));
+    }
+
+    private FSDataInputStream wrap(org.apache.flink.core.fs.FSDataInputStream in) {
+        if (coalesceMaxGap >= 0) {
+            in = new CoalescingInputStream(in, coalesceMaxGap);
+        }
+        return new FSDataInputStream(new FSDataWrappedInputStream(in));
     }
 
     @Override
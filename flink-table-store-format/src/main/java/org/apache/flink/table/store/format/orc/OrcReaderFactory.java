@@ -26,6 +26,8 @@ import org.apache.flink.table.store.data.columnar.ColumnarRow;
 import org.apache.flink.table.store.data.columnar.ColumnarRowIterator;
 import org.apache.flink.table.store.data.columnar.VectorizedColumnBatch;
 import org.apache.flink.table.store.file.utils.RecordReader.RecordIterator;
+import org.apache.flink.table.store.file.utils.SequentialPrefetcher;
+import org.apache.flink.table.store.format.FormatReadMetrics;
 import org.apache.flink.table.store.format.FormatReaderFactory;
 import org.apache.flink.table.store.format.fs.HadoopReadOnlyFileSystem;
 import org.apache.flink.table.store.format.orc.filter.OrcFilters;
@@ -51,11 +53,30 @@ import static org.apache.flink.table.store.format.orc.reader.AbstractOrcColumnVe
 import static org.apache.flink.table.store.format.orc.reader.OrcSplitReaderUtil.toOrcType;
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
-/** An ORC reader that produces a stream of {@link ColumnarRow} records. */
+/**
+ * An ORC reader that produces a stream of {@link ColumnarRow} records.
+ *
+ * <p>If {@link #PREFETCH_BATCHES} is positive, the next batches are read in background while the
+ * current batch is consumed. ORC reads and decodes the stripes inside {@link
+ * RecordReader#nextBatch}, so the fetch time in {@link #metrics()} includes decoding the columns.
+ * The decode time only covers converting the ORC vectors to the returned batch.
+ */
 public class OrcReaderFactory implements FormatReaderFactory {
 
     private static final long serialVersionUID = 1L;
 
+    /** Number of batches to read ahead in background, 0 to read synchronously. */
+    public static final String PREFETCH_BATCHES = "orc.read.prefetch.batches";
+
+    /**
+     * Whether to read over small gaps between the streams of a stripe instead of seeking, enabled
+     * by default for distributed file systems.
+     */
+    public static final String COALESCE_ENABLED = "orc.read.coalesce.enabled";
+
+    /** Max bytes between two reads to be read by one request to the file system. */
+    public static final String COALESCE_MAX_GAP = "orc.read.coalesce.max-gap";
+
     protected final SerializableHadoopConfigWrapper hadoopConfigWrapper;
 
     protected final TypeDescription schema;
@@ -68,6 +89,8 @@ public class OrcReaderFactory implements FormatReaderFactory {
 
     protected final int batchSize;
 
+    private FormatReadMetrics metrics = new FormatReadMetrics();
+
     /**
      * @param hadoopConfig the hadoop config for orc reader.
      * @param selectedFields the read selected field of orc format.
@@ -88,11 +111,23 @@ public class OrcReaderFactory implements FormatReaderFactory {
         this.batchSize = batchSize;
     }
 
+    /** Metrics of all the readers created by this factory. */
+    public FormatReadMetrics metrics() {
+        return metrics;
+    }
+
+    @Override
+    public OrcReaderFactory withMetrics(FormatReadMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
     // ------------------------------------------------------------------------
 
     @Override
     public OrcVectorizedReader createReader(Path file) throws IOException {
-        Pool<OrcReaderBatch> poolOfBatches = createPoolOfBatches(1);
+        int prefetchBatches = hadoopConfigWrapper.getHadoopConfig().getInt(PREFETCH_BATCHES, 0);
+        Pool<OrcReaderBatch> poolOfBatches = createPoolOfBatches(prefetchBatches + 1);
         RecordReader orcReader =
                 createRecordReader(
                         hadoopConfigWrapper.getHadoopConfig(),
@@ -103,7 +138,7 @@ public class OrcReaderFactory implements FormatReaderFactory {
                         0,
                         file.getFileSystem().getFileStatus(file).getLen());
 
-        return new OrcVectorizedReader(orcReader, poolOfBatches);
+        return new OrcVectorizedReader(orcReader, poolOfBatches, prefetchBatches, metrics);
     }
 
     /**
@@ -158,7 +193,7 @@ public class OrcReaderFactory implements FormatReaderFactory {
             this.orcVectorizedRowBatch = checkNotNull(orcVectorizedRowBatch);
             this.recycler = checkNotNull(recycler);
             this.flinkColumnBatch = flinkColumnBatch;
-            this.result = new ColumnarRowIterator(new ColumnarRow(flinkColumnBatch), this::recycle);
+            this.result = new ColumnarRowIterator(flinkColumnBatch, this::recycle);
         }
 
         /**
@@ -204,28 +239,89 @@ public class OrcReaderFactory implements FormatReaderFactory {
 
         private final RecordReader orcReader;
         private final Pool<OrcReaderBatch> pool;
+        private final int prefetchBatches;
+        private final FormatReadMetrics metrics;
 
-        private OrcVectorizedReader(final RecordReader orcReader, final Pool<OrcReaderBatch> pool) {
+        /** Reads the next batches in background, null if prefetching is disabled. */
+        @Nullable private final SequentialPrefetcher<OrcReaderBatch> prefetcher;
+
+        private boolean ended;
+
+        private OrcVectorizedReader(
+                final RecordReader orcReader,
+                final Pool<OrcReaderBatch> pool,
+                final int prefetchBatches,
+                final FormatReadMetrics metrics) {
             this.orcReader = checkNotNull(orcReader, "orcReader");
             this.pool = checkNotNull(pool, "pool");
+            this.prefetchBatches = prefetchBatches;
+            this.metrics = metrics;
+            this.prefetcher = prefetchBatches > 0 ? new SequentialPrefetcher<>(metrics) : null;
         }
 
         @Nullable
         @Override
         public RecordIterator<InternalRow> readBatch() throws IOException {
-            final OrcReaderBatch batch = getCachedEntry();
-            final VectorizedRowBatch orcVectorBatch = batch.orcVectorizedRowBatch();
+            final OrcReaderBatch batch;
+            if (prefetcher == null) {
+                long start = System.nanoTime();
+                batch = fetchBatch(getCachedEntry());
+                metrics.recordStall(System.nanoTime() - start);
+            } else {
+                if (ended) {
+                    return null;
+                }
+                prefetch();
+                if (prefetcher.numPending() == 0) {
+                    // all batches are still held by the caller
+                    OrcReaderBatch entry = getCachedEntry();
+                    prefetcher.submit(() -> fetchBatch(entry));
+                }
+                batch = prefetcher.take();
+                // keep reading ahead while the caller consumes this batch
+                prefetch();
+            }
 
-            if (!nextBatch(orcReader, orcVectorBatch)) {
-                batch.recycle();
+            if (batch == null) {
+                ended = true;
                 return null;
             }
+            long start = System.nanoTime();
+            RecordIterator<InternalRow> iterator =
+                    batch.convertAndGetIterator(batch.orcVectorizedRowBatch());
+            metrics.recordDecode(System.nanoTime() - start);
+            return iterator;
+        }
 
-            return batch.convertAndGetIterator(orcVectorBatch);
+        /** Submits reading of the next batches, until all free batches of the pool are used. */
+        private void prefetch() {
+            while (!ended && prefetcher.numPending() < prefetchBatches) {
+                OrcReaderBatch entry = pool.tryPollEntry();
+                if (entry == null) {
+                    break;
+                }
+                prefetcher.submit(() -> fetchBatch(entry));
+            }
+        }
+
+        /** Reads the next batch, returns null if there is no more. */
+        @Nullable
+        private OrcReaderBatch fetchBatch(OrcReaderBatch batch) throws IOException {
+            long start = System.nanoTime();
+            boolean hasNext = nextBatch(orcReader, batch.orcVectorizedRowBatch());
+            metrics.recordFetch(System.nanoTime() - start, 0);
+            if (!hasNext) {
+                batch.recycle();
+                return null;
+            }
+            return batch;
         }
 
         @Override
         public void close() throws IOException {
+            if (prefetcher != null) {
+                prefetcher.close();
+            }
             orcReader.close();
         }
 
@@ -346,7 +442,12 @@ public class OrcReaderFactory implements FormatReaderFactory {
         OrcFile.ReaderOptions readerOptions = OrcFile.readerOptions(conf);
 
         // configure filesystem from Flink filesystem
-        readerOptions.filesystem(new HadoopReadOnlyFileSystem(path.getFileSystem()));
+        org.apache.flink.core.fs.FileSystem fs = path.getFileSystem();
+        long coalesceMaxGap =
+                conf.getBoolean(COALESCE_ENABLED, fs.isDistributedFS())
+                        ? conf.getLong(COALESCE_MAX_GAP, 1024 * 1024)
+                        : -1;
+        readerOptions.filesystem(new HadoopReadOnlyFileSystem(fs, coalesceMaxGap));
 
         return OrcFile.createReader(hPath, readerOptions);
     }
@@ -22,7 +22,11 @@ import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.api.common.serialization.BulkWriter;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.predicate.And;
+import org.apache.flink.table.store.file.predicate.CompoundPredicate;
+import org.apache.flink.table.store.file.predicate.LeafPredicate;
 import org.apache.flink.table.store.file.predicate.Predicate;
+import org.apache.flink.table.store.file.predicate.PredicateBuilder;
 import org.apache.flink.table.store.format.FileFormat;
 import org.apache.flink.table.store.format.FileStatsExtractor;
 import org.apache.flink.table.store.format.FormatReaderFactory;
@@ -30,6 +34,9 @@ import org.apache.flink.table.store.format.parquet.writer.RowDataParquetBuilder;
 import org.apache.flink.table.store.types.RowType;
 import org.apache.flink.table.store.utils.Projection;
 
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -53,9 +60,64 @@ public class ParquetFileFormat extends FileFormat {
     @Override
     public FormatReaderFactory createReaderFactory(
             RowType type, int[][] projection, List<Predicate> filters) {
+        RowType projectedType = (RowType) Projection.of(projection).project(type);
         return new ParquetReaderFactory(
                 getParquetConfiguration(formatOptions),
-                (RowType) Projection.of(projection).project(type));
+                projectedType,
+                ParquetReaderFactory.BATCH_SIZE,
+                resolveFilter(filters, projectedType));
+    }
+
+    /**
+     * Resolves the filters against the projected fields by field name, because the field indexes of
+     * the filters may refer to another row type, like the value fields of key-value files. Leaves
+     * on fields which are not projected or have another type are dropped from ANDs.
+     */
+    @Nullable
+    @VisibleForTesting
+    static Predicate resolveFilter(@Nullable List<Predicate> filters, RowType projectedType) {
+        if (filters == null) {
+            return null;
+        }
+
+        List<Predicate> resolved = new ArrayList<>();
+        for (Predicate filter : filters) {
+            resolveFilter(filter, projectedType).ifPresent(resolved::add);
+        }
+        return resolved.isEmpty() ? null : PredicateBuilder.and(resolved);
+    }
+
+    private static Optional<Predicate> resolveFilter(Predicate filter, RowType projectedType) {
+        if (filter instanceof LeafPredicate) {
+            LeafPredicate leaf = (LeafPredicate) filter;
+            int index = projectedType.getFieldNames().indexOf(leaf.fieldName());
+            if (index < 0 || !projectedType.getTypeAt(index).equalsIgnoreNullable(leaf.type())) {
+                return Optional.empty();
+            }
+            return Optional.of(
+                    new LeafPredicate(
+                            leaf.function(),
+                            leaf.type(),
+                            index,
+                            leaf.fieldName(),
+                            leaf.literals()));
+        }
+
+        CompoundPredicate compound = (CompoundPredicate) filter;
+        boolean isAnd = compound.function() instanceof And;
+        List<Predicate> children = new ArrayList<>();
+        for (Predicate child : compound.children()) {
+            Optional<Predicate> resolved = resolveFilter(child, projectedType);
+            if (resolved.isPresent()) {
+                children.add(resolved.get());
+            } else if (!isAnd) {
+                return Optional.empty();
+            }
+        }
+        if (children.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(isAnd ? PredicateBuilder.and(children) : PredicateBuilder.or(children));
     }
 
     @Override
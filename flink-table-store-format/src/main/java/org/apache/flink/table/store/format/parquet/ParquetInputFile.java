@@ -18,6 +18,7 @@
 
 package org.apache.flink.table.store.format.parquet;
 
+import org.apache.flink.core.fs.FSDataInputStream;
 import org.apache.flink.core.fs.FileStatus;
 import org.apache.flink.core.fs.FileSystem;
 import org.apache.flink.core.fs.Path;
@@ -25,6 +26,8 @@ import org.apache.flink.core.fs.Path;
 import org.apache.parquet.io.InputFile;
 import org.apache.parquet.io.SeekableInputStream;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
 
 /** A {@link InputFile} for table store. */
@@ -33,14 +36,25 @@ public class ParquetInputFile implements InputFile {
     private final FileSystem fs;
     private final FileStatus stat;
 
+    /** Stream returned by the first {@link #newStream()}, null if it is returned. */
+    @Nullable private FSDataInputStream openedStream;
+
     public static ParquetInputFile fromPath(Path path) throws IOException {
         FileSystem fs = path.getFileSystem();
-        return new ParquetInputFile(fs, fs.getFileStatus(path));
+        return new ParquetInputFile(fs, fs.getFileStatus(path), null);
+    }
+
+    /** Creates a file whose first {@link #newStream()} returns the given opened stream. */
+    public static ParquetInputFile fromStream(
+            FileSystem fs, FileStatus stat, FSDataInputStream openedStream) {
+        return new ParquetInputFile(fs, stat, openedStream);
     }
 
-    private ParquetInputFile(FileSystem fs, FileStatus stat) {
+    private ParquetInputFile(
+            FileSystem fs, FileStatus stat, @Nullable FSDataInputStream openedStream) {
         this.fs = fs;
         this.stat = stat;
+        this.openedStream = openedStream;
     }
 
     public Path getPath() {
@@ -54,7 +68,9 @@ public class ParquetInputFile implements InputFile {
 
     @Override
     public SeekableInputStream newStream() throws IOException {
-        return new ParquetInputStream(fs.open(stat.getPath()));
+        FSDataInputStream in = openedStream == null ? fs.open(stat.getPath()) : openedStream;
+        openedStream = null;
+        return new ParquetInputStream(in);
     }
 
     @Override
@@ -18,17 +18,28 @@
 
 package org.apache.flink.table.store.format.parquet;
 
+import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.core.fs.FileStatus;
+import org.apache.flink.core.fs.FileSystem;
 import org.apache.flink.core.fs.Path;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.data.columnar.ColumnVector;
-import org.apache.flink.table.store.data.columnar.ColumnarRow;
 import org.apache.flink.table.store.data.columnar.ColumnarRowIterator;
 import org.apache.flink.table.store.data.columnar.VectorizedColumnBatch;
 import org.apache.flink.table.store.data.columnar.writable.WritableColumnVector;
+import org.apache.flink.table.store.file.predicate.CompoundPredicate;
+import org.apache.flink.table.store.file.predicate.LeafPredicate;
+import org.apache.flink.table.store.file.predicate.Predicate;
+import org.apache.flink.table.store.file.predicate.VectorizedPredicateFilter;
 import org.apache.flink.table.store.file.utils.RecordReader;
 import org.apache.flink.table.store.file.utils.RecordReader.RecordIterator;
+import org.apache.flink.table.store.file.utils.SequentialPrefetcher;
+import org.apache.flink.table.store.format.FormatReadMetrics;
 import org.apache.flink.table.store.format.FormatReaderFactory;
+import org.apache.flink.table.store.format.fs.CoalescingInputStream;
+import org.apache.flink.table.store.format.fs.CoalescingInputStream.FileRange;
+import org.apache.flink.table.store.format.parquet.filter.ParquetPredicateFunctionVisitor;
 import org.apache.flink.table.store.format.parquet.reader.ColumnReader;
 import org.apache.flink.table.store.format.parquet.reader.ParquetDecimalVector;
 import org.apache.flink.table.store.types.DataType;
@@ -39,8 +50,18 @@ import org.apache.flink.table.store.utils.Pool;
 import org.apache.parquet.ParquetReadOptions;
 import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.apache.parquet.hadoop.ParquetFileReader;
 import org.apache.parquet.hadoop.ParquetInputFormat;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.internal.column.columnindex.ColumnIndex;
+import org.apache.parquet.internal.column.columnindex.OffsetIndex;
+import org.apache.parquet.internal.filter2.columnindex.ColumnIndexFilter;
+import org.apache.parquet.internal.filter2.columnindex.ColumnIndexStore;
+import org.apache.parquet.internal.filter2.columnindex.RowRanges;
 import org.apache.parquet.schema.GroupType;
 import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.schema.Type;
@@ -51,9 +72,13 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.apache.flink.table.store.format.parquet.reader.ParquetSplitReaderUtil.createColumnReader;
@@ -63,6 +88,20 @@ import static org.apache.parquet.hadoop.UnmaterializableRecordCounter.BAD_RECORD
 /**
  * Parquet {@link FormatReaderFactory} that reads data from the file to {@link
  * VectorizedColumnBatch} in vectorized mode.
+ *
+ * <p>If a filter is given, the columns of the filter are decoded first for each batch, and the
+ * other columns are only decoded if some rows of the batch match the filter. Batches out of the row
+ * ranges selected by the column indexes are skipped without evaluating the filter. The filter is
+ * best-effort: the rows of a returned batch are not filtered.
+ *
+ * <p>If {@link #PREFETCH_ROW_GROUPS} is positive, the next row groups are fetched in background
+ * while the current row group is decoded, bounded by {@link #PREFETCH_MAX_BYTES}.
+ *
+ * <p>If {@link #COALESCE_ENABLED} is true, the footer is read with the tail of the file by one
+ * request, and the requested column chunks of a row group are read with coalesced requests, see
+ * {@link CoalescingInputStream}. The coalesced bytes are buffered on heap until parquet copies them
+ * into its pages, so fetching a row group temporarily needs up to twice its requested bytes. The
+ * buffers are dropped right after each fetch, prefetched row groups only hold the pages of parquet.
  */
 public class ParquetReaderFactory implements FormatReaderFactory {
 
@@ -72,36 +111,118 @@ public class ParquetReaderFactory implements FormatReaderFactory {
 
     private static final String ALLOCATION_SIZE = "parquet.read.allocation.size";
 
-    private static final int BATCH_SIZE = 2048;
+    /** Number of row groups to fetch ahead in background, 0 to fetch synchronously. */
+    public static final String PREFETCH_ROW_GROUPS = "parquet.read.prefetch.row-groups";
+
+    /** Max bytes of the column chunks of the row groups fetched ahead. */
+    public static final String PREFETCH_MAX_BYTES = "parquet.read.prefetch.max-bytes";
+
+    /**
+     * Whether to coalesce the reads of nearby column chunks, enabled by default for distributed
+     * file systems.
+     */
+    public static final String COALESCE_ENABLED = "parquet.read.coalesce.enabled";
+
+    /** Max bytes between two column chunks to be read by one request. */
+    public static final String COALESCE_MAX_GAP = "parquet.read.coalesce.max-gap";
+
+    /**
+     * Max bytes of the column chunks read by one request. The requested column chunks of a row
+     * group are buffered on heap while the row group is fetched, regardless of this size.
+     */
+    public static final String COALESCE_MAX_SIZE = "parquet.read.coalesce.max-size";
+
+    /** Bytes of the tail read with the footer, which covers the footer of most files. */
+    private static final int FOOTER_READ_SIZE = 64 * 1024;
+
+    static final int BATCH_SIZE = 2048;
 
     private final Configuration conf;
     private final String[] projectedFields;
     private final DataType[] projectedTypes;
     private final int batchSize;
+    @Nullable private final Predicate filter;
     private final Set<Integer> unknownFieldsIndices = new HashSet<>();
+    private FormatReadMetrics metrics = new FormatReadMetrics();
 
     public ParquetReaderFactory(Configuration formatConfig, RowType projectedType) {
         this(formatConfig, projectedType, BATCH_SIZE);
     }
 
     public ParquetReaderFactory(Configuration conf, RowType projectedType, int batchSize) {
+        this(conf, projectedType, batchSize, null);
+    }
+
+    /**
+     * @param filter filter on the projected fields, its field indexes refer to the projected type.
+     */
+    public ParquetReaderFactory(
+            Configuration conf, RowType projectedType, int batchSize, @Nullable Predicate filter) {
         this.conf = conf;
         this.projectedFields = projectedType.getFieldNames().toArray(new String[0]);
         this.projectedTypes = projectedType.getFieldTypes().toArray(new DataType[0]);
         this.batchSize = batchSize;
+        this.filter = filter;
+    }
+
+    /** Metrics of all the readers created by this factory. */
+    public FormatReadMetrics metrics() {
+        return metrics;
+    }
+
+    @Override
+    public ParquetReaderFactory withMetrics(FormatReadMetrics metrics) {
+        this.metrics = metrics;
+        return this;
     }
 
     @Override
     public ParquetReader createReader(Path filePath) throws IOException {
+        FileSystem fs = filePath.getFileSystem();
+        FileStatus status = fs.getFileStatus(filePath);
         final long splitOffset = 0;
-        final long splitLength = filePath.getFileSystem().getFileStatus(filePath).getLen();
+        final long splitLength = status.getLen();
 
         ParquetReadOptions.Builder builder =
                 ParquetReadOptions.builder().withRange(splitOffset, splitOffset + splitLength);
         setReadOptions(builder);
+        FilterPredicate filterPredicate =
+                filter == null
+                        ? null
+                        : filter.visit(ParquetPredicateFunctionVisitor.VISITOR).orElse(null);
+        if (filterPredicate != null) {
+            // row groups are filtered by statistics, dictionaries and bloom filters
+            builder.withRecordFilter(FilterCompat.get(filterPredicate));
+        }
 
-        ParquetFileReader reader =
-                new ParquetFileReader(ParquetInputFile.fromPath(filePath), builder.build());
+        ParquetFileReader reader;
+        CoalescingInputStream coalescingStream = null;
+        if (conf.getBoolean(COALESCE_ENABLED, fs.isDistributedFS())) {
+            coalescingStream =
+                    new CoalescingInputStream(
+                            fs.open(filePath),
+                            conf.getLong(COALESCE_MAX_GAP, 1024 * 1024),
+                            conf.getLong(COALESCE_MAX_SIZE, 8 * 1024 * 1024));
+            try {
+                long tailSize = Math.min(status.getLen(), FOOTER_READ_SIZE);
+                // keep the tail until the footer is parsed, its length and content are read
+                // separately by parquet
+                coalescingStream.readRanges(
+                        Collections.singletonList(
+                                new FileRange(status.getLen() - tailSize, tailSize)),
+                        false);
+                reader =
+                        new ParquetFileReader(
+                                ParquetInputFile.fromStream(fs, status, coalescingStream),
+                                builder.build());
+            } catch (IOException e) {
+                coalescingStream.close();
+                throw e;
+            }
+            coalescingStream.dropBuffers();
+        } else {
+            reader = new ParquetFileReader(ParquetInputFile.fromPath(filePath), builder.build());
+        }
         MessageType fileSchema = reader.getFileMetaData().getSchema();
         MessageType requestedSchema = clipParquetSchema(fileSchema);
         reader.setRequestedSchema(requestedSchema);
@@ -110,7 +231,15 @@ public class ParquetReaderFactory implements FormatReaderFactory {
 
         Pool<ParquetReaderBatch> poolOfBatches = createPoolOfBatches(requestedSchema);
 
-        return new ParquetReader(reader, requestedSchema, reader.getRecordCount(), poolOfBatches);
+        return new ParquetReader(
+                reader,
+                requestedSchema,
+                reader.getRecordCount(),
+                poolOfBatches,
+                conf.getBoolean(ParquetInputFormat.COLUMN_INDEX_FILTERING_ENABLED, true)
+                        ? filterPredicate
+                        : null,
+                coalescingStream);
     }
 
     private void setReadOptions(ParquetReadOptions.Builder builder) {
@@ -230,7 +359,7 @@ public class ParquetReaderFactory implements FormatReaderFactory {
         return new VectorizedColumnBatch(vectors);
     }
 
-    private class ParquetReader implements RecordReader<InternalRow> {
+    class ParquetReader implements RecordReader<InternalRow> {
 
         private ParquetFileReader reader;
 
@@ -257,17 +386,70 @@ public class ParquetReaderFactory implements FormatReaderFactory {
         @SuppressWarnings("rawtypes")
         private ColumnReader[] columnReaders;
 
+        /** Filter to evaluate on the decoded filter columns, null if there is no filter. */
+        @Nullable private final VectorizedPredicateFilter batchFilter;
+
+        /** Whether a column is decoded before evaluating {@link #batchFilter}. */
+        private final boolean[] isFilterColumn;
+
+        /** Whether each row of the current batch matches {@link #batchFilter}. */
+        private final boolean[] selection;
+
+        /** Predicate to compute the {@link #rowRanges} from the column indexes. */
+        @Nullable private final FilterPredicate columnIndexFilter;
+
+        /** The number of row groups that have been read. */
+        private int rowGroupsRead;
+
+        /** The index of the first row of the current row group. */
+        private long rowGroupStart;
+
+        /** Rows of the current row group which may match the filter, null if all rows may. */
+        @Nullable private RowRanges rowRanges;
+
+        /** Fetches the next row groups in background, null if prefetching is disabled. */
+        @Nullable private final SequentialPrefetcher<FetchedRowGroup> prefetcher;
+
+        private final int prefetchRowGroups;
+
+        private final long prefetchMaxBytes;
+
+        /** The number of row groups that have been fetched or submitted to be fetched. */
+        private int rowGroupsFetched;
+
+        /** The total bytes of the row groups which are submitted to be fetched but not read. */
+        private long prefetchedBytes;
+
+        /** The time spent in waiting for fetching row groups during current batch. */
+        private long stallNanos;
+
+        /** The stream of {@link #reader} if the reads are coalesced, otherwise null. */
+        @Nullable private final CoalescingInputStream coalescingStream;
+
         private ParquetReader(
                 ParquetFileReader reader,
                 MessageType requestedSchema,
                 long totalRowCount,
-                Pool<ParquetReaderBatch> pool) {
+                Pool<ParquetReaderBatch> pool,
+                @Nullable FilterPredicate columnIndexFilter,
+                @Nullable CoalescingInputStream coalescingStream) {
             this.reader = reader;
             this.requestedSchema = requestedSchema;
             this.totalRowCount = totalRowCount;
             this.pool = pool;
             this.rowsReturned = 0;
             this.totalCountLoadedSoFar = 0;
+            this.batchFilter = filter == null ? null : new VectorizedPredicateFilter(filter);
+            this.isFilterColumn = new boolean[projectedFields.length];
+            if (filter != null) {
+                markFilterColumns(filter, isFilterColumn);
+            }
+            this.selection = new boolean[batchSize];
+            this.columnIndexFilter = columnIndexFilter;
+            this.prefetchRowGroups = conf.getInteger(PREFETCH_ROW_GROUPS, 0);
+            this.prefetchMaxBytes = conf.getLong(PREFETCH_MAX_BYTES, 128 * 1024 * 1024);
+            this.prefetcher = prefetchRowGroups > 0 ? new SequentialPrefetcher<>(metrics) : null;
+            this.coalescingStream = coalescingStream;
         }
 
         @Nullable
@@ -275,44 +457,96 @@ public class ParquetReaderFactory implements FormatReaderFactory {
         public RecordIterator<InternalRow> readBatch() throws IOException {
             final ParquetReaderBatch batch = getCachedEntry();
 
-            if (!nextBatch(batch)) {
+            long start = System.nanoTime();
+            stallNanos = 0;
+            boolean hasNext = nextBatch(batch);
+            metrics.recordDecode(System.nanoTime() - start - stallNanos);
+            if (!hasNext) {
                 batch.recycle();
                 return null;
             }
 
-            return batch.convertAndGetIterator();
+            // the rows of the batch are selected by the filter if there is one
+            return batch.convertAndGetIterator(batchFilter == null ? null : selection);
         }
 
         /** Advances to the next batch of rows. Returns false if there are no more. */
         private boolean nextBatch(ParquetReaderBatch batch) throws IOException {
-            for (WritableColumnVector v : batch.writableVectors) {
-                v.reset();
-            }
-            batch.columnarBatch.setNumRows(0);
-            if (rowsReturned >= totalRowCount) {
-                return false;
-            }
-            if (rowsReturned == totalCountLoadedSoFar) {
-                readNextRowGroup();
+            while (true) {
+                for (WritableColumnVector v : batch.writableVectors) {
+                    v.reset();
+                }
+                batch.columnarBatch.setNumRows(0);
+                if (rowsReturned >= totalRowCount) {
+                    return false;
+                }
+                if (rowsReturned == totalCountLoadedSoFar) {
+                    readNextRowGroup();
+                }
+
+                int num = (int) Math.min(batchSize, totalCountLoadedSoFar - rowsReturned);
+                long firstRow = rowsReturned - rowGroupStart;
+                rowsReturned += num;
+                if (rowRanges != null && !rowRanges.isOverlapping(firstRow, firstRow + num - 1)) {
+                    skipColumns(batch, num, false);
+                    continue;
+                }
+
+                if (batchFilter == null) {
+                    readColumns(batch, num, false);
+                    batch.columnarBatch.setNumRows(num);
+                    return true;
+                }
+
+                // late materialization: decode the filter columns, and the other columns only if
+                // some rows of the batch match the filter
+                readColumns(batch, num, true);
+                batch.columnarBatch.setNumRows(num);
+                if (batchFilter.filter(batch.columnarBatch, selection) == 0) {
+                    skipColumns(batch, num, true);
+                    continue;
+                }
+                readColumns(batch, num, false);
+                return true;
             }
+        }
 
-            int num = (int) Math.min(batchSize, totalCountLoadedSoFar - rowsReturned);
+        /**
+         * Reads the filter columns if {@code filterColumns} is true, otherwise reads the columns
+         * which are not read yet. Missing columns are filled with nulls with the filter columns.
+         */
+        @SuppressWarnings("unchecked")
+        private void readColumns(ParquetReaderBatch batch, int num, boolean filterColumns)
+                throws IOException {
+            boolean lateMaterialized = batchFilter != null;
             for (int i = 0; i < columnReaders.length; ++i) {
                 if (columnReaders[i] == null) {
-                    batch.writableVectors[i].fillWithNulls();
-                } else {
-                    //noinspection unchecked
+                    if (filterColumns || !lateMaterialized) {
+                        batch.writableVectors[i].fillWithNulls();
+                    }
+                } else if (!lateMaterialized || isFilterColumn[i] == filterColumns) {
                     columnReaders[i].readToVector(num, batch.writableVectors[i]);
                 }
             }
-            rowsReturned += num;
-            batch.columnarBatch.setNumRows(num);
-            return true;
+        }
+
+        /**
+         * Skips the columns which are not filter columns if {@code onlyNonFilterColumns} is true,
+         * otherwise skips all columns.
+         */
+        @SuppressWarnings("unchecked")
+        private void skipColumns(ParquetReaderBatch batch, int num, boolean onlyNonFilterColumns)
+                throws IOException {
+            for (int i = 0; i < columnReaders.length; ++i) {
+                if (columnReaders[i] != null && !(onlyNonFilterColumns && isFilterColumn[i])) {
+                    columnReaders[i].skip(num, batch.writableVectors[i]);
+                }
+            }
         }
 
         private void readNextRowGroup() throws IOException {
-            PageReadStore pages = reader.readNextRowGroup();
-            if (pages == null) {
+            List<BlockMetaData> rowGroups = reader.getRowGroups();
+            if (rowGroupsRead >= rowGroups.size()) {
                 throw new IOException(
                         "expecting more rows but reached last block. Read "
                                 + rowsReturned
@@ -320,6 +554,24 @@ public class ParquetReaderFactory implements FormatReaderFactory {
                                 + totalRowCount);
             }
 
+            long start = System.nanoTime();
+            FetchedRowGroup fetched;
+            if (prefetcher == null) {
+                fetched = fetchRowGroup(rowGroups.get(rowGroupsFetched++));
+                metrics.recordStall(System.nanoTime() - start);
+            } else {
+                prefetch();
+                fetched = prefetcher.take();
+                prefetchedBytes -= requestedBytes(rowGroups.get(rowGroupsRead));
+                prefetch();
+            }
+            stallNanos += System.nanoTime() - start;
+            rowGroupsRead++;
+
+            PageReadStore pages = fetched.pages;
+            rowGroupStart = totalCountLoadedSoFar;
+            rowRanges = fetched.rowRanges;
+
             List<Type> types = requestedSchema.getFields();
             columnReaders = new ColumnReader[types.size()];
             for (int i = 0; i < types.size(); ++i) {
@@ -336,6 +588,85 @@ public class ParquetReaderFactory implements FormatReaderFactory {
             totalCountLoadedSoFar += pages.getRowCount();
         }
 
+        /** Submits the next row groups to fetch, until the count or bytes limit is reached. */
+        private void prefetch() {
+            List<BlockMetaData> rowGroups = reader.getRowGroups();
+            while (rowGroupsFetched < rowGroups.size()
+                    && prefetcher.numPending() < prefetchRowGroups) {
+                BlockMetaData rowGroup = rowGroups.get(rowGroupsFetched);
+                long bytes = requestedBytes(rowGroup);
+                if (prefetcher.numPending() > 0 && prefetchedBytes + bytes > prefetchMaxBytes) {
+                    break;
+                }
+                rowGroupsFetched++;
+                prefetchedBytes += bytes;
+                prefetcher.submit(() -> fetchRowGroup(rowGroup));
+            }
+        }
+
+        /**
+         * Reads the column chunks of the next row group and its row ranges. This may run in the
+         * prefetching thread, it must not touch the states of decoding.
+         */
+        private FetchedRowGroup fetchRowGroup(BlockMetaData rowGroup) throws IOException {
+            long start = System.nanoTime();
+            if (coalescingStream != null) {
+                coalescingStream.readRanges(requestedRanges(rowGroup));
+            }
+            PageReadStore pages;
+            try {
+                pages = reader.readNextRowGroup();
+            } finally {
+                if (coalescingStream != null) {
+                    // parquet has copied the column chunks
+                    coalescingStream.dropBuffers();
+                }
+            }
+            if (pages == null) {
+                throw new IOException(
+                        "expecting more rows but reached last block. Total rows " + totalRowCount);
+            }
+
+            RowRanges rowRanges =
+                    columnIndexFilter == null
+                            ? null
+                            : ColumnIndexFilter.calculateRowRanges(
+                                    FilterCompat.get(columnIndexFilter),
+                                    new RowGroupColumnIndexStore(reader, rowGroup),
+                                    columnPaths(rowGroup),
+                                    pages.getRowCount());
+            metrics.recordFetch(System.nanoTime() - start, requestedBytes(rowGroup));
+            return new FetchedRowGroup(pages, rowRanges);
+        }
+
+        /** Bytes of the requested column chunks of the row group. */
+        private long requestedBytes(BlockMetaData rowGroup) {
+            long bytes = 0;
+            for (ColumnChunkMetaData column : rowGroup.getColumns()) {
+                if (requestedSchema.containsPath(column.getPath().toArray())) {
+                    bytes += column.getTotalSize();
+                }
+            }
+            return bytes;
+        }
+
+        /** File ranges of the requested column chunks of the row group. */
+        private List<FileRange> requestedRanges(BlockMetaData rowGroup) {
+            List<FileRange> ranges = new ArrayList<>();
+            for (ColumnChunkMetaData column : rowGroup.getColumns()) {
+                if (requestedSchema.containsPath(column.getPath().toArray())) {
+                    ranges.add(new FileRange(column.getStartingPos(), column.getTotalSize()));
+                }
+            }
+            return ranges;
+        }
+
+        /** Number of requests started on the file, -1 if the reads are not coalesced. */
+        @VisibleForTesting
+        long numRequests() {
+            return coalescingStream == null ? -1 : coalescingStream.numRequests();
+        }
+
         private ParquetReaderBatch getCachedEntry() throws IOException {
             try {
                 return pool.pollEntry();
@@ -348,12 +679,91 @@ public class ParquetReaderFactory implements FormatReaderFactory {
         @Override
         public void close() throws IOException {
             if (reader != null) {
+                if (prefetcher != null) {
+                    prefetcher.close();
+                }
                 reader.close();
                 reader = null;
             }
         }
     }
 
+    /** The column chunks of a row group and its rows which may match the filter. */
+    private static class FetchedRowGroup {
+
+        private final PageReadStore pages;
+        @Nullable private final RowRanges rowRanges;
+
+        private FetchedRowGroup(PageReadStore pages, @Nullable RowRanges rowRanges) {
+            this.pages = pages;
+            this.rowRanges = rowRanges;
+        }
+    }
+
+    private static void markFilterColumns(Predicate predicate, boolean[] isFilterColumn) {
+        if (predicate instanceof LeafPredicate) {
+            isFilterColumn[((LeafPredicate) predicate).index()] = true;
+        } else {
+            for (Predicate child : ((CompoundPredicate) predicate).children()) {
+                markFilterColumns(child, isFilterColumn);
+            }
+        }
+    }
+
+    private static Set<ColumnPath> columnPaths(BlockMetaData rowGroup) {
+        Set<ColumnPath> paths = new HashSet<>();
+        for (ColumnChunkMetaData column : rowGroup.getColumns()) {
+            paths.add(column.getPath());
+        }
+        return paths;
+    }
+
+    /** {@link ColumnIndexStore} which reads the column indexes of a row group lazily. */
+    private static class RowGroupColumnIndexStore implements ColumnIndexStore {
+
+        private final ParquetFileReader reader;
+        private final Map<ColumnPath, ColumnChunkMetaData> columns = new HashMap<>();
+
+        private RowGroupColumnIndexStore(ParquetFileReader reader, BlockMetaData rowGroup) {
+            this.reader = reader;
+            for (ColumnChunkMetaData column : rowGroup.getColumns()) {
+                columns.put(column.getPath(), column);
+            }
+        }
+
+        @Nullable
+        @Override
+        public ColumnIndex getColumnIndex(ColumnPath column) {
+            ColumnChunkMetaData chunk = columns.get(column);
+            if (chunk == null) {
+                return null;
+            }
+            try {
+                return reader.readColumnIndex(chunk);
+            } catch (IOException e) {
+                LOG.warn("Unable to read column index for column {}, ignore it.", column, e);
+                return null;
+            }
+        }
+
+        @Override
+        public OffsetIndex getOffsetIndex(ColumnPath column) {
+            ColumnChunkMetaData chunk = columns.get(column);
+            OffsetIndex offsetIndex = null;
+            if (chunk != null) {
+                try {
+                    offsetIndex = reader.readOffsetIndex(chunk);
+                } catch (IOException e) {
+                    LOG.warn("Unable to read offset index for column {}, ignore it.", column, e);
+                }
+            }
+            if (offsetIndex == null) {
+                throw new MissingOffsetIndexException(column);
+            }
+            return offsetIndex;
+        }
+    }
+
     private ParquetReaderBatch createReaderBatch(
             WritableColumnVector[] writableVectors,
             VectorizedColumnBatch columnarBatch,
@@ -376,15 +786,19 @@ public class ParquetReaderFactory implements FormatReaderFactory {
             this.writableVectors = writableVectors;
             this.columnarBatch = columnarBatch;
             this.recycler = recycler;
-            this.result = new ColumnarRowIterator(new ColumnarRow(columnarBatch), this::recycle);
+            this.result = new ColumnarRowIterator(columnarBatch, this::recycle);
         }
 
         public void recycle() {
             recycler.recycle(this);
         }
 
-        public RecordIterator<InternalRow> convertAndGetIterator() {
-            result.set(columnarBatch.getNumRows());
+        /**
+         * Returns the rows of the batch. The selection of the filter is exposed but not applied,
+         * see {@link ColumnarRowIterator#selection()}.
+         */
+        public RecordIterator<InternalRow> convertAndGetIterator(@Nullable boolean[] selection) {
+            result.set(columnarBatch.getNumRows(), selection, false);
             return result;
         }
     }
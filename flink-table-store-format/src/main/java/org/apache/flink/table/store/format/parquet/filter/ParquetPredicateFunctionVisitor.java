@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.format.parquet.filter;
+
+import org.apache.flink.table.store.data.BinaryString;
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.predicate.FieldRef;
+import org.apache.flink.table.store.file.predicate.FunctionVisitor;
+import org.apache.flink.table.store.types.DataType;
+
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.io.api.Binary;
+
+import javax.annotation.Nullable;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Convert {@link org.apache.flink.table.store.file.predicate.Predicate} to {@link FilterPredicate}
+ * for parquet.
+ *
+ * <p>The converted predicate is used to skip row groups and pages, so it only needs to be a
+ * superset of the original predicate: unsupported children of an AND are dropped. Floating point
+ * columns are not converted because the statistics of parquet do not order NaN the way {@link
+ * Double#compare} does.
+ */
+public class ParquetPredicateFunctionVisitor implements FunctionVisitor<Optional<FilterPredicate>> {
+
+    public static final ParquetPredicateFunctionVisitor VISITOR =
+            new ParquetPredicateFunctionVisitor();
+
+    private ParquetPredicateFunctionVisitor() {}
+
+    @Override
+    public Optional<FilterPredicate> visitIsNull(FieldRef fieldRef) {
+        return convert(fieldRef, null, CompareOp.EQUAL);
+    }
+
+    @Override
+    public Optional<FilterPredicate> visitIsNotNull(FieldRef fieldRef) {
+        return convert(fieldRef, null, CompareOp.NOT_EQUAL);
+    }
+
+    @Override
+    public Optional<FilterPredicate> visitStartsWith(FieldRef fieldRef, Object literal) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<FilterPredicate> visitLessThan(FieldRef fieldRef, Object literal) {
+        return convertBinary(fieldRef, literal, CompareOp.LESS_THAN);
+    }
+
+    @Override
+    public Optional<FilterPredicate> visitGreaterOrEqual(FieldRef fieldRef, Object literal) {
+        return convertBinary(fieldRef, literal, CompareOp.GREATER_OR_EQUAL);
+    }
+
+    @Override
+    public Optional<FilterPredicate> visitNotEqual(FieldRef fieldRef, Object literal) {
+        return convertBinary(fieldRef, literal, CompareOp.NOT_EQUAL);
+    }
+
+    @Override
+    public Optional<FilterPredicate> visitLessOrEqual(FieldRef fieldRef, Object literal) {
+        return convertBinary(fieldRef, literal, CompareOp.LESS_OR_EQUAL);
+    }
+
+    @Override
+    public Optional<FilterPredicate> visitEqual(FieldRef fieldRef, Object literal) {
+        return convertBinary(fieldRef, literal, CompareOp.EQUAL);
+    }
+
+    @Override
+    public Optional<FilterPredicate> visitGreaterThan(FieldRef fieldRef, Object literal) {
+        return convertBinary(fieldRef, literal, CompareOp.GREATER_THAN);
+    }
+
+    @Override
+    public Optional<FilterPredicate> visitIn(FieldRef fieldRef, List<Object> literals) {
+        FilterPredicate result = null;
+        for (Object literal : literals) {
+            if (literal == null) {
+                // null never equals to anything
+                continue;
+            }
+            Optional<FilterPredicate> equal = convertBinary(fieldRef, literal, CompareOp.EQUAL);
+            if (!equal.isPresent()) {
+                return Optional.empty();
+            }
+            result = result == null ? equal.get() : FilterApi.or(result, equal.get());
+        }
+        return Optional.ofNullable(result);
+    }
+
+    @Override
+    public Optional<FilterPredicate> visitNotIn(FieldRef fieldRef, List<Object> literals) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<FilterPredicate> visitAnd(List<Optional<FilterPredicate>> children) {
+        FilterPredicate result = null;
+        for (Optional<FilterPredicate> child : children) {
+            if (child.isPresent()) {
+                result = result == null ? child.get() : FilterApi.and(result, child.get());
+            }
+        }
+        return Optional.ofNullable(result);
+    }
+
+    @Override
+    public Optional<FilterPredicate> visitOr(List<Optional<FilterPredicate>> children) {
+        FilterPredicate result = null;
+        for (Optional<FilterPredicate> child : children) {
+            if (!child.isPresent()) {
+                return Optional.empty();
+            }
+            result = result == null ? child.get() : FilterApi.or(result, child.get());
+        }
+        return Optional.ofNullable(result);
+    }
+
+    private Optional<FilterPredicate> convertBinary(
+            FieldRef fieldRef, Object literal, CompareOp op) {
+        if (literal == null || !InternalRow.getDataClass(fieldRef.type()).isInstance(literal)) {
+            return Optional.empty();
+        }
+        return convert(fieldRef, literal, op);
+    }
+
+    /** A null literal compares for null values, like parquet does. */
+    private Optional<FilterPredicate> convert(
+            FieldRef fieldRef, @Nullable Object literal, CompareOp op) {
+        String name = fieldRef.name();
+        if (name.contains(".")) {
+            // parquet parses dots in column names as nested paths
+            return Optional.empty();
+        }
+
+        DataType type = fieldRef.type();
+        switch (type.getTypeRoot()) {
+            case BOOLEAN:
+                if (op != CompareOp.EQUAL && op != CompareOp.NOT_EQUAL) {
+                    return Optional.empty();
+                }
+                Operators.BooleanColumn booleanColumn = FilterApi.booleanColumn(name);
+                return Optional.of(
+                        op == CompareOp.EQUAL
+                                ? FilterApi.eq(booleanColumn, (Boolean) literal)
+                                : FilterApi.notEq(booleanColumn, (Boolean) literal));
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case DATE:
+            case TIME_WITHOUT_TIME_ZONE:
+                return Optional.of(
+                        compare(
+                                FilterApi.intColumn(name),
+                                literal == null ? null : ((Number) literal).intValue(),
+                                op));
+            case BIGINT:
+                return Optional.of(compare(FilterApi.longColumn(name), (Long) literal, op));
+            case CHAR:
+            case VARCHAR:
+                return Optional.of(
+                        compare(
+                                FilterApi.binaryColumn(name),
+                                literal == null
+                                        ? null
+                                        : Binary.fromConstantByteArray(
+                                                ((BinaryString) literal).toBytes()),
+                                op));
+            default:
+                return Optional.empty();
+        }
+    }
+
+    private static <T extends Comparable<T>, C extends Operators.Column<T> & Operators.SupportsLtGt>
+            FilterPredicate compare(C column, @Nullable T value, CompareOp op) {
+        switch (op) {
+            case EQUAL:
+                return FilterApi.eq(column, value);
+            case NOT_EQUAL:
+                return FilterApi.notEq(column, value);
+            case LESS_THAN:
+                return FilterApi.lt(column, value);
+            case LESS_OR_EQUAL:
+                return FilterApi.ltEq(column, value);
+            case GREATER_THAN:
+                return FilterApi.gt(column, value);
+            case GREATER_OR_EQUAL:
+                return FilterApi.gtEq(column, value);
+            default:
+                throw new UnsupportedOperationException("Unsupported compare op: " + op);
+        }
+    }
+
+    private enum CompareOp {
+        EQUAL,
+        NOT_EQUAL,
+        LESS_THAN,
+        LESS_OR_EQUAL,
+        GREATER_THAN,
+        GREATER_OR_EQUAL
+    }
+}
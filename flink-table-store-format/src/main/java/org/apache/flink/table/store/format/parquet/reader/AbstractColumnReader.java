@@ -148,18 +148,7 @@ public abstract class AbstractColumnReader<VECTOR extends WritableColumnVector>
         }
         while (readNumber > 0) {
             // Compute the number of values we want to read in this page.
-            int leftInPage = (int) (endOfPageValueCount - valuesRead);
-            if (leftInPage == 0) {
-                DataPage page = pageReader.readPage();
-                if (page instanceof DataPageV1) {
-                    readPageV1((DataPageV1) page);
-                } else if (page instanceof DataPageV2) {
-                    readPageV2((DataPageV2) page);
-                } else {
-                    throw new RuntimeException("Unsupported page type: " + page.getClass());
-                }
-                leftInPage = (int) (endOfPageValueCount - valuesRead);
-            }
+            int leftInPage = leftInPage();
             int num = Math.min(readNumber, leftInPage);
             if (isCurrentPageDictionaryEncoded) {
                 // Read and decode dictionary ids.
@@ -194,6 +183,43 @@ public abstract class AbstractColumnReader<VECTOR extends WritableColumnVector>
         }
     }
 
+    /**
+     * Skips `skipNumber` values of this column without decoding them. Only the definition levels
+     * are decoded, to know how many values are present in the data stream.
+     */
+    @Override
+    public final void skip(int skipNumber, VECTOR vector) throws IOException {
+        while (skipNumber > 0) {
+            int num = Math.min(skipNumber, leftInPage());
+            int nonNulls = runLenDecoder.skipLevels(num, maxDefLevel);
+            if (isCurrentPageDictionaryEncoded) {
+                dictionaryIdsDecoder.skipValues(nonNulls);
+            } else {
+                skipBatch(nonNulls);
+            }
+
+            valuesRead += num;
+            skipNumber -= num;
+        }
+    }
+
+    /** Returns the number of values left in current page, reads the next page if none is left. */
+    private int leftInPage() throws IOException {
+        int leftInPage = (int) (endOfPageValueCount - valuesRead);
+        if (leftInPage == 0) {
+            DataPage page = pageReader.readPage();
+            if (page instanceof DataPageV1) {
+                readPageV1((DataPageV1) page);
+            } else if (page instanceof DataPageV2) {
+                readPageV2((DataPageV2) page);
+            } else {
+                throw new RuntimeException("Unsupported page type: " + page.getClass());
+            }
+            leftInPage = (int) (endOfPageValueCount - valuesRead);
+        }
+        return leftInPage;
+    }
+
     private void readPageV1(DataPageV1 page) throws IOException {
         this.pageValueCount = page.getValueCount();
         ValuesReader rlReader = page.getRlEncoding().getValuesReader(descriptor, REPETITION_LEVEL);
@@ -290,6 +316,9 @@ public abstract class AbstractColumnReader<VECTOR extends WritableColumnVector>
     /** Read batch from {@link #runLenDecoder} and {@link #dataInputStream}. */
     protected abstract void readBatch(int rowId, int num, VECTOR column);
 
+    /** Skip `num` non-null values in {@link #dataInputStream}. */
+    protected abstract void skipBatch(int num);
+
     /**
      * Decode dictionary ids to data. From {@link #runLenDecoder} and {@link #dictionaryIdsDecoder}.
      */
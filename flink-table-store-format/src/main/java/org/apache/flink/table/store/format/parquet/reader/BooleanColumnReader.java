@@ -93,6 +93,13 @@ public class BooleanColumnReader extends AbstractColumnReader<WritableBooleanVec
         }
     }
 
+    @Override
+    protected void skipBatch(int num) {
+        for (int i = 0; i < num; i++) {
+            readBoolean();
+        }
+    }
+
     private boolean readBoolean() {
         if (bitOffset == 0) {
             try {
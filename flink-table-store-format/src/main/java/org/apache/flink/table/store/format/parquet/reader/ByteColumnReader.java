@@ -68,6 +68,11 @@ public class ByteColumnReader extends AbstractColumnReader<WritableByteVector> {
         }
     }
 
+    @Override
+    protected void skipBatch(int num) {
+        readDataBuffer(num * 4);
+    }
+
     @Override
     protected void readBatchFromDictionaryIds(
             int rowId, int num, WritableByteVector column, WritableIntVector dictionaryIds) {
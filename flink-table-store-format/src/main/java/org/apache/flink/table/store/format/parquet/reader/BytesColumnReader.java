@@ -69,6 +69,14 @@ public class BytesColumnReader extends AbstractColumnReader<WritableBytesVector>
         }
     }
 
+    @Override
+    protected void skipBatch(int num) {
+        for (int i = 0; i < num; i++) {
+            int len = readDataBuffer(4).getInt();
+            readDataBuffer(len);
+        }
+    }
+
     @Override
     protected void readBatchFromDictionaryIds(
             int rowId, int num, WritableBytesVector column, WritableIntVector dictionaryIds) {
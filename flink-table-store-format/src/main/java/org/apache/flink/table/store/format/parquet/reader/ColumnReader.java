@@ -29,4 +29,15 @@ public interface ColumnReader<VECTOR extends WritableColumnVector> {
      * @param vector vector to write.
      */
     void readToVector(int readNumber, VECTOR vector) throws IOException;
+
+    /**
+     * Skips the next values without returning them. By default the values are read into the vector,
+     * whose content is undefined afterwards.
+     *
+     * @param skipNumber number to skip.
+     * @param vector vector which may be used as buffer.
+     */
+    default void skip(int skipNumber, VECTOR vector) throws IOException {
+        readToVector(skipNumber, vector);
+    }
 }
@@ -69,6 +69,11 @@ public class DoubleColumnReader extends AbstractColumnReader<WritableDoubleVecto
         }
     }
 
+    @Override
+    protected void skipBatch(int num) {
+        readDataBuffer(num * 8);
+    }
+
     @Override
     protected void readBatchFromDictionaryIds(
             int rowId, int num, WritableDoubleVector column, WritableIntVector dictionaryIds) {
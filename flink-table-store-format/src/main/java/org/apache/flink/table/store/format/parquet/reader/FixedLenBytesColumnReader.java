@@ -78,6 +78,11 @@ public class FixedLenBytesColumnReader<VECTOR extends WritableColumnVector>
         }
     }
 
+    @Override
+    protected void skipBatch(int num) {
+        readDataBuffer(num * descriptor.getPrimitiveType().getTypeLength());
+    }
+
     @Override
     protected void readBatchFromDictionaryIds(
             int rowId, int num, VECTOR column, WritableIntVector dictionaryIds) {
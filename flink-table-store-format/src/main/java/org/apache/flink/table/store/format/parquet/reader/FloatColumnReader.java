@@ -69,6 +69,11 @@ public class FloatColumnReader extends AbstractColumnReader<WritableFloatVector>
         }
     }
 
+    @Override
+    protected void skipBatch(int num) {
+        readDataBuffer(num * 4);
+    }
+
     @Override
     protected void readBatchFromDictionaryIds(
             int rowId, int num, WritableFloatVector column, WritableIntVector dictionaryIds) {
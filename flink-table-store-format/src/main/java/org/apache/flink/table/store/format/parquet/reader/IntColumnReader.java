@@ -67,6 +67,11 @@ public class IntColumnReader extends AbstractColumnReader<WritableIntVector> {
         }
     }
 
+    @Override
+    protected void skipBatch(int num) {
+        readDataBuffer(num * 4);
+    }
+
     @Override
     protected void readBatchFromDictionaryIds(
             int rowId, int num, WritableIntVector column, WritableIntVector dictionaryIds) {
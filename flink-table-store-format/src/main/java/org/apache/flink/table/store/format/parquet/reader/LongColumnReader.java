@@ -68,6 +68,11 @@ public class LongColumnReader extends AbstractColumnReader<WritableLongVector> {
         }
     }
 
+    @Override
+    protected void skipBatch(int num) {
+        readDataBuffer(num * 8);
+    }
+
     @Override
     protected void readBatchFromDictionaryIds(
             int rowId, int num, WritableLongVector column, WritableIntVector dictionaryIds) {
@@ -70,6 +70,11 @@ public class ShortColumnReader extends AbstractColumnReader<WritableShortVector>
         }
     }
 
+    @Override
+    protected void skipBatch(int num) {
+        readDataBuffer(num * 4);
+    }
+
     @Override
     protected void readBatchFromDictionaryIds(
             int rowId, int num, WritableShortVector column, WritableIntVector dictionaryIds) {
@@ -73,6 +73,11 @@ public class TimestampColumnReader extends AbstractColumnReader<WritableTimestam
         }
     }
 
+    @Override
+    protected void skipBatch(int num) {
+        readDataBuffer(num * 12);
+    }
+
     @Override
     protected void readBatchFromDictionaryIds(
             int rowId, int num, WritableTimestampVector column, WritableIntVector dictionaryIds) {
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.format.fs;
+
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.table.store.format.fs.CoalescingInputStream.FileRange;
+import org.apache.flink.util.IOUtils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests for {@link CoalescingInputStream}. */
+public class CoalescingInputStreamTest {
+
+    @TempDir java.nio.file.Path tempDir;
+
+    private byte[] data;
+    private Path path;
+
+    @BeforeEach
+    public void beforeEach() throws IOException {
+        data = new byte[100_000];
+        new Random().nextBytes(data);
+        java.nio.file.Path file = tempDir.resolve("data");
+        Files.write(file, data);
+        path = new Path(file.toUri());
+    }
+
+    @Test
+    public void testCoalesce() {
+        List<FileRange> ranges =
+                Arrays.asList(
+                        new FileRange(100, 10),
+                        new FileRange(0, 10),
+                        new FileRange(15, 5),
+                        new FileRange(50, 0),
+                        new FileRange(105, 20),
+                        new FileRange(200, 50));
+
+        assertThat(CoalescingInputStream.coalesce(ranges, 5, Long.MAX_VALUE))
+                .containsExactly(
+                        new FileRange(0, 20), new FileRange(100, 25), new FileRange(200, 50));
+        assertThat(CoalescingInputStream.coalesce(ranges, 100, Long.MAX_VALUE))
+                .containsExactly(new FileRange(0, 250));
+        assertThat(CoalescingInputStream.coalesce(ranges, 100, 130))
+                .containsExactly(new FileRange(0, 125), new FileRange(200, 50));
+        assertThat(CoalescingInputStream.coalesce(ranges, 0, Long.MAX_VALUE))
+                .containsExactly(
+                        new FileRange(0, 10),
+                        new FileRange(15, 5),
+                        new FileRange(100, 25),
+                        new FileRange(200, 50));
+    }
+
+    @Test
+    public void testReadRanges() throws IOException {
+        List<FileRange> ranges =
+                Arrays.asList(
+                        new FileRange(60_000, 1000),
+                        new FileRange(10_000, 5000),
+                        new FileRange(15_500, 2000),
+                        new FileRange(90_000, 10_000));
+        try (CoalescingInputStream in =
+                new CoalescingInputStream(path.getFileSystem().open(path), 1024, 1024 * 1024)) {
+            in.readRanges(ranges);
+            assertThat(in.numRequests()).isEqualTo(3);
+
+            for (FileRange range : ranges) {
+                assertRead(in, range);
+            }
+            assertThat(in.numRequests()).isEqualTo(3);
+
+            // ranges are dropped once they are read, reads fall back to the underlying stream
+            assertRead(in, new FileRange(10_000, 100));
+            assertThat(in.numRequests()).isEqualTo(4);
+            assertRead(in, new FileRange(0, 100_000));
+        }
+    }
+
+    @Test
+    public void testRetainRanges() throws IOException {
+        try (CoalescingInputStream in =
+                new CoalescingInputStream(path.getFileSystem().open(path), 1024, 1024 * 1024)) {
+            in.readRanges(Collections.singletonList(new FileRange(90_000, 10_000)), false);
+            assertRead(in, new FileRange(99_000, 1000));
+            assertRead(in, new FileRange(90_000, 10_000));
+            assertThat(in.numRequests()).isEqualTo(1);
+
+            in.dropBuffers();
+            assertRead(in, new FileRange(90_000, 100));
+            assertThat(in.numRequests()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void testReadRangesFailure() throws IOException {
+        try (CoalescingInputStream in =
+                new CoalescingInputStream(path.getFileSystem().open(path), 1024, 1024 * 1024)) {
+            assertThatThrownBy(
+                            () ->
+                                    in.readRanges(
+                                            Collections.singletonList(new FileRange(99_000, 2000))))
+                    .isInstanceOf(IOException.class);
+            assertThat(in.numRequests()).isEqualTo(1);
+
+            // the next read starts a new request instead of trusting the underlying position
+            assertRead(in, new FileRange(99_000, 1000));
+            assertThat(in.numRequests()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void testReadOverGaps() throws IOException {
+        try (CoalescingInputStream in =
+                new CoalescingInputStream(path.getFileSystem().open(path), 1024)) {
+            assertRead(in, new FileRange(0, 100));
+            assertRead(in, new FileRange(600, 100));
+            assertRead(in, new FileRange(1724, 100));
+            assertThat(in.numRequests()).isEqualTo(1);
+
+            assertRead(in, new FileRange(3000, 100));
+            assertThat(in.numRequests()).isEqualTo(2);
+            assertRead(in, new FileRange(0, 100));
+            assertThat(in.numRequests()).isEqualTo(3);
+
+            in.seek(99_999);
+            assertThat(in.read()).isEqualTo(data[99_999] & 0xFF);
+            assertThat(in.read()).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    public void testRandomReads() throws IOException {
+        Random random = new Random();
+        try (CoalescingInputStream in =
+                new CoalescingInputStream(
+                        path.getFileSystem().open(path),
+                        random.nextInt(4096),
+                        random.nextInt(20_000) + 1)) {
+            for (int round = 0; round < 10; round++) {
+                List<FileRange> ranges = new ArrayList<>();
+                for (int i = 0; i < 10; i++) {
+                    int offset = random.nextInt(data.length);
+                    ranges.add(new FileRange(offset, random.nextInt(data.length - offset)));
+                }
+                in.readRanges(ranges);
+                Collections.shuffle(ranges, random);
+                for (FileRange range : ranges) {
+                    assertRead(in, range);
+                }
+            }
+        }
+    }
+
+    private void assertRead(CoalescingInputStream in, FileRange range) throws IOException {
+        byte[] bytes = new byte[(int) range.length()];
+        in.seek(range.offset());
+        IOUtils.readFully(in, bytes, 0, bytes.length);
+        assertThat(in.getPos()).isEqualTo(range.end());
+        assertThat(bytes)
+                .isEqualTo(Arrays.copyOfRange(data, (int) range.offset(), (int) range.end()));
+    }
+}
@@ -110,6 +110,57 @@ class OrcReaderFactoryTest {
         assertThat(totalF0.get()).isEqualTo(1844737280400L);
     }
 
+    @Test
+    void testReadFileWithPrefetch() throws IOException {
+        Configuration conf = new Configuration();
+        conf.setInt(OrcReaderFactory.PREFETCH_BATCHES, 3);
+        OrcReaderFactory format =
+                new OrcReaderFactory(
+                        conf, FLAT_FILE_TYPE, new int[] {0, 1}, new ArrayList<>(), 1024);
+
+        AtomicInteger cnt = new AtomicInteger(0);
+        AtomicLong totalF0 = new AtomicLong(0);
+
+        forEach(
+                format,
+                flatFile,
+                row -> {
+                    totalF0.addAndGet(row.getInt(0));
+                    assertThat(row.getString(1).toString()).isNotNull();
+                    cnt.incrementAndGet();
+                });
+
+        // check that all rows have been read in order
+        assertThat(cnt.get()).isEqualTo(1920800);
+        assertThat(totalF0.get()).isEqualTo(1844737280400L);
+        assertThat(format.metrics().fetchCount()).isGreaterThan(1920800 / 1024);
+    }
+
+    @Test
+    void testReadFileWithCoalescing() throws IOException {
+        Configuration conf = new Configuration();
+        conf.setBoolean(OrcReaderFactory.COALESCE_ENABLED, true);
+        conf.setLong(OrcReaderFactory.COALESCE_MAX_GAP, 64 * 1024);
+        OrcReaderFactory format =
+                new OrcReaderFactory(
+                        conf, FLAT_FILE_TYPE, new int[] {0, 2}, new ArrayList<>(), 1024);
+
+        AtomicInteger cnt = new AtomicInteger(0);
+        AtomicLong totalF0 = new AtomicLong(0);
+
+        forEach(
+                format,
+                flatFile,
+                row -> {
+                    totalF0.addAndGet(row.getInt(0));
+                    assertThat(row.getString(1).toString()).isNotNull();
+                    cnt.incrementAndGet();
+                });
+
+        assertThat(cnt.get()).isEqualTo(1920800);
+        assertThat(totalF0.get()).isEqualTo(1844737280400L);
+    }
+
     @Test
     void testReadFileWithSelectFields() throws IOException {
         OrcReaderFactory format = createFormat(FLAT_FILE_TYPE, new int[] {2, 0, 1});
@@ -29,6 +29,9 @@ import org.apache.flink.table.store.data.GenericMap;
 import org.apache.flink.table.store.data.GenericRow;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.data.Timestamp;
+import org.apache.flink.table.store.data.columnar.VectorizedRecordIterator;
+import org.apache.flink.table.store.file.predicate.Predicate;
+import org.apache.flink.table.store.file.predicate.PredicateBuilder;
 import org.apache.flink.table.store.file.utils.RecordReader;
 import org.apache.flink.table.store.format.parquet.writer.RowDataParquetBuilder;
 import org.apache.flink.table.store.types.ArrayType;
@@ -47,9 +50,11 @@ import org.apache.flink.table.store.types.TinyIntType;
 import org.apache.flink.table.store.types.VarCharType;
 import org.apache.flink.util.InstantiationUtil;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.io.File;
 import java.io.IOException;
@@ -280,6 +285,190 @@ public class ParquetReadWriteTest {
                 });
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {1000, 1024 * 1024})
+    void testReadFilter(int rowGroupSize) throws IOException {
+        int number = 1000;
+        List<InternalRow> records = new ArrayList<>(number);
+        for (int i = 0; i < number; i++) {
+            records.add(newRow(i % 7 == 0 ? null : i));
+        }
+        Path testPath = createTempParquetFile(folder, records, rowGroupSize);
+
+        PredicateBuilder builder = new PredicateBuilder(ROW_TYPE);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 700; i < 710; i++) {
+            if (i % 7 != 0) {
+                expected.add(i);
+            }
+        }
+
+        List<Integer> values =
+                readWithFilter(
+                        testPath,
+                        PredicateBuilder.and(
+                                builder.greaterOrEqual(4, 700), builder.lessThan(4, 710)));
+        // only the batches containing matched rows are returned
+        assertThat(values).containsAll(expected).hasSizeLessThanOrEqualTo(200);
+
+        values =
+                readWithFilter(
+                        testPath,
+                        PredicateBuilder.or(
+                                builder.equal(0, BinaryString.fromString("705")),
+                                builder.equal(0, BinaryString.fromString("706"))));
+        assertThat(values).contains(705, 706).hasSizeLessThanOrEqualTo(200);
+
+        // no batch matches
+        assertThat(readWithFilter(testPath, builder.greaterThan(5, 1000L))).isEmpty();
+    }
+
+    @Test
+    void testReadFilterSelection() throws IOException {
+        int number = 1000;
+        List<InternalRow> records = new ArrayList<>(number);
+        for (int i = 0; i < number; i++) {
+            records.add(newRow(i % 7 == 0 ? null : i));
+        }
+        Path testPath = createTempParquetFile(folder, records, 1024 * 1024);
+
+        PredicateBuilder builder = new PredicateBuilder(ROW_TYPE);
+        ParquetReaderFactory format =
+                new ParquetReaderFactory(
+                        new Configuration(),
+                        ROW_TYPE,
+                        100,
+                        PredicateBuilder.and(
+                                builder.greaterOrEqual(4, 700), builder.lessThan(4, 710)));
+
+        List<Integer> selected = new ArrayList<>();
+        int numRows = 0;
+        try (RecordReader<InternalRow> reader = format.createReader(testPath)) {
+            RecordReader.RecordIterator<InternalRow> iterator;
+            while ((iterator = reader.readBatch()) != null) {
+                boolean[] selection = ((VectorizedRecordIterator) iterator).selection();
+                assertThat(selection).isNotNull();
+                InternalRow row;
+                for (int rowId = 0; (row = iterator.next()) != null; rowId++) {
+                    numRows++;
+                    if (selection[rowId]) {
+                        selected.add(row.getInt(4));
+                    }
+                }
+                iterator.releaseBatch();
+            }
+        }
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 700; i < 710; i++) {
+            if (i % 7 != 0) {
+                expected.add(i);
+            }
+        }
+        assertThat(selected).isEqualTo(expected);
+        // the selection is not applied, all rows of the matched batch are returned
+        assertThat(numRows).isEqualTo(100);
+    }
+
+    /** Reads the file with the filter and checks that the decoded rows are complete. */
+    private List<Integer> readWithFilter(Path path, Predicate filter) throws IOException {
+        ParquetReaderFactory format =
+                new ParquetReaderFactory(new Configuration(), ROW_TYPE, 100, filter);
+        List<Integer> values = new ArrayList<>();
+        forEachRemaining(
+                format.createReader(path),
+                row -> {
+                    if (row.isNullAt(4)) {
+                        assertThat(row.isNullAt(0)).isTrue();
+                        assertThat(row.isNullAt(32)).isTrue();
+                        return;
+                    }
+                    int v = row.getInt(4);
+                    assertThat(row.getString(0)).hasToString("" + v);
+                    assertThat(row.getBoolean(1)).isEqualTo(v % 2 == 0);
+                    assertThat(row.getLong(5)).isEqualTo(v);
+                    assertThat(row.getDouble(7)).isEqualTo(v);
+                    assertThat(row.getTimestamp(8, 9).toLocalDateTime()).isEqualTo(toDateTime(v));
+                    assertThat(row.getDecimal(11, 20, 0).toBigDecimal())
+                            .isEqualTo(BigDecimal.valueOf(v));
+                    assertThat(row.getArray(19).getInt(0)).isEqualTo(v);
+                    assertThat(row.getMap(30).valueArray().getString(0)).hasToString("" + v);
+                    assertThat(row.getRow(32, 2).getInt(1)).isEqualTo(v);
+                    values.add(v);
+                });
+        return values;
+    }
+
+    @Test
+    void testPrefetch() throws IOException {
+        int number = 1000;
+        List<InternalRow> records = new ArrayList<>(number);
+        for (int i = 0; i < number; i++) {
+            records.add(newRow(i));
+        }
+        Path testPath = createTempParquetFile(folder, records, 100);
+
+        Configuration conf = new Configuration();
+        conf.setInteger(ParquetReaderFactory.PREFETCH_ROW_GROUPS, 3);
+        conf.setLong(ParquetReaderFactory.PREFETCH_MAX_BYTES, 4096);
+        RowType projectedType =
+                RowType.builder()
+                        .fields(
+                                new DataType[] {new IntType(), new VarCharType()},
+                                new String[] {"f4", "f0"})
+                        .build();
+        ParquetReaderFactory format = new ParquetReaderFactory(conf, projectedType, 50);
+
+        AtomicInteger cnt = new AtomicInteger(0);
+        forEachRemaining(
+                format.createReader(testPath),
+                row -> {
+                    int i = cnt.getAndIncrement();
+                    assertThat(row.getInt(0)).isEqualTo(i);
+                    assertThat(row.getString(1)).hasToString("" + i);
+                });
+        assertThat(cnt.get()).isEqualTo(number);
+        assertThat(format.metrics().fetchCount()).isGreaterThan(1);
+        assertThat(format.metrics().fetchedBytes()).isGreaterThan(0);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1024 * 1024})
+    void testCoalesce(long maxGap) throws IOException {
+        int number = 1000;
+        List<InternalRow> records = new ArrayList<>(number);
+        for (int i = 0; i < number; i++) {
+            records.add(newRow(i));
+        }
+        Path testPath = createTempParquetFile(folder, records, 100);
+
+        Configuration conf = new Configuration();
+        conf.setBoolean(ParquetReaderFactory.COALESCE_ENABLED, true);
+        conf.setLong(ParquetReaderFactory.COALESCE_MAX_GAP, maxGap);
+        conf.setLong(ParquetReaderFactory.COALESCE_MAX_SIZE, 4096);
+        RowType projectedType =
+                RowType.builder()
+                        .fields(
+                                new DataType[] {new IntType(), new VarCharType()},
+                                new String[] {"f4", "f0"})
+                        .build();
+        ParquetReaderFactory format = new ParquetReaderFactory(conf, projectedType, 50);
+
+        ParquetReaderFactory.ParquetReader reader = format.createReader(testPath);
+        // the footer is read with the tail by one request
+        assertThat(reader.numRequests()).isEqualTo(1);
+
+        AtomicInteger cnt = new AtomicInteger(0);
+        forEachRemaining(
+                reader,
+                row -> {
+                    int i = cnt.getAndIncrement();
+                    assertThat(row.getInt(0)).isEqualTo(i);
+                    assertThat(row.getString(1)).hasToString("" + i);
+                });
+        assertThat(cnt.get()).isEqualTo(number);
+    }
+
     private void innerTestTypes(File folder, List<Integer> records, int rowGroupSize)
             throws IOException {
         List<InternalRow> rows = records.stream().map(this::newRow).collect(Collectors.toList());